@@ -0,0 +1,45 @@
+package com.github.houbb.data.struct.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 运行所有的 benchmark
+ * <p>
+ * 默认把结果以 json 格式写入 target/jmh-result.json，方便和历史结果对比。
+ * 支持 JMH 原生的命令行参数，比如只运行 map 相关的测试：
+ * <pre>
+ * java -jar target/benchmarks.jar MapBenchmark -p size=1000
+ * </pre>
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * 默认的结果文件
+     * @since 0.0.6
+     */
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLineOptions.getResult().orElse(DEFAULT_RESULT_FILE))
+                .build();
+
+        new Runner(options).run();
+    }
+
+}
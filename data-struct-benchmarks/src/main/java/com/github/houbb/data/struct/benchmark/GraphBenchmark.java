@@ -0,0 +1,84 @@
+package com.github.houbb.data.struct.benchmark;
+
+import com.github.houbb.data.struct.core.util.graph.IDirectGraph;
+import com.github.houbb.data.struct.core.util.graph.ListDirectGraph;
+import com.github.houbb.data.struct.core.util.graph.component.Edge;
+import com.github.houbb.data.struct.core.util.graph.shortestpath.IShortestPath;
+import com.github.houbb.data.struct.core.util.graph.shortestpath.impl.DijkstraShortestPath;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 图的遍历和最短路径性能
+ * <p>
+ * 每个顶点随机连接 degree 条出边，边的终点按照指定的分布生成；最短路径使用对应的邻接矩阵。
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GraphBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    @Param({"4"})
+    private int degree;
+
+    @Param({Workload.UNIFORM, Workload.HOTSPOT})
+    private String distribution;
+
+    private IDirectGraph<Integer> graph;
+
+    private int[][] matrix;
+
+    private final IShortestPath shortestPath = new DijkstraShortestPath();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = new ListDirectGraph<>();
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(i);
+        }
+
+        Workload workload = Workload.of(size, distribution, 100);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < degree; j++) {
+                graph.addEdge(new Edge<>(i, workload.nextKey()));
+            }
+        }
+
+        // 完全图，避免不可达时的溢出
+        Random random = new Random(size);
+        matrix = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix[i][j] = i == j ? 0 : 1 + random.nextInt(100);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Integer> bfs() {
+        return graph.bfs(0);
+    }
+
+    @Benchmark
+    public List<Integer> dfs() {
+        return graph.dfs(0);
+    }
+
+    @Benchmark
+    public int[] dijkstra() {
+        return shortestPath.shortestPath(matrix, 0);
+    }
+
+}
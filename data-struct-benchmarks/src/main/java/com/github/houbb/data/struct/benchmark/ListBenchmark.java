@@ -0,0 +1,114 @@
+package com.github.houbb.data.struct.benchmark;
+
+import com.github.houbb.data.struct.core.util.list.CircularLinkedList;
+import com.github.houbb.data.struct.core.util.list.DoubleLinkedList;
+import com.github.houbb.data.struct.core.util.list.MyArrayList;
+import com.github.houbb.data.struct.core.util.list.SegmentedArrayList;
+import com.github.houbb.data.struct.core.util.list.SingleLinkedList;
+import com.github.houbb.data.struct.core.util.list.TieredVectorList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * list 的读写性能
+ * <p>
+ * （1）readWrite：按照读写比例执行 get/set，下标按照指定的分布生成
+ * （2）append：从空的 list 开始追加 size 个元素
+ * （3）iterate：遍历所有元素
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListBenchmark {
+
+    @Param({"MyArrayList", "SegmentedArrayList", "TieredVectorList", "SingleLinkedList", "CircularLinkedList", "ArrayList", "LinkedList"})
+    private String impl;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({Workload.UNIFORM, Workload.SEQUENTIAL, Workload.HOTSPOT})
+    private String distribution;
+
+    @Param({"100", "90", "50"})
+    private int readPercent;
+
+    private List<Integer> list;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = newList(impl);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        workload = Workload.of(size, distribution, readPercent);
+    }
+
+    @Benchmark
+    public Integer readWrite() {
+        Integer index = workload.nextKey();
+        if (workload.isRead()) {
+            return list.get(index);
+        }
+        return list.set(index, index);
+    }
+
+    @Benchmark
+    public List<Integer> append() {
+        List<Integer> newList = newList(impl);
+        for (int i = 0; i < size; i++) {
+            newList.add(i);
+        }
+        return newList;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer value : list) {
+            blackhole.consume(value);
+        }
+    }
+
+    /**
+     * 创建 list
+     * @param impl 实现
+     * @return 结果
+     * @since 0.0.6
+     */
+    static List<Integer> newList(final String impl) {
+        switch (impl) {
+            case "MyArrayList":
+                return new MyArrayList<>();
+            case "SegmentedArrayList":
+                return new SegmentedArrayList<>();
+            case "TieredVectorList":
+                return new TieredVectorList<>();
+            case "DoubleLinkedList":
+                return new DoubleLinkedList<>();
+            case "SingleLinkedList":
+                return new SingleLinkedList<>();
+            case "CircularLinkedList":
+                return new CircularLinkedList<>();
+            case "ArrayList":
+                return new ArrayList<>();
+            case "LinkedList":
+                return new LinkedList<>();
+            default:
+                throw new IllegalArgumentException("Unknown list: " + impl);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.github.houbb.data.struct.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * list 的编辑性能：随机位置的插入、删除和读取
+ * <p>
+ * 每次写操作在 key 对应的位置插入一个元素，再删除另一个位置的元素，保持 size 不变。
+ * 读操作为 get(key)。
+ * <p>
+ * 对比 MyArrayList（插入删除移动整个尾部）、DoubleLinkedList（按下标遍历）和 TieredVectorList。
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListEditBenchmark {
+
+    @Param({"MyArrayList", "DoubleLinkedList", "TieredVectorList", "ArrayList"})
+    private String impl;
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    @Param({Workload.UNIFORM, Workload.HOTSPOT})
+    private String distribution;
+
+    @Param({"0", "50", "90"})
+    private int readPercent;
+
+    private List<Integer> list;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = ListBenchmark.newList(impl);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        workload = Workload.of(size, distribution, readPercent);
+    }
+
+    @Benchmark
+    public Integer edit() {
+        Integer index = workload.nextKey();
+        if (workload.isRead()) {
+            return list.get(index);
+        }
+
+        list.add(index, index);
+        return list.remove((int) workload.nextKey());
+    }
+
+}
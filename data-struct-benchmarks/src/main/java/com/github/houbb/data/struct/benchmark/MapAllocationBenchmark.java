@@ -0,0 +1,69 @@
+package com.github.houbb.data.struct.benchmark;
+
+import com.github.houbb.data.struct.core.util.map.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * map 热点路径的对象分配
+ * <p>
+ * 配合 JMH 的 gc profiler 运行，关注 gc.alloc.rate.norm，即每次操作分配的字节数：
+ * <pre>
+ * java -jar target/benchmarks.jar MapAllocationBenchmark -prof gc
+ * </pre>
+ * MyHashMap 的 get/put 替换/replace 期望为 0，和 HashMap 保持一致。
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapAllocationBenchmark {
+
+    @Param({"MyHashMap", "HashMap"})
+    private String impl;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Map<Integer, Integer> map;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = MapBenchmark.newMap(impl);
+        for (int key : Workload.shuffledKeys(size)) {
+            map.put(key, key);
+        }
+        workload = Workload.of(size, Workload.UNIFORM, 100);
+    }
+
+    @Benchmark
+    public Integer get() {
+        return map.get(workload.nextKey());
+    }
+
+    @Benchmark
+    public Integer putReplace() {
+        Integer key = workload.nextKey();
+        return map.put(key, key);
+    }
+
+    @Benchmark
+    public Integer replace() {
+        Integer key = workload.nextKey();
+        if (map instanceof MyHashMap) {
+            return ((MyHashMap<Integer, Integer>) map).replace(key, key);
+        }
+        // jdk7 的 Map 没有 replace()，使用等价的写法
+        return map.containsKey(key) ? map.put(key, key) : null;
+    }
+
+}
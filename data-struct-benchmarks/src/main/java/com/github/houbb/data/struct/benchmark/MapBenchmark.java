@@ -0,0 +1,97 @@
+package com.github.houbb.data.struct.benchmark;
+
+import com.github.houbb.data.struct.core.util.map.ConcurrentProgressiveReHashMap;
+import com.github.houbb.data.struct.core.util.map.CopyOnWriteHashMap;
+import com.github.houbb.data.struct.core.util.map.MyHashMap;
+import com.github.houbb.data.struct.core.util.map.MyProgressiveReHashMap;
+import com.github.houbb.data.struct.core.util.map.PersistentCopyOnWriteHashMap;
+import com.github.houbb.data.struct.core.util.map.ShardedCopyOnWriteHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * map 的读写性能
+ * <p>
+ * 预先填充 size 个元素，之后按照读写比例执行 get/put，put 只覆盖已有的 key，保证 map 的大小不变。
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapBenchmark {
+
+    @Param({"MyHashMap", "MyProgressiveReHashMap", "ConcurrentProgressiveReHashMap",
+            "CopyOnWriteHashMap", "ShardedCopyOnWriteHashMap", "PersistentCopyOnWriteHashMap",
+            "HashMap", "ConcurrentHashMap"})
+    private String impl;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({Workload.UNIFORM, Workload.SEQUENTIAL, Workload.HOTSPOT})
+    private String distribution;
+
+    @Param({"100", "90", "50"})
+    private int readPercent;
+
+    private Map<Integer, Integer> map;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = newMap(impl);
+        for (int key : Workload.shuffledKeys(size)) {
+            map.put(key, key);
+        }
+        workload = Workload.of(size, distribution, readPercent);
+    }
+
+    @Benchmark
+    public Integer readWrite() {
+        Integer key = workload.nextKey();
+        if (workload.isRead()) {
+            return map.get(key);
+        }
+        return map.put(key, key);
+    }
+
+    /**
+     * 创建 map
+     * @param impl 实现
+     * @return 结果
+     * @since 0.0.6
+     */
+    static Map<Integer, Integer> newMap(final String impl) {
+        switch (impl) {
+            case "MyHashMap":
+                return new MyHashMap<>();
+            case "MyProgressiveReHashMap":
+                return new MyProgressiveReHashMap<>();
+            case "ConcurrentProgressiveReHashMap":
+                return new ConcurrentProgressiveReHashMap<>();
+            case "CopyOnWriteHashMap":
+                return new CopyOnWriteHashMap<>();
+            case "ShardedCopyOnWriteHashMap":
+                return new ShardedCopyOnWriteHashMap<>();
+            case "PersistentCopyOnWriteHashMap":
+                return new PersistentCopyOnWriteHashMap<>();
+            case "HashMap":
+                return new HashMap<>();
+            case "ConcurrentHashMap":
+                return new ConcurrentHashMap<>();
+            default:
+                throw new IllegalArgumentException("Unknown map: " + impl);
+        }
+    }
+
+}
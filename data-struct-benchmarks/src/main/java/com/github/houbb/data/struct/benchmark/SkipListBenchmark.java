@@ -0,0 +1,145 @@
+package com.github.houbb.data.struct.benchmark;
+
+import com.github.houbb.data.struct.core.util.list.ConcurrentSkipList;
+import com.github.houbb.data.struct.core.util.list.LongSkipList;
+import com.github.houbb.data.struct.core.util.list.SkipList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 跳表的读写性能
+ * <p>
+ * 预先填充 size 个元素，之后按照读写比例执行查找/更新，更新只覆盖已有的 key。
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SkipListBenchmark {
+
+    @Param({"SkipList", "LongSkipList", "ConcurrentSkipList", "ConcurrentSkipListMap", "TreeMap"})
+    private String impl;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({Workload.UNIFORM, Workload.SEQUENTIAL, Workload.HOTSPOT})
+    private String distribution;
+
+    @Param({"100", "90", "50"})
+    private int readPercent;
+
+    private OrderedStore store;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = newStore(impl);
+        for (int key : Workload.shuffledKeys(size)) {
+            store.put(key, key);
+        }
+        workload = Workload.of(size, distribution, readPercent);
+    }
+
+    @Benchmark
+    public Integer readWrite() {
+        Integer key = workload.nextKey();
+        if (workload.isRead()) {
+            return store.get(key);
+        }
+        store.put(key, key);
+        return key;
+    }
+
+    /**
+     * 统一不同实现的接口
+     * @since 0.0.6
+     */
+    public interface OrderedStore {
+
+        Integer get(Integer key);
+
+        void put(Integer key, Integer value);
+
+    }
+
+    /**
+     * 创建跳表
+     * @param impl 实现
+     * @return 结果
+     * @since 0.0.6
+     */
+    static OrderedStore newStore(final String impl) {
+        switch (impl) {
+            case "SkipList":
+                final SkipList<Integer> skipList = new SkipList<>();
+                return new OrderedStore() {
+                    @Override
+                    public Integer get(Integer key) {
+                        return skipList.search(key);
+                    }
+
+                    @Override
+                    public void put(Integer key, Integer value) {
+                        skipList.insert(key, value);
+                    }
+                };
+            case "LongSkipList":
+                final LongSkipList<Integer> longSkipList = new LongSkipList<>();
+                return new OrderedStore() {
+                    @Override
+                    public Integer get(Integer key) {
+                        return longSkipList.get(key);
+                    }
+
+                    @Override
+                    public void put(Integer key, Integer value) {
+                        longSkipList.put(key, value);
+                    }
+                };
+            case "ConcurrentSkipList":
+                final ConcurrentSkipList<Integer, Integer> concurrentSkipList = new ConcurrentSkipList<>();
+                return new OrderedStore() {
+                    @Override
+                    public Integer get(Integer key) {
+                        return concurrentSkipList.get(key);
+                    }
+
+                    @Override
+                    public void put(Integer key, Integer value) {
+                        concurrentSkipList.put(key, value);
+                    }
+                };
+            case "ConcurrentSkipListMap":
+                return adapt(new ConcurrentSkipListMap<Integer, Integer>());
+            case "TreeMap":
+                return adapt(new TreeMap<Integer, Integer>());
+            default:
+                throw new IllegalArgumentException("Unknown skip list: " + impl);
+        }
+    }
+
+    private static OrderedStore adapt(final java.util.Map<Integer, Integer> map) {
+        return new OrderedStore() {
+            @Override
+            public Integer get(Integer key) {
+                return map.get(key);
+            }
+
+            @Override
+            public void put(Integer key, Integer value) {
+                map.put(key, value);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.github.houbb.data.struct.benchmark;
+
+import com.github.houbb.data.struct.core.util.tree.AvlTree;
+import com.github.houbb.data.struct.core.util.tree.BTree2;
+import com.github.houbb.data.struct.core.util.tree.BinarySearchTree;
+import com.github.houbb.data.struct.core.util.tree.ISortTree;
+import com.github.houbb.data.struct.core.util.tree.RedBlackTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有序树的读写性能
+ * <p>
+ * （1）readWrite：按照读写比例执行查找，写操作为删除之后重新插入同一个 key，树的大小保持不变
+ * （2）build：从空树开始插入 size 个打乱顺序的 key
+ * <p>
+ * BTree2 的删除还存在问题，readWrite 中 BTree2 的写操作退化为查找，
+ * 所以 BTree2 的 readWrite 结果只代表读性能，写性能请参考 build。
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TreeBenchmark {
+
+    @Param({"BinarySearchTree", "AvlTree", "RedBlackTree", "BTree2", "TreeSet"})
+    private String impl;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({Workload.UNIFORM, Workload.SEQUENTIAL, Workload.HOTSPOT})
+    private String distribution;
+
+    @Param({"100", "90", "50"})
+    private int readPercent;
+
+    private SortedStore tree;
+
+    private int[] keys;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = Workload.shuffledKeys(size);
+        tree = newTree(impl);
+        for (int key : keys) {
+            tree.add(key);
+        }
+        workload = Workload.of(size, distribution, readPercent);
+    }
+
+    @Benchmark
+    public boolean readWrite() {
+        Integer key = workload.nextKey();
+        if (workload.isRead() || !tree.supportRemove()) {
+            return tree.contains(key);
+        }
+
+        tree.remove(key);
+        tree.add(key);
+        return true;
+    }
+
+    @Benchmark
+    public SortedStore build() {
+        SortedStore newTree = newTree(impl);
+        for (int key : keys) {
+            newTree.add(key);
+        }
+        return newTree;
+    }
+
+    /**
+     * 统一不同实现的接口
+     * @since 0.0.6
+     */
+    public interface SortedStore {
+
+        boolean contains(Integer key);
+
+        void add(Integer key);
+
+        void remove(Integer key);
+
+        boolean supportRemove();
+
+    }
+
+    /**
+     * 创建树
+     * @param impl 实现
+     * @return 结果
+     * @since 0.0.6
+     */
+    static SortedStore newTree(final String impl) {
+        switch (impl) {
+            case "BinarySearchTree":
+                return adapt(new BinarySearchTree<Integer>(), true);
+            case "AvlTree":
+                return adapt(new AvlTree<Integer>(), true);
+            case "RedBlackTree":
+                return adapt(new RedBlackTree<Integer>(), true);
+            case "BTree2":
+                return adapt(new BTree2<Integer>(), false);
+            case "TreeSet":
+                final TreeSet<Integer> set = new TreeSet<>();
+                return new SortedStore() {
+                    @Override
+                    public boolean contains(Integer key) {
+                        return set.contains(key);
+                    }
+
+                    @Override
+                    public void add(Integer key) {
+                        set.add(key);
+                    }
+
+                    @Override
+                    public void remove(Integer key) {
+                        set.remove(key);
+                    }
+
+                    @Override
+                    public boolean supportRemove() {
+                        return true;
+                    }
+                };
+            default:
+                throw new IllegalArgumentException("Unknown tree: " + impl);
+        }
+    }
+
+    private static SortedStore adapt(final ISortTree<Integer> tree, final boolean supportRemove) {
+        return new SortedStore() {
+            @Override
+            public boolean contains(Integer key) {
+                return tree.contains(key);
+            }
+
+            @Override
+            public void add(Integer key) {
+                tree.add(key);
+            }
+
+            @Override
+            public void remove(Integer key) {
+                tree.remove(key);
+            }
+
+            @Override
+            public boolean supportRemove() {
+                return supportRemove;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.github.houbb.data.struct.benchmark;
+
+import java.util.Random;
+
+/**
+ * 测试的负载
+ * <p>
+ * 预先生成好 key 的序列和读写的序列，测试的过程中只做数组访问，避免随机数和装箱的开销影响结果。
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class Workload {
+
+    /**
+     * 顺序分布
+     * @since 0.0.6
+     */
+    public static final String SEQUENTIAL = "sequential";
+
+    /**
+     * 均匀分布
+     * @since 0.0.6
+     */
+    public static final String UNIFORM = "uniform";
+
+    /**
+     * 热点分布：80% 的访问落在 20% 的 key 上
+     * @since 0.0.6
+     */
+    public static final String HOTSPOT = "hotspot";
+
+    /**
+     * 序列的长度，必须为 2 的幂
+     * @since 0.0.6
+     */
+    private static final int LENGTH = 1 << 16;
+
+    /**
+     * 固定的随机种子，保证每次运行的负载一致
+     * @since 0.0.6
+     */
+    private static final long SEED = 20201018L;
+
+    /**
+     * key 序列
+     * @since 0.0.6
+     */
+    private final Integer[] keys;
+
+    /**
+     * 读写序列，true 表示读
+     * @since 0.0.6
+     */
+    private final boolean[] reads;
+
+    /**
+     * 当前的下标
+     * @since 0.0.6
+     */
+    private int index;
+
+    private Workload(Integer[] keys, boolean[] reads) {
+        this.keys = keys;
+        this.reads = reads;
+    }
+
+    /**
+     * 创建负载
+     * @param size key 的范围 [0, size)
+     * @param distribution 分布
+     * @param readPercent 读的比例，0-100
+     * @return 结果
+     * @since 0.0.6
+     */
+    public static Workload of(final int size,
+                              final String distribution,
+                              final int readPercent) {
+        Random random = new Random(SEED);
+        Integer[] keys = new Integer[LENGTH];
+        boolean[] reads = new boolean[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            keys[i] = nextKey(random, i, size, distribution);
+            reads[i] = random.nextInt(100) < readPercent;
+        }
+        return new Workload(keys, reads);
+    }
+
+    /**
+     * 所有的 key，[0, size) 打乱之后的顺序，用于预先填充数据
+     * @param size 大小
+     * @return 结果
+     * @since 0.0.6
+     */
+    public static int[] shuffledKeys(final int size) {
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+        }
+
+        Random random = new Random(SEED);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+        return keys;
+    }
+
+    /**
+     * 下一个 key
+     * @return key
+     * @since 0.0.6
+     */
+    public Integer nextKey() {
+        index = (index + 1) & (LENGTH - 1);
+        return keys[index];
+    }
+
+    /**
+     * 当前的操作是否为读
+     *
+     * 需要在 {@link #nextKey()} 之后调用
+     * @return 是否
+     * @since 0.0.6
+     */
+    public boolean isRead() {
+        return reads[index];
+    }
+
+    private static int nextKey(Random random, int i, int size, String distribution) {
+        switch (distribution) {
+            case SEQUENTIAL:
+                return i % size;
+            case UNIFORM:
+                return random.nextInt(size);
+            case HOTSPOT:
+                int hot = Math.max(1, size / 5);
+                if (random.nextInt(100) < 80) {
+                    return random.nextInt(hot);
+                }
+                return hot + random.nextInt(Math.max(1, size - hot));
+            default:
+                throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+    }
+
+}
@@ -0,0 +1,10 @@
+/**
+ * JMH 性能测试
+ * <p>
+ * 每一个 benchmark 都按照数据量、key 的分布以及读写比例参数化，
+ * 通过 {@link com.github.houbb.data.struct.benchmark.BenchmarkRunner} 运行，结果输出为 json。
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+package com.github.houbb.data.struct.benchmark;
@@ -0,0 +1,81 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+/**
+ * 侵入式的双向链表
+ *
+ * {@link com.github.houbb.data.struct.core.util.list.DoubleLinkedList} 只能通过下标操作，删除任意节点是 O(n)。
+ * 这里前后指针放在 {@link CacheNode} 中，一个节点同一时间只能属于一个链表。
+ * 头部为最久没有访问的元素，尾部为最近访问的元素。
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+final class AccessOrderDeque<K, V> {
+
+    private CacheNode<K, V> head;
+
+    private CacheNode<K, V> tail;
+
+    /**
+     * 加入尾部
+     * @param node 节点
+     * @since 0.0.6
+     */
+    void addLast(final CacheNode<K, V> node) {
+        node.previous = tail;
+        node.next = null;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+    }
+
+    /**
+     * 删除节点
+     * @param node 节点
+     * @since 0.0.6
+     */
+    void remove(final CacheNode<K, V> node) {
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+        node.previous = null;
+        node.next = null;
+    }
+
+    /**
+     * 移动到尾部
+     * @param node 节点
+     * @since 0.0.6
+     */
+    void moveToLast(final CacheNode<K, V> node) {
+        if (node != tail) {
+            remove(node);
+            addLast(node);
+        }
+    }
+
+    CacheNode<K, V> first() {
+        return head;
+    }
+
+    boolean isEmpty() {
+        return head == null;
+    }
+
+    void clear() {
+        head = null;
+        tail = null;
+    }
+
+}
@@ -0,0 +1,231 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+import com.github.houbb.data.struct.core.util.map.MyHashMap;
+
+/**
+ * 有上限的缓存
+ * <p>
+ * 使用 {@link MyHashMap} 保存 key 到节点的映射，节点同时是淘汰策略中侵入式链表的节点，
+ * 所以查找、更新、淘汰都是 O(1)。
+ * <p>
+ * 每个元素的权重由 {@link IWeigher} 计算，默认为 1；总权重超出上限时，按照 {@link IEvictionPolicy} 淘汰。
+ * value 不能为 null。非线程安全。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see EvictionPolicies
+ * @since 0.0.6
+ */
+public class BoundedCache<K, V> implements ICache<K, V> {
+
+    /**
+     * 每个元素的权重都为 1
+     * @since 0.0.6
+     */
+    static final IWeigher<Object, Object> SINGLETON_WEIGHER = new IWeigher<Object, Object>() {
+        @Override
+        public int weigh(Object key, Object value) {
+            return 1;
+        }
+    };
+
+    /**
+     * key 到节点的映射
+     * @since 0.0.6
+     */
+    private final MyHashMap<K, CacheNode<K, V>> data;
+
+    /**
+     * 淘汰策略
+     * @since 0.0.6
+     */
+    private final IEvictionPolicy<K, V> policy;
+
+    /**
+     * 权重计算
+     * @since 0.0.6
+     */
+    private final IWeigher<? super K, ? super V> weigher;
+
+    /**
+     * 权重上限
+     * @since 0.0.6
+     */
+    private final long maximumWeight;
+
+    /**
+     * 当前的总权重
+     * @since 0.0.6
+     */
+    private long weightedSize;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    private long evictionWeight;
+
+    /**
+     * 按照个数限制的 LRU 缓存
+     * @param maximumSize 最大个数
+     * @since 0.0.6
+     */
+    public BoundedCache(long maximumSize) {
+        this(maximumSize, EvictionPolicies.<K, V>lru());
+    }
+
+    /**
+     * 按照个数限制
+     * @param maximumSize 最大个数
+     * @param policy 淘汰策略
+     * @since 0.0.6
+     */
+    public BoundedCache(long maximumSize, IEvictionPolicy<K, V> policy) {
+        this(maximumSize, SINGLETON_WEIGHER, policy);
+    }
+
+    /**
+     * 按照权重限制
+     * @param maximumWeight 权重上限
+     * @param weigher 权重计算
+     * @param policy 淘汰策略
+     * @since 0.0.6
+     */
+    public BoundedCache(long maximumWeight, IWeigher<? super K, ? super V> weigher, IEvictionPolicy<K, V> policy) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("maximumWeight must not be negative");
+        }
+
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.policy = policy;
+        this.policy.init(maximumWeight);
+        this.data = new MyHashMap<>((int) Math.min(maximumWeight, 16));
+    }
+
+    @Override
+    public V get(K key) {
+        CacheNode<K, V> node = data.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        policy.onAccess(node);
+        return node.getValue();
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return data.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException("value must not be null");
+        }
+        final int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative");
+        }
+
+        // 单个元素超出上限，放入之后也会被立刻淘汰，不必挤掉其他元素
+        if (weight > maximumWeight) {
+            V oldValue = remove(key);
+            evictionCount++;
+            evictionWeight += weight;
+            return oldValue;
+        }
+
+        CacheNode<K, V> node = data.get(key);
+        if (node != null) {
+            V oldValue = node.getValue();
+            int oldWeight = node.getWeight();
+            node.setValue(value, weight);
+            weightedSize += weight - oldWeight;
+            policy.onUpdate(node, oldWeight);
+            evict();
+            return oldValue;
+        }
+
+        node = new CacheNode<>(key, value, weight);
+        data.put(key, node);
+        weightedSize += weight;
+        policy.onAdd(node);
+        evict();
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        CacheNode<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+
+        policy.onRemove(node);
+        weightedSize -= node.getWeight();
+        return node.getValue();
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * 权重上限
+     * @return 上限
+     * @since 0.0.6
+     */
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public void clear() {
+        data.clear();
+        policy.clear();
+        weightedSize = 0;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount, evictionWeight);
+    }
+
+    /**
+     * 淘汰元素，直到总权重不超过上限
+     * @since 0.0.6
+     */
+    private void evict() {
+        while (weightedSize > maximumWeight) {
+            CacheNode<K, V> victim = policy.victim();
+            data.remove(victim.getKey());
+            policy.onRemove(victim);
+            weightedSize -= victim.getWeight();
+            evictionCount++;
+            evictionWeight += victim.getWeight();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache{" +
+                "size=" + size() +
+                ", weightedSize=" + weightedSize +
+                ", maximumWeight=" + maximumWeight +
+                '}';
+    }
+
+}
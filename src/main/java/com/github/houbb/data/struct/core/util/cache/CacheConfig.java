@@ -0,0 +1,174 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+import com.github.houbb.data.struct.core.util.time.ITicker;
+import com.github.houbb.data.struct.core.util.time.Tickers;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConcurrentBoundedCache} 的配置
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class CacheConfig<K, V> {
+
+    /**
+     * 在调用线程中直接执行
+     * @since 0.0.6
+     */
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    /**
+     * 权重上限
+     * @since 0.0.6
+     */
+    private long maximumWeight = Long.MAX_VALUE;
+
+    /**
+     * 权重计算，默认每个元素为 1
+     * @since 0.0.6
+     */
+    private IWeigher<? super K, ? super V> weigher = BoundedCache.SINGLETON_WEIGHER;
+
+    /**
+     * 淘汰策略，默认为 LRU
+     * @since 0.0.6
+     */
+    private IEvictionPolicy<K, V> policy;
+
+    /**
+     * 写入多久之后过期，0 表示不过期
+     * @since 0.0.6
+     */
+    private long expireAfterWriteNanos = 0;
+
+    /**
+     * 写入多久之后刷新，0 表示不刷新
+     * @since 0.0.6
+     */
+    private long refreshAfterWriteNanos = 0;
+
+    /**
+     * 刷新使用的加载器
+     * @since 0.0.6
+     */
+    private ICacheLoader<K, V> loader;
+
+    /**
+     * 刷新使用的线程池，默认在读线程中直接执行
+     * @since 0.0.6
+     */
+    private Executor executor = DIRECT_EXECUTOR;
+
+    /**
+     * 时间源
+     * @since 0.0.6
+     */
+    private ITicker ticker = Tickers.system();
+
+    public static <K, V> CacheConfig<K, V> newInstance() {
+        return new CacheConfig<>();
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * 按照个数限制
+     * @param maximumSize 最大个数
+     * @return this
+     * @since 0.0.6
+     */
+    public CacheConfig<K, V> maximumSize(long maximumSize) {
+        this.weigher = BoundedCache.SINGLETON_WEIGHER;
+        return maximumWeight(maximumSize);
+    }
+
+    public CacheConfig<K, V> maximumWeight(long maximumWeight) {
+        if(maximumWeight < 0) {
+            throw new IllegalArgumentException("maximumWeight must not be negative");
+        }
+        this.maximumWeight = maximumWeight;
+        return this;
+    }
+
+    public IWeigher<? super K, ? super V> weigher() {
+        return weigher;
+    }
+
+    public CacheConfig<K, V> weigher(IWeigher<? super K, ? super V> weigher) {
+        this.weigher = weigher;
+        return this;
+    }
+
+    public IEvictionPolicy<K, V> policy() {
+        return policy;
+    }
+
+    public CacheConfig<K, V> policy(IEvictionPolicy<K, V> policy) {
+        this.policy = policy;
+        return this;
+    }
+
+    public long expireAfterWriteNanos() {
+        return expireAfterWriteNanos;
+    }
+
+    public CacheConfig<K, V> expireAfterWrite(long duration, TimeUnit unit) {
+        if(duration < 0) {
+            throw new IllegalArgumentException("duration must not be negative");
+        }
+        this.expireAfterWriteNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    public long refreshAfterWriteNanos() {
+        return refreshAfterWriteNanos;
+    }
+
+    public CacheConfig<K, V> refreshAfterWrite(long duration, TimeUnit unit) {
+        if(duration < 0) {
+            throw new IllegalArgumentException("duration must not be negative");
+        }
+        this.refreshAfterWriteNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    public ICacheLoader<K, V> loader() {
+        return loader;
+    }
+
+    public CacheConfig<K, V> loader(ICacheLoader<K, V> loader) {
+        this.loader = loader;
+        return this;
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    public CacheConfig<K, V> executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    public ITicker ticker() {
+        return ticker;
+    }
+
+    public CacheConfig<K, V> ticker(ITicker ticker) {
+        this.ticker = ticker;
+        return this;
+    }
+
+}
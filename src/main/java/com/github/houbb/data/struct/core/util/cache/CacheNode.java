@@ -0,0 +1,104 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+/**
+ * 缓存的节点
+ *
+ * 同时也是 {@link AccessOrderDeque} 的节点，前后指针直接放在元素中，删除和移动都是 O(1)。
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class CacheNode<K, V> {
+
+    private final K key;
+
+    private volatile V value;
+
+    /**
+     * 权重
+     *
+     * 并发缓存中只在持有淘汰锁时修改，和淘汰策略看到的保持一致。
+     * @since 0.0.6
+     */
+    private int weight;
+
+    /**
+     * 前一个节点
+     * @since 0.0.6
+     */
+    CacheNode<K, V> previous;
+
+    /**
+     * 后一个节点
+     * @since 0.0.6
+     */
+    CacheNode<K, V> next;
+
+    /**
+     * 所在的队列，由淘汰策略使用
+     * @since 0.0.6
+     */
+    int queue;
+
+    /**
+     * 所在的频率桶，由 LFU 使用
+     * @since 0.0.6
+     */
+    LfuEvictionPolicy.FrequencyBucket<K, V> bucket;
+
+    /**
+     * 写入时间，由 {@link ConcurrentBoundedCache} 用于过期和刷新
+     * @since 0.0.6
+     */
+    volatile long writeTime;
+
+    /**
+     * 是否已经从 map 中删除，由 {@link ConcurrentBoundedCache} 在节点的锁内修改
+     * @since 0.0.6
+     */
+    volatile boolean retired;
+
+    /**
+     * 是否已经加入淘汰策略，由 {@link ConcurrentBoundedCache} 在淘汰锁内修改
+     * @since 0.0.6
+     */
+    boolean admitted;
+
+    CacheNode(K key, V value, int weight) {
+        this.key = key;
+        this.value = value;
+        this.weight = weight;
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    void setValue(V value, int weight) {
+        this.value = value;
+        this.weight = weight;
+    }
+
+    void setValue(V value) {
+        this.value = value;
+    }
+
+    void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    @Override
+    public String toString() {
+        return "{" + key + ": " + value + '}';
+    }
+
+}
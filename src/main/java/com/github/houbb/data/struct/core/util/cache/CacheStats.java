@@ -0,0 +1,84 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+/**
+ * 缓存的统计信息
+ *
+ * 不可变对象，是调用 {@link ICache#stats()} 时的快照。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class CacheStats {
+
+    /**
+     * 命中次数
+     * @since 0.0.6
+     */
+    private final long hitCount;
+
+    /**
+     * 未命中次数
+     * @since 0.0.6
+     */
+    private final long missCount;
+
+    /**
+     * 淘汰次数
+     * @since 0.0.6
+     */
+    private final long evictionCount;
+
+    /**
+     * 淘汰的总权重
+     * @since 0.0.6
+     */
+    private final long evictionWeight;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long evictionWeight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long evictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * 命中率
+     * @return 没有请求时返回 1
+     * @since 0.0.6
+     */
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : hitCount * 1.0 / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", hitRate=" + hitRate() +
+                ", evictionCount=" + evictionCount +
+                ", evictionWeight=" + evictionWeight +
+                '}';
+    }
+
+}
@@ -0,0 +1,534 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+import com.github.houbb.data.struct.core.util.map.ConcurrentProgressiveReHashMap;
+import com.github.houbb.data.struct.core.util.time.ITicker;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 线程安全的有上限缓存
+ * <p>
+ * （1）数据保存在 {@link ConcurrentProgressiveReHashMap} 中，读写 map 本身不需要全局锁。
+ * （2）淘汰策略不是线程安全的，只在持有淘汰锁时修改：
+ * 读操作把访问记录放入分段的有损 {@link ReadBuffer}，写操作把新增、更新、删除任务放入写缓冲，
+ * 由拿到 tryLock 的线程批量执行，其他线程不会阻塞。
+ * （3）写入时记录时间：超过 expireAfterWrite 的元素视为不存在，在读取时删除；
+ * 超过 refreshAfterWrite 的元素在读取时仍返回旧值，同时在指定的 {@link Executor} 中重新加载。
+ * <p>
+ * {@link #size()} 和 {@link #weightedSize()} 可能包含还没有处理的写操作和还没有读取到的过期元素，
+ * 需要精确的结果时先调用 {@link #cleanUp()}。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see BoundedCache
+ * @since 0.0.6
+ */
+public class ConcurrentBoundedCache<K, V> implements ICache<K, V> {
+
+    /**
+     * key 到节点的映射
+     * @since 0.0.6
+     */
+    private final ConcurrentProgressiveReHashMap<K, CacheNode<K, V>> data;
+
+    /**
+     * 正在刷新的 key
+     * @since 0.0.6
+     */
+    private final ConcurrentProgressiveReHashMap<K, Boolean> refreshing;
+
+    /**
+     * 淘汰策略，只在持有淘汰锁时访问
+     * @since 0.0.6
+     */
+    private final IEvictionPolicy<K, V> policy;
+
+    private final IWeigher<? super K, ? super V> weigher;
+
+    private final long maximumWeight;
+
+    private final long expireAfterWriteNanos;
+
+    private final long refreshAfterWriteNanos;
+
+    private final ICacheLoader<K, V> loader;
+
+    private final Executor executor;
+
+    private final ITicker ticker;
+
+    /**
+     * 读缓冲
+     * @since 0.0.6
+     */
+    private final ReadBuffer<K, V> readBuffer = new ReadBuffer<>();
+
+    /**
+     * 写缓冲
+     * @since 0.0.6
+     */
+    private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 淘汰锁
+     * @since 0.0.6
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * 策略中的总权重，只在持有淘汰锁时修改
+     * @since 0.0.6
+     */
+    private volatile long weightedSize;
+
+    private volatile long evictionCount;
+
+    private volatile long evictionWeight;
+
+    /**
+     * 按照个数限制的 LRU 缓存
+     * @param maximumSize 最大个数
+     * @since 0.0.6
+     */
+    public ConcurrentBoundedCache(long maximumSize) {
+        this(CacheConfig.<K, V>newInstance().maximumSize(maximumSize));
+    }
+
+    public ConcurrentBoundedCache(CacheConfig<K, V> config) {
+        if (config.refreshAfterWriteNanos() > 0 && config.loader() == null) {
+            throw new IllegalArgumentException("refreshAfterWrite requires a loader");
+        }
+
+        this.maximumWeight = config.maximumWeight();
+        this.weigher = config.weigher();
+        this.policy = config.policy() == null ? EvictionPolicies.<K, V>lru() : config.policy();
+        this.policy.init(maximumWeight);
+        this.expireAfterWriteNanos = config.expireAfterWriteNanos();
+        this.refreshAfterWriteNanos = config.refreshAfterWriteNanos();
+        this.loader = config.loader();
+        this.executor = config.executor();
+        this.ticker = config.ticker();
+        this.data = new ConcurrentProgressiveReHashMap<>((int) Math.min(maximumWeight, 16));
+        this.refreshing = new ConcurrentProgressiveReHashMap<>();
+    }
+
+    @Override
+    public V get(K key) {
+        final CacheNode<K, V> node = data.get(key);
+        if (node == null) {
+            readBuffer.recordMiss();
+            return null;
+        }
+
+        final long now = ticker.read();
+        if (isExpired(node, now)) {
+            readBuffer.recordMiss();
+            expire(node);
+            return null;
+        }
+
+        final V value = node.getValue();
+        readBuffer.recordHit();
+        if (readBuffer.offer(node) == ReadBuffer.FULL) {
+            scheduleDrain();
+        }
+        refreshIfNeeded(node, now);
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        CacheNode<K, V> node = data.get(key);
+        return node != null && !isExpired(node, ticker.read());
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException("value must not be null");
+        }
+        final int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative");
+        }
+
+        // 单个元素超出上限，放入之后也会被立刻淘汰，不必挤掉其他元素
+        if (weight > maximumWeight) {
+            V oldValue = remove(key);
+            evictionLock.lock();
+            try {
+                evictionCount++;
+                evictionWeight += weight;
+            } finally {
+                evictionLock.unlock();
+            }
+            return oldValue;
+        }
+
+        final long now = ticker.read();
+        while (true) {
+            CacheNode<K, V> node = data.get(key);
+            if (node == null) {
+                CacheNode<K, V> newNode = new CacheNode<>(key, value, weight);
+                newNode.writeTime = now;
+                if (data.putIfAbsent(key, newNode) == null) {
+                    afterWrite(new AddTask(newNode));
+                    return null;
+                }
+                continue;
+            }
+
+            V oldValue;
+            synchronized (node) {
+                // 已经被删除，重新查找
+                if (node.retired) {
+                    continue;
+                }
+
+                oldValue = isExpired(node, now) ? null : node.getValue();
+                node.setValue(value);
+                node.writeTime = now;
+                // 在节点的锁内入队，保证同一个节点的更新任务和值的顺序一致
+                writeBuffer.add(new UpdateTask(node, weight));
+            }
+            scheduleDrain();
+            return oldValue;
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        final CacheNode<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+
+        retire(node);
+        afterWrite(new RemoveTask(node, false));
+        return isExpired(node, ticker.read()) ? null : node.getValue();
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * 清空
+     *
+     * 逐个删除，并发的写入可能会保留下来。
+     * @since 0.0.6
+     */
+    @Override
+    public void clear() {
+        for (Map.Entry<K, CacheNode<K, V>> entry : data.entrySet()) {
+            CacheNode<K, V> node = entry.getValue();
+            if (data.remove(entry.getKey(), node)) {
+                retire(node);
+                writeBuffer.add(new RemoveTask(node, false));
+            }
+        }
+        cleanUp();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(readBuffer.hitCount(), readBuffer.missCount(), evictionCount, evictionWeight);
+    }
+
+    /**
+     * 等待淘汰锁，处理所有缓冲的读写操作
+     * @since 0.0.6
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            drainBuffers();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 是否过期
+     * @param node 节点
+     * @param now 当前时间
+     * @return 是否
+     * @since 0.0.6
+     */
+    private boolean isExpired(final CacheNode<K, V> node, final long now) {
+        return expireAfterWriteNanos > 0 && now - node.writeTime >= expireAfterWriteNanos;
+    }
+
+    /**
+     * 删除过期的节点
+     * @param node 节点
+     * @since 0.0.6
+     */
+    private void expire(final CacheNode<K, V> node) {
+        if (data.remove(node.getKey(), node)) {
+            retire(node);
+            afterWrite(new RemoveTask(node, true));
+        }
+    }
+
+    /**
+     * 标记节点已经从 map 中删除，之后的更新需要重新查找
+     * @param node 节点
+     * @since 0.0.6
+     */
+    private void retire(final CacheNode<K, V> node) {
+        synchronized (node) {
+            node.retired = true;
+        }
+    }
+
+    /**
+     * 需要时异步刷新
+     * <p>
+     * 同一个 key 同时只有一个刷新任务。加载期间节点被更新或者删除时，丢弃加载的结果。
+     *
+     * @param node 节点
+     * @param now 当前时间
+     * @since 0.0.6
+     */
+    private void refreshIfNeeded(final CacheNode<K, V> node, final long now) {
+        final long writeTime = node.writeTime;
+        if (refreshAfterWriteNanos <= 0 || now - writeTime < refreshAfterWriteNanos) {
+            return;
+        }
+
+        final K key = node.getKey();
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        V value = loader.load(key);
+                        if (value != null) {
+                            replaceIfUnchanged(node, writeTime, value);
+                        }
+                    } catch (Exception e) {
+                        // 加载失败，保留原来的值，下次读取时再次尝试
+                    } finally {
+                        refreshing.remove(key);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // 线程池拒绝，下次读取时再次尝试
+            refreshing.remove(key);
+        }
+    }
+
+    /**
+     * 节点没有被更新过时，替换为刷新的值
+     * @param node 节点
+     * @param writeTime 开始刷新时的写入时间
+     * @param value 新的值
+     * @since 0.0.6
+     */
+    private void replaceIfUnchanged(final CacheNode<K, V> node, final long writeTime, final V value) {
+        final int weight = weigher.weigh(node.getKey(), value);
+        if (weight < 0 || weight > maximumWeight) {
+            return;
+        }
+
+        synchronized (node) {
+            if (node.retired || node.writeTime != writeTime) {
+                return;
+            }
+            node.setValue(value);
+            node.writeTime = ticker.read();
+            writeBuffer.add(new UpdateTask(node, weight));
+        }
+        scheduleDrain();
+    }
+
+    private void afterWrite(final Runnable task) {
+        writeBuffer.add(task);
+        scheduleDrain();
+    }
+
+    /**
+     * 尝试处理缓冲
+     * <p>
+     * 拿不到锁时直接返回，由持有锁的线程处理。
+     * 释放锁之后再次检查写缓冲，避免在释放前的一瞬间放入的任务没有人处理。
+     *
+     * @since 0.0.6
+     */
+    private void scheduleDrain() {
+        do {
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+            try {
+                drainBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        } while (!writeBuffer.isEmpty());
+    }
+
+    /**
+     * 先执行写任务，让新增的节点先加入策略；再处理读缓冲；最后淘汰
+     * @since 0.0.6
+     */
+    private void drainBuffers() {
+        Runnable task;
+        while ((task = writeBuffer.poll()) != null) {
+            task.run();
+        }
+        readBuffer.drainTo(policy);
+        evict();
+    }
+
+    /**
+     * 淘汰元素，直到总权重不超过上限
+     * @since 0.0.6
+     */
+    private void evict() {
+        while (weightedSize > maximumWeight) {
+            CacheNode<K, V> victim = policy.victim();
+            if (victim == null) {
+                return;
+            }
+
+            data.remove(victim.getKey(), victim);
+            retire(victim);
+            unlink(victim);
+            evictionCount++;
+            evictionWeight += victim.getWeight();
+        }
+    }
+
+    /**
+     * 从策略中删除
+     * @param node 节点
+     * @since 0.0.6
+     */
+    private void unlink(final CacheNode<K, V> node) {
+        node.admitted = false;
+        policy.onRemove(node);
+        weightedSize -= node.getWeight();
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentBoundedCache{" +
+                "size=" + size() +
+                ", weightedSize=" + weightedSize +
+                ", maximumWeight=" + maximumWeight +
+                '}';
+    }
+
+    /**
+     * 新增的节点加入策略
+     * <p>
+     * 入队之前可能已经被删除，此时直接忽略。
+     *
+     * @since 0.0.6
+     */
+    private final class AddTask implements Runnable {
+
+        private final CacheNode<K, V> node;
+
+        AddTask(CacheNode<K, V> node) {
+            this.node = node;
+        }
+
+        @Override
+        public void run() {
+            if (node.retired) {
+                return;
+            }
+
+            node.admitted = true;
+            weightedSize += node.getWeight();
+            policy.onAdd(node);
+        }
+    }
+
+    /**
+     * 更新权重和访问顺序
+     * <p>
+     * 节点还没有加入策略时只更新权重，新增任务执行时会使用最新的权重。
+     *
+     * @since 0.0.6
+     */
+    private final class UpdateTask implements Runnable {
+
+        private final CacheNode<K, V> node;
+
+        private final int weight;
+
+        UpdateTask(CacheNode<K, V> node, int weight) {
+            this.node = node;
+            this.weight = weight;
+        }
+
+        @Override
+        public void run() {
+            final int oldWeight = node.getWeight();
+            node.setWeight(weight);
+            if (!node.admitted) {
+                return;
+            }
+
+            weightedSize += weight - oldWeight;
+            policy.onUpdate(node, oldWeight);
+        }
+    }
+
+    /**
+     * 从策略中删除
+     * @since 0.0.6
+     */
+    private final class RemoveTask implements Runnable {
+
+        private final CacheNode<K, V> node;
+
+        /**
+         * 是否因为过期被删除，计入淘汰次数
+         */
+        private final boolean expired;
+
+        RemoveTask(CacheNode<K, V> node, boolean expired) {
+            this.node = node;
+            this.expired = expired;
+        }
+
+        @Override
+        public void run() {
+            if (!node.admitted) {
+                return;
+            }
+
+            unlink(node);
+            if (expired) {
+                evictionCount++;
+                evictionWeight += node.getWeight();
+            }
+        }
+    }
+
+}
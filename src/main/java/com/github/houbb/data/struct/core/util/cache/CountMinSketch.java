@@ -0,0 +1,150 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+import com.github.houbb.data.struct.util.HashUtil;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch
+ * <p>
+ * 使用固定的内存估算元素出现的频率，结果只会偏大，不会偏小。
+ * （1）4 行计数器，每一行使用不同的 hash 定位，频率取 4 个计数器中的最小值。
+ * （2）计数器为 4 位，最大为 15，只需要区分冷热即可；每个 byte 存放两个计数器，内存是 byte 计数器的一半。
+ * （3）累计增加的次数达到 10 倍宽度时，所有计数器减半，让过去的热点逐渐冷却。
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class CountMinSketch {
+
+    /**
+     * 行数
+     * @since 0.0.6
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * 计数器的最大值
+     * @since 0.0.6
+     */
+    private static final int MAX_COUNT = 15;
+
+    /**
+     * 每一行的 hash 种子
+     * @since 0.0.6
+     */
+    private static final int[] SEEDS = {0x97cb3127, 0x5b3a1c4d, 0x1d8e4e27, 0x2f9be6b1};
+
+    /**
+     * 计数器，DEPTH 行依次排列
+     * <p>
+     * 第 i 个计数器位于第 i/2 个 byte，偶数在低 4 位，奇数在高 4 位。
+     *
+     * @since 0.0.6
+     */
+    private final byte[] table;
+
+    /**
+     * 掩码，等于宽度-1
+     * @since 0.0.6
+     */
+    private final int mask;
+
+    /**
+     * 减半的周期
+     * @since 0.0.6
+     */
+    private final int sampleSize;
+
+    /**
+     * 距离上次减半，增加的次数
+     * @since 0.0.6
+     */
+    private int additions;
+
+    /**
+     * 初始化
+     * @param expectedSize 预计的元素个数，宽度会调整为不小于它的 2 的幂
+     * @since 0.0.6
+     */
+    public CountMinSketch(long expectedSize) {
+        int width = HashUtil.tableSizeFor((int) Math.max(16, Math.min(expectedSize, 1 << 24)));
+        this.table = new byte[DEPTH * width / 2];
+        this.mask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    /**
+     * 增加一次
+     * @param key 元素
+     * @since 0.0.6
+     */
+    public void increment(final Object key) {
+        final int hash = HashUtil.hash(key);
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = indexOf(hash, i);
+            int shift = (index & 1) << 2;
+            int slot = index >>> 1;
+            if (((table[slot] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+                table[slot] += (byte) (1 << shift);
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * 估算的频率
+     * @param key 元素
+     * @return 频率，不超过 15
+     * @since 0.0.6
+     */
+    public int frequency(final Object key) {
+        final int hash = HashUtil.hash(key);
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = indexOf(hash, i);
+            frequency = Math.min(frequency, (table[index >>> 1] >>> ((index & 1) << 2)) & MAX_COUNT);
+        }
+        return frequency;
+    }
+
+    /**
+     * 清空
+     * @since 0.0.6
+     */
+    public void clear() {
+        Arrays.fill(table, (byte) 0);
+        additions = 0;
+    }
+
+    /**
+     * 所有计数器减半
+     *
+     * 一个 byte 中的两个计数器同时右移，再去掉高位计数器移到低位计数器中的一位。
+     * @since 0.0.6
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (byte) (((table[i] & 0xFF) >>> 1) & 0x77);
+        }
+        additions >>>= 1;
+    }
+
+    /**
+     * 第 row 行对应的下标
+     * @param hash hash 值
+     * @param row 行
+     * @return 下标
+     * @since 0.0.6
+     */
+    private int indexOf(final int hash, final int row) {
+        int h = HashUtil.mix(hash * SEEDS[row]);
+        return row * (mask + 1) + (h & mask);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+/**
+ * 淘汰策略工具类
+ *
+ * 策略是有状态的，每次调用都会创建新的实例。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class EvictionPolicies {
+
+    private EvictionPolicies(){}
+
+    /**
+     * 最近最少使用
+     * @param <K> key 泛型
+     * @param <V> value 泛型
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static <K, V> IEvictionPolicy<K, V> lru() {
+        return new LruEvictionPolicy<>();
+    }
+
+    /**
+     * 最不经常使用
+     * @param <K> key 泛型
+     * @param <V> value 泛型
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static <K, V> IEvictionPolicy<K, V> lfu() {
+        return new LfuEvictionPolicy<>();
+    }
+
+    /**
+     * W-TinyLFU
+     * @param <K> key 泛型
+     * @param <V> value 泛型
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static <K, V> IEvictionPolicy<K, V> wTinyLfu() {
+        return new WTinyLfuEvictionPolicy<>();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+/**
+ * 缓存接口
+ *
+ * 容量有上限，超出时按照淘汰策略删除元素。
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public interface ICache<K, V> {
+
+    /**
+     * 获取元素
+     * @param key key
+     * @return 值，不存在返回 null
+     * @since 0.0.6
+     */
+    V get(K key);
+
+    /**
+     * 是否包含 key，不影响淘汰的顺序和统计信息
+     * @param key key
+     * @return 是否
+     * @since 0.0.6
+     */
+    boolean containsKey(K key);
+
+    /**
+     * 放入元素
+     * @param key key
+     * @param value 值
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    V put(K key, V value);
+
+    /**
+     * 删除元素
+     * @param key key
+     * @return 被删除的值
+     * @since 0.0.6
+     */
+    V remove(K key);
+
+    /**
+     * 元素个数
+     * @return 个数
+     * @since 0.0.6
+     */
+    int size();
+
+    /**
+     * 元素的总权重
+     * @return 权重
+     * @since 0.0.6
+     */
+    long weightedSize();
+
+    /**
+     * 清空
+     * @since 0.0.6
+     */
+    void clear();
+
+    /**
+     * 统计信息
+     * @return 统计信息
+     * @since 0.0.6
+     */
+    CacheStats stats();
+
+}
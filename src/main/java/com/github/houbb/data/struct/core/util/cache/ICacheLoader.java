@@ -0,0 +1,21 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+/**
+ * 缓存的加载器
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public interface ICacheLoader<K, V> {
+
+    /**
+     * 加载 key 对应的值
+     * @param key key
+     * @return 值，返回 null 时保留原来的值
+     * @throws Exception 加载失败时保留原来的值
+     * @since 0.0.6
+     */
+    V load(K key) throws Exception;
+
+}
@@ -0,0 +1,67 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+/**
+ * 淘汰策略
+ *
+ * 缓存在元素新增、访问、删除时通知策略；总权重超出上限时，通过 {@link #victim()} 获取需要淘汰的元素。
+ * 每一个缓存使用一个独立的策略实例。
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see EvictionPolicies
+ * @since 0.0.6
+ */
+public interface IEvictionPolicy<K, V> {
+
+    /**
+     * 初始化
+     * @param maximumWeight 缓存的权重上限
+     * @since 0.0.6
+     */
+    void init(long maximumWeight);
+
+    /**
+     * 新增元素
+     * @param node 节点
+     * @since 0.0.6
+     */
+    void onAdd(CacheNode<K, V> node);
+
+    /**
+     * 读取元素
+     * @param node 节点
+     * @since 0.0.6
+     */
+    void onAccess(CacheNode<K, V> node);
+
+    /**
+     * 更新元素的值，权重可能发生变化
+     * @param node 节点
+     * @param oldWeight 原来的权重
+     * @since 0.0.6
+     */
+    void onUpdate(CacheNode<K, V> node, int oldWeight);
+
+    /**
+     * 元素被删除，包含淘汰
+     * @param node 节点
+     * @since 0.0.6
+     */
+    void onRemove(CacheNode<K, V> node);
+
+    /**
+     * 需要淘汰的元素
+     *
+     * 只负责选择，元素由缓存删除，之后会调用 {@link #onRemove(CacheNode)}
+     * @return 节点，缓存不为空时不能返回 null
+     * @since 0.0.6
+     */
+    CacheNode<K, V> victim();
+
+    /**
+     * 清空
+     * @since 0.0.6
+     */
+    void clear();
+
+}
@@ -0,0 +1,23 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+/**
+ * 元素的权重
+ *
+ * 缓存的上限按照权重之和计算，默认每个元素的权重为 1，即按照个数限制。
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public interface IWeigher<K, V> {
+
+    /**
+     * 计算权重
+     * @param key key
+     * @param value 值
+     * @return 权重，不能为负数
+     * @since 0.0.6
+     */
+    int weigh(K key, V value);
+
+}
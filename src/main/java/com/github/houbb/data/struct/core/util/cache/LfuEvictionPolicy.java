@@ -0,0 +1,136 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+/**
+ * LFU 淘汰策略
+ * <p>
+ * O(1) 的实现：相同访问次数的元素放在同一个频率桶中，桶按照访问次数从小到大串成链表。
+ * （1）访问时，元素移动到次数+1 的桶中，桶不存在则在当前桶之后创建。
+ * （2）淘汰时，选择次数最少的桶中最久没有访问的元素。
+ * （3）空的桶直接删除。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+class LfuEvictionPolicy<K, V> implements IEvictionPolicy<K, V> {
+
+    /**
+     * 访问次数最少的桶
+     * @since 0.0.6
+     */
+    private FrequencyBucket<K, V> head;
+
+    @Override
+    public void init(long maximumWeight) {
+    }
+
+    @Override
+    public void onAdd(CacheNode<K, V> node) {
+        FrequencyBucket<K, V> bucket = head;
+        if (bucket == null || bucket.frequency != 1) {
+            bucket = new FrequencyBucket<>(1);
+            linkAfter(null, bucket);
+        }
+        bucket.deque.addLast(node);
+        node.bucket = bucket;
+    }
+
+    @Override
+    public void onAccess(CacheNode<K, V> node) {
+        final FrequencyBucket<K, V> current = node.bucket;
+        FrequencyBucket<K, V> next = current.next;
+        if (next == null || next.frequency != current.frequency + 1) {
+            next = new FrequencyBucket<>(current.frequency + 1);
+            linkAfter(current, next);
+        }
+
+        current.deque.remove(node);
+        next.deque.addLast(node);
+        node.bucket = next;
+        if (current.deque.isEmpty()) {
+            unlink(current);
+        }
+    }
+
+    @Override
+    public void onUpdate(CacheNode<K, V> node, int oldWeight) {
+        onAccess(node);
+    }
+
+    @Override
+    public void onRemove(CacheNode<K, V> node) {
+        final FrequencyBucket<K, V> bucket = node.bucket;
+        bucket.deque.remove(node);
+        node.bucket = null;
+        if (bucket.deque.isEmpty()) {
+            unlink(bucket);
+        }
+    }
+
+    @Override
+    public CacheNode<K, V> victim() {
+        return head == null ? null : head.deque.first();
+    }
+
+    @Override
+    public void clear() {
+        head = null;
+    }
+
+    /**
+     * 在 previous 之后插入桶
+     * @param previous 前一个桶，为 null 时插入到头部
+     * @param bucket 桶
+     * @since 0.0.6
+     */
+    private void linkAfter(final FrequencyBucket<K, V> previous, final FrequencyBucket<K, V> bucket) {
+        bucket.previous = previous;
+        if (previous == null) {
+            bucket.next = head;
+            head = bucket;
+        } else {
+            bucket.next = previous.next;
+            previous.next = bucket;
+        }
+        if (bucket.next != null) {
+            bucket.next.previous = bucket;
+        }
+    }
+
+    /**
+     * 删除桶
+     * @param bucket 桶
+     * @since 0.0.6
+     */
+    private void unlink(final FrequencyBucket<K, V> bucket) {
+        if (bucket.previous == null) {
+            head = bucket.next;
+        } else {
+            bucket.previous.next = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.previous = bucket.previous;
+        }
+    }
+
+    /**
+     * 频率桶
+     * @since 0.0.6
+     */
+    static final class FrequencyBucket<K, V> {
+
+        private final int frequency;
+
+        private final AccessOrderDeque<K, V> deque = new AccessOrderDeque<>();
+
+        private FrequencyBucket<K, V> previous;
+
+        private FrequencyBucket<K, V> next;
+
+        private FrequencyBucket(int frequency) {
+            this.frequency = frequency;
+        }
+    }
+
+}
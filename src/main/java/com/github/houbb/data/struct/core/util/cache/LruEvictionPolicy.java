@@ -0,0 +1,50 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+/**
+ * LRU 淘汰策略
+ *
+ * 访问的元素移动到链表尾部，淘汰链表头部最久没有访问的元素。
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+class LruEvictionPolicy<K, V> implements IEvictionPolicy<K, V> {
+
+    private final AccessOrderDeque<K, V> deque = new AccessOrderDeque<>();
+
+    @Override
+    public void init(long maximumWeight) {
+    }
+
+    @Override
+    public void onAdd(CacheNode<K, V> node) {
+        deque.addLast(node);
+    }
+
+    @Override
+    public void onAccess(CacheNode<K, V> node) {
+        deque.moveToLast(node);
+    }
+
+    @Override
+    public void onUpdate(CacheNode<K, V> node, int oldWeight) {
+        deque.moveToLast(node);
+    }
+
+    @Override
+    public void onRemove(CacheNode<K, V> node) {
+        deque.remove(node);
+    }
+
+    @Override
+    public CacheNode<K, V> victim() {
+        return deque.first();
+    }
+
+    @Override
+    public void clear() {
+        deque.clear();
+    }
+
+}
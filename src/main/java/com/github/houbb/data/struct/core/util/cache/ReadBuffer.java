@@ -0,0 +1,183 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 分段的有损读缓冲
+ * <p>
+ * （1）读线程按照线程 id 选择一个段，把访问的节点放入段内的环形数组，不需要加锁。
+ * （2）段满了或者 CAS 失败时直接丢弃这次记录，只会让淘汰顺序略有偏差，不影响正确性。
+ * （3）持有淘汰锁的线程批量取出所有段的节点，交给淘汰策略。
+ * <p>
+ * 命中和未命中的次数也记录在段内，避免所有的读线程竞争同一个计数器。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+final class ReadBuffer<K, V> {
+
+    /**
+     * 放入成功
+     * @since 0.0.6
+     */
+    static final int SUCCESS = 0;
+
+    /**
+     * 段已经满了，需要清空
+     * @since 0.0.6
+     */
+    static final int FULL = 1;
+
+    /**
+     * CAS 失败，记录被丢弃
+     * @since 0.0.6
+     */
+    static final int FAILED = 2;
+
+    /**
+     * 每个段的大小，2 的幂
+     * @since 0.0.6
+     */
+    private static final int BUFFER_SIZE = 16;
+
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    /**
+     * 最大的段个数
+     * @since 0.0.6
+     */
+    private static final int MAX_STRIPES = 64;
+
+    private final Stripe<K, V>[] stripes;
+
+    private final int stripeMask;
+
+    /**
+     * 段
+     * @since 0.0.6
+     */
+    private static final class Stripe<K, V> {
+
+        /**
+         * 下一个写入的位置
+         */
+        final AtomicLong writeCounter = new AtomicLong();
+
+        /**
+         * 下一个读取的位置，只在持有淘汰锁时修改
+         */
+        volatile long readCounter;
+
+        final AtomicReferenceArray<CacheNode<K, V>> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+
+        final AtomicLong hitCount = new AtomicLong();
+
+        final AtomicLong missCount = new AtomicLong();
+    }
+
+    @SuppressWarnings("unchecked")
+    ReadBuffer() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int count = 1;
+        while (count < processors && count < MAX_STRIPES) {
+            count <<= 1;
+        }
+
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        this.stripeMask = count - 1;
+    }
+
+    /**
+     * 记录一次访问
+     * @param node 节点
+     * @return 结果
+     * @since 0.0.6
+     */
+    int offer(final CacheNode<K, V> node) {
+        final Stripe<K, V> stripe = stripe();
+        final long head = stripe.readCounter;
+        final long tail = stripe.writeCounter.get();
+        final long size = tail - head;
+        if (size >= BUFFER_SIZE) {
+            return FULL;
+        }
+        if (!stripe.writeCounter.compareAndSet(tail, tail + 1)) {
+            return FAILED;
+        }
+
+        stripe.buffer.lazySet((int) (tail & BUFFER_MASK), node);
+        return size + 1 == BUFFER_SIZE ? FULL : SUCCESS;
+    }
+
+    /**
+     * 取出所有段中的节点，交给淘汰策略
+     * <p>
+     * 需要持有淘汰锁。已经删除或者还没有加入策略的节点直接忽略。
+     * 写线程已经占位但是还没有写入的位置，留到下次处理。
+     *
+     * @param policy 淘汰策略
+     * @since 0.0.6
+     */
+    void drainTo(final IEvictionPolicy<K, V> policy) {
+        for (Stripe<K, V> stripe : stripes) {
+            long head = stripe.readCounter;
+            final long tail = stripe.writeCounter.get();
+            while (head < tail) {
+                final int index = (int) (head & BUFFER_MASK);
+                final CacheNode<K, V> node = stripe.buffer.get(index);
+                if (node == null) {
+                    break;
+                }
+
+                stripe.buffer.lazySet(index, null);
+                if (node.admitted) {
+                    policy.onAccess(node);
+                }
+                head++;
+            }
+            stripe.readCounter = head;
+        }
+    }
+
+    void recordHit() {
+        stripe().hitCount.incrementAndGet();
+    }
+
+    void recordMiss() {
+        stripe().missCount.incrementAndGet();
+    }
+
+    long hitCount() {
+        long sum = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            sum += stripe.hitCount.get();
+        }
+        return sum;
+    }
+
+    long missCount() {
+        long sum = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            sum += stripe.missCount.get();
+        }
+        return sum;
+    }
+
+    /**
+     * 当前线程对应的段
+     * @return 段
+     * @since 0.0.6
+     */
+    private Stripe<K, V> stripe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+/**
+ * W-TinyLFU 淘汰策略
+ * <p>
+ * （1）窗口：新元素先进入一个占 1% 容量的 LRU 窗口，让突发的新元素有机会积累访问次数。
+ * （2）主区：分段 LRU，分为试用区和保护区（占主区的 80%）。试用区的元素再次访问时晋升到保护区，
+ * 保护区超出上限时，最久没有访问的元素降级到试用区。
+ * （3）准入：需要淘汰并且窗口超出上限时，窗口中最久没有访问的元素作为候选，和试用区的头部元素比较
+ * {@link CountMinSketch} 估算的访问频率，频率高的留下，另一个被淘汰。
+ * <p>
+ * 相比 LRU，一次性的扫描不会冲掉热点数据；相比 LFU，过去的热点会随着计数器减半逐渐冷却。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+class WTinyLfuEvictionPolicy<K, V> implements IEvictionPolicy<K, V> {
+
+    private static final int WINDOW = 0;
+
+    private static final int PROBATION = 1;
+
+    private static final int PROTECTED = 2;
+
+    /**
+     * 窗口占总容量的比例
+     * @since 0.0.6
+     */
+    private static final double WINDOW_PERCENT = 0.01;
+
+    /**
+     * 保护区占主区的比例
+     * @since 0.0.6
+     */
+    private static final double PROTECTED_PERCENT = 0.8;
+
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+
+    private final AccessOrderDeque<K, V> protectedDeque = new AccessOrderDeque<>();
+
+    private CountMinSketch sketch;
+
+    private long windowMax;
+
+    private long mainMax;
+
+    private long protectedMax;
+
+    private long windowWeight;
+
+    private long probationWeight;
+
+    private long protectedWeight;
+
+    @Override
+    public void init(long maximumWeight) {
+        this.windowMax = Math.max(1, (long) (maximumWeight * WINDOW_PERCENT));
+        this.mainMax = Math.max(0, maximumWeight - windowMax);
+        this.protectedMax = (long) (mainMax * PROTECTED_PERCENT);
+        this.sketch = new CountMinSketch(maximumWeight);
+    }
+
+    /**
+     * 新元素进入窗口
+     * <p>
+     * 主区还有空间时，窗口溢出的元素直接进入试用区，不需要淘汰。
+     *
+     * @param node 节点
+     * @since 0.0.6
+     */
+    @Override
+    public void onAdd(CacheNode<K, V> node) {
+        sketch.increment(node.getKey());
+        node.queue = WINDOW;
+        window.addLast(node);
+        windowWeight += node.getWeight();
+
+        while (windowWeight > windowMax) {
+            CacheNode<K, V> first = window.first();
+            if (probationWeight + protectedWeight + first.getWeight() > mainMax) {
+                break;
+            }
+            moveToProbation(first);
+        }
+    }
+
+    @Override
+    public void onAccess(CacheNode<K, V> node) {
+        sketch.increment(node.getKey());
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                promote(node);
+                break;
+            default:
+                protectedDeque.moveToLast(node);
+                break;
+        }
+    }
+
+    @Override
+    public void onUpdate(CacheNode<K, V> node, int oldWeight) {
+        addWeight(node.queue, node.getWeight() - oldWeight);
+        onAccess(node);
+    }
+
+    @Override
+    public void onRemove(CacheNode<K, V> node) {
+        queueOf(node).remove(node);
+        addWeight(node.queue, -node.getWeight());
+    }
+
+    @Override
+    public CacheNode<K, V> victim() {
+        CacheNode<K, V> victim = !probation.isEmpty() ? probation.first() : protectedDeque.first();
+        if (windowWeight <= windowMax || window.isEmpty()) {
+            return victim != null ? victim : window.first();
+        }
+
+        // 窗口溢出，候选者和主区的受害者比较频率
+        CacheNode<K, V> candidate = window.first();
+        if (victim == null) {
+            return candidate;
+        }
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())) {
+            moveToProbation(candidate);
+            return victim;
+        }
+        return candidate;
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedDeque.clear();
+        windowWeight = 0;
+        probationWeight = 0;
+        protectedWeight = 0;
+        sketch.clear();
+    }
+
+    /**
+     * 窗口的元素进入试用区
+     * @param node 节点
+     * @since 0.0.6
+     */
+    private void moveToProbation(final CacheNode<K, V> node) {
+        window.remove(node);
+        windowWeight -= node.getWeight();
+        node.queue = PROBATION;
+        probation.addLast(node);
+        probationWeight += node.getWeight();
+    }
+
+    /**
+     * 试用区的元素晋升到保护区
+     * <p>
+     * 保护区超出上限时，最久没有访问的元素降级到试用区
+     *
+     * @param node 节点
+     * @since 0.0.6
+     */
+    private void promote(final CacheNode<K, V> node) {
+        probation.remove(node);
+        probationWeight -= node.getWeight();
+        node.queue = PROTECTED;
+        protectedDeque.addLast(node);
+        protectedWeight += node.getWeight();
+
+        while (protectedWeight > protectedMax) {
+            CacheNode<K, V> first = protectedDeque.first();
+            if (first == node) {
+                break;
+            }
+            protectedDeque.remove(first);
+            protectedWeight -= first.getWeight();
+            first.queue = PROBATION;
+            probation.addLast(first);
+            probationWeight += first.getWeight();
+        }
+    }
+
+    private AccessOrderDeque<K, V> queueOf(final CacheNode<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                return window;
+            case PROBATION:
+                return probation;
+            default:
+                return protectedDeque;
+        }
+    }
+
+    private void addWeight(final int queue, final long delta) {
+        switch (queue) {
+            case WINDOW:
+                windowWeight += delta;
+                break;
+            case PROBATION:
+                probationWeight += delta;
+                break;
+            default:
+                protectedWeight += delta;
+                break;
+        }
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * 缓存
+ * @since 0.0.6
+ */
+package com.github.houbb.data.struct.core.util.cache;
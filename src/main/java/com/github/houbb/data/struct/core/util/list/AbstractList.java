@@ -1,5 +1,9 @@
 package com.github.houbb.data.struct.core.util.list;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * @author binbin.hou
  * @since 0.0.3
@@ -26,6 +30,14 @@ public abstract class AbstractList<E> extends AbstractListAdaptor<E> {
      */
     protected Node<E> tail;
 
+    /**
+     * 结构修改的次数
+     *
+     * 子类在新增、删除时递增，迭代器据此快速失败。
+     * @since 0.0.6
+     */
+    protected int modCount;
+
     public AbstractList() {
         this.init();
     }
@@ -144,6 +156,63 @@ public abstract class AbstractList<E> extends AbstractListAdaptor<E> {
     @Override
     public void clear() {
         this.init();
+        this.modCount++;
+    }
+
+    /**
+     * 迭代器
+     *
+     * （1）从 head 开始顺着 next 遍历，按照 size 计数，循环链表也不会死循环。
+     * （2）迭代过程中通过其他途径修改了列表，抛出 {@link ConcurrentModificationException}。
+     * （3）remove 按照下标删除，单链表需要重新查找前驱节点。
+     * @return 迭代器
+     * @since 0.0.6
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private Node<E> next = head;
+            private int nextIndex = 0;
+            private int lastReturned = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return nextIndex < size;
+            }
+
+            @Override
+            public E next() {
+                checkForComodification();
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                E value = next.value();
+                next = next.next();
+                lastReturned = nextIndex++;
+                return value;
+            }
+
+            @Override
+            public void remove() {
+                if(lastReturned < 0) {
+                    throw new IllegalStateException();
+                }
+                checkForComodification();
+
+                AbstractList.this.remove(lastReturned);
+                nextIndex = lastReturned;
+                lastReturned = -1;
+                expectedModCount = modCount;
+            }
+
+            private void checkForComodification() {
+                if(modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        };
     }
 
     /**
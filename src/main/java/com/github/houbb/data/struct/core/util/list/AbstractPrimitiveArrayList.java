@@ -0,0 +1,184 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import com.github.houbb.data.struct.core.util.list.growth.GrowthPolicies;
+import com.github.houbb.data.struct.core.util.list.growth.IGrowthPolicy;
+import com.github.houbb.data.struct.core.util.list.growth.IShrinkPolicy;
+import com.github.houbb.data.struct.core.util.list.growth.ShrinkPolicies;
+import com.github.houbb.data.struct.util.MemoryUtil;
+
+/**
+ * 基本类型数组列表的父类
+ *
+ * 负责 size 和容量的管理，子类只需要提供数组的长度和重新分配。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+abstract class AbstractPrimitiveArrayList {
+
+    /**
+     * 默认容量，和 {@link MyArrayList} 一致
+     * @since 0.0.6
+     */
+    static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * 元素个数
+     * @since 0.0.6
+     */
+    protected int size;
+
+    /**
+     * 扩容策略
+     * @since 0.0.6
+     */
+    protected final IGrowthPolicy growthPolicy;
+
+    /**
+     * 缩容策略
+     * @since 0.0.6
+     */
+    protected final IShrinkPolicy shrinkPolicy;
+
+    protected AbstractPrimitiveArrayList(final int capacity, final IGrowthPolicy growthPolicy,
+                                         final IShrinkPolicy shrinkPolicy) {
+        if(capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.growthPolicy = growthPolicy == null ? GrowthPolicies.defaults() : growthPolicy;
+        this.shrinkPolicy = shrinkPolicy == null ? ShrinkPolicies.defaults() : shrinkPolicy;
+        this.size = 0;
+    }
+
+    /**
+     * 当前数组的长度
+     * @return 容量
+     * @since 0.0.6
+     */
+    public abstract int capacity();
+
+    /**
+     * 重新分配数组，保留前 size 个元素
+     * @param capacity 新的容量，不小于 size
+     * @since 0.0.6
+     */
+    protected abstract void resize(int capacity);
+
+    /**
+     * 每个元素占用的字节
+     * @return 字节数
+     * @since 0.0.6
+     */
+    protected abstract int elementBytes();
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 清空
+     *
+     * 是否释放数组由缩容策略决定。
+     * @since 0.0.6
+     */
+    public void clear() {
+        this.size = 0;
+        ensureDecrease();
+    }
+
+    /**
+     * 保证容量至少为 minCapacity
+     * @param minCapacity 最小容量
+     * @since 0.0.6
+     */
+    public void ensureCapacity(final int minCapacity) {
+        ensureIncrease(minCapacity);
+    }
+
+    /**
+     * 数组长度缩减为 size
+     * @since 0.0.6
+     */
+    public void trimToSize() {
+        if(capacity() > size) {
+            resize(size);
+        }
+    }
+
+    /**
+     * 估算占用的内存，包含对象本身和数组
+     * @return 字节数
+     * @since 0.0.6
+     */
+    public long memoryBytes() {
+        return MemoryUtil.objectSize(4L + 4 + 3 * MemoryUtil.REFERENCE)
+                + MemoryUtil.arraySize(capacity(), elementBytes());
+    }
+
+    /**
+     * 确认是否需要扩容
+     * @param minSize 最小容量
+     * @since 0.0.6
+     */
+    protected void ensureIncrease(final int minSize) {
+        if(minSize < 0) {
+            throw new OutOfMemoryError("Required array size too large");
+        }
+
+        final int capacity = capacity();
+        if(capacity < minSize) {
+            resize(Math.max(minSize, growthPolicy.grow(capacity, minSize)));
+        }
+    }
+
+    /**
+     * 删除元素之后，按照缩容策略释放多余的空间
+     * @since 0.0.6
+     */
+    protected void ensureDecrease() {
+        final int capacity = capacity();
+        final int newCapacity = shrinkPolicy.shrink(capacity, size);
+        if(newCapacity < capacity) {
+            resize(Math.max(size, newCapacity));
+        }
+    }
+
+    /**
+     * 下标检查
+     * @param index 下标
+     * @since 0.0.6
+     */
+    protected void rangeCheck(final int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index out of range: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * 插入位置检查
+     * @param index 下标
+     * @since 0.0.6
+     */
+    protected void indexRangeCheck(final int index) {
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index out of range: " + index + ", it must be in [0, " + size +"]");
+        }
+    }
+
+    /**
+     * 数组范围检查
+     * @param length 数组长度
+     * @param offset 开始位置
+     * @param count 个数
+     * @since 0.0.6
+     */
+    protected static void arrayRangeCheck(final int length, final int offset, final int count) {
+        if(offset < 0 || count < 0 || offset > length - count) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", count: " + count + ", length: " + length);
+        }
+    }
+
+}
@@ -32,6 +32,7 @@ public class CircularLinkedList<E> extends AbstractList<E> {
         this.tail.next(this.head);
 
         size++;
+        modCount++;
         return true;
     }
 
@@ -58,6 +59,7 @@ public class CircularLinkedList<E> extends AbstractList<E> {
         }
 
         size++;
+        modCount++;
     }
 
     @Override
@@ -89,6 +91,12 @@ public class CircularLinkedList<E> extends AbstractList<E> {
         }
 
         size--;
+        modCount++;
+        if(size == 0) {
+            // 删除了唯一的节点
+            this.head = null;
+            this.tail = null;
+        }
         return result;
     }
 
@@ -0,0 +1,760 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 无锁的并发跳表
+ * <p>
+ * （1）每一层的向前指针都是 {@link AtomicMarkableReference}，插入和删除都通过 CAS 完成，不使用任何锁。
+ * <p>
+ * （2）删除分为两步：先通过 CAS 把节点的 value 替换为 {@link #REMOVED}（逻辑删除），CAS 成功的线程即为删除成功；
+ * 之后把节点每一层的向前指针打上删除标记，查找遇到被标记的节点时，通过 CAS 把它从链表中摘除（物理删除）。
+ * 更新已有节点的 value 同样使用 CAS，和删除、其他更新之间不会丢失修改。
+ * <p>
+ * （3）插入时先链接最底层，最底层链接成功即为插入成功，之后再逐层向上链接。
+ * <p>
+ * （4）key 支持泛型，使用 {@link Comparator} 或者 key 自身的 {@link Comparable} 进行比较，key 不能为 null。
+ * 每个节点的指针数组只和自身的层级一样长，而不是最大层级。
+ * <p>
+ * get/floor/ceiling 以及遍历都是只读的，遇到被标记的节点直接跳过，不会修改链表。
+ * 遍历是弱一致的：不会抛出 ConcurrentModificationException，可能看到遍历开始之后的修改。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see SkipList
+ * @see java.util.concurrent.ConcurrentSkipListMap
+ * @since 0.0.6
+ */
+public class ConcurrentSkipList<K, V> {
+
+    /**
+     * 最大层级
+     * @since 0.0.6
+     */
+    private static final int MAX_LEVEL = 16;
+
+    /**
+     * 概率值
+     * @since 0.0.6
+     */
+    private static final double P = 0.25;
+
+    /**
+     * 已经删除的节点的 value
+     * @since 0.0.6
+     */
+    private static final Object REMOVED = new Object();
+
+    /**
+     * 节点 value 的原子更新
+     * @since 0.0.6
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Object> VALUE_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Object.class, "value");
+
+    /**
+     * 表头，key 为 null
+     * @since 0.0.6
+     */
+    private final Node<K, V> head;
+
+    /**
+     * 比较器，为 null 时使用 key 自身的比较
+     * @since 0.0.6
+     */
+    private final Comparator<? super K> comparator;
+
+    /**
+     * 元素个数
+     * @since 0.0.6
+     */
+    private final AtomicInteger size;
+
+    /**
+     * 当前层级（出现过的最高层级）
+     *
+     * 只增不减，查找时从这一层开始，跳过表头上空的层级。
+     * 通过 CAS 取最大值，避免较低的层级覆盖并发写入的较高层级。
+     * @since 0.0.6
+     */
+    private final AtomicInteger currentLevel = new AtomicInteger(1);
+
+    public ConcurrentSkipList() {
+        this(null);
+    }
+
+    /**
+     * 指定比较器
+     * @param comparator 比较器，为 null 时使用 key 自身的比较
+     * @since 0.0.6
+     */
+    public ConcurrentSkipList(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+        this.head = new Node<>(null, null, MAX_LEVEL);
+        this.size = new AtomicInteger();
+    }
+
+    /**
+     * 元素节点
+     * @since 0.0.6
+     */
+    private static final class Node<K, V> {
+
+        final K key;
+
+        /**
+         * 值，为 {@link #REMOVED} 时表示已经删除
+         */
+        volatile Object value;
+
+        /**
+         * 向前的指针，长度等于节点的层级
+         *
+         * 标记位为 true 表示当前节点已经被删除
+         */
+        final AtomicMarkableReference<Node<K, V>>[] forwards;
+
+        @SuppressWarnings("unchecked")
+        Node(K key, V value, int level) {
+            this.key = key;
+            this.value = value;
+            this.forwards = new AtomicMarkableReference[level];
+            for (int i = 0; i < level; i++) {
+                this.forwards[i] = new AtomicMarkableReference<>(null, false);
+            }
+        }
+
+        Node<K, V> next(int level) {
+            return forwards[level].getReference();
+        }
+
+        boolean isDeleted() {
+            return value == REMOVED;
+        }
+
+        boolean casValue(Object expect, Object update) {
+            return VALUE_UPDATER.compareAndSet(this, expect, update);
+        }
+    }
+
+    /**
+     * 获取元素
+     * @param key key
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    public V get(K key) {
+        checkKey(key);
+        Node<K, V> node = findCeiling(key, true);
+        if (node != null && compare(node.key, key) == 0) {
+            return valueOf(node.value);
+        }
+        return null;
+    }
+
+    /**
+     * 是否包含 key
+     * @param key key
+     * @return 是否
+     * @since 0.0.6
+     */
+    public boolean containsKey(K key) {
+        checkKey(key);
+        Node<K, V> node = findCeiling(key, true);
+        return node != null && compare(node.key, key) == 0;
+    }
+
+    /**
+     * 放入元素
+     * @param key key
+     * @param value 值
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    public V put(K key, V value) {
+        return doPut(key, value, false);
+    }
+
+    /**
+     * 不存在时放入元素
+     * @param key key
+     * @param value 值
+     * @return 已经存在的值，放入成功返回 null
+     * @since 0.0.6
+     */
+    public V putIfAbsent(K key, V value) {
+        return doPut(key, value, true);
+    }
+
+    /**
+     * 删除元素
+     * @param key key
+     * @return 被删除的值，不存在返回 null
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        checkKey(key);
+        Node<K, V>[] preds = new Node[MAX_LEVEL];
+        Node<K, V>[] succs = new Node[MAX_LEVEL];
+
+        if (!find(key, preds, succs)) {
+            return null;
+        }
+        final Node<K, V> node = succs[0];
+
+        // value 替换为 REMOVED 成功的线程，才是真正删除的线程
+        while (true) {
+            final Object value = node.value;
+            if (value == REMOVED) {
+                // 被其他线程删除
+                return null;
+            }
+            if (node.casValue(value, REMOVED)) {
+                size.decrementAndGet();
+                markAll(node);
+                // 物理删除
+                find(key, preds, succs);
+                return valueOf(value);
+            }
+        }
+    }
+
+    /**
+     * 元素个数
+     * @return 个数
+     * @since 0.0.6
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * 是否为空
+     * @return 是否
+     * @since 0.0.6
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 小于等于 key 的最大元素
+     * @param key key
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    public Map.Entry<K, V> floorEntry(K key) {
+        checkKey(key);
+        while (true) {
+            Node<K, V> node = findFloor(key, true);
+            if (node == null) {
+                return null;
+            }
+            Map.Entry<K, V> entry = toEntry(node);
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * 小于等于 key 的最大 key
+     * @param key key
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    public K floorKey(K key) {
+        Map.Entry<K, V> entry = floorEntry(key);
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * 大于等于 key 的最小元素
+     * @param key key
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    public Map.Entry<K, V> ceilingEntry(K key) {
+        checkKey(key);
+        while (true) {
+            Node<K, V> node = findCeiling(key, true);
+            if (node == null) {
+                return null;
+            }
+            Map.Entry<K, V> entry = toEntry(node);
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * 大于等于 key 的最小 key
+     * @param key key
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    public K ceilingKey(K key) {
+        Map.Entry<K, V> entry = ceilingEntry(key);
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * 升序遍历所有元素
+     * @return 迭代器
+     * @since 0.0.6
+     */
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return ascendingIterator(null, true, null, true);
+    }
+
+    /**
+     * 升序遍历区间内的元素
+     * @param from 开始的 key，为 null 表示不限制
+     * @param fromInclusive 是否包含开始的 key
+     * @param to 结束的 key，为 null 表示不限制
+     * @param toInclusive 是否包含结束的 key
+     * @return 迭代器
+     * @since 0.0.6
+     */
+    public Iterator<Map.Entry<K, V>> ascendingIterator(final K from, final boolean fromInclusive,
+                                                      final K to, final boolean toInclusive) {
+        return new RangeIterator(from, fromInclusive, to, toInclusive, false);
+    }
+
+    /**
+     * 降序遍历区间内的元素
+     * <p>
+     * 节点只有向前的指针，所以每一步都是一次 O(logn) 的查找。
+     * @param from 开始的 key（较大的一端），为 null 表示不限制
+     * @param fromInclusive 是否包含开始的 key
+     * @param to 结束的 key（较小的一端），为 null 表示不限制
+     * @param toInclusive 是否包含结束的 key
+     * @return 迭代器
+     * @since 0.0.6
+     */
+    public Iterator<Map.Entry<K, V>> descendingIterator(final K from, final boolean fromInclusive,
+                                                       final K to, final boolean toInclusive) {
+        return new RangeIterator(from, fromInclusive, to, toInclusive, true);
+    }
+
+    /**
+     * 执行放入
+     * @param key key
+     * @param value 值
+     * @param onlyIfAbsent 是否只在不存在时放入
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    private V doPut(final K key, final V value, final boolean onlyIfAbsent) {
+        checkKey(key);
+        final int topLevel = getRandomLevel();
+        Node<K, V>[] preds = new Node[MAX_LEVEL];
+        Node<K, V>[] succs = new Node[MAX_LEVEL];
+
+        while (true) {
+            if (find(key, preds, succs)) {
+                Node<K, V> node = succs[0];
+                final Object oldValue = node.value;
+                if (oldValue == REMOVED) {
+                    // 正在被删除，协助标记之后重新查找，find 会把它摘除
+                    markAll(node);
+                    continue;
+                }
+                if (onlyIfAbsent || node.casValue(oldValue, value)) {
+                    return valueOf(oldValue);
+                }
+                // 和其他的更新或者删除冲突，重试
+                continue;
+            }
+
+            raiseLevel(topLevel);
+            Node<K, V> newNode = new Node<>(key, value, topLevel);
+            for (int level = 0; level < topLevel; level++) {
+                newNode.forwards[level].set(succs[level], false);
+            }
+
+            // 最底层链接成功，即为插入成功
+            if (!preds[0].forwards[0].compareAndSet(succs[0], newNode, false, false)) {
+                continue;
+            }
+            size.incrementAndGet();
+
+            linkUpperLevels(newNode, preds, succs);
+            return null;
+        }
+    }
+
+    /**
+     * 从上往下，依次标记节点的每一层
+     *
+     * 标记之后前驱不能再链接到这个节点之后，查找时会把它摘除。
+     * @param node 已经逻辑删除的节点
+     * @since 0.0.6
+     */
+    private void markAll(final Node<K, V> node) {
+        boolean[] marked = new boolean[1];
+        for (int level = node.forwards.length - 1; level >= 0; level--) {
+            Node<K, V> succ = node.forwards[level].get(marked);
+            while (!marked[0]) {
+                node.forwards[level].attemptMark(succ, true);
+                succ = node.forwards[level].get(marked);
+            }
+        }
+    }
+
+    /**
+     * 提升当前层级，CAS 取最大值
+     * @param level 层级
+     * @since 0.0.6
+     */
+    private void raiseLevel(final int level) {
+        int current = currentLevel.get();
+        while (current < level && !currentLevel.compareAndSet(current, level)) {
+            current = currentLevel.get();
+        }
+    }
+
+    /**
+     * 逐层向上链接新的节点
+     *
+     * 如果节点在链接的过程中被删除，则停止链接。
+     * @param newNode 新节点
+     * @param preds 每一层的前驱
+     * @param succs 每一层的后继
+     * @since 0.0.6
+     */
+    private void linkUpperLevels(final Node<K, V> newNode,
+                                 final Node<K, V>[] preds,
+                                 final Node<K, V>[] succs) {
+        boolean[] marked = new boolean[1];
+        for (int level = 1; level < newNode.forwards.length; level++) {
+            while (true) {
+                Node<K, V> next = newNode.forwards[level].get(marked);
+                if (marked[0]) {
+                    return;
+                }
+
+                Node<K, V> succ = succs[level];
+                if (next != succ
+                        && !newNode.forwards[level].compareAndSet(next, succ, false, false)) {
+                    continue;
+                }
+                if (preds[level].forwards[level].compareAndSet(succ, newNode, false, false)) {
+                    break;
+                }
+
+                // 前驱发生了变化，重新查找
+                find(newNode.key, preds, succs);
+                if (succs[0] != newNode) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 查找每一层的前驱和后继
+     * <p>
+     * 查找的过程中，会把遇到的已经被标记的节点摘除。
+     * @param key key
+     * @param preds 每一层小于 key 的最后一个节点
+     * @param succs 每一层大于等于 key 的第一个节点
+     * @return 最底层是否找到了 key
+     * @since 0.0.6
+     */
+    private boolean find(final K key,
+                         final Node<K, V>[] preds,
+                         final Node<K, V>[] succs) {
+        boolean[] marked = new boolean[1];
+
+        retry:
+        while (true) {
+            Node<K, V> pred = head;
+            Node<K, V> curr = null;
+            final int top = currentLevel.get();
+            for (int level = MAX_LEVEL - 1; level >= top; level--) {
+                preds[level] = head;
+                succs[level] = head.next(level);
+            }
+            for (int level = top - 1; level >= 0; level--) {
+                curr = pred.next(level);
+                while (curr != null) {
+                    Node<K, V> succ = curr.forwards[level].get(marked);
+                    if (marked[0]) {
+                        // 物理删除
+                        if (!pred.forwards[level].compareAndSet(curr, succ, false, false)) {
+                            continue retry;
+                        }
+                        curr = succ;
+                        continue;
+                    }
+
+                    if (compare(curr.key, key) < 0) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+
+            return curr != null && compare(curr.key, key) == 0;
+        }
+    }
+
+    /**
+     * 查找小于（等于）key 的最大节点
+     * @param key key，为 null 表示不限制
+     * @param inclusive 是否包含等于
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    private Node<K, V> findFloor(final K key, final boolean inclusive) {
+        Node<K, V> pred = head;
+        for (int level = currentLevel.get() - 1; level >= 0; level--) {
+            Node<K, V> curr = pred.next(level);
+            while (curr != null) {
+                if (curr.isDeleted()) {
+                    curr = curr.next(level);
+                    continue;
+                }
+
+                int cmp = key == null ? -1 : compare(curr.key, key);
+                if (cmp < 0 || (inclusive && cmp == 0)) {
+                    pred = curr;
+                    curr = curr.next(level);
+                } else {
+                    break;
+                }
+            }
+        }
+        return pred == head ? null : pred;
+    }
+
+    /**
+     * 查找大于（等于）key 的最小节点
+     * @param key key，为 null 表示不限制
+     * @param inclusive 是否包含等于
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    private Node<K, V> findCeiling(final K key, final boolean inclusive) {
+        Node<K, V> pred = key == null ? head : findFloor(key, !inclusive);
+        if (pred == null) {
+            pred = head;
+        }
+
+        Node<K, V> curr = pred.next(0);
+        while (curr != null && curr.isDeleted()) {
+            curr = curr.next(0);
+        }
+        return curr;
+    }
+
+    /**
+     * 获取随机的级别
+     * @return 级别
+     * @since 0.0.6
+     */
+    private int getRandomLevel() {
+        int level = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (level < MAX_LEVEL && random.nextDouble() < P) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * 比较
+     * @param key key
+     * @param other 另一个 key
+     * @return 结果
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(final K key, final K other) {
+        if (comparator != null) {
+            return comparator.compare(key, other);
+        }
+        return ((Comparable<? super K>) key).compareTo(other);
+    }
+
+    /**
+     * 校验 key
+     * @param key key
+     * @since 0.0.6
+     */
+    private void checkKey(final K key) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+    }
+
+    /**
+     * 构建 entry 快照
+     * @param node 节点
+     * @return 结果，节点已经被删除时返回 null
+     * @since 0.0.6
+     */
+    private Map.Entry<K, V> toEntry(final Node<K, V> node) {
+        final Object value = node.value;
+        if (value == REMOVED) {
+            return null;
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(node.key, ConcurrentSkipList.<V>valueOf(value));
+    }
+
+    /**
+     * 转换节点中的值
+     * @param value 值
+     * @return 结果，已经删除时返回 null
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> V valueOf(final Object value) {
+        return value == REMOVED ? null : (V) value;
+    }
+
+    /**
+     * 区间迭代器
+     * @since 0.0.6
+     */
+    private class RangeIterator implements Iterator<Map.Entry<K, V>> {
+
+        /**
+         * 结束的 key
+         */
+        private final K end;
+
+        /**
+         * 是否包含结束的 key
+         */
+        private final boolean endInclusive;
+
+        /**
+         * 是否降序
+         */
+        private final boolean descending;
+
+        /**
+         * 下一个节点
+         */
+        private Node<K, V> next;
+
+        /**
+         * 下一个节点的快照，选中时读取，避免返回之前被删除
+         */
+        private Map.Entry<K, V> nextEntry;
+
+        /**
+         * 上一次返回的 key，用于删除
+         */
+        private K lastKey;
+
+        private RangeIterator(K from, boolean fromInclusive,
+                              K to, boolean toInclusive,
+                              boolean descending) {
+            this.end = to;
+            this.endInclusive = toInclusive;
+            this.descending = descending;
+
+            Node<K, V> first = descending ? findFloor(from, fromInclusive) : findCeiling(from, fromInclusive);
+            select(first);
+        }
+
+        /**
+         * 选中下一个节点，跳过读取快照时已经被删除的节点
+         */
+        private void select(Node<K, V> candidate) {
+            while (inRange(candidate)) {
+                Map.Entry<K, V> entry = toEntry(candidate);
+                if (entry != null) {
+                    this.next = candidate;
+                    this.nextEntry = entry;
+                    return;
+                }
+                candidate = step(candidate);
+            }
+            this.next = null;
+            this.nextEntry = null;
+        }
+
+        /**
+         * 遍历方向上的下一个节点
+         */
+        private Node<K, V> step(Node<K, V> current) {
+            if (descending) {
+                return findFloor(current.key, false);
+            }
+
+            Node<K, V> candidate = current.next(0);
+            while (candidate != null && candidate.isDeleted()) {
+                candidate = candidate.next(0);
+            }
+            return candidate;
+        }
+
+        /**
+         * 是否在结束的 key 之前
+         */
+        private boolean inRange(Node<K, V> node) {
+            if (node == null) {
+                return false;
+            }
+            if (end == null) {
+                return true;
+            }
+
+            int cmp = compare(node.key, end);
+            if (descending) {
+                cmp = -cmp;
+            }
+            return cmp < 0 || (endInclusive && cmp == 0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+
+            Node<K, V> current = next;
+            Map.Entry<K, V> entry = nextEntry;
+            lastKey = current.key;
+            select(step(current));
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            ConcurrentSkipList.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+}
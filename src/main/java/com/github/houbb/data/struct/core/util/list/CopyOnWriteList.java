@@ -0,0 +1,490 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import com.github.houbb.heaven.util.lang.ObjectUtil;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * COW 列表
+ * <p>
+ * （1）元素存放在 volatile 数组中，写操作在锁内复制一份新数组，修改之后一次性替换。
+ * （2）读操作直接读取当前数组，不加锁；迭代器持有创建时的数组快照，遍历过程中不加锁、不复制，
+ * 也不会抛出 {@link java.util.ConcurrentModificationException}，但是看不到之后的修改。
+ * （3）迭代器是只读的，remove、set、add 会抛出 {@link UnsupportedOperationException}。
+ * <p>
+ * 适合读多写少的场景，批量写入时使用 addAll、removeAll 等方法，只复制一次。
+ * subList 沿用 {@link java.util.AbstractList} 的实现，只适合在单个线程内使用。
+ *
+ * @param <E> 泛型
+ * @author binbin.hou
+ * @see com.github.houbb.data.struct.core.util.map.CopyOnWriteHashMap
+ * @since 0.0.6
+ */
+public class CopyOnWriteList<E> extends java.util.AbstractList<E> implements RandomAccess {
+
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+
+    /**
+     * 当前的数组，只会被整体替换，不会被修改
+     * @since 0.0.6
+     */
+    private volatile Object[] array;
+
+    /**
+     * 可重入锁
+     * @since 0.0.6
+     */
+    private final ReentrantLock lock;
+
+    public CopyOnWriteList() {
+        this.array = EMPTY_ARRAY;
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * @param c 初始元素
+     * @since 0.0.6
+     */
+    public CopyOnWriteList(Collection<? extends E> c) {
+        this.array = c.toArray();
+        if (array.getClass() != Object[].class) {
+            this.array = Arrays.copyOf(array, array.length, Object[].class);
+        }
+        this.lock = new ReentrantLock();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Object[] elements = array;
+        rangeCheck(index, elements.length);
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        Object[] elements = array;
+        for (int i = 0; i < elements.length; i++) {
+            if (ObjectUtil.isEqualsOrNull(o, elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        Object[] elements = array;
+        for (int i = elements.length - 1; i >= 0; i--) {
+            if (ObjectUtil.isEqualsOrNull(o, elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = array;
+            rangeCheck(index, elements.length);
+            E oldValue = (E) elements[index];
+
+            // 相同的对象不需要复制
+            if (oldValue != element) {
+                Object[] newElements = Arrays.copyOf(elements, elements.length);
+                newElements[index] = element;
+                array = newElements;
+            }
+            return oldValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean add(E e) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = array;
+            Object[] newElements = Arrays.copyOf(elements, elements.length + 1);
+            newElements[elements.length] = e;
+            array = newElements;
+            modCount++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = array;
+            if (index < 0 || index > elements.length) {
+                throw new IndexOutOfBoundsException("index out of range: " + index + ", it must be in [0, " + elements.length + "]");
+            }
+
+            Object[] newElements = new Object[elements.length + 1];
+            System.arraycopy(elements, 0, newElements, 0, index);
+            System.arraycopy(elements, index, newElements, index + 1, elements.length - index);
+            newElements[index] = element;
+            array = newElements;
+            modCount++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = array;
+            rangeCheck(index, elements.length);
+            E oldValue = (E) elements[index];
+            array = removeAt(elements, index);
+            modCount++;
+            return oldValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            array = removeAt(array, index);
+            modCount++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 批量添加，只复制一次
+     * @param c 集合
+     * @return 是否修改
+     * @since 0.0.6
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(size(), c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        Object[] added = c.toArray();
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = array;
+            if (index < 0 || index > elements.length) {
+                throw new IndexOutOfBoundsException("index out of range: " + index + ", it must be in [0, " + elements.length + "]");
+            }
+            if (added.length == 0) {
+                return false;
+            }
+
+            Object[] newElements = new Object[elements.length + added.length];
+            System.arraycopy(elements, 0, newElements, 0, index);
+            System.arraycopy(added, 0, newElements, index, added.length);
+            System.arraycopy(elements, index, newElements, index + added.length, elements.length - index);
+            array = newElements;
+            modCount++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return batchRemove(c, false);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return batchRemove(c, true);
+    }
+
+    /**
+     * 删除满足条件的元素，只复制一次
+     *
+     * 和 {@link MyArrayList#removeWhere(IPredicate)} 一致，不和 Collection#removeIf 重载。
+     * @param predicate 条件
+     * @return 是否修改
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public boolean removeWhere(final IPredicate<? super E> predicate) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = array;
+            Object[] kept = new Object[elements.length];
+            int newSize = 0;
+            for (Object element : elements) {
+                if (!predicate.test((E) element)) {
+                    kept[newSize++] = element;
+                }
+            }
+            return publish(kept, newSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            array = EMPTY_ARRAY;
+            modCount++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 快照迭代器
+     *
+     * 遍历创建时的数组，不加锁。
+     * @return 迭代器
+     * @since 0.0.6
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotIterator<>(array, 0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new SnapshotIterator<>(array, 0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        Object[] elements = array;
+        if (index < 0 || index > elements.length) {
+            throw new IndexOutOfBoundsException("index out of range: " + index + ", it must be in [0, " + elements.length + "]");
+        }
+        return new SnapshotIterator<>(elements, index);
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] elements = array;
+        return Arrays.copyOf(elements, elements.length);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        Object[] elements = array;
+        if (a.length < elements.length) {
+            return (T[]) Arrays.copyOf(elements, elements.length, a.getClass());
+        }
+
+        System.arraycopy(elements, 0, a, 0, elements.length);
+        if (a.length > elements.length) {
+            a[elements.length] = null;
+        }
+        return a;
+    }
+
+    /**
+     * 删除区间，供 subList 的 clear 使用
+     * @param fromIndex 开始，包含
+     * @param toIndex 结束，不包含
+     * @since 0.0.6
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = array;
+            if (fromIndex < 0 || toIndex > elements.length || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+            }
+            if (fromIndex == toIndex) {
+                return;
+            }
+
+            Object[] newElements = new Object[elements.length - (toIndex - fromIndex)];
+            System.arraycopy(elements, 0, newElements, 0, fromIndex);
+            System.arraycopy(elements, toIndex, newElements, fromIndex, elements.length - toIndex);
+            array = newElements;
+            modCount++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 批量删除
+     *
+     * 集合较大且不是 Set 时先放入 {@link HashSet}。
+     * @param c 集合
+     * @param retain 是否保留包含的元素
+     * @return 是否修改
+     * @since 0.0.6
+     */
+    private boolean batchRemove(final Collection<?> c, final boolean retain) {
+        final Collection<?> lookup = c instanceof Set || c.size() <= 16 ? c : new HashSet<>(c);
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = array;
+            Object[] kept = new Object[elements.length];
+            int newSize = 0;
+            for (Object element : elements) {
+                if (lookup.contains(element) == retain) {
+                    kept[newSize++] = element;
+                }
+            }
+            return publish(kept, newSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 发布批量删除的结果，需要在锁内调用
+     * @param kept 保留的元素
+     * @param newSize 保留的个数
+     * @return 是否修改
+     * @since 0.0.6
+     */
+    private boolean publish(final Object[] kept, final int newSize) {
+        if (newSize == array.length) {
+            return false;
+        }
+
+        array = newSize == 0 ? EMPTY_ARRAY : Arrays.copyOf(kept, newSize);
+        modCount++;
+        return true;
+    }
+
+    private static Object[] removeAt(final Object[] elements, final int index) {
+        Object[] newElements = new Object[elements.length - 1];
+        System.arraycopy(elements, 0, newElements, 0, index);
+        System.arraycopy(elements, index + 1, newElements, index, elements.length - index - 1);
+        return newElements;
+    }
+
+    private static void rangeCheck(final int index, final int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index out of range: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * 快照迭代器
+     *
+     * @param <E> 泛型
+     * @since 0.0.6
+     */
+    private static final class SnapshotIterator<E> implements ListIterator<E> {
+
+        private final Object[] snapshot;
+
+        private int cursor;
+
+        private SnapshotIterator(final Object[] snapshot, final int cursor) {
+            this.snapshot = snapshot;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (E) snapshot[cursor++];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            return (E) snapshot[--cursor];
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(E e) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(E e) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
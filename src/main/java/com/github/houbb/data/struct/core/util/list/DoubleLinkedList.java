@@ -3,10 +3,13 @@ package com.github.houbb.data.struct.core.util.list;
 import com.github.houbb.heaven.util.lang.ObjectUtil;
 import com.github.houbb.heaven.util.util.CollectionUtil;
 
+import java.lang.reflect.Array;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
 
 /**
  * 双向链表
@@ -30,6 +33,14 @@ public class DoubleLinkedList<E> implements List<E> {
      */
     private Node<E> tail;
 
+    /**
+     * 结构修改的次数
+     *
+     * 新增、删除时递增，迭代器据此快速失败。
+     * @since 0.0.6
+     */
+    private int modCount;
+
     @Override
     public int size() {
         return this.size;
@@ -103,6 +114,7 @@ public class DoubleLinkedList<E> implements List<E> {
 
         // 增加 size
         size++;
+        modCount++;
         return true;
     }
 
@@ -127,27 +139,7 @@ public class DoubleLinkedList<E> implements List<E> {
             E value = node.value();
 
             if(ObjectUtil.isEqualsOrNull(o, value)) {
-                Node<E> previous = node.previous();
-                Node<E> next = node.next();
-
-                //1. 如果移除的是 head 节点
-                if(ObjectUtil.isNull(previous)) {
-                    this.head = next;
-                    this.head.previous(null);
-                }
-                if(ObjectUtil.isNull(next)) {
-                    //2. 如果移除的是 tail 节点
-                    this.tail = previous;
-                    this.tail.next(null);
-                }
-                if(ObjectUtil.isNotNull(previous)
-                    && ObjectUtil.isNotNull(next)) {
-                    //3. 中间节点
-                    previous.next(next);
-                    next.previous(previous);
-                }
-
-                size--;
+                unlink(node);
                 return true;
             }
         }
@@ -155,6 +147,61 @@ public class DoubleLinkedList<E> implements List<E> {
         return false;
     }
 
+    /**
+     * 移除节点
+     * （1）如果移除的是 head 节点，next 成为 head
+     * （2）如果移除的是 tail 节点，previous 成为 tail
+     * （3）中间节点，前后直接相连
+     * @param node 节点
+     * @since 0.0.6
+     */
+    private void unlink(final Node<E> node) {
+        Node<E> previous = node.previous();
+        Node<E> next = node.next();
+
+        if(previous == null) {
+            this.head = next;
+        } else {
+            previous.next(next);
+        }
+        if(next == null) {
+            this.tail = previous;
+        } else {
+            next.previous(previous);
+        }
+
+        size--;
+        modCount++;
+    }
+
+    /**
+     * 获取下标对应的节点
+     *
+     * 从距离较近的一端开始遍历，最多 size/2 步。
+     * @param index 下标
+     * @return 节点
+     * @since 0.0.6
+     */
+    private Node<E> node(final int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index out of range: " + index + ", size: " + size);
+        }
+
+        if(index < (size >> 1)) {
+            Node<E> node = head;
+            for(int i = 0; i < index; i++) {
+                node = node.next();
+            }
+            return node;
+        }
+
+        Node<E> node = tail;
+        for(int i = size - 1; i > index; i--) {
+            node = node.previous();
+        }
+        return node;
+    }
+
 
 
     @Override
@@ -188,16 +235,20 @@ public class DoubleLinkedList<E> implements List<E> {
         this.head = null;
         this.tail = null;
         this.size = 0;
+        this.modCount++;
     }
 
     @Override
     public E get(int index) {
-        return null;
+        return node(index).value();
     }
 
     @Override
     public E set(int index, E element) {
-        return null;
+        Node<E> node = node(index);
+        E oldValue = node.value();
+        node.value(element);
+        return oldValue;
     }
 
     /**
@@ -207,7 +258,32 @@ public class DoubleLinkedList<E> implements List<E> {
      */
     @Override
     public void add(int index, E element) {
-        // 指定位置。
+        if(index == size) {
+            add(element);
+            return;
+        }
+
+        // 插入到 index 对应节点的前面
+        linkBefore(element, node(index));
+    }
+
+    /**
+     * 插入到节点的前面
+     * @param element 元素
+     * @param next 节点
+     * @since 0.0.6
+     */
+    private void linkBefore(final E element, final Node<E> next) {
+        Node<E> previous = next.previous();
+        Node<E> newNode = new Node<>(element, previous, next);
+        next.previous(newNode);
+        if(previous == null) {
+            this.head = newNode;
+        } else {
+            previous.next(newNode);
+        }
+        size++;
+        modCount++;
     }
 
     /**
@@ -217,18 +293,12 @@ public class DoubleLinkedList<E> implements List<E> {
      */
     @Override
     public E remove(int index) {
-        // 范围校验
-
-        // 循环
-        Node<E> node = head;
-        for(int i = 0; i < index; i++) {
-            node = node.next();
-        }
+        // 范围校验，并从较近的一端遍历
+        Node<E> node = node(index);
 
         // 移除元素
         E elem = node.value();
-
-
+        unlink(node);
         return elem;
     }
 
@@ -280,27 +350,172 @@ public class DoubleLinkedList<E> implements List<E> {
 
     @Override
     public Iterator<E> iterator() {
-        return null;
+        return new ListItr(0);
     }
 
     @Override
     public ListIterator<E> listIterator() {
-        return null;
+        return new ListItr(0);
     }
 
     @Override
     public ListIterator<E> listIterator(int index) {
-        return null;
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index out of range: " + index + ", it must be in [0, " + size + "]");
+        }
+        return new ListItr(index);
     }
 
     @Override
     public Object[] toArray() {
-        return new Object[0];
+        Object[] result = new Object[size];
+        int i = 0;
+        for(Node<E> node = head; node != null; node = node.next()) {
+            result[i++] = node.value();
+        }
+        return result;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T[] toArray(T[] a) {
-        return null;
+        if(a.length < size) {
+            a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        }
+
+        int i = 0;
+        Object[] result = a;
+        for(Node<E> node = head; node != null; node = node.next()) {
+            result[i++] = node.value();
+        }
+        if(a.length > size) {
+            a[size] = null;
+        }
+        return a;
+    }
+
+    /**
+     * 迭代器
+     * （1）持有下一个节点的引用，前后移动都是 O(1)。
+     * （2）迭代过程中通过其他途径修改了列表，抛出 {@link ConcurrentModificationException}。
+     * （3）通过迭代器自身的 remove、set、add 修改是允许的，直接操作节点，不需要重新查找。
+     *
+     * @since 0.0.6
+     */
+    private class ListItr implements ListIterator<E> {
+
+        /**
+         * 下一个节点，到达末尾时为 null
+         */
+        private Node<E> next;
+
+        private int nextIndex;
+
+        /**
+         * 上一次返回的节点
+         */
+        private Node<E> lastReturned;
+
+        private int expectedModCount = modCount;
+
+        private ListItr(final int index) {
+            this.next = index == size ? null : node(index);
+            this.nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = next;
+            next = next.next();
+            nextIndex++;
+            return lastReturned.value();
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification();
+            if(!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+
+            next = next == null ? tail : next.previous();
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.value();
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if(lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+
+            if(lastReturned == next) {
+                // previous 之后删除，next 后移
+                next = next.next();
+            } else {
+                nextIndex--;
+            }
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E e) {
+            if(lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+
+            lastReturned.value(e);
+        }
+
+        @Override
+        public void add(E e) {
+            checkForComodification();
+
+            if(next == null) {
+                DoubleLinkedList.this.add(e);
+            } else {
+                linkBefore(e, next);
+            }
+            nextIndex++;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
 
 }
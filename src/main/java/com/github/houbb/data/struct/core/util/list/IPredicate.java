@@ -0,0 +1,21 @@
+package com.github.houbb.data.struct.core.util.list;
+
+/**
+ * 元素的判断条件
+ *
+ * 项目基于 jdk7，没有 java.util.function.Predicate。
+ * @param <E> 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public interface IPredicate<E> {
+
+    /**
+     * 是否满足条件
+     * @param element 元素
+     * @return 是否
+     * @since 0.0.6
+     */
+    boolean test(E element);
+
+}
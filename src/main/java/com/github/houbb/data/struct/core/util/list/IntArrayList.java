@@ -0,0 +1,275 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import com.github.houbb.data.struct.core.util.list.growth.IGrowthPolicy;
+import com.github.houbb.data.struct.core.util.list.growth.IShrinkPolicy;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * int 数组列表
+ * <p>
+ * 直接使用 int[] 存储，避免 {@link MyArrayList} 中每个元素装箱为 Integer，
+ * 每个元素只占 4 个字节（Integer 对象 16 字节+引用 4 字节）。
+ * <p>
+ * 扩容使用 {@link IGrowthPolicy}，缩容使用 {@link IShrinkPolicy}，{@link #asBuffer()} 返回共享底层数组的视图，不需要复制。
+ *
+ * @author binbin.hou
+ * @see MyArrayList
+ * @since 0.0.6
+ */
+public class IntArrayList extends AbstractPrimitiveArrayList {
+
+    private static final int[] EMPTY = {};
+
+    /**
+     * 存放元素
+     * @since 0.0.6
+     */
+    private int[] elements;
+
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntArrayList(final int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param capacity 初始容量
+     * @param growthPolicy 扩容策略，为 null 时使用默认策略
+     * @since 0.0.6
+     */
+    public IntArrayList(final int capacity, final IGrowthPolicy growthPolicy) {
+        this(capacity, growthPolicy, null);
+    }
+
+    /**
+     * @param capacity 初始容量
+     * @param growthPolicy 扩容策略，为 null 时使用默认策略
+     * @param shrinkPolicy 缩容策略，为 null 时使用默认策略
+     * @since 0.0.6
+     */
+    public IntArrayList(final int capacity, final IGrowthPolicy growthPolicy, final IShrinkPolicy shrinkPolicy) {
+        super(capacity, growthPolicy, shrinkPolicy);
+        this.elements = capacity == 0 ? EMPTY : new int[capacity];
+    }
+
+    /**
+     * 创建列表
+     * @param values 元素
+     * @return 结果
+     * @since 0.0.6
+     */
+    public static IntArrayList of(final int... values) {
+        IntArrayList list = new IntArrayList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    public int get(final int index) {
+        rangeCheck(index);
+        return elements[index];
+    }
+
+    /**
+     * 设置元素
+     * @param index 下标
+     * @param value 值
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    public int set(final int index, final int value) {
+        rangeCheck(index);
+        int oldValue = elements[index];
+        elements[index] = value;
+        return oldValue;
+    }
+
+    public void add(final int value) {
+        ensureIncrease(size + 1);
+        elements[size++] = value;
+    }
+
+    public void add(final int index, final int value) {
+        indexRangeCheck(index);
+        ensureIncrease(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    public void addAll(final int[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * 批量添加
+     *
+     * 最多扩容一次，然后整段复制。
+     * @param values 数组
+     * @param offset 开始位置
+     * @param length 个数
+     * @since 0.0.6
+     */
+    public void addAll(final int[] values, final int offset, final int length) {
+        arrayRangeCheck(values.length, offset, length);
+        ensureIncrease(size + length);
+        System.arraycopy(values, offset, elements, size, length);
+        size += length;
+    }
+
+    public void addAll(final IntArrayList other) {
+        addAll(other.elements, 0, other.size);
+    }
+
+    /**
+     * 删除指定下标的元素
+     * @param index 下标
+     * @return 被删除的值
+     * @since 0.0.6
+     */
+    public int removeAt(final int index) {
+        rangeCheck(index);
+        int oldValue = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        ensureDecrease();
+        return oldValue;
+    }
+
+    /**
+     * 删除第一个等于 value 的元素
+     * @param value 值
+     * @return 是否删除
+     * @since 0.0.6
+     */
+    public boolean removeValue(final int value) {
+        int index = indexOf(value);
+        if(index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    public int indexOf(final int value) {
+        for(int i = 0; i < size; i++) {
+            if(elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(final int value) {
+        for(int i = size - 1; i >= 0; i--) {
+            if(elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(final int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * 升序排序
+     * @since 0.0.6
+     */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    /**
+     * 二分查找，列表需要已经排序
+     * @param value 值
+     * @return 下标，不存在时返回 -(插入位置)-1
+     * @since 0.0.6
+     */
+    public int binarySearch(final int value) {
+        return Arrays.binarySearch(elements, 0, size, value);
+    }
+
+    /**
+     * 复制为新数组
+     * @return 结果
+     * @since 0.0.6
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * 共享底层数组的视图
+     * <p>
+     * 可以读写，长度固定为当前的 size。列表扩容或者缩容之后，视图不再反映列表的变化。
+     *
+     * @return 视图
+     * @since 0.0.6
+     */
+    public IntBuffer asBuffer() {
+        return IntBuffer.wrap(elements, 0, size).slice();
+    }
+
+    @Override
+    public int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    protected void resize(final int capacity) {
+        elements = capacity == 0 ? EMPTY : Arrays.copyOf(elements, capacity);
+    }
+
+    @Override
+    protected int elementBytes() {
+        return 4;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) {
+            return true;
+        }
+        if(!(o instanceof IntArrayList)) {
+            return false;
+        }
+
+        IntArrayList other = (IntArrayList) o;
+        if(size != other.size) {
+            return false;
+        }
+        for(int i = 0; i < size; i++) {
+            if(elements[i] != other.elements[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for(int i = 0; i < size; i++) {
+            hashCode = 31 * hashCode + elements[i];
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for(int i = 0; i < size; i++) {
+            if(i > 0) {
+                builder.append(", ");
+            }
+            builder.append(elements[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+}
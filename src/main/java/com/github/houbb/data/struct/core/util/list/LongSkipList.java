@@ -0,0 +1,429 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import com.github.houbb.data.struct.util.MemoryUtil;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * long 作为 key 的跳表
+ * <p>
+ * （1）不再为每一个元素创建节点对象，所有的节点都放在几个平行的数组中，节点使用 int 下标表示：
+ * keys[i] 为 key，values[i] 为值，links 中从 offsets[i] 开始的 levels[i] 个位置为每一层的向前指针。
+ * <p>
+ * （2）每个节点的指针只占用自身层级个数的位置，而不是最大层级。
+ * <p>
+ * （3）删除的节点按照层级放入空闲链表，之后插入相同层级的节点时直接复用，links 不会产生碎片。
+ * <p>
+ * 查找时访问的都是连续的基本类型数组，适合时间戳这类 long 类型 key 的索引。
+ * 非线程安全。
+ *
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see SkipList
+ * @since 0.0.6
+ */
+public class LongSkipList<V> {
+
+    /**
+     * 最大层级
+     * @since 0.0.6
+     */
+    private static final int MAX_LEVEL = 16;
+
+    /**
+     * 概率值
+     * @since 0.0.6
+     */
+    private static final double P = 0.25;
+
+    /**
+     * 空节点
+     * @since 0.0.6
+     */
+    private static final int NIL = -1;
+
+    /**
+     * 表头节点
+     * @since 0.0.6
+     */
+    private static final int HEAD = 0;
+
+    /**
+     * key 数组
+     * @since 0.0.6
+     */
+    private long[] keys;
+
+    /**
+     * value 数组
+     * @since 0.0.6
+     */
+    private Object[] values;
+
+    /**
+     * 节点的指针在 links 中的起始位置
+     * @since 0.0.6
+     */
+    private int[] offsets;
+
+    /**
+     * 节点的层级
+     * @since 0.0.6
+     */
+    private byte[] levels;
+
+    /**
+     * 所有节点的向前指针
+     * @since 0.0.6
+     */
+    private int[] links;
+
+    /**
+     * 已经使用的节点个数（含空闲的节点）
+     * @since 0.0.6
+     */
+    private int nodeCount;
+
+    /**
+     * links 已经使用的长度
+     * @since 0.0.6
+     */
+    private int linkCount;
+
+    /**
+     * 每一个层级对应的空闲节点链表，通过节点的第 0 层指针串联
+     * @since 0.0.6
+     */
+    private final int[] freeNodes;
+
+    /**
+     * 查找时记录每一层的前驱，避免每次创建数组
+     * @since 0.0.6
+     */
+    private final int[] updates;
+
+    /**
+     * 当前层级
+     * @since 0.0.6
+     */
+    private int currentLevel;
+
+    /**
+     * 元素个数
+     * @since 0.0.6
+     */
+    private int size;
+
+    /**
+     * 随机数
+     * @since 0.0.6
+     */
+    private final Random random;
+
+    public LongSkipList() {
+        this(16);
+    }
+
+    /**
+     * 初始化
+     * @param capacity 期望容量
+     * @since 0.0.6
+     */
+    public LongSkipList(int capacity) {
+        int nodeCapacity = Math.max(capacity, 2) + 1;
+        this.keys = new long[nodeCapacity];
+        this.values = new Object[nodeCapacity];
+        this.offsets = new int[nodeCapacity];
+        this.levels = new byte[nodeCapacity];
+        // 平均每个节点的层级为 1/(1-p)
+        this.links = new int[MAX_LEVEL + (int) (nodeCapacity / (1 - P))];
+
+        this.freeNodes = new int[MAX_LEVEL + 1];
+        Arrays.fill(freeNodes, NIL);
+        this.updates = new int[MAX_LEVEL];
+        this.random = new Random();
+
+        // 表头
+        newNode(MAX_LEVEL);
+        this.currentLevel = 1;
+    }
+
+    /**
+     * 获取元素
+     * @param key key
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final long key) {
+        int node = findNode(key);
+        return node == NIL ? null : (V) values[node];
+    }
+
+    /**
+     * 是否包含 key
+     * @param key key
+     * @return 是否
+     * @since 0.0.6
+     */
+    public boolean containsKey(final long key) {
+        return findNode(key) != NIL;
+    }
+
+    /**
+     * 放入元素
+     * @param key key
+     * @param value 值
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public V put(final long key, final V value) {
+        int node = next(findPredecessors(key), 0);
+        if (node != NIL && keys[node] == key) {
+            V oldValue = (V) values[node];
+            values[node] = value;
+            return oldValue;
+        }
+
+        int level = getRandomLevel();
+        if (level > currentLevel) {
+            for (int i = currentLevel; i < level; i++) {
+                updates[i] = HEAD;
+            }
+            currentLevel = level;
+        }
+
+        int newNode = newNode(level);
+        keys[newNode] = key;
+        values[newNode] = value;
+        for (int i = 0; i < level; i++) {
+            int pred = updates[i];
+            links[offsets[newNode] + i] = links[offsets[pred] + i];
+            links[offsets[pred] + i] = newNode;
+        }
+        size++;
+        return null;
+    }
+
+    /**
+     * 删除元素
+     * @param key key
+     * @return 被删除的值，不存在返回 null
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(final long key) {
+        int node = next(findPredecessors(key), 0);
+        if (node == NIL || keys[node] != key) {
+            return null;
+        }
+
+        for (int i = 0; i < levels[node]; i++) {
+            int pred = updates[i];
+            links[offsets[pred] + i] = links[offsets[node] + i];
+        }
+        while (currentLevel > 1 && next(HEAD, currentLevel - 1) == NIL) {
+            currentLevel--;
+        }
+
+        V oldValue = (V) values[node];
+        freeNode(node);
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * 小于等于 key 的最大 key 对应的值
+     * @param key key
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public V floor(final long key) {
+        int node = HEAD;
+        for (int i = currentLevel - 1; i >= 0; i--) {
+            int next;
+            while ((next = next(node, i)) != NIL && keys[next] <= key) {
+                node = next;
+            }
+        }
+        return node == HEAD ? null : (V) values[node];
+    }
+
+    /**
+     * 大于等于 key 的最小 key 对应的值
+     * @param key key
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public V ceiling(final long key) {
+        int node = next(findPredecessors(key), 0);
+        return node == NIL ? null : (V) values[node];
+    }
+
+    /**
+     * 区间 [from, to] 内的所有 key，升序
+     * @param from 开始
+     * @param to 结束
+     * @return 结果
+     * @since 0.0.6
+     */
+    public long[] keys(final long from, final long to) {
+        final int first = next(findPredecessors(from), 0);
+        int count = 0;
+        for (int node = first; node != NIL && keys[node] <= to; node = next(node, 0)) {
+            count++;
+        }
+
+        long[] result = new long[count];
+        int node = first;
+        for (int i = 0; i < count; i++) {
+            result[i] = keys[node];
+            node = next(node, 0);
+        }
+        return result;
+    }
+
+    /**
+     * 元素个数
+     * @return 个数
+     * @since 0.0.6
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 是否为空
+     * @return 是否
+     * @since 0.0.6
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 估算占用的内存
+     * @return 字节数
+     * @since 0.0.6
+     */
+    public long memoryBytes() {
+        return MemoryUtil.objectSize(6L * MemoryUtil.REFERENCE + 5 * 4)
+                + MemoryUtil.arraySize(keys.length, 8)
+                + MemoryUtil.arraySize(values.length, MemoryUtil.REFERENCE)
+                + MemoryUtil.arraySize(offsets.length, 4)
+                + MemoryUtil.arraySize(levels.length, 1)
+                + MemoryUtil.arraySize(links.length, 4)
+                + MemoryUtil.arraySize(freeNodes.length, 4)
+                + MemoryUtil.arraySize(updates.length, 4);
+    }
+
+    /**
+     * 查找节点
+     * @param key key
+     * @return 节点，不存在返回 NIL
+     * @since 0.0.6
+     */
+    private int findNode(final long key) {
+        int node = HEAD;
+        for (int i = currentLevel - 1; i >= 0; i--) {
+            int next;
+            while ((next = next(node, i)) != NIL && keys[next] < key) {
+                node = next;
+            }
+        }
+
+        int next = next(node, 0);
+        return next != NIL && keys[next] == key ? next : NIL;
+    }
+
+    /**
+     * 查找每一层小于 key 的最后一个节点，记录在 updates 中
+     * @param key key
+     * @return 最底层的前驱
+     * @since 0.0.6
+     */
+    private int findPredecessors(final long key) {
+        int node = HEAD;
+        for (int i = currentLevel - 1; i >= 0; i--) {
+            int next;
+            while ((next = next(node, i)) != NIL && keys[next] < key) {
+                node = next;
+            }
+            updates[i] = node;
+        }
+        return node;
+    }
+
+    /**
+     * 节点在某一层的下一个节点
+     * @param node 节点
+     * @param level 层级
+     * @return 结果
+     * @since 0.0.6
+     */
+    private int next(final int node, final int level) {
+        return links[offsets[node] + level];
+    }
+
+    /**
+     * 创建节点，优先复用相同层级的空闲节点
+     * @param level 层级
+     * @return 节点
+     * @since 0.0.6
+     */
+    private int newNode(final int level) {
+        int node = freeNodes[level];
+        if (node != NIL) {
+            freeNodes[level] = links[offsets[node]];
+            return node;
+        }
+
+        if (nodeCount == keys.length) {
+            int newCapacity = keys.length << 1;
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            levels = Arrays.copyOf(levels, newCapacity);
+        }
+        if (linkCount + level > links.length) {
+            links = Arrays.copyOf(links, Math.max(links.length << 1, linkCount + level));
+        }
+
+        node = nodeCount++;
+        offsets[node] = linkCount;
+        levels[node] = (byte) level;
+        Arrays.fill(links, linkCount, linkCount + level, NIL);
+        linkCount += level;
+        return node;
+    }
+
+    /**
+     * 释放节点，放入对应层级的空闲链表
+     * @param node 节点
+     * @since 0.0.6
+     */
+    private void freeNode(final int node) {
+        values[node] = null;
+        int level = levels[node];
+        links[offsets[node]] = freeNodes[level];
+        freeNodes[level] = node;
+    }
+
+    /**
+     * 获取随机的级别
+     * @return 级别
+     * @since 0.0.6
+     */
+    private int getRandomLevel() {
+        int level = 1;
+        while (level < MAX_LEVEL && random.nextDouble() < P) {
+            level++;
+        }
+        return level;
+    }
+
+}
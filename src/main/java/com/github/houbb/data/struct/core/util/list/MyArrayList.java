@@ -1,5 +1,10 @@
 package com.github.houbb.data.struct.core.util.list;
 
+import com.github.houbb.data.struct.core.util.list.growth.GrowthPolicies;
+import com.github.houbb.data.struct.core.util.list.growth.IGrowthPolicy;
+import com.github.houbb.data.struct.core.util.list.growth.IShrinkPolicy;
+import com.github.houbb.data.struct.core.util.list.growth.ShrinkPolicies;
+import com.github.houbb.data.struct.util.MemoryUtil;
 import com.github.houbb.heaven.util.lang.ObjectUtil;
 import com.github.houbb.heaven.util.util.CollectionUtil;
 
@@ -13,11 +18,20 @@ import java.util.*;
  * （3）抽象基础父类
  *
  * 构造器是有缺陷的，因为无法区分到底是 size 还是单个元素信息。
+ *
+ * 扩容和缩容分别由 {@link IGrowthPolicy} 和 {@link IShrinkPolicy} 决定，
+ * 默认扩容为 2 倍，使用率不超过 1/4 时缩容到 1/2。
  * @author binbin.hou
  * @since 0.0.1
  * @param <E> elemType
  */
-public class MyArrayList<E> implements List<E>, Serializable {
+public class MyArrayList<E> implements List<E>, RandomAccess, Serializable {
+
+    /**
+     * 批量删除时，集合超过这个大小就转换为 {@link HashSet}
+     * @since 0.0.6
+     */
+    private static final int HASH_LOOKUP_THRESHOLD = 16;
 
     /**
      * 存放列表信息
@@ -33,6 +47,26 @@ public class MyArrayList<E> implements List<E>, Serializable {
      */
     private int size = 0;
 
+    /**
+     * 扩容策略
+     * @since 0.0.6
+     */
+    private final transient IGrowthPolicy growthPolicy;
+
+    /**
+     * 缩容策略
+     * @since 0.0.6
+     */
+    private final transient IShrinkPolicy shrinkPolicy;
+
+    /**
+     * 结构修改的次数
+     *
+     * 新增、删除时递增，迭代器和 {@link #subList(int, int)} 据此发现列表已经被修改。
+     * @since 0.0.6
+     */
+    protected transient int modCount = 0;
+
     /**
      * 无参构造器
      * 默认大小为 8
@@ -48,8 +82,21 @@ public class MyArrayList<E> implements List<E>, Serializable {
      * @since 0.0.1
      */
     public MyArrayList(final int capacity) {
+        this(capacity, GrowthPolicies.defaults(), ShrinkPolicies.defaults());
+    }
+
+    /**
+     * 指定扩容和缩容策略
+     * @param capacity 容量大小
+     * @param growthPolicy 扩容策略
+     * @param shrinkPolicy 缩容策略
+     * @since 0.0.6
+     */
+    public MyArrayList(final int capacity, final IGrowthPolicy growthPolicy, final IShrinkPolicy shrinkPolicy) {
         array = new Object[capacity];
         this.size = 0;
+        this.growthPolicy = growthPolicy;
+        this.shrinkPolicy = shrinkPolicy;
     }
 
     @Override
@@ -122,15 +169,14 @@ public class MyArrayList<E> implements List<E>, Serializable {
             return false;
         }
         // 判断是否扩容
-        this.ensureIncrease(this.size+c.size());
+        final int addSize = c.size();
+        this.ensureIncrease(this.size+addSize);
 
-        // 保留后续的列表，避免被覆盖
         // 完整列表=index 之前+c+index 之后
-        int afterIndexArraySize = this.size-1-index;
-        Object[] afterIndexArray = {};
+        // index 之后的元素整体后移，直接在原数组中移动，不需要临时数组
+        int afterIndexArraySize = this.size-index;
         if(afterIndexArraySize > 0) {
-            afterIndexArray = new Object[afterIndexArraySize];
-            System.arraycopy(array, index, afterIndexArray, 0, afterIndexArraySize);
+            System.arraycopy(array, index, array, index+addSize, afterIndexArraySize);
         }
 
         // 开始从 index 设置覆盖
@@ -140,22 +186,15 @@ public class MyArrayList<E> implements List<E>, Serializable {
             setStartIndex++;
         }
 
-        // 将 after index 的信息进行拷贝
-        if(afterIndexArraySize > 0) {
-            System.arraycopy(afterIndexArray, 0, array, setStartIndex, afterIndexArraySize);
-        }
-
-        this.size += c.size();
+        this.size += addSize;
+        this.modCount++;
         return true;
     }
 
     /**
      * 移除集合所有信息
-     * （1）批量删除，避免多次合并集合。
-     * （2）可以对 removeVertex 单个进行优化，统一为单个的特例。
-     *
-     * 统一为使用 object 进行删除。
-     * 这里因为单个 removeVertex(index) 需要返回下标导致二者无法统一。
+     * （1）批量删除，在原数组中压缩，不需要新的数组。
+     * （2）集合较大时先放入 {@link HashSet}，避免 O(n*m) 的 contains。
      *
      * @see #remove(int) 按照下标移除
      * @see #remove(Object) 按照对象移除
@@ -178,12 +217,42 @@ public class MyArrayList<E> implements List<E>, Serializable {
         return batchVenn(c, true);
     }
 
+    /**
+     * 删除满足条件的元素
+     *
+     * 和 {@link #removeAll(Collection)} 一样在原数组中压缩。
+     * 不使用 removeIf 这个名字，避免在 jdk8 及以上和 Collection#removeIf 重载，lambda 无法确定调用哪一个。
+     * @param predicate 条件
+     * @return 是否修改
+     * @since 0.0.6
+     */
+    public boolean removeWhere(final IPredicate<? super E> predicate) {
+        if(predicate == null) {
+            throw new NullPointerException("predicate");
+        }
+
+        int write = 0;
+        int read = 0;
+        try {
+            for(; read < size; read++) {
+                @SuppressWarnings("unchecked")
+                E elem = (E) array[read];
+                if(!predicate.test(elem)) {
+                    array[write++] = elem;
+                }
+            }
+        } finally {
+            write = compact(read, write);
+        }
+        return write != -1;
+    }
+
     /**
      * 韦恩图处理
      * （1）交集
      * （2）差集
-     * （3）并集
      *
+     * 保留的元素依次前移，最后把末尾置为 null，不需要额外的数组。
      * @param c 元素结合
      * @param containsFlag 包含时结果如何进行添加
      * @return 是否修改
@@ -194,57 +263,93 @@ public class MyArrayList<E> implements List<E>, Serializable {
         //1. 快速返回
         // 取交集
         if(containsFlag && CollectionUtil.isEmpty(c)) {
-            this.array = Lists.EMPTY_ARRAY;
-            this.size = 0;
-            return true;
+            boolean modified = size > 0;
+            this.clear();
+            return modified;
         }
         // 取差集
         if(!containsFlag && CollectionUtil.isEmpty(c)) {
             return false;
         }
 
-        // 用来存放结果信息
-        Object[] newArray = new Object[size];
-        int newSize = 0;
-
-        // 循环处理
-        for(int i = 0; i < size; i++) {
-            E elem = this.get(i);
-            // 其实 jdk 的实现算是一种比较麻烦的算法，比较简单的方式是循环遍历只有在不包含的列表，才放入。
-
-            //1. 取差集，如果为 false 才放入。
-            //2. 取交集，如果为 true 才放入。
-            if(c.contains(elem) == containsFlag) {
-                // 如果不在移除类表中，则添加到新的类表中。
-                // 当然这么做的代价是，需要消耗两倍的内存。
-                newArray[newSize++] = elem;
+        //2. 集合较大时转换为 hash 查找
+        final Collection<?> lookup = toLookup(c);
+
+        //3. 取差集，不包含才保留；取交集，包含才保留。
+        int write = 0;
+        int read = 0;
+        try {
+            for(; read < size; read++) {
+                Object elem = array[read];
+                if(lookup.contains(elem) == containsFlag) {
+                    array[write++] = elem;
+                }
             }
+        } finally {
+            write = compact(read, write);
         }
+        return write != -1;
+    }
 
-        // 判断是否发生了更新
-        // 如果二者不相等，说明发生了变化.
-        boolean modified = false;
-        if(size != newSize) {
-            modified = true;
+    /**
+     * 完成压缩
+     * （1）中途抛出异常时，read 之后的元素原样保留。
+     * （2）末尾置为 null，并按照策略缩容。
+     *
+     * @param read 已经处理的个数
+     * @param write 保留的个数
+     * @return 新的大小，没有变化时返回 -1
+     * @since 0.0.6
+     */
+    private int compact(final int read, int write) {
+        if(read < size) {
+            System.arraycopy(array, read, array, write, size - read);
+            write += size - read;
+        }
+        if(write == size) {
+            return -1;
         }
 
-        // 更新元素信息
-        if(modified) {
-            this.array = newArray;
-            this.size = newSize;
+        Arrays.fill(array, write, size, null);
+        this.size = write;
+        this.modCount++;
+        this.ensureDecrease(write);
+        return write;
+    }
+
+    /**
+     * 用于 contains 判断的集合
+     *
+     * Set 的 contains 本身就很快，而且可能有自己的相等规则，直接使用。
+     * @param c 集合
+     * @return 结果
+     * @since 0.0.6
+     */
+    private Collection<?> toLookup(final Collection<?> c) {
+        if(c instanceof Set || c.size() <= HASH_LOOKUP_THRESHOLD || size <= 1) {
+            return c;
         }
-        return modified;
+        return new HashSet<>(c);
     }
 
+    /**
+     * 清空
+     *
+     * 是否释放数组由缩容策略决定。
+     * @since 0.0.1
+     */
     @Override
     public void clear() {
+        Arrays.fill(this.array, 0, size, null);
         this.size = 0;
-        this.array = null;
+        this.modCount++;
+        this.ensureDecrease(0);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public E get(int index) {
+        elementRangeCheck(index);
         return (E) this.array[index];
     }
 
@@ -263,6 +368,7 @@ public class MyArrayList<E> implements List<E>, Serializable {
     @Override
     public E remove(int index) {
         //1. 越界判断
+        elementRangeCheck(index);
 
         //2. 获取元素
         E elem = this.get(index);
@@ -274,8 +380,11 @@ public class MyArrayList<E> implements List<E>, Serializable {
             System.arraycopy(array, index+1, array, index, movedLength);
         }
         //4. 移动的位置末尾设置为 null，并减小 size
-        this.array[size--] = null;
+        this.array[--size] = null;
+        this.modCount++;
 
+        //5. 按照策略缩容
+        this.ensureDecrease(size);
         return elem;
     }
 
@@ -350,52 +459,96 @@ public class MyArrayList<E> implements List<E>, Serializable {
     }
 
     /**
-     * 截取整个列表
-     * 这个列表和 jdk 内置的不同，是属于一份拷贝。
+     * 截取列表
      *
-     * @param fromIndex 开始下标
-     * @param toIndex 结束下标
-     * @return 截取的列表集合
+     * 返回的是视图，不复制元素：对视图的修改直接作用在当前列表上。
+     * 通过视图以外的方式对当前列表做了结构修改之后，视图不再可用，
+     * 再次访问会抛出 {@link ConcurrentModificationException}。
+     *
+     * @param fromIndex 开始下标，包含
+     * @param toIndex 结束下标，不包含
+     * @return 截取的列表视图
      */
     @Override
     public List<E> subList(int fromIndex, int toIndex) {
-        final int size = toIndex-fromIndex;
-        if(size <= 0) {
-            return Collections.emptyList();
-        }
+        subListRangeCheck(fromIndex, toIndex, size);
+        return new SubList(fromIndex, toIndex);
+    }
 
-        // 做一份拷贝，避免坑
-        List<E> newList = new MyArrayList<>(size);
+    /**
+     * 保证容量至少为 minCapacity
+     *
+     * 需要扩容时同样按照扩容策略计算新的容量。
+     * @param minCapacity 最小容量
+     * @since 0.0.6
+     */
+    public void ensureCapacity(final int minCapacity) {
+        this.ensureIncrease(minCapacity);
+    }
 
-        for(int i = fromIndex; i <= toIndex; i++) {
-            newList.add(this.get(i));
+    /**
+     * 数组长度缩减为 size
+     * @since 0.0.6
+     */
+    public void trimToSize() {
+        if(array.length > size) {
+            array = Arrays.copyOf(array, size);
         }
-        return newList;
+    }
+
+    /**
+     * 当前数组的长度
+     * @return 容量
+     * @since 0.0.6
+     */
+    public int capacity() {
+        return array.length;
+    }
+
+    /**
+     * 估算占用的内存
+     * <p>
+     * 包含对象本身和数组，不包含元素对象。
+     *
+     * @return 字节数
+     * @since 0.0.6
+     */
+    public long memoryBytes() {
+        return MemoryUtil.objectSize(4L + 3 * MemoryUtil.REFERENCE)
+                + MemoryUtil.arraySize(array.length, MemoryUtil.REFERENCE);
     }
 
     /**
      * 确认是否需要扩容
      * （1）如果 {@link #array} 的大小小于 minSize，则进行扩容。
-     * （2）直接2倍容量。这个参数可以调整，个人更加倾向于 1.5
+     * （2）新的容量由 {@link IGrowthPolicy} 决定，默认为 2 倍。
      * @param minSize 最小容量
      * @since 0.0.1
      */
     private void ensureIncrease(final int minSize) {
+        if(minSize < 0) {
+            throw new OutOfMemoryError("Required array size too large");
+        }
+
         if(array.length < minSize) {
             // 复制原来的信息到新数组，此处直接使用 copy 更快
-            array = Arrays.copyOf(array, minSize*2);
+            int newCapacity = Math.max(minSize, growthPolicy.grow(array.length, minSize));
+            array = Arrays.copyOf(array, newCapacity);
         }
     }
 
     /**
-     * 确认是否需要扩容
-     * （1）如果 {@link #array} 的容量为 maxSize 的两倍及其以上，则进行动态缩减。
-     * 或者类似 redis，直接预留在这里。避免下次还要扩容
+     * 确认是否需要缩容
+     * （1）由 {@link IShrinkPolicy} 决定，默认使用率不超过 1/4 时缩容到 1/2。
+     * （2）缩容和扩容的阈值之间留有空间，避免在边界附近反复增删时反复复制。
      * @param maxSize 最大大小
      * @since 0.0.1
      */
     private void ensureDecrease(final int maxSize) {
-
+        int newCapacity = shrinkPolicy.shrink(array.length, maxSize);
+        if(newCapacity < array.length) {
+            array = Arrays.copyOf(array, Math.max(maxSize, newCapacity));
+        }
     }
 
     /**
@@ -409,6 +562,173 @@ public class MyArrayList<E> implements List<E>, Serializable {
         }
     }
 
+    /**
+     * 元素下标检查
+     *
+     * 数组的长度大于 size，仅靠数组越界无法发现 [size, length) 的非法下标。
+     * @param index 下标
+     * @since 0.0.6
+     */
+    private void elementRangeCheck(final int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index out of range: " + index + ", size: " + size);
+        }
+    }
+
+    private static void subListRangeCheck(final int fromIndex, final int toIndex, final int size) {
+        if(fromIndex < 0) {
+            throw new IndexOutOfBoundsException("fromIndex = " + fromIndex);
+        }
+        if(toIndex > size) {
+            throw new IndexOutOfBoundsException("toIndex = " + toIndex);
+        }
+        if(fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+    }
+
+    /**
+     * 子列表视图
+     * （1）记录在当前列表中的偏移量和自身的大小，读写直接访问 {@link #array}。
+     * （2）记录创建时的 {@link #modCount}，不一致说明当前列表被其他途径修改过。
+     * （3）继承 {@link java.util.AbstractList}，迭代器和嵌套的 subList 都基于这里的方法，
+     * 嵌套视图的修改会经过本视图，大小和修改次数保持一致。
+     *
+     * @since 0.0.6
+     */
+    private class SubList extends java.util.AbstractList<E> implements RandomAccess {
+
+        private final int offset;
+
+        private int size;
+
+        private int expectedModCount;
+
+        private SubList(final int fromIndex, final int toIndex) {
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.expectedModCount = MyArrayList.this.modCount;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            rangeCheck(index);
+            checkForComodification();
+            return (E) array[offset + index];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E set(int index, E element) {
+            rangeCheck(index);
+            checkForComodification();
+            E oldValue = (E) array[offset + index];
+            array[offset + index] = element;
+            return oldValue;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public void add(int index, E element) {
+            if(index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("index out of range: " + index + ", it must be in [0, " + size + "]");
+            }
+            checkForComodification();
+            MyArrayList.this.add(offset + index, element);
+            afterModify(1);
+        }
+
+        @Override
+        public E remove(int index) {
+            rangeCheck(index);
+            checkForComodification();
+            E oldValue = MyArrayList.this.remove(offset + index);
+            afterModify(-1);
+            return oldValue;
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends E> c) {
+            if(index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("index out of range: " + index + ", it must be in [0, " + size + "]");
+            }
+            checkForComodification();
+            final int addSize = c.size();
+            if(!MyArrayList.this.addAll(offset + index, c)) {
+                return false;
+            }
+            afterModify(addSize);
+            return true;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends E> c) {
+            return addAll(size, c);
+        }
+
+        /**
+         * 删除区间
+         *
+         * 一次移动后面的元素，{@link #clear()} 基于这里实现。
+         * @param fromIndex 开始，包含
+         * @param toIndex 结束，不包含
+         * @since 0.0.6
+         */
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            checkForComodification();
+            final int removed = toIndex - fromIndex;
+            if(removed <= 0) {
+                return;
+            }
+
+            final int parentSize = MyArrayList.this.size;
+            final int from = offset + fromIndex;
+            System.arraycopy(array, from + removed, array, from, parentSize - from - removed);
+            Arrays.fill(array, parentSize - removed, parentSize, null);
+            MyArrayList.this.size = parentSize - removed;
+            MyArrayList.this.modCount++;
+            MyArrayList.this.ensureDecrease(MyArrayList.this.size);
+            afterModify(-removed);
+        }
+
+        /**
+         * 通过视图修改之后，同步大小和修改次数
+         * @param delta 大小的变化
+         * @since 0.0.6
+         */
+        private void afterModify(final int delta) {
+            this.size += delta;
+            this.expectedModCount = MyArrayList.this.modCount;
+            this.modCount++;
+        }
+
+        private void rangeCheck(final int index) {
+            if(index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index out of range: " + index + ", size: " + size);
+            }
+        }
+
+        private void checkForComodification() {
+            if(MyArrayList.this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * 迭代器
+     * （1）记录创建时的 {@link #modCount}，迭代过程中通过其他途径修改了列表，抛出 {@link ConcurrentModificationException}。
+     * （2）通过迭代器自身的 remove、set、add 修改是允许的。
+     *
+     * @since 0.0.1
+     */
     private class ArrayListIterator implements Iterator<E> {
 
         /**
@@ -416,6 +736,18 @@ public class MyArrayList<E> implements List<E>, Serializable {
          */
         protected int cursor;
 
+        /**
+         * 上一次返回的下标，没有时为 -1
+         * @since 0.0.6
+         */
+        protected int lastReturned = -1;
+
+        /**
+         * 期望的修改次数
+         * @since 0.0.6
+         */
+        protected int expectedModCount = modCount;
+
         @Override
         public boolean hasNext() {
             return cursor < size;
@@ -424,14 +756,32 @@ public class MyArrayList<E> implements List<E>, Serializable {
         @Override
         @SuppressWarnings("unchecked")
         public E next() {
-            E result = MyArrayList.this.get(cursor);
-            cursor++;
-            return result;
+            checkForComodification();
+            if(cursor >= size) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = cursor++;
+            return (E) array[lastReturned];
         }
 
         @Override
         public void remove() {
-            MyArrayList.this.remove(cursor);
+            if(lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+
+            MyArrayList.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        protected void checkForComodification() {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
         }
 
     }
@@ -440,6 +790,7 @@ public class MyArrayList<E> implements List<E>, Serializable {
 
         public ArrayListListIterator(final int index) {
             super();
+            indexRangeCheck(index);
             cursor = index;
         }
 
@@ -459,21 +810,36 @@ public class MyArrayList<E> implements List<E>, Serializable {
         }
 
         @Override
+        @SuppressWarnings("unchecked")
         public E previous() {
-            return MyArrayList.this.get(--cursor);
+            checkForComodification();
+            if(cursor <= 0) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = --cursor;
+            return (E) array[lastReturned];
         }
 
         @Override
         public void set(E e) {
-            int lastReturn = cursor-1;
-            MyArrayList.this.set(lastReturn, e);
+            if(lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+
+            MyArrayList.this.set(lastReturned, e);
         }
 
         @Override
         public void add(E e) {
+            checkForComodification();
+
             // 当前 index 添加元素
             MyArrayList.this.add(cursor, e);
             cursor++;
+            lastReturned = -1;
+            expectedModCount = modCount;
         }
     }
 
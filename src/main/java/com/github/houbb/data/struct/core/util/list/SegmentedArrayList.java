@@ -0,0 +1,272 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import com.github.houbb.data.struct.util.MemoryUtil;
+
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * 分段数组列表
+ * <p>
+ * （1）元素存放在固定大小的块中，块的引用存放在目录数组中。
+ * 下标 i 位于第 i/chunkSize 个块的 i%chunkSize 位置，块大小为 2 的幂，随机访问只需要移位和掩码，O(1)。
+ * （2）追加时最多分配一个新块，不需要复制已有的元素；目录扩容只复制块的引用，大小为 n/chunkSize。
+ * 千万级别的列表不会出现 {@link MyArrayList} 扩容时的大数组分配（G1 中的 humongous 对象）和长时间复制。
+ * （3）中间插入、删除需要逐块移动后面的元素，和 {@link MyArrayList} 一样为 O(n)。
+ * （4）删除之后最多保留一个空块，避免在块的边界附近反复分配。
+ * <p>
+ * 继承 {@link java.util.AbstractList}，迭代器、subList、equals 和 hashCode 都遵循 {@link java.util.List} 的约定，
+ * 结构修改会更新 modCount，迭代过程中修改会快速失败。非线程安全。
+ *
+ * @param <E> 泛型
+ * @author binbin.hou
+ * @see MyArrayList
+ * @since 0.0.6
+ */
+public class SegmentedArrayList<E> extends java.util.AbstractList<E> implements RandomAccess {
+
+    /**
+     * 默认的块大小
+     * @since 0.0.6
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    /**
+     * 默认的目录大小
+     * @since 0.0.6
+     */
+    private static final int DEFAULT_DIRECTORY_SIZE = 4;
+
+    private final int shift;
+
+    private final int mask;
+
+    /**
+     * 目录，前 chunkCount 个为已经分配的块
+     * @since 0.0.6
+     */
+    private Object[][] chunks;
+
+    /**
+     * 已经分配的块个数
+     * @since 0.0.6
+     */
+    private int chunkCount;
+
+    private int size;
+
+    public SegmentedArrayList() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize 块大小，向上取整为 2 的幂
+     * @since 0.0.6
+     */
+    public SegmentedArrayList(final int chunkSize) {
+        if (chunkSize <= 0 || chunkSize > (1 << 30)) {
+            throw new IllegalArgumentException("chunkSize must be in (0, 2^30]: " + chunkSize);
+        }
+
+        int shift = 0;
+        while ((1 << shift) < chunkSize) {
+            shift++;
+        }
+        this.shift = shift;
+        this.mask = (1 << shift) - 1;
+        this.chunks = new Object[DEFAULT_DIRECTORY_SIZE][];
+        this.chunkCount = 0;
+        this.size = 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        rangeCheck(index);
+        return (E) chunks[index >>> shift][index & mask];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        rangeCheck(index);
+        Object[] chunk = chunks[index >>> shift];
+        E oldValue = (E) chunk[index & mask];
+        chunk[index & mask] = element;
+        return oldValue;
+    }
+
+    /**
+     * 追加
+     *
+     * 当前块满了时分配新块，不复制已有元素。
+     * @param e 元素
+     * @return true
+     * @since 0.0.6
+     */
+    @Override
+    public boolean add(E e) {
+        ensureChunks(size + 1);
+        chunks[size >>> shift][size & mask] = e;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * 插入
+     *
+     * 从最后一块开始，每块整体后移一位，并把前一块的最后一个元素移到本块的开头。
+     * @param index 下标
+     * @param element 元素
+     * @since 0.0.6
+     */
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index out of range: " + index + ", it must be in [0, " + size + "]");
+        }
+        if (index == size) {
+            add(element);
+            return;
+        }
+
+        ensureChunks(size + 1);
+        final int lastChunk = size >>> shift;
+        final int indexChunk = index >>> shift;
+        for (int c = lastChunk; c > indexChunk; c--) {
+            Object[] chunk = chunks[c];
+            int count = c == lastChunk ? (size & mask) : mask;
+            System.arraycopy(chunk, 0, chunk, 1, count);
+            chunk[0] = chunks[c - 1][mask];
+        }
+
+        Object[] chunk = chunks[indexChunk];
+        int offset = index & mask;
+        int end = indexChunk == lastChunk ? (size & mask) : mask;
+        System.arraycopy(chunk, offset, chunk, offset + 1, end - offset);
+        chunk[offset] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * 删除
+     *
+     * 和插入相反，每块整体前移一位，并把后一块的第一个元素移到本块的末尾。
+     * @param index 下标
+     * @return 被删除的元素
+     * @since 0.0.6
+     */
+    @Override
+    public E remove(int index) {
+        E oldValue = get(index);
+
+        final int lastIndex = size - 1;
+        final int lastChunk = lastIndex >>> shift;
+        final int indexChunk = index >>> shift;
+        final int offset = index & mask;
+
+        Object[] chunk = chunks[indexChunk];
+        int end = indexChunk == lastChunk ? (lastIndex & mask) : mask;
+        System.arraycopy(chunk, offset + 1, chunk, offset, end - offset);
+        for (int c = indexChunk + 1; c <= lastChunk; c++) {
+            Object[] next = chunks[c];
+            chunk[mask] = next[0];
+            int count = c == lastChunk ? (lastIndex & mask) : mask;
+            System.arraycopy(next, 1, next, 0, count);
+            chunk = next;
+        }
+        chunks[lastChunk][lastIndex & mask] = null;
+
+        size--;
+        modCount++;
+        releaseChunks();
+        return oldValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        chunks = new Object[DEFAULT_DIRECTORY_SIZE][];
+        chunkCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * 块大小
+     * @return 大小
+     * @since 0.0.6
+     */
+    public int chunkSize() {
+        return mask + 1;
+    }
+
+    /**
+     * 已经分配的容量
+     * @return 容量
+     * @since 0.0.6
+     */
+    public int capacity() {
+        return chunkCount << shift;
+    }
+
+    /**
+     * 估算占用的内存
+     * <p>
+     * 包含对象本身、目录和所有的块，不包含元素对象。
+     *
+     * @return 字节数
+     * @since 0.0.6
+     */
+    public long memoryBytes() {
+        return MemoryUtil.objectSize(5 * 4L + MemoryUtil.REFERENCE)
+                + MemoryUtil.arraySize(chunks.length, MemoryUtil.REFERENCE)
+                + chunkCount * MemoryUtil.arraySize(chunkSize(), MemoryUtil.REFERENCE);
+    }
+
+    /**
+     * 保证能容纳 minSize 个元素
+     * @param minSize 元素个数
+     * @since 0.0.6
+     */
+    private void ensureChunks(final int minSize) {
+        if (minSize < 0) {
+            throw new OutOfMemoryError("Required size too large");
+        }
+
+        final int requiredChunks = (int) (((long) minSize + mask) >>> shift);
+        if (requiredChunks <= chunkCount) {
+            return;
+        }
+        if (requiredChunks > chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(requiredChunks, chunks.length * 2));
+        }
+        while (chunkCount < requiredChunks) {
+            chunks[chunkCount++] = new Object[mask + 1];
+        }
+    }
+
+    /**
+     * 最多保留一个空块
+     * @since 0.0.6
+     */
+    private void releaseChunks() {
+        final int usedChunks = (size + mask) >>> shift;
+        while (chunkCount > usedChunks + 1) {
+            chunks[--chunkCount] = null;
+        }
+    }
+
+    private void rangeCheck(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index out of range: " + index + ", size: " + size);
+        }
+    }
+
+}
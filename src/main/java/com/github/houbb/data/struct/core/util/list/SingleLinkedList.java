@@ -31,6 +31,7 @@ public class SingleLinkedList<E> extends AbstractList<E> {
         }
 
         size++;
+        modCount++;
         return true;
     }
 
@@ -56,6 +57,7 @@ public class SingleLinkedList<E> extends AbstractList<E> {
         }
 
         size++;
+        modCount++;
     }
 
 
@@ -84,6 +86,12 @@ public class SingleLinkedList<E> extends AbstractList<E> {
         }
 
         size--;
+        modCount++;
+        if(size == 0) {
+            // 删除了唯一的节点
+            this.head = null;
+            this.tail = null;
+        }
         return result;
     }
 
@@ -2,11 +2,21 @@ package com.github.houbb.data.struct.core.util.list;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
+ * 跳表
+ * <p>
+ * 每一个向前的指针都记录了跨度（span），即这个指针跳过了最底层的多少个元素，
+ * 和 redis zset 的实现一致。查找时累加经过的跨度，就可以得到元素的排名，
+ * 所以 rank/getByRank/rangeByRank/removeRangeByRank 都是 O(logn)。
+ * 排名从 1 开始。
+ *
  * @author 老马啸西风
  * @since 0.0.4
+ * @see LongSkipList
  */
 public class SkipList<E> {
 
@@ -39,6 +49,12 @@ public class SkipList<E> {
      */
     private double p;
 
+    /**
+     * 元素个数
+     * @since 0.0.6
+     */
+    private int size;
+
     /**
      * 作者建议的概率
      * @since 0.25
@@ -63,7 +79,8 @@ public class SkipList<E> {
 
         this.currentLevel = 1;
         this.head = new SkipListNode<>(Integer.MIN_VALUE, null, maxLevel);
-        this.NIL = new SkipListNode<>(Integer.MAX_VALUE, null, maxLevel);
+        // 表尾不会向前，不需要指针
+        this.NIL = new SkipListNode<>(Integer.MAX_VALUE, null, 0);
 
         //初始化一个新列表，以使列表的级别等于1，并且列表标题的所有前向指针都指向NIL
         for (int i = 0; i < maxLevel; i++) {
@@ -71,6 +88,131 @@ public class SkipList<E> {
         }
     }
 
+    /**
+     * 根据有序的元素批量构建
+     * <p>
+     * 不再逐个插入，而是直接在每一层的末尾追加，时间复杂度 O(n)。
+     * 层级也不再随机生成：第 i 个元素的层级为 1 + i 能被 (1/p) 整除的次数，
+     * 即每 4 个元素有一个升到第 2 层，每 16 个有一个升到第 3 层，以此类推，结构是确定且均衡的。
+     *
+     * @param sorted 按照 key 严格升序的元素
+     * @param <E> 泛型
+     * @return 结果
+     * @since 0.0.6
+     */
+    public static <E> SkipList<E> bulkLoad(Iterator<? extends Map.Entry<Integer, ? extends E>> sorted) {
+        SkipList<E> list = new SkipList<>();
+        BulkLoader<E> loader = new BulkLoader<>(list);
+        while (sorted.hasNext()) {
+            Map.Entry<Integer, ? extends E> entry = sorted.next();
+            loader.append(entry.getKey(), entry.getValue());
+        }
+        loader.finish();
+        return list;
+    }
+
+    /**
+     * 根据有序的元素批量构建
+     *
+     * @param keys 严格升序的 key
+     * @param values 对应的元素
+     * @param <E> 泛型
+     * @return 结果
+     * @see #bulkLoad(Iterator)
+     * @since 0.0.6
+     */
+    public static <E> SkipList<E> bulkLoad(int[] keys, List<? extends E> values) {
+        if (keys.length != values.size()) {
+            throw new IllegalArgumentException("keys and values must have the same size");
+        }
+
+        SkipList<E> list = new SkipList<>();
+        BulkLoader<E> loader = new BulkLoader<>(list);
+        for (int i = 0; i < keys.length; i++) {
+            loader.append(keys[i], values.get(i));
+        }
+        loader.finish();
+        return list;
+    }
+
+    /**
+     * 批量构建
+     *
+     * 记录每一层当前的最后一个节点和它的排名，新的节点直接追加在后面。
+     * @since 0.0.6
+     */
+    private static class BulkLoader<E> {
+
+        /**
+         * 构建的跳表，必须为空
+         */
+        private final SkipList<E> list;
+
+        /**
+         * 每一层最后的节点
+         */
+        private final SkipListNode<E>[] tails;
+
+        /**
+         * 每一层最后的节点的排名
+         */
+        private final int[] tailRanks;
+
+        /**
+         * 升一层需要的间隔
+         */
+        private final int step;
+
+        @SuppressWarnings("all")
+        private BulkLoader(SkipList<E> list) {
+            this.list = list;
+            this.tails = new SkipListNode[list.maxLevel];
+            this.tailRanks = new int[list.maxLevel];
+            Arrays.fill(tails, list.head);
+            this.step = Math.max(2, (int) Math.round(1 / list.p));
+        }
+
+        private void append(int key, E value) {
+            if (list.size > 0 && tails[0].key >= key) {
+                throw new IllegalArgumentException("keys must be strictly ascending, found " + key
+                        + " after " + tails[0].key);
+            }
+
+            final int rank = list.size + 1;
+            final int level = levelOf(rank);
+            SkipListNode<E> node = new SkipListNode<>(key, value, level);
+            for (int i = 0; i < level; i++) {
+                tails[i].forwards[i] = node;
+                tails[i].spans[i] = rank - tailRanks[i];
+                tails[i] = node;
+                tailRanks[i] = rank;
+            }
+
+            list.currentLevel = Math.max(list.currentLevel, level);
+            list.size = rank;
+        }
+
+        private void finish() {
+            for (int i = 0; i < list.maxLevel; i++) {
+                tails[i].forwards[i] = list.NIL;
+                tails[i].spans[i] = list.size - tailRanks[i];
+            }
+        }
+
+        /**
+         * 排名对应的层级
+         */
+        private int levelOf(int rank) {
+            int level = 1;
+            int remain = rank;
+            while (level < list.maxLevel && remain % step == 0) {
+                remain /= step;
+                level++;
+            }
+            return level;
+        }
+    }
+
     /**
      * 元素节点
      * @param <E>
@@ -100,11 +242,21 @@ public class SkipList<E> {
          */
         SkipListNode<E>[] forwards;
 
+        /**
+         * 每一个向前指针的跨度
+         * <p>
+         * 即从当前节点沿着这个指针，在最底层跳过了多少个元素。
+         *
+         * @since 0.0.6
+         */
+        int[] spans;
+
         @SuppressWarnings("all")
         public SkipListNode(int key, E value, int maxLevel) {
             this.key = key;
             this.value = value;
             this.forwards = new SkipListNode[maxLevel];
+            this.spans = new int[maxLevel];
         }
 
         @Override
@@ -156,10 +308,14 @@ public class SkipList<E> {
     @SuppressWarnings("all")
     public void insert(int searchKey, E newValue) {
         SkipListNode<E>[] updates = new SkipListNode[maxLevel];
+        // 每一层的前驱节点的排名
+        int[] ranks = new int[maxLevel];
         SkipListNode<E> curNode = this.head;
 
         for (int i = currentLevel - 1; i >= 0; i--) {
+            ranks[i] = i == currentLevel - 1 ? 0 : ranks[i + 1];
             while (curNode.forwards[i].key < searchKey) {
+                ranks[i] += curNode.spans[i];
                 curNode = curNode.forwards[i];
             }
 
@@ -179,7 +335,10 @@ public class SkipList<E> {
             // 如果层级高于当前层级，则更新 currentLevel
             if (this.currentLevel < randomLevel) {
                 for (int i = currentLevel; i < randomLevel; i++) {
+                    ranks[i] = 0;
                     updates[i] = this.head;
+                    // 新的一层，表头直接跨过所有的元素
+                    this.head.spans[i] = size;
                 }
 
                 currentLevel = randomLevel;
@@ -192,7 +351,17 @@ public class SkipList<E> {
             for (int i = 0; i < randomLevel; i++) {
                 newNode.forwards[i] = updates[i].forwards[i];
                 updates[i].forwards[i] = newNode;
+
+                // 拆分前驱的跨度
+                newNode.spans[i] = updates[i].spans[i] - (ranks[0] - ranks[i]);
+                updates[i].spans[i] = ranks[0] - ranks[i] + 1;
             }
+
+            // 更高的层级，跨度加一
+            for (int i = randomLevel; i < currentLevel; i++) {
+                updates[i].spans[i]++;
+            }
+            size++;
         }
     }
 
@@ -234,19 +403,162 @@ public class SkipList<E> {
         // 最下面一层的第一个指向的元素
         curNode = curNode.forwards[0];
         if (curNode.key == searchKey) {
-            for (int i = 0; i < currentLevel; i++) {
-                if (updates[i].forwards[i] != curNode) {
-                    break;
-                }
+            deleteNode(curNode, updates);
+        }
+    }
+
+    /**
+     * 删除节点
+     * @param node 节点
+     * @param updates 每一层的前驱节点
+     * @since 0.0.6
+     */
+    private void deleteNode(SkipListNode<E> node, SkipListNode<E>[] updates) {
+        for (int i = 0; i < currentLevel; i++) {
+            if (updates[i].forwards[i] == node) {
+                updates[i].spans[i] += node.spans[i] - 1;
+                updates[i].forwards[i] = node.forwards[i];
+            } else {
+                // 跨过了被删除的节点
+                updates[i].spans[i]--;
+            }
+        }
+
+        // 移除无用的层级
+        while (currentLevel > 1 && this.head.forwards[currentLevel-1] ==  this.NIL) {
+            currentLevel--;
+        }
+        size--;
+    }
+
+    /**
+     * 元素个数
+     * @return 个数
+     * @since 0.0.6
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取 key 的排名
+     * @param searchKey 查找的 key
+     * @return 排名，从 1 开始；不存在返回 0
+     * @since 0.0.6
+     */
+    public int rank(final int searchKey) {
+        SkipListNode<E> curNode = this.head;
+        int rank = 0;
 
-                updates[i].forwards[i] = curNode.forwards[i];
+        for (int i = currentLevel - 1; i >= 0; i--) {
+            while (curNode.forwards[i] != NIL && curNode.forwards[i].key <= searchKey) {
+                rank += curNode.spans[i];
+                curNode = curNode.forwards[i];
             }
 
-            // 移除无用的层级
-            while (currentLevel > 0 && this.head.forwards[currentLevel-1] ==  this.NIL) {
-                currentLevel--;
+            if (curNode != head && curNode.key == searchKey) {
+                return rank;
             }
         }
+        return 0;
+    }
+
+    /**
+     * 获取指定排名的元素
+     * @param rank 排名，从 1 开始
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    public E getByRank(final int rank) {
+        SkipListNode<E> node = nodeByRank(rank);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * 获取排名区间内的元素
+     * @param start 开始的排名，从 1 开始，包含
+     * @param end 结束的排名，包含
+     * @return 结果
+     * @since 0.0.6
+     */
+    public List<E> rangeByRank(final int start, final int end) {
+        final int from = Math.max(start, 1);
+        final int to = Math.min(end, size);
+        if (from > to) {
+            return new ArrayList<>();
+        }
+
+        List<E> result = new ArrayList<>(to - from + 1);
+        SkipListNode<E> node = nodeByRank(from);
+        for (int i = from; i <= to; i++) {
+            result.add(node.value);
+            node = node.forwards[0];
+        }
+        return result;
+    }
+
+    /**
+     * 删除排名区间内的元素
+     * @param start 开始的排名，从 1 开始，包含
+     * @param end 结束的排名，包含
+     * @return 删除的个数
+     * @since 0.0.6
+     */
+    @SuppressWarnings("all")
+    public int removeRangeByRank(final int start, final int end) {
+        final int from = Math.max(start, 1);
+        final int to = Math.min(end, size);
+        if (from > to) {
+            return 0;
+        }
+
+        SkipListNode<E>[] updates = new SkipListNode[maxLevel];
+        SkipListNode<E> curNode = this.head;
+        int traversed = 0;
+        for (int i = currentLevel - 1; i >= 0; i--) {
+            while (curNode.forwards[i] != NIL && traversed + curNode.spans[i] < from) {
+                traversed += curNode.spans[i];
+                curNode = curNode.forwards[i];
+            }
+            updates[i] = curNode;
+        }
+
+        // 前驱节点不变，依次删除后面的节点
+        int removed = 0;
+        curNode = curNode.forwards[0];
+        for (int rank = from; rank <= to; rank++) {
+            SkipListNode<E> next = curNode.forwards[0];
+            deleteNode(curNode, updates);
+            removed++;
+            curNode = next;
+        }
+        return removed;
+    }
+
+    /**
+     * 获取指定排名的节点
+     * @param rank 排名
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    private SkipListNode<E> nodeByRank(final int rank) {
+        if (rank < 1 || rank > size) {
+            return null;
+        }
+
+        SkipListNode<E> curNode = this.head;
+        int traversed = 0;
+        for (int i = currentLevel - 1; i >= 0; i--) {
+            while (curNode.forwards[i] != NIL && traversed + curNode.spans[i] <= rank) {
+                traversed += curNode.spans[i];
+                curNode = curNode.forwards[i];
+            }
+
+            if (traversed == rank) {
+                return curNode;
+            }
+        }
+        return null;
     }
 
     /**
@@ -0,0 +1,310 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * 分层向量（tiered vector）
+ * <p>
+ * （1）元素存放在若干个大小为 B 的环形数组（块）中，除最后一块外都是满的。
+ * 下标 i 位于第 i/B 块的逻辑位置 i%B，物理位置为 (head + i%B) % B，随机访问 O(1)。
+ * （2）插入：只在目标块内移动元素，O(B)；目标块溢出的最后一个元素放到下一块的开头，
+ * 满块的环形数组只需要移动 head 并交换一个元素，O(1)，依次传递到最后一块，共 O(n/B)。
+ * 删除同理，从后一块的开头借一个元素补到本块的末尾。
+ * （3）B 保持在 sqrt(n) 附近：元素个数超过 4*B*B 时 B 翻倍，不足 B*B/4 时减半，整体重建，均摊 O(1)。
+ * 因此中间插入、删除为 O(sqrt(n))，块内移动时选择较短的一侧。
+ * <p>
+ * 相比 {@link MyArrayList}，中间插入不需要移动整个尾部；相比 {@link DoubleLinkedList}，随机访问不需要遍历。
+ * <p>
+ * 继承 {@link java.util.AbstractList}，结构修改会更新 modCount，迭代过程中修改会快速失败。非线程安全。
+ *
+ * @param <E> 泛型
+ * @author binbin.hou
+ * @see MyArrayList
+ * @see DoubleLinkedList
+ * @since 0.0.6
+ */
+public class TieredVectorList<E> extends java.util.AbstractList<E> implements RandomAccess {
+
+    /**
+     * 最小的块大小 2^4
+     * @since 0.0.6
+     */
+    private static final int MIN_SHIFT = 4;
+
+    /**
+     * 最大的块大小 2^20
+     * @since 0.0.6
+     */
+    private static final int MAX_SHIFT = 20;
+
+    private static final int DEFAULT_DIRECTORY_SIZE = 4;
+
+    /**
+     * 块大小 B=2^shift
+     * @since 0.0.6
+     */
+    private int shift;
+
+    private int mask;
+
+    /**
+     * 块
+     * @since 0.0.6
+     */
+    private Object[][] blocks;
+
+    /**
+     * 每块的 head 物理位置
+     * @since 0.0.6
+     */
+    private int[] heads;
+
+    /**
+     * 使用中的块个数
+     * @since 0.0.6
+     */
+    private int blockCount;
+
+    private int size;
+
+    public TieredVectorList() {
+        init(MIN_SHIFT);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        rangeCheck(index);
+        final int block = index >>> shift;
+        return (E) blocks[block][(heads[block] + index) & mask];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        rangeCheck(index);
+        final int block = index >>> shift;
+        final int slot = (heads[block] + index) & mask;
+        E oldValue = (E) blocks[block][slot];
+        blocks[block][slot] = element;
+        return oldValue;
+    }
+
+    @Override
+    public boolean add(E e) {
+        add(size, e);
+        return true;
+    }
+
+    /**
+     * 插入
+     * <p>
+     * （1）目标块内插入，块满时先取出最后一个元素作为进位。
+     * （2）后面每个满块：head 前移一位，新 head 的位置原来是最后一个元素，和进位交换。
+     * （3）最后一块没有满，直接放在开头。
+     *
+     * @param index 下标
+     * @param element 元素
+     * @since 0.0.6
+     */
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index out of range: " + index + ", it must be in [0, " + size + "]");
+        }
+
+        if (size == blockCount << shift) {
+            addBlock();
+        }
+
+        final int lastBlock = blockCount - 1;
+        final int block = index >>> shift;
+        final int offset = index & mask;
+        final int blockSize = mask + 1;
+
+        if (block == lastBlock) {
+            insertInBlock(block, offset, size - (lastBlock << shift), element);
+        } else {
+            // 满块，最后一个元素进位到下一块
+            Object carry = blocks[block][(heads[block] + mask) & mask];
+            insertInBlock(block, offset, blockSize - 1, element);
+
+            for (int b = block + 1; b < lastBlock; b++) {
+                final int newHead = (heads[b] - 1) & mask;
+                Object last = blocks[b][newHead];
+                blocks[b][newHead] = carry;
+                heads[b] = newHead;
+                carry = last;
+            }
+
+            heads[lastBlock] = (heads[lastBlock] - 1) & mask;
+            blocks[lastBlock][heads[lastBlock]] = carry;
+        }
+
+        size++;
+        modCount++;
+        if (shift < MAX_SHIFT && size > (4L << (2 * shift))) {
+            rebuild(shift + 1);
+        }
+    }
+
+    /**
+     * 删除
+     * <p>
+     * 目标块内删除之后，末尾空出一个位置；后面每一块的第一个元素补到前一块的末尾，head 后移一位。
+     *
+     * @param index 下标
+     * @return 被删除的元素
+     * @since 0.0.6
+     */
+    @Override
+    public E remove(int index) {
+        E oldValue = get(index);
+
+        final int lastBlock = blockCount - 1;
+        final int block = index >>> shift;
+        final int count = block == lastBlock ? size - (lastBlock << shift) : mask + 1;
+        removeInBlock(block, index & mask, count);
+
+        for (int b = block + 1; b <= lastBlock; b++) {
+            final int head = heads[b];
+            blocks[b - 1][(heads[b - 1] + mask) & mask] = blocks[b][head];
+            blocks[b][head] = null;
+            heads[b] = (head + 1) & mask;
+        }
+
+        size--;
+        modCount++;
+        if (size == lastBlock << shift) {
+            blocks[lastBlock] = null;
+            heads[lastBlock] = 0;
+            blockCount--;
+        }
+        if (shift > MIN_SHIFT && size < (1L << (2 * shift)) / 4) {
+            rebuild(shift - 1);
+        }
+        return oldValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        init(MIN_SHIFT);
+        modCount++;
+    }
+
+    /**
+     * 当前的块大小
+     * @return 大小
+     * @since 0.0.6
+     */
+    public int blockSize() {
+        return mask + 1;
+    }
+
+    /**
+     * 在块内插入
+     *
+     * 移动插入位置之前或者之后元素中较少的一侧。
+     * @param block 块
+     * @param offset 逻辑位置
+     * @param count 块内的元素个数，小于块大小
+     * @param element 元素
+     * @since 0.0.6
+     */
+    private void insertInBlock(final int block, final int offset, final int count, final Object element) {
+        final Object[] array = blocks[block];
+        final int head = heads[block];
+        if (offset < count - offset) {
+            // 前面的元素前移一位
+            final int newHead = (head - 1) & mask;
+            for (int i = 0; i < offset; i++) {
+                array[(newHead + i) & mask] = array[(head + i) & mask];
+            }
+            heads[block] = newHead;
+            array[(newHead + offset) & mask] = element;
+        } else {
+            // 后面的元素后移一位
+            for (int i = count; i > offset; i--) {
+                array[(head + i) & mask] = array[(head + i - 1) & mask];
+            }
+            array[(head + offset) & mask] = element;
+        }
+    }
+
+    /**
+     * 在块内删除
+     *
+     * 删除之后块内的元素仍然从 head 开始连续存放，末尾空出一个位置。
+     * @param block 块
+     * @param offset 逻辑位置
+     * @param count 块内的元素个数
+     * @since 0.0.6
+     */
+    private void removeInBlock(final int block, final int offset, final int count) {
+        final Object[] array = blocks[block];
+        final int head = heads[block];
+        if (offset < count - 1 - offset) {
+            // 前面的元素后移一位
+            for (int i = offset; i > 0; i--) {
+                array[(head + i) & mask] = array[(head + i - 1) & mask];
+            }
+            array[head] = null;
+            heads[block] = (head + 1) & mask;
+        } else {
+            // 后面的元素前移一位
+            for (int i = offset; i < count - 1; i++) {
+                array[(head + i) & mask] = array[(head + i + 1) & mask];
+            }
+            array[(head + count - 1) & mask] = null;
+        }
+    }
+
+    private void addBlock() {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount * 2);
+            heads = Arrays.copyOf(heads, blockCount * 2);
+        }
+        blocks[blockCount] = new Object[mask + 1];
+        heads[blockCount] = 0;
+        blockCount++;
+    }
+
+    /**
+     * 按照新的块大小重建
+     * @param newShift 新的块大小
+     * @since 0.0.6
+     */
+    private void rebuild(final int newShift) {
+        Object[] elements = toArray();
+        init(newShift);
+
+        final int blockSize = mask + 1;
+        for (int from = 0; from < elements.length; from += blockSize) {
+            addBlock();
+            System.arraycopy(elements, from, blocks[blockCount - 1], 0, Math.min(blockSize, elements.length - from));
+        }
+        size = elements.length;
+    }
+
+    private void init(final int shift) {
+        this.shift = shift;
+        this.mask = (1 << shift) - 1;
+        this.blocks = new Object[DEFAULT_DIRECTORY_SIZE][];
+        this.heads = new int[DEFAULT_DIRECTORY_SIZE];
+        this.blockCount = 0;
+        this.size = 0;
+    }
+
+    private void rangeCheck(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index out of range: " + index + ", size: " + size);
+        }
+    }
+
+}
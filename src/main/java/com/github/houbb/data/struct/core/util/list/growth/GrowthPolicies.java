@@ -0,0 +1,94 @@
+package com.github.houbb.data.struct.core.util.list.growth;
+
+import com.github.houbb.data.struct.core.util.list.growth.impl.CappedGrowthPolicy;
+import com.github.houbb.data.struct.core.util.list.growth.impl.DoublingGrowthPolicy;
+import com.github.houbb.data.struct.core.util.list.growth.impl.FixedChunkGrowthPolicy;
+import com.github.houbb.data.struct.core.util.list.growth.impl.OneAndHalfGrowthPolicy;
+
+/**
+ * 扩容策略工具类
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class GrowthPolicies {
+
+    private GrowthPolicies(){}
+
+    /**
+     * 数组的最大长度，部分 jvm 会在数组中保留头信息
+     * @since 0.0.6
+     */
+    public static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * 2 倍
+     * @since 0.0.6
+     */
+    private static final IGrowthPolicy DOUBLING = new DoublingGrowthPolicy();
+
+    /**
+     * 1.5 倍
+     * @since 0.0.6
+     */
+    private static final IGrowthPolicy ONE_AND_HALF = new OneAndHalfGrowthPolicy();
+
+    /**
+     * 默认策略，和 {@link com.github.houbb.data.struct.core.util.list.MyArrayList} 一致
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IGrowthPolicy defaults() {
+        return doubling();
+    }
+
+    /**
+     * 扩容为需要容量的 2 倍
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IGrowthPolicy doubling() {
+        return DOUBLING;
+    }
+
+    /**
+     * 扩容为当前容量的 1.5 倍
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IGrowthPolicy oneAndHalf() {
+        return ONE_AND_HALF;
+    }
+
+    /**
+     * 每次扩容固定的个数
+     * @param chunk 个数
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IGrowthPolicy fixedChunk(int chunk) {
+        return new FixedChunkGrowthPolicy(chunk);
+    }
+
+    /**
+     * 限制单次扩容的增量
+     * @param delegate 原策略
+     * @param maxIncrement 单次扩容的最大增量
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IGrowthPolicy capped(IGrowthPolicy delegate, int maxIncrement) {
+        return new CappedGrowthPolicy(delegate, maxIncrement);
+    }
+
+    /**
+     * 乘以系数，避免溢出
+     * @param capacity 容量
+     * @param factor 系数
+     * @return 结果，不超过 {@link #MAX_ARRAY_SIZE}
+     * @since 0.0.6
+     */
+    public static int multiply(int capacity, double factor) {
+        return (int) Math.min(MAX_ARRAY_SIZE, (long) (capacity * factor));
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.github.houbb.data.struct.core.util.list.growth;
+
+/**
+ * 扩容策略
+ *
+ * 数组容量不足时，决定新数组的大小。
+ * @author binbin.hou
+ * @see GrowthPolicies
+ * @since 0.0.6
+ */
+public interface IGrowthPolicy {
+
+    /**
+     * 扩容后的容量
+     * @param capacity 当前容量
+     * @param minCapacity 至少需要的容量，大于当前容量
+     * @return 新的容量，不能小于 minCapacity
+     * @since 0.0.6
+     */
+    int grow(int capacity, int minCapacity);
+
+}
@@ -0,0 +1,22 @@
+package com.github.houbb.data.struct.core.util.list.growth;
+
+/**
+ * 缩容策略
+ *
+ * 删除元素之后，决定是否释放多余的数组空间。
+ * @author binbin.hou
+ * @see ShrinkPolicies
+ * @since 0.0.6
+ */
+public interface IShrinkPolicy {
+
+    /**
+     * 缩容后的容量
+     * @param capacity 当前容量
+     * @param size 元素个数
+     * @return 新的容量，不需要缩容时返回 capacity；不能小于 size
+     * @since 0.0.6
+     */
+    int shrink(int capacity, int size);
+
+}
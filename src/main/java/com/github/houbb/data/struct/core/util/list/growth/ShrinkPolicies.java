@@ -0,0 +1,62 @@
+package com.github.houbb.data.struct.core.util.list.growth;
+
+import com.github.houbb.data.struct.core.util.list.growth.impl.HysteresisShrinkPolicy;
+import com.github.houbb.data.struct.core.util.list.growth.impl.NoneShrinkPolicy;
+
+/**
+ * 缩容策略工具类
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class ShrinkPolicies {
+
+    private ShrinkPolicies(){}
+
+    /**
+     * 默认的最小容量
+     * @since 0.0.6
+     */
+    private static final int DEFAULT_MIN_CAPACITY = 8;
+
+    private static final IShrinkPolicy NONE = new NoneShrinkPolicy();
+
+    private static final IShrinkPolicy HYSTERESIS = new HysteresisShrinkPolicy(DEFAULT_MIN_CAPACITY);
+
+    /**
+     * 默认策略
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IShrinkPolicy defaults() {
+        return hysteresis();
+    }
+
+    /**
+     * 从不缩容
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IShrinkPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * 使用率不超过 1/4 时缩容到 1/2，容量最小为 8
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IShrinkPolicy hysteresis() {
+        return HYSTERESIS;
+    }
+
+    /**
+     * 使用率不超过 1/4 时缩容到 1/2
+     * @param minCapacity 最小容量
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IShrinkPolicy hysteresis(int minCapacity) {
+        return new HysteresisShrinkPolicy(minCapacity);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.github.houbb.data.struct.core.util.list.growth.impl;
+
+import com.github.houbb.data.struct.core.util.list.growth.GrowthPolicies;
+import com.github.houbb.data.struct.core.util.list.growth.IGrowthPolicy;
+
+/**
+ * 限制单次扩容的增量
+ *
+ * 小数组按照原策略成倍扩容，大数组每次最多增加 maxIncrement，避免一次多分配几百 MB。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class CappedGrowthPolicy implements IGrowthPolicy {
+
+    private final IGrowthPolicy delegate;
+
+    /**
+     * 单次扩容的最大增量
+     * @since 0.0.6
+     */
+    private final int maxIncrement;
+
+    public CappedGrowthPolicy(IGrowthPolicy delegate, int maxIncrement) {
+        if(maxIncrement <= 0) {
+            throw new IllegalArgumentException("maxIncrement must be positive");
+        }
+        this.delegate = delegate;
+        this.maxIncrement = maxIncrement;
+    }
+
+    @Override
+    public int grow(int capacity, int minCapacity) {
+        long capped = Math.min(GrowthPolicies.MAX_ARRAY_SIZE, (long) capacity + maxIncrement);
+        int newCapacity = (int) Math.min(delegate.grow(capacity, minCapacity), capped);
+        return Math.max(minCapacity, newCapacity);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.github.houbb.data.struct.core.util.list.growth.impl;
+
+import com.github.houbb.data.struct.core.util.list.growth.GrowthPolicies;
+import com.github.houbb.data.struct.core.util.list.growth.IGrowthPolicy;
+
+/**
+ * 扩容为需要容量的 2 倍
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class DoublingGrowthPolicy implements IGrowthPolicy {
+
+    @Override
+    public int grow(int capacity, int minCapacity) {
+        return Math.max(minCapacity, GrowthPolicies.multiply(minCapacity, 2));
+    }
+
+}
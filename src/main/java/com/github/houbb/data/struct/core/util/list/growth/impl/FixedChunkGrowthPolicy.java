@@ -0,0 +1,34 @@
+package com.github.houbb.data.struct.core.util.list.growth.impl;
+
+import com.github.houbb.data.struct.core.util.list.growth.GrowthPolicies;
+import com.github.houbb.data.struct.core.util.list.growth.IGrowthPolicy;
+
+/**
+ * 每次扩容固定的个数
+ *
+ * 浪费的空间不超过 chunk，但是持续追加时总的复制次数为 O(n^2/chunk)，适合大小可以预估的场景。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class FixedChunkGrowthPolicy implements IGrowthPolicy {
+
+    /**
+     * 每次扩容的个数
+     * @since 0.0.6
+     */
+    private final int chunk;
+
+    public FixedChunkGrowthPolicy(int chunk) {
+        if(chunk <= 0) {
+            throw new IllegalArgumentException("chunk must be positive");
+        }
+        this.chunk = chunk;
+    }
+
+    @Override
+    public int grow(int capacity, int minCapacity) {
+        long newCapacity = Math.min(GrowthPolicies.MAX_ARRAY_SIZE, (long) capacity + chunk);
+        return (int) Math.max(minCapacity, newCapacity);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.github.houbb.data.struct.core.util.list.growth.impl;
+
+import com.github.houbb.data.struct.core.util.list.growth.IShrinkPolicy;
+
+/**
+ * 带滞后的缩容
+ * <p>
+ * 元素个数不超过容量的 1/4 时，缩容为元素个数的 2 倍。
+ * 缩容后的使用率为 1/2，和扩容的阈值（满）之间留有空间，在边界附近反复增删时不会反复复制数组。
+ * <p>
+ * 容量不超过 minCapacity 时不缩容。
+ *
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class HysteresisShrinkPolicy implements IShrinkPolicy {
+
+    /**
+     * 最小容量
+     * @since 0.0.6
+     */
+    private final int minCapacity;
+
+    public HysteresisShrinkPolicy(int minCapacity) {
+        if(minCapacity < 0) {
+            throw new IllegalArgumentException("minCapacity must not be negative");
+        }
+        this.minCapacity = minCapacity;
+    }
+
+    @Override
+    public int shrink(int capacity, int size) {
+        if(capacity <= minCapacity || size > capacity / 4) {
+            return capacity;
+        }
+        return Math.max(minCapacity, size * 2);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.github.houbb.data.struct.core.util.list.growth.impl;
+
+import com.github.houbb.data.struct.core.util.list.growth.IShrinkPolicy;
+
+/**
+ * 不缩容
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class NoneShrinkPolicy implements IShrinkPolicy {
+
+    @Override
+    public int shrink(int capacity, int size) {
+        return capacity;
+    }
+
+}
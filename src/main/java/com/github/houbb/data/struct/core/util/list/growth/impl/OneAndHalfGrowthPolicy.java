@@ -0,0 +1,20 @@
+package com.github.houbb.data.struct.core.util.list.growth.impl;
+
+import com.github.houbb.data.struct.core.util.list.growth.GrowthPolicies;
+import com.github.houbb.data.struct.core.util.list.growth.IGrowthPolicy;
+
+/**
+ * 扩容为当前容量的 1.5 倍，和 jdk ArrayList 一致
+ *
+ * 相比 2 倍，浪费的空间更少，扩容的次数稍多。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class OneAndHalfGrowthPolicy implements IGrowthPolicy {
+
+    @Override
+    public int grow(int capacity, int minCapacity) {
+        return Math.max(minCapacity, GrowthPolicies.multiply(capacity, 1.5));
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * 扩容和缩容策略实现
+ * @since 0.0.6
+ */
+package com.github.houbb.data.struct.core.util.list.growth.impl;
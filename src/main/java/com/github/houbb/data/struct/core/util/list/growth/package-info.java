@@ -0,0 +1,5 @@
+/**
+ * 数组列表的扩容和缩容策略
+ * @since 0.0.6
+ */
+package com.github.houbb.data.struct.core.util.list.growth;
@@ -7,8 +7,8 @@
  * 稀疏表
  * skipList 跳表
  *
- * 后续可添加并发类:
- * copyOnWriteList
+ * 并发类:
+ * copyOnWriteList 写时复制，迭代器为快照
  *
  * @since 0.0.3
  */
@@ -0,0 +1,601 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import com.github.houbb.data.struct.core.util.map.hash.HashStat;
+import com.github.houbb.data.struct.core.util.map.hash.HashStrategies;
+import com.github.houbb.data.struct.core.util.map.hash.IHashStrategy;
+import com.github.houbb.data.struct.util.HashUtil;
+import com.github.houbb.heaven.util.lang.ObjectUtil;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 并发的渐进式 rehash map
+ * <p>
+ * （1）锁分段：按照 hash 的低位划分为若干个 {@link Segment}，写操作只锁住 key 所在的段。
+ * 容量始终不小于段的个数，且都是 2 的幂，所以旧桶 i 和它迁移后的新桶 i、i+capacity 一定属于同一个段。
+ * <p>
+ * （2）读操作不加锁：table 通过 volatile 发布，链表的 next 指针为 final，value 为 volatile。
+ * 删除时复制被删除节点之前的部分链表，读线程看到的一定是完整的链表。
+ * <p>
+ * （3）渐进式 rehash 由所有的写线程共同完成：
+ * 每次写操作之前，通过 CAS 领取一个旧桶的下标，在对应的段锁内迁移到新 table，
+ * 然后在旧桶放置一个 {@link ForwardingNode}，读写线程遇到它时直接去新 table 查找。
+ * 最后一个完成迁移的线程负责把新 table 发布出去。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see MyProgressiveReHashMap
+ * @see java.util.concurrent.ConcurrentHashMap
+ * @since 0.0.6
+ */
+public class ConcurrentProgressiveReHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
+
+    /**
+     * 默认的段个数
+     * @since 0.0.6
+     */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * 每次写操作额外迁移的桶个数
+     * @since 0.0.6
+     */
+    private static final int TRANSFER_STEP = 1;
+
+    /**
+     * 阈值
+     * 阈值=容量*factor
+     * @since 0.0.6
+     */
+    private final double factor = 1.0;
+
+    /**
+     * 当前的 table
+     *
+     * 只有在完成 rehash 或者 clear 时才会替换
+     * @since 0.0.6
+     */
+    private final AtomicReference<Table<K, V>> tableRef;
+
+    /**
+     * 段信息
+     * @since 0.0.6
+     */
+    private final Segment[] segments;
+
+    /**
+     * 段掩码
+     * @since 0.0.6
+     */
+    private final int segmentMask;
+
+    /**
+     * 初始化的容量，用于 clear
+     * @since 0.0.6
+     */
+    private final int initCapacity;
+
+    /**
+     * hash 策略
+     * @since 0.0.6
+     */
+    private final IHashStrategy hashStrategy;
+
+    public ConcurrentProgressiveReHashMap() {
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * 初始化
+     * @param capacity 初始化容量
+     * @since 0.0.6
+     */
+    public ConcurrentProgressiveReHashMap(int capacity) {
+        this(capacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * 初始化
+     * @param capacity 初始化容量
+     * @param concurrencyLevel 段的个数
+     * @since 0.0.6
+     */
+    public ConcurrentProgressiveReHashMap(int capacity, int concurrencyLevel) {
+        this(capacity, concurrencyLevel, HashStrategies.defaults());
+    }
+
+    /**
+     * 初始化
+     * @param capacity 初始化容量，会调整为 2 的幂，且不小于段的个数
+     * @param concurrencyLevel 段的个数，会调整为 2 的幂
+     * @param hashStrategy hash 策略
+     * @since 0.0.6
+     */
+    public ConcurrentProgressiveReHashMap(int capacity, int concurrencyLevel, IHashStrategy hashStrategy) {
+        int segmentSize = HashUtil.tableSizeFor(Math.max(concurrencyLevel, 1));
+        this.segments = new Segment[segmentSize];
+        for(int i = 0; i < segmentSize; i++) {
+            this.segments[i] = new Segment();
+        }
+        this.segmentMask = segmentSize - 1;
+
+        this.initCapacity = HashUtil.tableSizeFor(Math.max(capacity, segmentSize));
+        this.hashStrategy = hashStrategy;
+        this.tableRef = new AtomicReference<>(new Table<K, V>(initCapacity));
+    }
+
+    /**
+     * 链表节点
+     *
+     * next 为 final，保证读线程看到的链表不会被修改。
+     * @since 0.0.6
+     */
+    private static class Node<K, V> implements Entry<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        final Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String toString() {
+            return "{" + key + ": " + value + '}';
+        }
+    }
+
+    /**
+     * 迁移完成的桶标记，指向新的 table
+     * @since 0.0.6
+     */
+    private static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Table<K, V> nextTable;
+
+        ForwardingNode(Table<K, V> nextTable) {
+            super(0, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    /**
+     * hash 表
+     * @since 0.0.6
+     */
+    private static final class Table<K, V> {
+        /**
+         * 桶
+         */
+        final AtomicReferenceArray<Node<K, V>> buckets;
+
+        /**
+         * 容量
+         */
+        final int capacity;
+
+        /**
+         * 渐进式 rehash 的目标 table，为 null 说明没有处于 rehash
+         */
+        final AtomicReference<Table<K, V>> rehashTable = new AtomicReference<>();
+
+        /**
+         * 下一个待领取迁移的桶下标
+         */
+        final AtomicInteger transferIndex = new AtomicInteger(0);
+
+        /**
+         * 已经迁移完成的桶个数
+         */
+        final AtomicInteger transferred = new AtomicInteger(0);
+
+        Table(int capacity) {
+            this.capacity = capacity;
+            this.buckets = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    /**
+     * 段，本身就是一把锁
+     * @since 0.0.6
+     */
+    private static final class Segment extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 段内的元素个数，只在持有锁时修改
+         */
+        volatile int count;
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = findNode(key, hashStrategy.hash(key));
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findNode(key, hashStrategy.hash(key)) != null;
+    }
+
+    /**
+     * 不加锁查找节点
+     * @param key key
+     * @param hash hash 值
+     * @return 节点
+     * @since 0.0.6
+     */
+    private Node<K, V> findNode(final Object key, final int hash) {
+        Table<K, V> table = tableRef.get();
+        while (true) {
+            Node<K, V> head = table.buckets.get(HashUtil.indexFor(hash, table.capacity));
+            if(head instanceof ForwardingNode) {
+                table = ((ForwardingNode<K, V>) head).nextTable;
+                continue;
+            }
+
+            for(Node<K, V> node = head; node != null; node = node.next) {
+                if(node.hash == hash && ObjectUtil.isEqualsOrNull(key, node.key)) {
+                    return node;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return doPut(key, value, false);
+    }
+
+    /**
+     * 不存在时放入
+     * @param key key
+     * @param value 值
+     * @return 已经存在的值
+     * @since 0.0.6
+     */
+    public V putIfAbsent(K key, V value) {
+        return doPut(key, value, true);
+    }
+
+    /**
+     * 执行放入
+     * （1）协助迁移
+     * （2）锁住 key 所在的段，找到 key 最终所在的桶，更新或者头插
+     * （3）判断是否需要开启新的 rehash
+     * @param key key
+     * @param value 值
+     * @param onlyIfAbsent 只有不存在时才放入
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    private V doPut(final K key, final V value, final boolean onlyIfAbsent) {
+        final int hash = hashStrategy.hash(key);
+        helpTransfer();
+
+        final Segment segment = segmentFor(hash);
+        segment.lock();
+        try {
+            Table<K, V> table = tableRef.get();
+            while (true) {
+                final int index = HashUtil.indexFor(hash, table.capacity);
+                final Node<K, V> head = table.buckets.get(index);
+                if(head instanceof ForwardingNode) {
+                    table = ((ForwardingNode<K, V>) head).nextTable;
+                    continue;
+                }
+
+                for(Node<K, V> node = head; node != null; node = node.next) {
+                    if(node.hash == hash && ObjectUtil.isEqualsOrNull(key, node.key)) {
+                        V oldValue = node.value;
+                        if(!onlyIfAbsent) {
+                            node.value = value;
+                        }
+                        return oldValue;
+                    }
+                }
+
+                table.buckets.set(index, new Node<>(hash, key, value, head));
+                segment.count++;
+                break;
+            }
+        } finally {
+            segment.unlock();
+        }
+
+        if(isNeedExpand(segment)) {
+            rehash();
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        return doRemove(key, null, false);
+    }
+
+    /**
+     * 只有 key 对应的值等于 value 时才删除
+     * @param key key
+     * @param value 期望的值
+     * @return 是否删除
+     * @since 0.0.6
+     */
+    public boolean remove(Object key, Object value) {
+        return value != null && doRemove(key, value, true) != null;
+    }
+
+    /**
+     * 执行删除
+     * @param key key
+     * @param expectedValue 期望的值
+     * @param matchValue 是否需要匹配值
+     * @return 被删除的值
+     * @since 0.0.6
+     */
+    private V doRemove(final Object key, final Object expectedValue, final boolean matchValue) {
+        final int hash = hashStrategy.hash(key);
+        helpTransfer();
+
+        final Segment segment = segmentFor(hash);
+        segment.lock();
+        try {
+            Table<K, V> table = tableRef.get();
+            while (true) {
+                final int index = HashUtil.indexFor(hash, table.capacity);
+                final Node<K, V> head = table.buckets.get(index);
+                if(head instanceof ForwardingNode) {
+                    table = ((ForwardingNode<K, V>) head).nextTable;
+                    continue;
+                }
+
+                Node<K, V> target = head;
+                while (target != null
+                        && !(target.hash == hash && ObjectUtil.isEqualsOrNull(key, target.key))) {
+                    target = target.next;
+                }
+                if(target == null
+                        || (matchValue && !ObjectUtil.isEqualsOrNull(expectedValue, target.value))) {
+                    return null;
+                }
+
+                // 复制 target 之前的节点，后面的节点直接复用
+                Node<K, V> newHead = target.next;
+                for(Node<K, V> node = head; node != target; node = node.next) {
+                    newHead = new Node<>(node.hash, node.key, node.value, newHead);
+                }
+                table.buckets.set(index, newHead);
+                segment.count--;
+                return target.value;
+            }
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        long sum = 0;
+        for(Segment segment : segments) {
+            sum += segment.count;
+        }
+        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 清空
+     *
+     * 按顺序锁住所有的段，然后替换为新的 table。
+     * 正在进行的迁移会因为 CAS 失败而不会再发布旧的 rehashTable。
+     * @since 0.0.6
+     */
+    @Override
+    public void clear() {
+        for(Segment segment : segments) {
+            segment.lock();
+        }
+        try {
+            tableRef.set(new Table<K, V>(initCapacity));
+            for(Segment segment : segments) {
+                segment.count = 0;
+            }
+        } finally {
+            for(Segment segment : segments) {
+                segment.unlock();
+            }
+        }
+    }
+
+    /**
+     * 快照
+     *
+     * 遍历时不加锁，结果为弱一致性。
+     * @return 结果
+     * @since 0.0.6
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> set = new LinkedHashSet<>();
+        collect(tableRef.get(), set, null);
+        return set;
+    }
+
+    /**
+     * hash 分布的统计信息
+     * @return 统计信息
+     * @since 0.0.6
+     */
+    public HashStat hashStat() {
+        HashStat hashStat = new HashStat();
+        collect(tableRef.get(), null, hashStat);
+        return hashStat;
+    }
+
+    /**
+     * 遍历 table，遇到迁移完成的桶时，进入新的 table 对应的两个桶
+     * @param table table
+     * @param set 结果集合，可为空
+     * @param hashStat 统计信息，可为空
+     * @since 0.0.6
+     */
+    private void collect(final Table<K, V> table,
+                         final Set<Entry<K, V>> set,
+                         final HashStat hashStat) {
+        for(int i = 0; i < table.capacity; i++) {
+            collectBucket(table, i, set, hashStat);
+        }
+    }
+
+    private void collectBucket(final Table<K, V> table,
+                               final int index,
+                               final Set<Entry<K, V>> set,
+                               final HashStat hashStat) {
+        Node<K, V> head = table.buckets.get(index);
+        if(head instanceof ForwardingNode) {
+            Table<K, V> nextTable = ((ForwardingNode<K, V>) head).nextTable;
+            collectBucket(nextTable, index, set, hashStat);
+            collectBucket(nextTable, index + table.capacity, set, hashStat);
+            return;
+        }
+
+        int count = 0;
+        for(Node<K, V> node = head; node != null; node = node.next) {
+            if(set != null) {
+                set.add(new DefaultMapEntry<>(node.key, node.value));
+            }
+            count++;
+        }
+        if(hashStat != null) {
+            hashStat.bucket(count);
+        }
+    }
+
+    /**
+     * 获取 hash 对应的段
+     * @param hash hash 值
+     * @return 段
+     * @since 0.0.6
+     */
+    private Segment segmentFor(final int hash) {
+        return segments[hash & segmentMask];
+    }
+
+    /**
+     * 是否需要扩容
+     *
+     * 为了避免每次都统计整体大小，按照段内的元素个数估算。
+     * @param segment 刚刚写入的段
+     * @return 是否
+     * @since 0.0.6
+     */
+    private boolean isNeedExpand(final Segment segment) {
+        Table<K, V> table = tableRef.get();
+        if(table.rehashTable.get() != null) {
+            return false;
+        }
+        double rate = segment.count * 1.0 * segments.length / table.capacity;
+        return rate >= factor;
+    }
+
+    /**
+     * 开启渐进式 rehash
+     *
+     * 只有 CAS 成功的线程会设置 rehashTable，其他线程直接返回。
+     * @since 0.0.6
+     */
+    private void rehash() {
+        Table<K, V> table = tableRef.get();
+        if(table.rehashTable.get() != null) {
+            return;
+        }
+
+        Table<K, V> newTable = new Table<>(table.capacity << 1);
+        if(table.rehashTable.compareAndSet(null, newTable)) {
+            helpTransfer();
+        }
+    }
+
+    /**
+     * 协助迁移
+     *
+     * 每次最多领取 {@link #TRANSFER_STEP} 个桶进行迁移。
+     * @since 0.0.6
+     */
+    private void helpTransfer() {
+        final Table<K, V> table = tableRef.get();
+        final Table<K, V> newTable = table.rehashTable.get();
+        if(newTable == null) {
+            return;
+        }
+
+        for(int i = 0; i < TRANSFER_STEP; i++) {
+            final int index = table.transferIndex.getAndIncrement();
+            if(index >= table.capacity) {
+                return;
+            }
+            transfer(table, newTable, index);
+        }
+    }
+
+    /**
+     * 迁移一个桶
+     *
+     * 旧的节点不做修改，保证读线程依然可以遍历；在新 table 中复制一份。
+     * @param table 旧 table
+     * @param newTable 新 table
+     * @param index 旧桶下标
+     * @since 0.0.6
+     */
+    private void transfer(final Table<K, V> table,
+                          final Table<K, V> newTable,
+                          final int index) {
+        final Segment segment = segments[index & segmentMask];
+        segment.lock();
+        try {
+            for(Node<K, V> node = table.buckets.get(index); node != null; node = node.next) {
+                int newIndex = HashUtil.indexFor(node.hash, newTable.capacity);
+                Node<K, V> newHead = newTable.buckets.get(newIndex);
+                newTable.buckets.set(newIndex, new Node<>(node.hash, node.key, node.value, newHead));
+            }
+            table.buckets.set(index, new ForwardingNode<>(newTable));
+        } finally {
+            segment.unlock();
+        }
+
+        // 最后一个桶迁移完成，发布新的 table
+        if(table.transferred.incrementAndGet() == table.capacity) {
+            tableRef.compareAndSet(table, newTable);
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.github.houbb.data.struct.core.util.map;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -8,6 +9,9 @@ import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * COW HashMap
+ * <p>
+ * 每一次写操作都会拷贝整个 map，大量写入时建议使用 {@link #mutate(IMapMutator)} 批量修改，
+ * 或者使用分片的 {@link ShardedCopyOnWriteHashMap}。
  * @author 老马啸西风
  * @since 0.0.4
  * @param <K> key
@@ -113,30 +117,58 @@ public class CopyOnWriteHashMap<K,V> implements Map<K, V>, Cloneable {
         }
     }
 
+    /**
+     * 批量修改
+     *
+     * 所有的修改只拷贝一次，修改完成后一次性发布。
+     * 如果 mutator 抛出异常，则所有的修改都不会生效。
+     * @param mutator 修改的逻辑
+     * @since 0.0.6
+     */
+    public void mutate(IMapMutator<K, V> mutator) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            // 拷贝一份
+            Map<K, V> newMap = new HashMap<>(internalMap);
+            mutator.mutate(newMap);
+
+            // 设置为新的
+            internalMap = newMap;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public void clear() {
         final ReentrantLock lock = this.lock;
         lock.lock();
         try {
-            internalMap.clear();
+            // 直接替换，不能修改正在被读取的 map
+            internalMap = new HashMap<>();
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * 只读视图，避免绕过 copy-on-write 直接修改内部的 map
+     * @return 结果
+     */
     @Override
     public Set<K> keySet() {
-        return internalMap.keySet();
+        return Collections.unmodifiableSet(internalMap.keySet());
     }
 
     @Override
     public Collection<V> values() {
-        return internalMap.values();
+        return Collections.unmodifiableCollection(internalMap.values());
     }
 
     @Override
     public Set<Entry<K, V>> entrySet() {
-        return internalMap.entrySet();
+        return Collections.unmodifiableMap(internalMap).entrySet();
     }
 
 }
@@ -0,0 +1,616 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import com.github.houbb.data.struct.core.util.time.ITicker;
+import com.github.houbb.data.struct.core.util.time.Tickers;
+import com.github.houbb.heaven.util.lang.ObjectUtil;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 元素带有过期时间的 hash map
+ * <p>
+ * （1）元素保存在 {@link MyHashMap} 中，同时作为定时器放入 {@link HierarchicalTimingWheel}，
+ * 新增、更新过期时间、删除都是 O(1)，不需要扫描整个 map。
+ * （2）读取时惰性检查：已经过期的元素视为不存在，并立刻删除。
+ * （3）写入时增量清理：推进时间轮，最多取出 {@link #PURGE_BATCH} 个到期的元素，单次写入的耗时有上限。
+ * {@link #size()}、{@link #purge()} 以及开始遍历时会清理所有过期元素。
+ * <p>
+ * {@link #entrySet()}、{@link #keySet()} 是实时的视图，通过视图或者迭代器删除会作用在 map 上。
+ * 迭代器遍历的是创建时存活的元素，不会因为遍历过程中的修改而失败。
+ * <p>
+ * 过期的元素被清理时会通知 {@link IExpirationListener}。非线程安全。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see MyHashMap
+ * @since 0.0.6
+ */
+public class ExpiringHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
+
+    /**
+     * 时间轮的精度
+     * @since 0.0.6
+     */
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * 过期时间的上限，避免溢出
+     * @since 0.0.6
+     */
+    private static final long MAX_TTL_NANOS = Long.MAX_VALUE >>> 2;
+
+    /**
+     * 每次写入最多从时间轮取出的元素个数
+     * @since 0.0.6
+     */
+    private static final int PURGE_BATCH = 16;
+
+    /**
+     * 不做任何处理的监听器
+     * @since 0.0.6
+     */
+    private static final IExpirationListener<Object, Object> NONE_LISTENER = new IExpirationListener<Object, Object>() {
+        @Override
+        public void onExpired(Object key, Object value) {
+        }
+    };
+
+    private final MyHashMap<K, ExpiringEntry<K, V>> data;
+
+    private final HierarchicalTimingWheel wheel;
+
+    /**
+     * 默认的存活时间
+     * @since 0.0.6
+     */
+    private final long defaultTtlNanos;
+
+    private final IExpirationListener<? super K, ? super V> listener;
+
+    private final ITicker ticker;
+
+    /**
+     * 创建时的时间，tick 从这里开始计算
+     * @since 0.0.6
+     */
+    private final long origin;
+
+    private transient Set<Entry<K, V>> entrySetView;
+
+    private transient Set<K> keySetView;
+
+    /**
+     * 元素
+     * @since 0.0.6
+     */
+    private static final class ExpiringEntry<K, V> extends HierarchicalTimingWheel.Timer implements Map.Entry<K, V> {
+
+        private final K key;
+
+        private V value;
+
+        /**
+         * 过期时间，纳秒
+         */
+        private long expireAt;
+
+        private ExpiringEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * 修改值，存活时间不变
+         * @param value 值
+         * @return 原来的值
+         */
+        @Override
+        public V setValue(V value) {
+            V oldValue = this.value;
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public String toString() {
+            return "{" + key + ": " + value + '}';
+        }
+    }
+
+    /**
+     * @param defaultTtl 默认的存活时间
+     * @param unit 单位
+     * @since 0.0.6
+     */
+    public ExpiringHashMap(long defaultTtl, TimeUnit unit) {
+        this(defaultTtl, unit, NONE_LISTENER);
+    }
+
+    /**
+     * @param defaultTtl 默认的存活时间
+     * @param unit 单位
+     * @param listener 过期监听器
+     * @since 0.0.6
+     */
+    public ExpiringHashMap(long defaultTtl, TimeUnit unit, IExpirationListener<? super K, ? super V> listener) {
+        this(defaultTtl, unit, listener, Tickers.system());
+    }
+
+    /**
+     * @param defaultTtl 默认的存活时间
+     * @param unit 单位
+     * @param listener 过期监听器
+     * @param ticker 时间源
+     * @since 0.0.6
+     */
+    public ExpiringHashMap(long defaultTtl, TimeUnit unit, IExpirationListener<? super K, ? super V> listener,
+                           ITicker ticker) {
+        this.defaultTtlNanos = toTtlNanos(defaultTtl, unit);
+        this.listener = listener;
+        this.ticker = ticker;
+        this.origin = ticker.read();
+        this.data = new MyHashMap<>();
+        this.wheel = new HierarchicalTimingWheel();
+    }
+
+    @Override
+    public V get(Object key) {
+        ExpiringEntry<K, V> entry = getLiveEntry(key);
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return getLiveEntry(key) != null;
+    }
+
+    /**
+     * 使用默认的存活时间放入
+     * @param key key
+     * @param value 值
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    @Override
+    public V put(K key, V value) {
+        return doPut(key, value, defaultTtlNanos);
+    }
+
+    /**
+     * 指定存活时间放入
+     * <p>
+     * 已经存在时替换值，并重新计算过期时间。
+     *
+     * @param key key
+     * @param value 值
+     * @param ttl 存活时间
+     * @param unit 单位
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    public V put(K key, V value, long ttl, TimeUnit unit) {
+        return doPut(key, value, toTtlNanos(ttl, unit));
+    }
+
+    /**
+     * 重新设置存活时间
+     * @param key key
+     * @param ttl 存活时间
+     * @param unit 单位
+     * @return 是否存在
+     * @since 0.0.6
+     */
+    public boolean expire(K key, long ttl, TimeUnit unit) {
+        final long ttlNanos = toTtlNanos(ttl, unit);
+        ExpiringEntry<K, V> entry = getLiveEntry(key);
+        if (entry == null) {
+            return false;
+        }
+
+        schedule(entry, ticker.read(), ttlNanos);
+        return true;
+    }
+
+    /**
+     * 剩余的存活时间
+     * @param key key
+     * @param unit 单位
+     * @return 剩余时间，不存在时返回 -1
+     * @since 0.0.6
+     */
+    public long ttl(K key, TimeUnit unit) {
+        ExpiringEntry<K, V> entry = data.get(key);
+        if (entry == null) {
+            return -1;
+        }
+
+        final long now = ticker.read();
+        if (isExpired(entry, now)) {
+            expireEntry(entry);
+            return -1;
+        }
+        return unit.convert(entry.expireAt - now, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public V remove(Object key) {
+        ExpiringEntry<K, V> entry = data.remove(key);
+        if (entry == null) {
+            return null;
+        }
+
+        wheel.cancel(entry);
+        return isExpired(entry, ticker.read()) ? null : entry.value;
+    }
+
+    /**
+     * 元素个数
+     *
+     * 会先清理所有过期的元素。
+     * @return 个数
+     * @since 0.0.6
+     */
+    @Override
+    public int size() {
+        purge();
+        return data.size();
+    }
+
+    @Override
+    public void clear() {
+        data.clear();
+        wheel.clear();
+    }
+
+    /**
+     * 所有元素的视图
+     * @return 结果
+     * @since 0.0.6
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> view = entrySetView;
+        if (view == null) {
+            view = new EntrySet();
+            entrySetView = view;
+        }
+        return view;
+    }
+
+    /**
+     * 所有 key 的视图
+     * <p>
+     * contains、remove 直接使用 map 的 O(1) 实现，不需要遍历。
+     *
+     * @return 结果
+     * @since 0.0.6
+     */
+    @Override
+    public Set<K> keySet() {
+        Set<K> view = keySetView;
+        if (view == null) {
+            view = new KeySet();
+            keySetView = view;
+        }
+        return view;
+    }
+
+    /**
+     * 清理所有过期的元素
+     * @return 清理的个数
+     * @since 0.0.6
+     */
+    public int purge() {
+        return purge(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 推进时间轮，清理过期的元素
+     * <p>
+     * 到期的 tick 向上取整，当前 tick 内已经过期的元素在下一个 tick 才会到期，
+     * 所以时间轮推进到下一个 tick，取出的元素再判断是否真正过期；没有过期的放回，下次再判断。
+     * 这样和读取时的惰性检查结果一致。
+     *
+     * @param limit 最多从时间轮取出的个数
+     * @return 清理的个数
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    private int purge(final int limit) {
+        final long now = ticker.read();
+        wheel.advance(toTick(now) + 1);
+
+        int count = 0;
+        List<ExpiringEntry<K, V>> notExpired = null;
+        for (int i = 0; i < limit; i++) {
+            ExpiringEntry<K, V> entry = (ExpiringEntry<K, V>) wheel.pollExpired();
+            if (entry == null) {
+                break;
+            }
+
+            if (!isExpired(entry, now)) {
+                if (notExpired == null) {
+                    notExpired = new ArrayList<>();
+                }
+                notExpired.add(entry);
+                continue;
+            }
+            data.remove(entry.key);
+            listener.onExpired(entry.key, entry.value);
+            count++;
+        }
+
+        // 监听器中可能已经删除或者替换
+        if (notExpired != null) {
+            for (ExpiringEntry<K, V> entry : notExpired) {
+                if (data.get(entry.key) == entry && !entry.isScheduled()) {
+                    wheel.schedule(entry);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 执行放入
+     * @param key key
+     * @param value 值
+     * @param ttlNanos 存活时间
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    private V doPut(final K key, final V value, final long ttlNanos) {
+        purge(PURGE_BATCH);
+
+        final long now = ticker.read();
+        ExpiringEntry<K, V> entry = data.get(key);
+        if (entry != null && isExpired(entry, now)) {
+            expireEntry(entry);
+            entry = null;
+        }
+
+        if (entry == null) {
+            entry = new ExpiringEntry<>(key, value);
+            data.put(key, entry);
+            schedule(entry, now, ttlNanos);
+            return null;
+        }
+
+        V oldValue = entry.value;
+        entry.value = value;
+        schedule(entry, now, ttlNanos);
+        return oldValue;
+    }
+
+    /**
+     * 获取没有过期的元素，过期的直接删除
+     * @param key key
+     * @return 元素
+     * @since 0.0.6
+     */
+    private ExpiringEntry<K, V> getLiveEntry(final Object key) {
+        ExpiringEntry<K, V> entry = data.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, ticker.read())) {
+            expireEntry(entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 重新放入时间轮
+     * <p>
+     * tick 向上取整，清理时时间轮推进到下一个 tick，已经过期的元素一定会被取出。
+     *
+     * @param entry 元素
+     * @param now 当前时间
+     * @param ttlNanos 存活时间
+     * @since 0.0.6
+     */
+    private void schedule(final ExpiringEntry<K, V> entry, final long now, final long ttlNanos) {
+        wheel.cancel(entry);
+        entry.expireAt = now + ttlNanos;
+        entry.expireTick = (entry.expireAt - origin + TICK_NANOS - 1) / TICK_NANOS;
+        wheel.schedule(entry);
+    }
+
+    /**
+     * 删除过期的元素并通知
+     * @param entry 元素
+     * @since 0.0.6
+     */
+    private void expireEntry(final ExpiringEntry<K, V> entry) {
+        data.remove(entry.key);
+        wheel.cancel(entry);
+        listener.onExpired(entry.key, entry.value);
+    }
+
+    private boolean isExpired(final ExpiringEntry<K, V> entry, final long now) {
+        return now - entry.expireAt >= 0;
+    }
+
+    private long toTick(final long now) {
+        return (now - origin) / TICK_NANOS;
+    }
+
+    private static long toTtlNanos(final long ttl, final TimeUnit unit) {
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        return Math.min(unit.toNanos(ttl), MAX_TTL_NANOS);
+    }
+
+    /**
+     * 元素视图
+     * @since 0.0.6
+     */
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return ExpiringHashMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            ExpiringEntry<K, V> live = getLiveEntry(entry.getKey());
+            return live != null && ObjectUtil.isEqualsOrNull(live.value, entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            ExpiringHashMap.this.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            ExpiringHashMap.this.clear();
+        }
+    }
+
+    /**
+     * key 视图
+     * @since 0.0.6
+     */
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        public Iterator<K> iterator() {
+            final EntryIterator iterator = new EntryIterator();
+            return new Iterator<K>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public K next() {
+                    return iterator.next().getKey();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ExpiringHashMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!containsKey(o)) {
+                return false;
+            }
+            ExpiringHashMap.this.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            ExpiringHashMap.this.clear();
+        }
+    }
+
+    /**
+     * 迭代器
+     * <p>
+     * 清理过期元素之后，遍历当时存活的元素。
+     * remove 只在元素仍然在 map 中时才删除，避免删除之后重新放入的同一个 key。
+     *
+     * @since 0.0.6
+     */
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+        private final Iterator<ExpiringEntry<K, V>> snapshot;
+
+        private ExpiringEntry<K, V> lastReturned;
+
+        private EntryIterator() {
+            purge();
+
+            // 清理之后时间可能已经推进，再检查一次，和读取的结果保持一致
+            final long now = ticker.read();
+            List<ExpiringEntry<K, V>> entries = new ArrayList<>(data.size());
+            List<ExpiringEntry<K, V>> expired = null;
+            for (Entry<K, ExpiringEntry<K, V>> entry : data.entrySet()) {
+                ExpiringEntry<K, V> value = entry.getValue();
+                if (isExpired(value, now)) {
+                    if (expired == null) {
+                        expired = new ArrayList<>();
+                    }
+                    expired.add(value);
+                } else {
+                    entries.add(value);
+                }
+            }
+            if (expired != null) {
+                for (ExpiringEntry<K, V> value : expired) {
+                    expireEntry(value);
+                }
+            }
+            this.snapshot = entries.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return snapshot.hasNext();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            lastReturned = snapshot.next();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+
+            if (data.get(lastReturned.key) == lastReturned) {
+                data.remove(lastReturned.key);
+                wheel.cancel(lastReturned);
+            }
+            lastReturned = null;
+        }
+    }
+
+}
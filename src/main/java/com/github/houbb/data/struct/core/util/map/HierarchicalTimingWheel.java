@@ -0,0 +1,241 @@
+package com.github.houbb.data.struct.core.util.map;
+
+/**
+ * 分层时间轮
+ * <p>
+ * （1）共 {@link #LEVELS} 层，每层 {@link #WHEEL_SIZE} 个桶，第 i 层的每个桶跨越 64^i 个 tick。
+ * 定时器按照距离到期的 tick 数放入能容纳它的最低一层，超出最高层范围的放入最高层，到时重新放置。
+ * （2）每个桶是带哨兵的双向循环链表，定时器自身就是链表节点，放入和取消都是 O(1)。
+ * （3）时间推进时，每层只处理经过的桶（最多 {@link #WHEEL_SIZE} 个）：
+ * 已经到期的定时器放入过期链表，没有到期的重新放置到更低的层。
+ * <p>
+ * 非线程安全。
+ *
+ * @author binbin.hou
+ * @see ExpiringHashMap
+ * @since 0.0.6
+ */
+final class HierarchicalTimingWheel {
+
+    /**
+     * 每层的位数
+     * @since 0.0.6
+     */
+    private static final int BITS = 6;
+
+    /**
+     * 每层的桶个数
+     * @since 0.0.6
+     */
+    static final int WHEEL_SIZE = 1 << BITS;
+
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    /**
+     * 层数
+     *
+     * 1ms 一个 tick 时，可以覆盖 2 年以上。
+     * @since 0.0.6
+     */
+    static final int LEVELS = 6;
+
+    /**
+     * 定时器
+     *
+     * 同时是桶内链表的节点。
+     * @since 0.0.6
+     */
+    static class Timer {
+
+        Timer previous;
+
+        Timer next;
+
+        /**
+         * 到期的 tick
+         * @since 0.0.6
+         */
+        long expireTick;
+
+        /**
+         * 是否在时间轮或者过期链表中
+         * @return 是否
+         * @since 0.0.6
+         */
+        boolean isScheduled() {
+            return next != null;
+        }
+    }
+
+    /**
+     * 所有层的桶，元素为哨兵
+     * @since 0.0.6
+     */
+    private final Timer[][] wheels;
+
+    /**
+     * 已经到期，还没有取走的定时器
+     * @since 0.0.6
+     */
+    private final Timer expired;
+
+    /**
+     * 当前的 tick
+     * @since 0.0.6
+     */
+    private long currentTick;
+
+    HierarchicalTimingWheel() {
+        this.wheels = new Timer[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheels[level][i] = sentinel();
+            }
+        }
+        this.expired = sentinel();
+        this.currentTick = 0;
+    }
+
+    /**
+     * 按照 {@link Timer#expireTick} 放置定时器
+     * @param timer 定时器，不能已经在时间轮中
+     * @since 0.0.6
+     */
+    void schedule(final Timer timer) {
+        final long delta = timer.expireTick - currentTick;
+        if (delta <= 0) {
+            link(expired, timer);
+            return;
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            final int shift = BITS * (level + 1);
+            if (level == LEVELS - 1 || delta < (1L << shift)) {
+                final int index = (int) ((timer.expireTick >>> (BITS * level)) & MASK);
+                link(wheels[level][index], timer);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 取消定时器
+     * @param timer 定时器
+     * @since 0.0.6
+     */
+    void cancel(final Timer timer) {
+        if (timer.isScheduled()) {
+            timer.previous.next = timer.next;
+            timer.next.previous = timer.previous;
+            timer.previous = null;
+            timer.next = null;
+        }
+    }
+
+    /**
+     * 推进到指定的 tick
+     * @param nowTick 当前 tick
+     * @since 0.0.6
+     */
+    void advance(final long nowTick) {
+        final long previousTick = currentTick;
+        if (nowTick <= previousTick) {
+            return;
+        }
+
+        currentTick = nowTick;
+        for (int level = 0; level < LEVELS; level++) {
+            final int shift = BITS * level;
+            final long previousIndex = previousTick >>> shift;
+            final long currentIndex = nowTick >>> shift;
+            // 这一层没有经过新的桶，更高的层也不会
+            if (previousIndex == currentIndex) {
+                return;
+            }
+
+            final long count = Math.min(currentIndex - previousIndex, WHEEL_SIZE);
+            for (long i = 1; i <= count; i++) {
+                rescheduleBucket(wheels[level][(int) ((previousIndex + i) & MASK)]);
+            }
+        }
+    }
+
+    /**
+     * 取出一个已经到期的定时器
+     * @return 定时器，没有时返回 null
+     * @since 0.0.6
+     */
+    Timer pollExpired() {
+        final Timer timer = expired.next;
+        if (timer == expired) {
+            return null;
+        }
+
+        cancel(timer);
+        return timer;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * 清空
+     *
+     * 原来的定时器不再使用，不需要逐个断开。
+     * @since 0.0.6
+     */
+    void clear() {
+        for (Timer[] wheel : wheels) {
+            for (Timer sentinel : wheel) {
+                sentinel.previous = sentinel;
+                sentinel.next = sentinel;
+            }
+        }
+        expired.previous = expired;
+        expired.next = expired;
+    }
+
+    /**
+     * 桶内的定时器全部重新放置
+     * <p>
+     * 先把桶置空，重新放置时可能放回同一个桶（超出最高层范围时）。
+     *
+     * @param sentinel 哨兵
+     * @since 0.0.6
+     */
+    private void rescheduleBucket(final Timer sentinel) {
+        Timer timer = sentinel.next;
+        sentinel.previous = sentinel;
+        sentinel.next = sentinel;
+
+        while (timer != sentinel) {
+            final Timer next = timer.next;
+            timer.previous = null;
+            timer.next = null;
+            schedule(timer);
+            timer = next;
+        }
+    }
+
+    private static Timer sentinel() {
+        Timer sentinel = new Timer();
+        sentinel.previous = sentinel;
+        sentinel.next = sentinel;
+        return sentinel;
+    }
+
+    /**
+     * 放入链表尾部
+     * @param sentinel 哨兵
+     * @param timer 定时器
+     * @since 0.0.6
+     */
+    private static void link(final Timer sentinel, final Timer timer) {
+        timer.previous = sentinel.previous;
+        timer.next = sentinel;
+        sentinel.previous.next = timer;
+        sentinel.previous = timer;
+    }
+
+}
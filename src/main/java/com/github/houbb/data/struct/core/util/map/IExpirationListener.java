@@ -0,0 +1,23 @@
+package com.github.houbb.data.struct.core.util.map;
+
+/**
+ * 过期监听器
+ *
+ * 在触发过期清理的线程中同步调用，主动删除和覆盖写入不会触发。
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see ExpiringHashMap
+ * @since 0.0.6
+ */
+public interface IExpirationListener<K, V> {
+
+    /**
+     * 元素过期
+     * @param key key
+     * @param value 值
+     * @since 0.0.6
+     */
+    void onExpired(K key, V value);
+
+}
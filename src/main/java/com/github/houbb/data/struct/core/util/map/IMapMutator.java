@@ -0,0 +1,29 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import java.util.Map;
+
+/**
+ * map 批量修改接口
+ * <p>
+ * 用于 copy-on-write 的 map，在一次拷贝上执行多次写操作，最后只发布一次。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see CopyOnWriteHashMap#mutate(IMapMutator)
+ * @see PersistentCopyOnWriteHashMap#mutate(IMapMutator)
+ * @see ShardedCopyOnWriteHashMap#mutate(IMapMutator)
+ * @since 0.0.6
+ */
+public interface IMapMutator<K, V> {
+
+    /**
+     * 修改 map
+     *
+     * 传入的 map 只在本方法内有效，不要在方法外保留引用。
+     * @param map 待修改的 map
+     * @since 0.0.6
+     */
+    void mutate(Map<K, V> map);
+
+}
@@ -0,0 +1,362 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import com.github.houbb.data.struct.util.HashUtil;
+
+import java.util.Arrays;
+
+/**
+ * long 作为 key 的开放寻址 hash map
+ * <p>
+ * （1）key 和 value 分别存放在两个平行的数组中，不再为每一个元素创建 Entry 对象。
+ * （2）使用线性探测解决冲突，容量固定为 2 的幂，下标使用掩码计算。
+ * （3）删除时使用后移（backward shift）的方式，不需要墓碑标记。
+ * <p>
+ * key=0 被用来标识空槽位，所以 0 对应的值单独存放。
+ * <p>
+ * 查询、更新都不会产生任何对象分配，适合 long 为 key 的热点数据。
+ *
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see MyHashMap
+ * @since 0.0.6
+ */
+public class LongObjHashMap<V> {
+
+    /**
+     * 空槽位对应的 key
+     * @since 0.0.6
+     */
+    private static final long FREE_KEY = 0;
+
+    /**
+     * 默认的负载因子
+     * @since 0.0.6
+     */
+    private static final double DEFAULT_FACTOR = 0.75;
+
+    /**
+     * 负载因子
+     * @since 0.0.6
+     */
+    private final double factor;
+
+    /**
+     * key 数组
+     * @since 0.0.6
+     */
+    private long[] keys;
+
+    /**
+     * value 数组，和 key 数组下标一一对应
+     * @since 0.0.6
+     */
+    private Object[] values;
+
+    /**
+     * 掩码，等于 keys.length-1
+     * @since 0.0.6
+     */
+    private int mask;
+
+    /**
+     * 扩容的阈值
+     * @since 0.0.6
+     */
+    private int threshold;
+
+    /**
+     * 元素个数（不含 key=0）
+     * @since 0.0.6
+     */
+    private int size;
+
+    /**
+     * 是否存在 key=0
+     * @since 0.0.6
+     */
+    private boolean hasFreeKey;
+
+    /**
+     * key=0 对应的值
+     * @since 0.0.6
+     */
+    private V freeValue;
+
+    public LongObjHashMap() {
+        this(8);
+    }
+
+    /**
+     * 初始化
+     * @param capacity 期望容量
+     * @since 0.0.6
+     */
+    public LongObjHashMap(int capacity) {
+        this(capacity, DEFAULT_FACTOR);
+    }
+
+    /**
+     * 初始化
+     * @param capacity 期望容量
+     * @param factor 负载因子，取值 (0, 1)
+     * @since 0.0.6
+     */
+    public LongObjHashMap(int capacity, double factor) {
+        if(factor <= 0 || factor >= 1) {
+            throw new IllegalArgumentException("factor must be in (0, 1)");
+        }
+        this.factor = factor;
+
+        int tableSize = HashUtil.tableSizeFor((int) Math.ceil(Math.max(capacity, 2) / factor));
+        this.allocate(tableSize);
+    }
+
+    /**
+     * 获取元素
+     * @param key key
+     * @return 结果，不存在时返回 null
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final long key) {
+        if(key == FREE_KEY) {
+            return hasFreeKey ? freeValue : null;
+        }
+
+        int index = indexOf(key);
+        if(index < 0) {
+            return null;
+        }
+        return (V) values[index];
+    }
+
+    /**
+     * 是否包含 key
+     * @param key key
+     * @return 是否
+     * @since 0.0.6
+     */
+    public boolean containsKey(final long key) {
+        if(key == FREE_KEY) {
+            return hasFreeKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * 放入元素
+     * @param key key
+     * @param value 值
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public V put(final long key, final V value) {
+        if(key == FREE_KEY) {
+            V oldValue = freeValue;
+            hasFreeKey = true;
+            freeValue = value;
+            return oldValue;
+        }
+
+        int index = slot(key);
+        while (true) {
+            final long current = keys[index];
+            if(current == FREE_KEY) {
+                // 新增
+                keys[index] = key;
+                values[index] = value;
+                if(++size > threshold) {
+                    rehash(keys.length << 1);
+                }
+                return null;
+            }
+            if(current == key) {
+                // 更新
+                V oldValue = (V) values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * 移除元素
+     * @param key key
+     * @return 被移除的值
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(final long key) {
+        if(key == FREE_KEY) {
+            if(!hasFreeKey) {
+                return null;
+            }
+            V oldValue = freeValue;
+            hasFreeKey = false;
+            freeValue = null;
+            return oldValue;
+        }
+
+        int index = indexOf(key);
+        if(index < 0) {
+            return null;
+        }
+
+        V oldValue = (V) values[index];
+        shiftKeys(index);
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * 元素个数
+     * @return 个数
+     * @since 0.0.6
+     */
+    public int size() {
+        return hasFreeKey ? size + 1 : size;
+    }
+
+    /**
+     * 是否为空
+     * @return 是否
+     * @since 0.0.6
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 清空
+     * @since 0.0.6
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        Arrays.fill(values, null);
+        size = 0;
+        hasFreeKey = false;
+        freeValue = null;
+    }
+
+    /**
+     * 当前 table 的容量
+     * @return 容量
+     * @since 0.0.6
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * 所有的 key
+     * @return key 数组
+     * @since 0.0.6
+     */
+    public long[] keys() {
+        long[] result = new long[size()];
+        int i = 0;
+        if(hasFreeKey) {
+            result[i++] = FREE_KEY;
+        }
+        for(long key : keys) {
+            if(key != FREE_KEY) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 查找 key 所在的下标
+     * @param key key
+     * @return 下标，不存在返回 -1
+     * @since 0.0.6
+     */
+    private int indexOf(final long key) {
+        int index = slot(key);
+        while (true) {
+            final long current = keys[index];
+            if(current == key) {
+                return index;
+            }
+            if(current == FREE_KEY) {
+                return -1;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * key 对应的初始槽位
+     * @param key key
+     * @return 槽位
+     * @since 0.0.6
+     */
+    private int slot(final long key) {
+        return HashUtil.mix(key) & mask;
+    }
+
+    /**
+     * 删除 index 处的元素，并把后续探测链上的元素前移，填补空位。
+     *
+     * 一个元素可以移动到空位 gap 上，当且仅当它的初始槽位不在 (gap, current] 之间。
+     * @param index 被删除的下标
+     * @since 0.0.6
+     */
+    private void shiftKeys(int index) {
+        int gap = index;
+        int current = (gap + 1) & mask;
+        while (keys[current] != FREE_KEY) {
+            final int home = slot(keys[current]);
+            if(((current - home) & mask) >= ((current - gap) & mask)) {
+                keys[gap] = keys[current];
+                values[gap] = values[current];
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+
+        keys[gap] = FREE_KEY;
+        values[gap] = null;
+    }
+
+    /**
+     * 扩容
+     * @param newCapacity 新的容量
+     * @since 0.0.6
+     */
+    private void rehash(final int newCapacity) {
+        final long[] oldKeys = this.keys;
+        final Object[] oldValues = this.values;
+        this.allocate(newCapacity);
+
+        for(int i = 0; i < oldKeys.length; i++) {
+            final long key = oldKeys[i];
+            if(key == FREE_KEY) {
+                continue;
+            }
+
+            int index = slot(key);
+            while (keys[index] != FREE_KEY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = oldValues[i];
+        }
+    }
+
+    /**
+     * 分配数组
+     * @param tableSize 大小，必须为 2 的幂
+     * @since 0.0.6
+     */
+    private void allocate(final int tableSize) {
+        this.keys = new long[tableSize];
+        this.values = new Object[tableSize];
+        this.mask = tableSize - 1;
+        this.threshold = Math.min(tableSize - 1, (int) (tableSize * factor));
+    }
+
+}
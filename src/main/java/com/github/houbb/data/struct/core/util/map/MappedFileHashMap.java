@@ -0,0 +1,1194 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import com.github.houbb.data.struct.core.util.list.IntArrayList;
+import com.github.houbb.data.struct.core.util.map.serializer.ISerializer;
+import com.github.houbb.data.struct.util.BufferUtil;
+import com.github.houbb.data.struct.util.HashUtil;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * 基于内存映射文件的 hash map
+ * <p>
+ * 所有的数据都保存在一个文件中，进程重启之后直接打开文件即可使用，不需要重新构建。
+ * <p>
+ * （1）文件格式
+ * [header A][header B][索引][数据]
+ * <p>
+ * header 记录容量、元素个数、数据的结束位置等信息，以及对应的 CRC32 校验和。
+ * 索引和 {@link OffHeapHashMap} 一样，是开放寻址的 hash 表，
+ * 每个槽位为 [key 的 hash][填充][记录的地址][sync 时的地址][地址生效的 header 序号]，
+ * 槽位按照 32 字节对齐，不会跨越扇区和页。
+ * 数据按照 segment 分段映射，每一条记录的格式为 [key 长度][value 长度][key][value]，记录不会跨越 segment。
+ * <p>
+ * （2）写入
+ * 记录只会追加，不会覆盖，原来的记录成为垃圾；之后再修改索引中对应槽位的地址，
+ * 同时记录下一份 header 的序号，即这个地址在哪一次 sync 之后生效。
+ * 槽位中 sync 时的地址保持不变，记录在 {@link #dirtySlots} 中，等到下一次 sync 再更新。
+ * 垃圾过多或者索引需要扩容时，把存活的记录写入一个新的临时文件，再原子地替换原文件。
+ * <p>
+ * （3）持久化
+ * {@link #sync()} 先把索引和数据刷到磁盘，再写入 header。
+ * 两份 header 交替写入，打开时使用校验和正确、序号最大的一份，这样写 header 的过程中崩溃也不会损坏文件。
+ * <p>
+ * （4）恢复
+ * header 中记录了是否正常关闭。没有正常关闭时，打开的过程中会扫描一遍索引，
+ * 槽位的序号大于 header 的序号时，说明地址是 sync 之后修改的，回退到 sync 时的地址，
+ * 这样 sync 之后的覆盖、删除即使已经被操作系统写回了索引，也能恢复到 sync 时的值；
+ * 而 sync 之前的删除已经随着 header 生效，不会被回退。
+ * 所以最后一次 sync 之后的修改，在崩溃之后可能会丢失，但是 sync 时的数据不会丢失。
+ * <p>
+ * key/value 不能为 null，并且序列化的结果必须是确定的。非线程安全。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see OffHeapHashMap
+ * @since 0.0.6
+ */
+public class MappedFileHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Closeable {
+
+    /**
+     * 文件的魔数
+     * @since 0.0.6
+     */
+    private static final long MAGIC = 0x64732D6D6170L;
+
+    /**
+     * 文件格式的版本
+     * @since 0.0.6
+     */
+    private static final int VERSION = 3;
+
+    /**
+     * 每一份 header 的字节数
+     * @since 0.0.6
+     */
+    private static final int HEADER_BYTES = 64;
+
+    /**
+     * header 中的字段偏移量
+     * @since 0.0.6
+     */
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 8;
+    private static final int H_CAPACITY = 12;
+    private static final int H_SIZE = 16;
+    private static final int H_DELETED = 20;
+    private static final int H_DATA_END = 24;
+    private static final int H_GARBAGE = 32;
+    private static final int H_SEQ = 40;
+    private static final int H_CLEAN = 48;
+    private static final int H_SEGMENT_SIZE = 52;
+    private static final int H_CHECKSUM = 56;
+
+    /**
+     * 索引的起始位置
+     * @since 0.0.6
+     */
+    private static final int INDEX_START = 2 * HEADER_BYTES;
+
+    /**
+     * 默认的 segment 大小 64M
+     * @since 0.0.6
+     */
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * 默认的容量
+     * @since 0.0.6
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 索引的负载因子
+     * @since 0.0.6
+     */
+    private static final double FACTOR = 0.75;
+
+    /**
+     * 索引每个槽位的字节数
+     * @since 0.0.6
+     */
+    private static final int SLOT_BYTES = 32;
+
+    /**
+     * 槽位中的字段偏移量
+     * @since 0.0.6
+     */
+    private static final int S_HASH = 0;
+    private static final int S_ADDRESS = 8;
+    private static final int S_SYNCED = 16;
+    private static final int S_SEQ = 24;
+
+    /**
+     * 索引的最大容量，保证索引的字节数不超过 int 的范围
+     * @since 0.0.6
+     */
+    private static final int MAX_CAPACITY = 1 << 25;
+
+    /**
+     * 记录头的字节数
+     * @since 0.0.6
+     */
+    private static final int RECORD_HEADER = 8;
+
+    /**
+     * 空槽位
+     * @since 0.0.6
+     */
+    private static final long EMPTY = 0;
+
+    /**
+     * 已删除的槽位
+     * @since 0.0.6
+     */
+    private static final long DELETED = -1;
+
+    /**
+     * 文件
+     * @since 0.0.6
+     */
+    private final File file;
+
+    /**
+     * key 序列化
+     * @since 0.0.6
+     */
+    private final ISerializer<K> keySerializer;
+
+    /**
+     * value 序列化
+     * @since 0.0.6
+     */
+    private final ISerializer<V> valueSerializer;
+
+    /**
+     * 文件
+     * @since 0.0.6
+     */
+    private RandomAccessFile randomAccessFile;
+
+    /**
+     * header 的映射
+     * @since 0.0.6
+     */
+    private MappedByteBuffer header;
+
+    /**
+     * 索引的映射
+     * @since 0.0.6
+     */
+    private MappedByteBuffer index;
+
+    /**
+     * 数据的映射
+     * @since 0.0.6
+     */
+    private List<MappedByteBuffer> segments;
+
+    /**
+     * 每一个 segment 的大小
+     * @since 0.0.6
+     */
+    private int segmentSize;
+
+    /**
+     * 索引的容量
+     * @since 0.0.6
+     */
+    private int capacity;
+
+    /**
+     * 元素个数
+     * @since 0.0.6
+     */
+    private int size;
+
+    /**
+     * 删除的槽位个数
+     * @since 0.0.6
+     */
+    private int deleted;
+
+    /**
+     * 数据的结束位置，相对于数据区的开始
+     * @since 0.0.6
+     */
+    private long dataEnd;
+
+    /**
+     * 垃圾的字节数
+     * @since 0.0.6
+     */
+    private long garbageBytes;
+
+    /**
+     * header 的序号，每次写入 header 加一
+     * @since 0.0.6
+     */
+    private long seq;
+
+    /**
+     * 上一次 sync 之后地址发生变化的槽位
+     * <p>
+     * 这些槽位 sync 时的地址和当前的地址不同，sync 之后再统一更新。
+     *
+     * @since 0.0.6
+     */
+    private final IntArrayList dirtySlots = new IntArrayList();
+
+    /**
+     * key 序列化使用的缓冲区
+     * @since 0.0.6
+     */
+    private ByteBuffer keyBuffer;
+
+    /**
+     * 最近一次查找时 key 的 hash
+     * @since 0.0.6
+     */
+    private int keyHash;
+
+    /**
+     * 是否已经关闭
+     * @since 0.0.6
+     */
+    private boolean closed;
+
+    private MappedFileHashMap(File file, ISerializer<K> keySerializer, ISerializer<V> valueSerializer) {
+        this.file = file;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.keyBuffer = ByteBuffer.allocate(64);
+    }
+
+    /**
+     * 打开文件，不存在时创建
+     * @param file 文件
+     * @param keySerializer key 序列化
+     * @param valueSerializer value 序列化
+     * @param <K> key 泛型
+     * @param <V> value 泛型
+     * @return 结果
+     * @throws IOException 文件读写异常
+     * @since 0.0.6
+     */
+    public static <K, V> MappedFileHashMap<K, V> open(File file,
+                                                      ISerializer<K> keySerializer,
+                                                      ISerializer<V> valueSerializer) throws IOException {
+        return open(file, keySerializer, valueSerializer, DEFAULT_CAPACITY, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 打开文件，不存在时创建
+     * <p>
+     * 文件已经存在时，容量和 segment 大小以文件中记录的为准。
+     *
+     * @param file 文件
+     * @param keySerializer key 序列化
+     * @param valueSerializer value 序列化
+     * @param capacity 初始化容量
+     * @param segmentSize segment 的字节数，单条记录不能超过这个大小
+     * @param <K> key 泛型
+     * @param <V> value 泛型
+     * @return 结果
+     * @throws IOException 文件读写异常
+     * @since 0.0.6
+     */
+    public static <K, V> MappedFileHashMap<K, V> open(File file,
+                                                      ISerializer<K> keySerializer,
+                                                      ISerializer<V> valueSerializer,
+                                                      int capacity,
+                                                      int segmentSize) throws IOException {
+        if (segmentSize <= RECORD_HEADER) {
+            throw new IllegalArgumentException("segmentSize must be greater than " + RECORD_HEADER);
+        }
+
+        return open(file, keySerializer, valueSerializer, capacity, segmentSize, false);
+    }
+
+    /**
+     * 打开文件，不存在时创建
+     * @param file 文件
+     * @param keySerializer key 序列化
+     * @param valueSerializer value 序列化
+     * @param capacity 容量
+     * @param segmentSize segment 的字节数
+     * @param exactCapacity 为 true 时，capacity 直接作为索引的容量
+     * @param <K> key 泛型
+     * @param <V> value 泛型
+     * @return 结果
+     * @throws IOException 文件读写异常
+     * @since 0.0.6
+     */
+    private static <K, V> MappedFileHashMap<K, V> open(File file,
+                                                       ISerializer<K> keySerializer,
+                                                       ISerializer<V> valueSerializer,
+                                                       int capacity,
+                                                       int segmentSize,
+                                                       boolean exactCapacity) throws IOException {
+        MappedFileHashMap<K, V> map = new MappedFileHashMap<>(file, keySerializer, valueSerializer);
+        map.randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            if (map.randomAccessFile.length() == 0) {
+                map.create(exactCapacity ? capacity : indexCapacity(capacity), segmentSize);
+            } else {
+                map.load();
+            }
+        } catch (IOException | RuntimeException e) {
+            map.unmap();
+            map.randomAccessFile.close();
+            throw e;
+        }
+        return map;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        ensureOpen();
+        int slot = findSlot((K) key);
+        if (slot < 0) {
+            return null;
+        }
+        return readValue(addressAt(slot));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean containsKey(Object key) {
+        ensureOpen();
+        return findSlot((K) key) >= 0;
+    }
+
+    /**
+     * 放入元素
+     * <p>
+     * 总是追加新的记录，原来的记录成为垃圾。
+     *
+     * @param key key
+     * @param value 值
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    @Override
+    public V put(K key, V value) {
+        ensureOpen();
+        checkNotNull(value);
+        if (garbageBytes > segmentSize && garbageBytes * 2 > dataEnd) {
+            rebuild(capacity);
+        }
+
+        final int slot = findSlot(key);
+        final int keyLength = keyBuffer.limit();
+        final long address = append(keyLength, value);
+        if (slot >= 0) {
+            long oldAddress = addressAt(slot);
+            V oldValue = readValue(oldAddress);
+            garbageBytes += recordLength(oldAddress);
+            setAddress(slot, address);
+            return oldValue;
+        }
+
+        // 新增
+        int insertSlot = -slot - 1;
+        if (addressAt(insertSlot) == DELETED) {
+            deleted--;
+        }
+        index.putInt(slotPosition(insertSlot) + S_HASH, keyHash);
+        setAddress(insertSlot, address);
+        size++;
+
+        if (size + deleted > capacity * FACTOR) {
+            // 删除的槽位较多时，容量不变，只清理删除标记
+            rebuild(size > capacity * FACTOR / 2 ? capacity << 1 : capacity);
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        ensureOpen();
+        int slot = findSlot((K) key);
+        if (slot < 0) {
+            return null;
+        }
+
+        long address = addressAt(slot);
+        V oldValue = readValue(address);
+        garbageBytes += recordLength(address);
+        setAddress(slot, DELETED);
+        size--;
+        deleted++;
+        return oldValue;
+    }
+
+    /**
+     * 清空
+     * <p>
+     * 文件截断之后重新初始化，容量恢复为默认容量
+     *
+     * @since 0.0.6
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        try {
+            unmap();
+            randomAccessFile.setLength(0);
+            create(indexCapacity(DEFAULT_CAPACITY), segmentSize);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to clear " + file, e);
+        }
+    }
+
+    /**
+     * 所有元素
+     * <p>
+     * 遍历时每一个元素都会反序列化出新的对象，不支持删除
+     *
+     * @return 结果
+     * @since 0.0.6
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        ensureOpen();
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * 刷盘
+     * <p>
+     * 先刷索引和数据，再写入 header。
+     * 调用成功之后的所有修改，在进程或者机器崩溃之后都不会丢失。
+     *
+     * @since 0.0.6
+     */
+    public void sync() {
+        ensureOpen();
+        force(false);
+    }
+
+    /**
+     * 关闭
+     * <p>
+     * 刷盘并标记为正常关闭，下次打开时不需要恢复。重复关闭不会有任何影响。
+     *
+     * @throws IOException 文件关闭异常
+     * @since 0.0.6
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            force(true);
+        } finally {
+            unmap();
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * 垃圾的字节数
+     * @return 字节数
+     * @since 0.0.6
+     */
+    public long garbageBytes() {
+        return garbageBytes;
+    }
+
+    /**
+     * 初始化一个空的文件
+     * @param capacity 索引容量
+     * @param segmentSize segment 大小
+     * @throws IOException 文件读写异常
+     * @since 0.0.6
+     */
+    private void create(final int capacity, final int segmentSize) throws IOException {
+        this.capacity = capacity;
+        this.segmentSize = segmentSize;
+        this.size = 0;
+        this.deleted = 0;
+        this.dataEnd = 0;
+        this.garbageBytes = 0;
+        this.seq = 0;
+
+        // 映射会自动扩展文件，扩展的部分都是 0，即空的索引
+        map();
+        force(false);
+    }
+
+    /**
+     * 加载已经存在的文件
+     * <p>
+     * 没有正常关闭时，需要恢复索引
+     *
+     * @throws IOException 文件读写异常
+     * @since 0.0.6
+     */
+    private void load() throws IOException {
+        FileChannel channel = randomAccessFile.getChannel();
+        if (channel.size() < INDEX_START) {
+            throw new IllegalStateException("File is too small: " + file);
+        }
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_START);
+
+        // 使用校验和正确，且序号最大的一份 header
+        int headerOffset = -1;
+        for (int offset = 0; offset < INDEX_START; offset += HEADER_BYTES) {
+            if (isValidHeader(offset)
+                    && (headerOffset < 0 || header.getLong(offset + H_SEQ) > header.getLong(headerOffset + H_SEQ))) {
+                headerOffset = offset;
+            }
+        }
+        if (headerOffset < 0) {
+            throw new IllegalStateException("Corrupted header: " + file);
+        }
+
+        this.capacity = header.getInt(headerOffset + H_CAPACITY);
+        this.size = header.getInt(headerOffset + H_SIZE);
+        this.deleted = header.getInt(headerOffset + H_DELETED);
+        this.dataEnd = header.getLong(headerOffset + H_DATA_END);
+        this.garbageBytes = header.getLong(headerOffset + H_GARBAGE);
+        this.seq = header.getLong(headerOffset + H_SEQ);
+        this.segmentSize = header.getInt(headerOffset + H_SEGMENT_SIZE);
+        boolean clean = header.getInt(headerOffset + H_CLEAN) == 1;
+
+        map();
+        if (!clean) {
+            recover();
+        }
+
+        // 标记为没有正常关闭，直到 close()
+        writeHeader(false);
+    }
+
+    /**
+     * header 是否有效
+     * @param offset header 的偏移量
+     * @return 是否
+     * @since 0.0.6
+     */
+    private boolean isValidHeader(final int offset) {
+        return header.getLong(offset + H_MAGIC) == MAGIC
+                && header.getInt(offset + H_VERSION) == VERSION
+                && header.getLong(offset + H_CHECKSUM) == checksum(offset);
+    }
+
+    /**
+     * 恢复索引
+     * （1）槽位的序号不超过 header 的序号时，地址已经生效，直接使用，包括删除的标记。
+     * （2）否则回退到 sync 时的地址，key 的 hash 从记录中重新计算，因为槽位可能已经被其他 key 复用。
+     * （3）都无效时标记为删除。
+     * <p>
+     * 恢复之后两个地址相同，重新统计元素个数和垃圾。
+     *
+     * @since 0.0.6
+     */
+    private void recover() {
+        long liveBytes = 0;
+        size = 0;
+        deleted = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            final int position = slotPosition(slot);
+            final long address = addressAt(slot);
+            if (address == EMPTY) {
+                continue;
+            }
+
+            long recovered = DELETED;
+            boolean committed = index.getLong(position + S_SEQ) <= seq;
+            if (committed && address == DELETED) {
+                recovered = DELETED;
+            } else if (committed && isValidRecord(address)
+                    && recordHash(address) == index.getInt(position + S_HASH)) {
+                recovered = address;
+            } else {
+                long synced = index.getLong(position + S_SYNCED);
+                if (synced != address && isValidRecord(synced)) {
+                    recovered = synced;
+                    index.putInt(position + S_HASH, recordHash(synced));
+                }
+            }
+
+            index.putLong(position + S_ADDRESS, recovered);
+            index.putLong(position + S_SYNCED, recovered);
+            index.putLong(position + S_SEQ, 0);
+            if (recovered == DELETED) {
+                deleted++;
+            } else {
+                size++;
+                liveBytes += recordLength(recovered);
+            }
+        }
+        garbageBytes = dataEnd - liveBytes;
+        index.force();
+    }
+
+    /**
+     * 地址指向的记录是否有效
+     * <p>
+     * 记录完整的在 dataEnd 之前，且没有跨越 segment
+     *
+     * @param address 地址
+     * @return 是否
+     * @since 0.0.6
+     */
+    private boolean isValidRecord(final long address) {
+        final long position = address - 1;
+        if (address == EMPTY || address == DELETED
+                || position < 0 || position + RECORD_HEADER > dataEnd) {
+            return false;
+        }
+
+        final ByteBuffer segment = segment(address);
+        final int offset = offset(address);
+        if (offset + RECORD_HEADER > segmentSize) {
+            return false;
+        }
+        final int keyLength = segment.getInt(offset);
+        final int valueLength = segment.getInt(offset + 4);
+        return keyLength >= 0 && valueLength >= 0
+                && (long) offset + RECORD_HEADER + keyLength + valueLength <= segmentSize
+                && position + RECORD_HEADER + keyLength + valueLength <= dataEnd;
+    }
+
+    /**
+     * 根据记录中的 key 计算 hash
+     * @param address 地址
+     * @return hash
+     * @since 0.0.6
+     */
+    private int recordHash(final long address) {
+        final ByteBuffer segment = segment(address);
+        final int offset = offset(address);
+        final int keyLength = segment.getInt(offset);
+        int h = 1;
+        for (int i = 0; i < keyLength; i++) {
+            h = 31 * h + segment.get(offset + RECORD_HEADER + i);
+        }
+        return HashUtil.mix(h);
+    }
+
+    /**
+     * 映射 header、索引以及 dataEnd 之前的所有 segment
+     * @throws IOException 文件读写异常
+     * @since 0.0.6
+     */
+    private void map() throws IOException {
+        FileChannel channel = randomAccessFile.getChannel();
+        if (header == null) {
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_START);
+        }
+        index = channel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_START + (long) capacity * SLOT_BYTES);
+        dirtySlots.clear();
+        segments = new ArrayList<>();
+        while ((long) segments.size() * segmentSize < dataEnd) {
+            addSegment();
+        }
+    }
+
+    /**
+     * 映射新的 segment
+     * @throws IOException 文件读写异常
+     * @since 0.0.6
+     */
+    private void addSegment() throws IOException {
+        long position = dataStart() + (long) segments.size() * segmentSize;
+        segments.add(randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, position, segmentSize));
+    }
+
+    /**
+     * 解除所有的映射
+     * @since 0.0.6
+     */
+    private void unmap() {
+        BufferUtil.release(header);
+        BufferUtil.release(index);
+        if (segments != null) {
+            for (MappedByteBuffer segment : segments) {
+                BufferUtil.release(segment);
+            }
+        }
+        header = null;
+        index = null;
+        segments = null;
+    }
+
+    /**
+     * 刷盘
+     * （1）刷索引和数据，再写入 header，序号不超过 header 的槽位从此有效。
+     * （2）更新变化的槽位中 sync 时的地址，再刷一次索引。
+     * 在（1）和（2）之间崩溃时，变化的槽位的序号就是这一份 header 的序号，恢复时使用新的地址，不会回退。
+     *
+     * @param clean 是否标记为正常关闭
+     * @since 0.0.6
+     */
+    private void force(final boolean clean) {
+        index.force();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        writeHeader(clean);
+
+        if (!dirtySlots.isEmpty()) {
+            for (int i = 0; i < dirtySlots.size(); i++) {
+                final int slot = dirtySlots.get(i);
+                index.putLong(slotPosition(slot) + S_SYNCED, addressAt(slot));
+            }
+            dirtySlots.clear();
+            index.force();
+        }
+    }
+
+    /**
+     * 写入 header，两份 header 交替写入
+     * @param clean 是否正常关闭
+     * @since 0.0.6
+     */
+    private void writeHeader(final boolean clean) {
+        seq++;
+        final int offset = (int) (seq & 1) * HEADER_BYTES;
+        header.putLong(offset + H_MAGIC, MAGIC);
+        header.putInt(offset + H_VERSION, VERSION);
+        header.putInt(offset + H_CAPACITY, capacity);
+        header.putInt(offset + H_SIZE, size);
+        header.putInt(offset + H_DELETED, deleted);
+        header.putLong(offset + H_DATA_END, dataEnd);
+        header.putLong(offset + H_GARBAGE, garbageBytes);
+        header.putLong(offset + H_SEQ, seq);
+        header.putInt(offset + H_CLEAN, clean ? 1 : 0);
+        header.putInt(offset + H_SEGMENT_SIZE, segmentSize);
+        header.putLong(offset + H_CHECKSUM, checksum(offset));
+        header.force();
+    }
+
+    /**
+     * header 的校验和，不包含校验和本身
+     * @param offset header 的偏移量
+     * @return 校验和
+     * @since 0.0.6
+     */
+    private long checksum(final int offset) {
+        byte[] bytes = new byte[H_CHECKSUM];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = header.get(offset + i);
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes);
+        return crc32.getValue();
+    }
+
+    /**
+     * 重建文件
+     * <p>
+     * 存活的记录写入临时文件并刷盘，之后原子地替换原文件。
+     * 替换之前崩溃，原文件不受影响；替换之后崩溃，新文件已经是完整的。
+     *
+     * @param newCapacity 新的索引容量
+     * @since 0.0.6
+     */
+    private void rebuild(final int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Index capacity exceeds " + MAX_CAPACITY);
+        }
+
+        final File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            Files.deleteIfExists(tempFile.toPath());
+            MappedFileHashMap<K, V> target = open(tempFile, keySerializer, valueSerializer,
+                    newCapacity, segmentSize, true);
+            try {
+                for (int slot = 0; slot < capacity; slot++) {
+                    long address = addressAt(slot);
+                    if (address != EMPTY && address != DELETED) {
+                        target.appendRaw(index.getInt(slotPosition(slot) + S_HASH),
+                                segment(address), offset(address), recordLength(address));
+                    }
+                }
+            } finally {
+                target.close();
+            }
+
+            unmap();
+            randomAccessFile.close();
+            Files.move(tempFile.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+
+            randomAccessFile = new RandomAccessFile(file, "rw");
+            load();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to rebuild " + file, e);
+        }
+    }
+
+    /**
+     * 目录刷盘，保证重命名持久化
+     * <p>
+     * 部分平台不支持打开目录，忽略即可
+     *
+     * @since 0.0.6
+     */
+    private void syncDirectory() {
+        File directory = file.getAbsoluteFile().getParentFile();
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 不支持的平台忽略
+        }
+    }
+
+    /**
+     * 直接复制一条已经序列化的记录，重建时使用
+     * @param hash key 的 hash
+     * @param source 来源
+     * @param offset 来源中的偏移量
+     * @param length 记录的长度
+     * @throws IOException 文件读写异常
+     * @since 0.0.6
+     */
+    private void appendRaw(final int hash, final ByteBuffer source,
+                           final int offset, final int length) throws IOException {
+        long address = allocate(length);
+        ByteBuffer target = segment(address);
+        source.limit(offset + length).position(offset);
+        target.position(offset(address));
+        target.put(source);
+        source.clear();
+
+        final int mask = capacity - 1;
+        int slot = HashUtil.indexFor(hash, capacity);
+        while (addressAt(slot) != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        final int position = slotPosition(slot);
+        index.putInt(position + S_HASH, hash);
+        index.putLong(position + S_ADDRESS, address);
+        index.putLong(position + S_SYNCED, address);
+        size++;
+    }
+
+    /**
+     * 查找 key 对应的槽位
+     * <p>
+     * key 序列化之后的结果保存在 keyBuffer 中，hash 保存在 keyHash 中。
+     *
+     * @param key key
+     * @return 存在时返回槽位；不存在时返回 -(插入的槽位 + 1)
+     * @since 0.0.6
+     */
+    private int findSlot(final K key) {
+        checkNotNull(key);
+        final int keyLength = serializeKey(key);
+        int h = 1;
+        for (int i = 0; i < keyLength; i++) {
+            h = 31 * h + keyBuffer.get(i);
+        }
+        final int hash = HashUtil.mix(h);
+        this.keyHash = hash;
+
+        final int mask = capacity - 1;
+        int insertSlot = -1;
+        int slot = HashUtil.indexFor(hash, capacity);
+        while (true) {
+            long address = addressAt(slot);
+            if (address == EMPTY) {
+                return -(insertSlot >= 0 ? insertSlot : slot) - 1;
+            }
+
+            if (address == DELETED) {
+                if (insertSlot < 0) {
+                    insertSlot = slot;
+                }
+            } else if (index.getInt(slotPosition(slot) + S_HASH) == hash
+                    && keyEquals(address, keyLength)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * 序列化 key 到 keyBuffer
+     * @param key key
+     * @return 字节数
+     * @since 0.0.6
+     */
+    private int serializeKey(final K key) {
+        final int keyLength = keySerializer.size(key);
+        if (keyBuffer.capacity() < keyLength) {
+            keyBuffer = ByteBuffer.allocate(Math.max(keyLength, keyBuffer.capacity() << 1));
+        }
+        keyBuffer.clear();
+        keySerializer.write(key, keyBuffer);
+        if (keyBuffer.position() != keyLength) {
+            throw new IllegalStateException("Key serializer wrote " + keyBuffer.position()
+                    + " bytes, expected " + keyLength);
+        }
+        keyBuffer.flip();
+        return keyLength;
+    }
+
+    /**
+     * 记录中的 key 是否和 keyBuffer 中的相同
+     * @param address 记录地址
+     * @param keyLength keyBuffer 中的字节数
+     * @return 是否
+     * @since 0.0.6
+     */
+    private boolean keyEquals(final long address, final int keyLength) {
+        final ByteBuffer segment = segment(address);
+        final int offset = offset(address);
+        if (segment.getInt(offset) != keyLength) {
+            return false;
+        }
+
+        final int start = offset + RECORD_HEADER;
+        for (int i = 0; i < keyLength; i++) {
+            if (segment.get(start + i) != keyBuffer.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 追加一条记录，key 使用 keyBuffer 中的字节
+     * @param keyLength key 的字节数
+     * @param value 值
+     * @return 记录地址
+     * @since 0.0.6
+     */
+    private long append(final int keyLength, final V value) {
+        final int valueLength = valueSerializer.size(value);
+        final long recordLength = (long) RECORD_HEADER + keyLength + valueLength;
+        if (recordLength > segmentSize) {
+            throw new IllegalArgumentException("Record size " + recordLength
+                    + " exceeds segment size " + segmentSize);
+        }
+
+        final long address;
+        try {
+            address = allocate((int) recordLength);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to map segment of " + file, e);
+        }
+        ByteBuffer segment = segment(address);
+        segment.position(offset(address));
+        segment.putInt(keyLength);
+        segment.putInt(valueLength);
+        keyBuffer.position(0);
+        segment.put(keyBuffer);
+
+        final int start = segment.position();
+        valueSerializer.write(value, segment);
+        if (segment.position() - start != valueLength) {
+            throw new IllegalStateException("Value serializer wrote " + (segment.position() - start)
+                    + " bytes, expected " + valueLength);
+        }
+        return address;
+    }
+
+    /**
+     * 分配空间
+     * <p>
+     * 当前 segment 剩余的空间不足时，从下一个 segment 开始，剩余的空间计入垃圾
+     *
+     * @param length 字节数
+     * @return 地址
+     * @throws IOException 文件读写异常
+     * @since 0.0.6
+     */
+    private long allocate(final int length) throws IOException {
+        long remaining = (long) segments.size() * segmentSize - dataEnd;
+        if (remaining < length) {
+            garbageBytes += remaining;
+            dataEnd += remaining;
+            addSegment();
+        }
+
+        long address = dataEnd + 1;
+        dataEnd += length;
+        return address;
+    }
+
+    /**
+     * 读取记录的 value
+     * @param address 地址
+     * @return 值
+     * @since 0.0.6
+     */
+    private V readValue(final long address) {
+        ByteBuffer segment = segment(address);
+        int offset = offset(address);
+        int keyLength = segment.getInt(offset);
+        int valueLength = segment.getInt(offset + 4);
+        segment.position(offset + RECORD_HEADER + keyLength);
+        return valueSerializer.read(segment, valueLength);
+    }
+
+    /**
+     * 读取记录的 key
+     * @param address 地址
+     * @return key
+     * @since 0.0.6
+     */
+    private K readKey(final long address) {
+        ByteBuffer segment = segment(address);
+        int offset = offset(address);
+        int keyLength = segment.getInt(offset);
+        segment.position(offset + RECORD_HEADER);
+        return keySerializer.read(segment, keyLength);
+    }
+
+    /**
+     * 记录的总字节数
+     * @param address 地址
+     * @return 字节数
+     * @since 0.0.6
+     */
+    private int recordLength(final long address) {
+        ByteBuffer segment = segment(address);
+        int offset = offset(address);
+        return RECORD_HEADER + segment.getInt(offset) + segment.getInt(offset + 4);
+    }
+
+    private long dataStart() {
+        return INDEX_START + (long) capacity * SLOT_BYTES;
+    }
+
+    private long addressAt(final int slot) {
+        return index.getLong(slotPosition(slot) + S_ADDRESS);
+    }
+
+    /**
+     * 修改槽位的地址
+     * <p>
+     * sync 时的地址保持不变；第一次修改时记录槽位，sync 时再更新。
+     * 序号为下一份 header 的序号，这份 header 写入之后新的地址才生效。
+     *
+     * @param slot 槽位
+     * @param address 地址
+     * @since 0.0.6
+     */
+    private void setAddress(final int slot, final long address) {
+        final int position = slotPosition(slot);
+        if (index.getLong(position + S_ADDRESS) == index.getLong(position + S_SYNCED)) {
+            dirtySlots.add(slot);
+        }
+        index.putLong(position + S_ADDRESS, address);
+        index.putLong(position + S_SEQ, seq + 1);
+    }
+
+    private static int slotPosition(final int slot) {
+        return INDEX_START + slot * SLOT_BYTES;
+    }
+
+    private ByteBuffer segment(final long address) {
+        return segments.get((int) ((address - 1) / segmentSize));
+    }
+
+    private int offset(final long address) {
+        return (int) ((address - 1) % segmentSize);
+    }
+
+    private static int indexCapacity(final int capacity) {
+        return HashUtil.tableSizeFor(Math.max((int) (capacity / FACTOR) + 1, 2));
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Map is closed");
+        }
+    }
+
+    private static void checkNotNull(final Object object) {
+        if (object == null) {
+            throw new NullPointerException("Key and value must not be null");
+        }
+    }
+
+    /**
+     * 遍历所有的元素
+     * @since 0.0.6
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+
+        /**
+         * 下一个槽位
+         */
+        private int nextSlot;
+
+        private EntryIterator() {
+            advance(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < capacity;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            ensureOpen();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            long address = addressAt(nextSlot);
+            Entry<K, V> entry = new DefaultMapEntry<>(readKey(address), readValue(address));
+            advance(nextSlot + 1);
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void advance(final int from) {
+            nextSlot = from;
+            while (nextSlot < capacity) {
+                long address = addressAt(nextSlot);
+                if (address != EMPTY && address != DELETED) {
+                    return;
+                }
+                nextSlot++;
+            }
+        }
+    }
+
+}
@@ -1,8 +1,10 @@
 package com.github.houbb.data.struct.core.util.map;
 
+import com.github.houbb.data.struct.core.util.map.hash.HashStat;
+import com.github.houbb.data.struct.core.util.map.hash.HashStrategies;
+import com.github.houbb.data.struct.core.util.map.hash.IHashStrategy;
 import com.github.houbb.data.struct.util.HashUtil;
-import com.github.houbb.heaven.util.lang.ObjectUtil;
-import com.github.houbb.heaven.util.util.CollectionUtil;
+import com.github.houbb.data.struct.util.MemoryUtil;
 import com.github.houbb.log.integration.core.Log;
 import com.github.houbb.log.integration.core.LogFactory;
 
@@ -31,6 +33,19 @@ import java.util.*;
  * <p>
  * （3）hash 的简化
  * jdk 实现中，对于 null 值做了特殊处理。其实感觉没必要，直接 null 的 hash 为0，比较的时候认为相等即可。
+ * <p>
+ * （4）桶的树化
+ * 当一个桶中的元素达到 8 个时，转换为红黑树 {@link TreeBucket}，避免 hash 分布很差时查找退化为 O(n)。
+ * 删除之后元素不超过 6 个时，重新转换为链表；rehash 时同样会根据新桶的大小重新判断。
+ * <p>
+ * （5）存储结构
+ * table 为 {@link HashEntry} 数组，entry 自身就是单向链表的节点，桶在放入第一个元素时才会出现。
+ * get/put 替换/replace 的过程中不会创建任何对象，新增时也只会创建一个 entry。
+ * <p>
+ * （6）缩容
+ * 比例降低到 {@link #reduceFactor} 时，渐进式缩容为一半：新 table 的桶 i 合并旧 table 的桶 i 和 i + capacity/2，
+ * 之后每次新增、删除时迁移 {@link #SHRINK_BUCKETS_PER_OP} 个新桶，单次删除不会阻塞 O(n)。
+ * 读取不会迁移，所以遍历的同时可以读取。
  *
  * @param <K> key 泛型
  * @param <V> value 泛型
@@ -64,10 +79,14 @@ public class MyHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
 
     /**
      * 缩容
+     * <p>
+     * 当 size/capacity 小于等于这个比例时，容量渐进式减半。
+     * 缩容之后的比例为 0.5，和扩容的阈值 1.0 之间留有足够的距离，
+     * 避免在阈值附近反复的扩容、缩容。
      *
      * @since 0.0.4
      */
-    private final double reduceFactor = 0.5;
+    private final double reduceFactor = 0.25;
 
     /**
      * 最小大小
@@ -76,15 +95,67 @@ public class MyHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
      */
     private static final int MIN_CAPACITY = 2;
 
+    /**
+     * 桶树化的阈值
+     *
+     * @since 0.0.6
+     */
+    private static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     * 树退化为链表的阈值
+     * <p>
+     * 比树化的阈值小一些，避免在阈值附近反复转换。
+     *
+     * @since 0.0.6
+     */
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * 缩容时每次新增、删除迁移的新桶个数
+     * <p>
+     * 缩容开始时 size 为 capacity/4，一共 capacity/2 个新桶，只需要 capacity/8 次写入即可完成。
+     * 所以删除到空之前缩容一定会完成，也不会和扩容重叠。
+     *
+     * @since 0.0.6
+     */
+    private static final int SHRINK_BUCKETS_PER_OP = 4;
+
+    /**
+     * 缩容的下限，即初始化时的容量
+     *
+     * @since 0.0.6
+     */
+    private final int minCapacity;
+
     /**
      * 用来存放信息的 table 数组。
      * 数组：数组的下标是一个桶，桶对应的元素 hash 值相同。
-     * 桶里放置的是一个链表。
      * <p>
-     * 可以理解为 table 是一个 ArrayList
-     * arrayList 中每一个元素，都是一个 DoubleLinkedList
+     * 桶里放置的是一个单向链表，直接通过 {@link HashEntry#next} 串联，没有元素的桶为 null。
+     * 树化的桶放置的是一个 {@link TreeBin}。
+     *
+     * @since 0.0.6
+     */
+    private HashEntry<K, V>[] table;
+
+    /**
+     * 渐进式缩容时的新 table，容量为 table 的一半
+     * <p>
+     * 为 null 时说明不处于缩容中。
+     *
+     * @since 0.0.6
+     */
+    private HashEntry<K, V>[] shrinkTable;
+
+    /**
+     * 缩容的下标
+     * <p>
+     * shrinkTable 中 [0, shrinkIndex) 的桶已经迁移完成，table 中对应的两个桶已经置为 null。
+     *
+     * @since 0.0.6
      */
-    private List<List<Entry<K, V>>> table;
+    private int shrinkIndex;
 
     /**
      * 是否开启 debug 模式
@@ -93,6 +164,13 @@ public class MyHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
      */
     private boolean debugMode = false;
 
+    /**
+     * hash 策略
+     *
+     * @since 0.0.6
+     */
+    private final IHashStrategy hashStrategy;
+
     public MyHashMap() {
         this(8);
     }
@@ -114,13 +192,23 @@ public class MyHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
      * @since 0.0.3
      */
     public MyHashMap(int capacity, boolean debugMode) {
-        this.capacity = capacity;
-        // 初始化最大为容量的个数，如果 hash 的非常完美的话。
-        this.table = new ArrayList<>(capacity);
-        // 初始化为空列表
-        for (int i = 0; i < capacity; i++) {
-            this.table.add(i, new ArrayList<Entry<K, V>>());
-        }
+        this(capacity, debugMode, HashStrategies.defaults());
+    }
+
+    /**
+     * 初始化 hash map
+     *
+     * @param capacity     初始化容量，会调整为 2 的幂
+     * @param debugMode    是否开启 debug 模式
+     * @param hashStrategy hash 策略
+     * @since 0.0.6
+     */
+    public MyHashMap(int capacity, boolean debugMode, IHashStrategy hashStrategy) {
+        this.capacity = HashUtil.tableSizeFor(Math.max(capacity, MIN_CAPACITY));
+        this.minCapacity = this.capacity;
+        this.hashStrategy = hashStrategy;
+        // 只创建数组，桶在第一次放入元素时才会创建
+        this.table = newTable(this.capacity);
 
         this.debugMode = debugMode;
     }
@@ -130,125 +218,229 @@ public class MyHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
 
     /**
      * 存储一个值
+     * <p>
+     * 替换时不会创建任何对象，新增时只创建一个 {@link HashEntry}。
      *
      * @param key   键
      * @param value 值
-     * @return 值
+     * @return 原来的值，不存在返回 null
      */
     @Override
     public V put(K key, V value) {
         // 计算 index 值
-        int hash = HashUtil.hash(key);
-        int index = HashUtil.indexFor(hash, this.capacity);
+        int hash = hashStrategy.hash(key);
+        HashEntry<K, V>[] tab = tableOf(hash);
+        int index = HashUtil.indexFor(hash, tab.length);
 
         // 判断是否为替换
-        List<Entry<K, V>> entryList = new ArrayList<>();
-        if (index < this.table.size()) {
-            entryList = this.table.get(index);
-        }
+        HashEntry<K, V> entry = findEntry(tab[index], key, hash);
+        if (entry != null) {
+            // 更新新的 entry
+            V oldValue = entry.setValue(value);
 
-        // 遍历
-        for (Entry<K, V> entry : entryList) {
-            // 二者的 key 都为 null，或者二者的 key equals()
-            final K entryKey = entry.getKey();
-            if (ObjectUtil.isNull(key, entryKey)
-                    || key.equals(entryKey)) {
-                // 更新新的 entry
-                entry.setValue(value);
-
-                if (debugMode) {
-                    log.debug("put 为替换元素，table 信息为：");
-                    printTable();
-                }
-
-                return value;
+            if (debugMode) {
+                log.debug("put 为替换元素，table 信息为：");
+                printTable();
             }
+
+            return oldValue;
         }
 
         // 新增：
-        this.createNewEntry(hash, index, key, value);
+        this.createNewEntry(hash, key, value);
         this.size++;
 
         if (debugMode) {
             log.debug("put 为新增元素，table 信息为：");
             printTable();
         }
-        return value;
+        return null;
     }
 
     /**
-     * 创建一个新的明细
-     * （1）获取当前 index 对应的链表
-     * （2）判断是否需要 rehash
-     * 如果当前链表存在，且大小超过阈值8，则进行 rehash。
-     * （3）rehash 之后，或者不需要 rehash
+     * 替换元素
      * <p>
-     * 都将最后的 index，然后将新元素放在对应的链表中。
+     * 只有 key 存在时才会更新，不会新增元素。
+     *
+     * @param key   键
+     * @param value 值
+     * @return 原来的值，不存在返回 null
+     * @since 0.0.6
+     */
+    public V replace(K key, V value) {
+        HashEntry<K, V> entry = getEntry(key);
+        if (entry == null) {
+            return null;
+        }
+        return entry.setValue(value);
+    }
+
+    /**
+     * 创建一个新的明细
+     * （1）缩容中时迁移一部分桶
+     * （2）判断是否需要扩容，需要的话 rehash
+     * （3）计算元素所在的 table 和 index，元素放在链表的头部；树化的桶直接放入树中
+     * （4）链表的长度达到阈值 8，则转换为树
      *
      * @param hash       hash 值
-     * @param tableIndex 下标
      * @param key        key
      * @param value      value
      */
     private void createNewEntry(int hash,
-                                int tableIndex,
                                 final K key,
                                 final V value) {
-        Entry<K, V> entry = new DefaultMapEntry<>(key, value);
+        if (shrinkTable != null) {
+            shrinkStep();
+        }
 
         // 是否需要扩容
         if (isNeedExpand()) {
+            // 缩容和扩容不会重叠，这里只是保证状态正确
+            finishShrink();
             this.capacity = this.capacity * 2;
             rehash(this.capacity);
-
-            // 重新计算 tableIndex
-            tableIndex = HashUtil.indexFor(hash, this.capacity);
         }
 
         //  添加元素
-        List<Entry<K, V>> list = new ArrayList<>();
-        if (tableIndex < this.table.size()) {
-            list = table.get(tableIndex);
+        HashEntry<K, V>[] tab = tableOf(hash);
+        int tableIndex = HashUtil.indexFor(hash, tab.length);
+        HashEntry<K, V> first = tab[tableIndex];
+        HashEntry<K, V> entry = new HashEntry<>(hash, key, value, null);
+        if (first instanceof TreeBin) {
+            ((TreeBin<K, V>) first).bucket.add(entry, hash);
+        } else {
+            entry.next = first;
+            tab[tableIndex] = entry;
+
+            // 链表过长，转换为树
+            if (chainLength(entry) >= TREEIFY_THRESHOLD) {
+                tab[tableIndex] = treeify(entry);
+
+                if (debugMode) {
+                    log.debug("tableIndex: {} 链表长度达到 {}，转换为红黑树", tableIndex, TREEIFY_THRESHOLD);
+                }
+            }
         }
-        list.add(entry);
 
         if (debugMode) {
             log.debug("Key: {} 对应的 tableIndex: {}", key, tableIndex);
         }
-        this.table.set(tableIndex, list);
+    }
+
+    /**
+     * 在桶中查找元素
+     *
+     * @param first 桶的第一个元素
+     * @param key   key
+     * @param hash  hash 值
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    private HashEntry<K, V> findEntry(final HashEntry<K, V> first,
+                                      final Object key,
+                                      final int hash) {
+        if (first instanceof TreeBin) {
+            return (HashEntry<K, V>) ((TreeBin<K, V>) first).bucket.find(key, hash);
+        }
+
+        for (HashEntry<K, V> entry = first; entry != null; entry = entry.next) {
+            // 先比较 hash，二者的 key 都为 null，或者二者的 key equals()
+            if (entry.hash == hash && isKeyEquals(key, entry.key)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 根据 key 查找元素
+     *
+     * @param key key
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    private HashEntry<K, V> getEntry(final Object key) {
+        int hash = hashStrategy.hash(key);
+        HashEntry<K, V>[] tab = tableOf(hash);
+        return findEntry(tab[HashUtil.indexFor(hash, tab.length)], key, hash);
+    }
+
+    /**
+     * hash 值对应的桶所在的 table
+     * <p>
+     * 缩容中，已经迁移的桶在 shrinkTable 中，其他的依然在 table 中。
+     *
+     * @param hash hash 值
+     * @return table
+     * @since 0.0.6
+     */
+    private HashEntry<K, V>[] tableOf(final int hash) {
+        if (shrinkTable != null && HashUtil.indexFor(hash, shrinkTable.length) < shrinkIndex) {
+            return shrinkTable;
+        }
+        return table;
+    }
+
+    /**
+     * key 是否相同
+     * <p>
+     * 直接判断，不使用可变参数的工具方法，避免查找时创建数组。
+     *
+     * @param key      key
+     * @param entryKey 元素的 key
+     * @return 是否
+     * @since 0.0.6
+     */
+    private static boolean isKeyEquals(final Object key, final Object entryKey) {
+        return key == entryKey || (key != null && key.equals(entryKey));
+    }
+
+    /**
+     * 获取元素
+     *
+     * @param key key
+     * @return 值
+     * @since 0.0.6
+     */
+    @Override
+    public V get(Object key) {
+        HashEntry<K, V> entry = getEntry(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * 是否包含 key
+     *
+     * @param key key
+     * @return 是否
+     * @since 0.0.6
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return getEntry(key) != null;
     }
 
 
     /**
      * 直接 rehash 的流程
      * <p>
-     * 当然这个 rehash 的方法可以抽象，和 put 复用，暂时不做处理。
+     * 只是把原来的 entry 重新链接到新的 table 中，不会创建新的 entry。
      *
      * @param newCapacity 新的 table 的容量
      * @since 0.0.3
      */
     private void rehash(final int newCapacity) {
-        List<List<Entry<K, V>>> newTable = new ArrayList<>(newCapacity);
-        for (int i = 0; i < newCapacity; i++) {
-            newTable.add(i, new ArrayList<Entry<K, V>>());
-        }
+        HashEntry<K, V>[] newTable = newTable(newCapacity);
 
         // 遍历元素，全部放置到新的 table 中
-        for (List<Entry<K, V>> list : table) {
-            for (Entry<K, V> entry : list) {
-                int hash = HashUtil.hash(entry);
-                int index = HashUtil.indexFor(hash, newCapacity);
-
-                //  添加元素
-                // 获取列表，避免数组越界
-                List<Entry<K, V>> newList = new ArrayList<>();
-                if (index < newTable.size()) {
-                    newList = newTable.get(index);
-                }
-                // 添加元素到列表
-                // 元素不存在重复，所以不需要考虑更新
-                newList.add(entry);
-                newTable.set(index, newList);
+        for (HashEntry<K, V> first : this.table) {
+            transferBucket(first, newTable);
+        }
+
+        // 新的桶过长时，转换为树
+        for (int i = 0; i < newCapacity; i++) {
+            if (chainLength(newTable[i]) >= TREEIFY_THRESHOLD) {
+                newTable[i] = treeify(newTable[i]);
             }
         }
 
@@ -261,6 +453,169 @@ public class MyHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
         }
     }
 
+    /**
+     * 开始渐进式缩容
+     * <p>
+     * 只创建新的 table，并迁移一部分桶，之后的新增、删除继续迁移。
+     *
+     * @since 0.0.6
+     */
+    private void startShrink() {
+        this.shrinkTable = newTable(this.capacity / 2);
+        this.shrinkIndex = 0;
+        shrinkStep();
+    }
+
+    /**
+     * 执行一次渐进式缩容
+     * （1）新桶 i 合并旧 table 的桶 i 和 i + capacity/2，合并之后过长时转换为树
+     * （2）旧 table 中对应的桶置为 null，shrinkIndex 后移
+     * （3）全部迁移完成时，使用新的 table
+     *
+     * @since 0.0.6
+     */
+    private void shrinkStep() {
+        final int half = shrinkTable.length;
+        for (int i = 0; i < SHRINK_BUCKETS_PER_OP && shrinkIndex < half; i++) {
+            transferBucket(table[shrinkIndex], shrinkTable);
+            transferBucket(table[shrinkIndex + half], shrinkTable);
+            table[shrinkIndex] = null;
+            table[shrinkIndex + half] = null;
+
+            if (chainLength(shrinkTable[shrinkIndex]) >= TREEIFY_THRESHOLD) {
+                shrinkTable[shrinkIndex] = treeify(shrinkTable[shrinkIndex]);
+            }
+            shrinkIndex++;
+        }
+
+        if (shrinkIndex == half) {
+            this.table = shrinkTable;
+            this.capacity = half;
+            this.shrinkTable = null;
+            this.shrinkIndex = 0;
+
+            if (debugMode) {
+                log.debug("缩容完成，容量为：{}", half);
+            }
+        }
+    }
+
+    /**
+     * 直接完成剩余的缩容
+     *
+     * @since 0.0.6
+     */
+    private void finishShrink() {
+        while (shrinkTable != null) {
+            shrinkStep();
+        }
+    }
+
+    /**
+     * 桶中的所有元素放入新的 table
+     *
+     * @param first    桶的第一个元素
+     * @param newTable 新的 table
+     * @since 0.0.6
+     */
+    private void transferBucket(final HashEntry<K, V> first, final HashEntry<K, V>[] newTable) {
+        if (first instanceof TreeBin) {
+            for (Entry<K, V> entry : ((TreeBin<K, V>) first).bucket) {
+                transfer((HashEntry<K, V>) entry, newTable);
+            }
+            return;
+        }
+
+        HashEntry<K, V> entry = first;
+        while (entry != null) {
+            HashEntry<K, V> next = entry.next;
+            transfer(entry, newTable);
+            entry = next;
+        }
+    }
+
+    /**
+     * 将元素放在新 table 对应链表的头部
+     * <p>
+     * 元素不存在重复，所以不需要考虑更新
+     *
+     * @param entry    元素
+     * @param newTable 新的 table
+     * @since 0.0.6
+     */
+    private void transfer(final HashEntry<K, V> entry, final HashEntry<K, V>[] newTable) {
+        int index = HashUtil.indexFor(entry.hash, newTable.length);
+        entry.next = newTable[index];
+        newTable[index] = entry;
+    }
+
+    /**
+     * 链表转换为树
+     *
+     * @param first 链表的第一个元素
+     * @return 树化的桶
+     * @since 0.0.6
+     */
+    private TreeBin<K, V> treeify(final HashEntry<K, V> first) {
+        TreeBucket<K, V> bucket = new TreeBucket<>();
+        HashEntry<K, V> entry = first;
+        while (entry != null) {
+            HashEntry<K, V> next = entry.next;
+            entry.next = null;
+            bucket.add(entry, entry.hash);
+            entry = next;
+        }
+        return new TreeBin<>(bucket);
+    }
+
+    /**
+     * 树转换为链表
+     *
+     * @param bin 树化的桶
+     * @return 链表的第一个元素
+     * @since 0.0.6
+     */
+    private HashEntry<K, V> untreeify(final TreeBin<K, V> bin) {
+        HashEntry<K, V> first = null;
+        for (Entry<K, V> entry : bin.bucket) {
+            HashEntry<K, V> hashEntry = (HashEntry<K, V>) entry;
+            hashEntry.next = first;
+            first = hashEntry;
+        }
+        return first;
+    }
+
+    /**
+     * 桶中元素的个数
+     *
+     * @param first 桶的第一个元素
+     * @return 个数
+     * @since 0.0.6
+     */
+    private static int chainLength(final HashEntry<?, ?> first) {
+        if (first instanceof TreeBin) {
+            return ((TreeBin<?, ?>) first).bucket.size();
+        }
+
+        int length = 0;
+        for (HashEntry<?, ?> entry = first; entry != null; entry = entry.next) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * 创建 table
+     *
+     * @param capacity 容量
+     * @return 结果
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    private HashEntry<K, V>[] newTable(final int capacity) {
+        return (HashEntry<K, V>[]) new HashEntry[capacity];
+    }
+
     /**
      * 是否需要扩容
      *
@@ -278,6 +633,8 @@ public class MyHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
      * 删除一个元素
      * （1）元素不存在，直接返回 null
      * （2）元素存在，移除元素，判断是否需要缩容
+     * <p>
+     * 缩容是渐进式的，每次删除最多迁移 {@link #SHRINK_BUCKETS_PER_OP} 个桶，不会阻塞 O(n)。
      *
      * @param key 元素信息
      * @return 结果
@@ -286,47 +643,104 @@ public class MyHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
     @Override
     public V remove(Object key) {
         // 计算 index 值
-        int hash = HashUtil.hash(key);
-        int index = HashUtil.indexFor(hash, this.capacity);
-
-        // 遍历
-        List<Entry<K, V>> entryList = this.table.get(index);
-        Iterator<Entry<K, V>> iterator = entryList.iterator();
+        int hash = hashStrategy.hash(key);
+        HashEntry<K, V>[] tab = tableOf(hash);
+        int index = HashUtil.indexFor(hash, tab.length);
 
-        while (iterator.hasNext()) {
-            Entry<K, V> entry = iterator.next();
+        // 树化的桶
+        HashEntry<K, V> first = tab[index];
+        if (first instanceof TreeBin) {
+            return removeFromTree((TreeBin<K, V>) first, tab, index, key, hash);
+        }
 
-            // 二者的 key 都为 null，或者二者的 key equals()
-            final K entryKey = entry.getKey();
-            if (ObjectUtil.isNull(key, entryKey)
-                    || key.equals(entryKey)) {
+        // 遍历，记录前一个元素
+        HashEntry<K, V> previous = null;
+        for (HashEntry<K, V> entry = first; entry != null; entry = entry.next) {
+            if (entry.hash == hash && isKeyEquals(key, entry.key)) {
                 // 移除元素
-                iterator.remove();
-                size--;
+                if (previous == null) {
+                    tab[index] = entry.next;
+                } else {
+                    previous.next = entry.next;
+                }
+                entry.next = null;
+                return afterRemove(entry);
+            }
+            previous = entry;
+        }
 
-                if (isNeedReduce()) {
-                    this.capacity = this.capacity / 2;
-                    rehash(this.capacity);
+        return null;
+    }
 
-                    if(debugMode) {
-                        log.debug("缩容完成");
-                    }
-                }
+    /**
+     * 从树化的桶中删除元素
+     * <p>
+     * 删除之后元素个数不超过 {@link #UNTREEIFY_THRESHOLD}，则转换为链表。
+     *
+     * @param bin   树化的桶
+     * @param tab   桶所在的 table
+     * @param index 下标
+     * @param key   key
+     * @param hash  hash 值
+     * @return 被删除的值
+     * @since 0.0.6
+     */
+    private V removeFromTree(final TreeBin<K, V> bin,
+                             final HashEntry<K, V>[] tab,
+                             final int index,
+                             final Object key,
+                             final int hash) {
+        Entry<K, V> entry = bin.bucket.removeKey(key, hash);
+        if (entry == null) {
+            return null;
+        }
 
-                if (debugMode) {
-                    log.debug("删除后的 table 信息");
-                    printTable();
-                }
+        if (bin.bucket.size() <= UNTREEIFY_THRESHOLD) {
+            tab[index] = untreeify(bin);
+
+            if (debugMode) {
+                log.debug("tableIndex: {} 元素个数降低到 {}，转换为链表", index, UNTREEIFY_THRESHOLD);
             }
         }
+        return afterRemove(entry);
+    }
 
-        return null;
+    /**
+     * 删除元素之后的处理
+     * （1）更新 size
+     * （2）没有元素时，直接恢复为初始化的容量
+     * （3）缩容中时继续迁移，否则判断是否需要开始缩容
+     *
+     * @param entry 被删除的元素
+     * @return 被删除的值
+     * @since 0.0.6
+     */
+    private V afterRemove(final Entry<K, V> entry) {
+        size--;
+
+        if (size == 0 && (capacity > minCapacity || shrinkTable != null)) {
+            clear();
+        } else if (shrinkTable != null) {
+            shrinkStep();
+        } else if (isNeedReduce()) {
+            if (debugMode) {
+                log.debug("元素比例过低，开始渐进式缩容");
+            }
+            startShrink();
+        }
+
+        if (debugMode) {
+            log.debug("删除后的 table 信息");
+            printTable();
+        }
+        return entry.getValue();
     }
 
     /**
      * 是否需要缩容
-     * （1）元素比例为一半
-     * （2）当前容量大于2
+     * （1）元素比例小于等于 reduceFactor
+     * （2）当前容量大于初始化的容量
+     * （3）不处于缩容中
      *
      * @return 是否
      * @since 0.0.4
@@ -334,12 +748,107 @@ public class MyHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
     private boolean isNeedReduce() {
         // 验证比例
         double rate = size * 1.0 / capacity * 1.0;
-        return rate <= reduceFactor && (this.capacity > MIN_CAPACITY);
+        return rate <= reduceFactor && (this.capacity > minCapacity) && shrinkTable == null;
     }
 
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 清空
+     * <p>
+     * 容量恢复为初始化的容量
+     *
+     * @since 0.0.6
+     */
+    @Override
+    public void clear() {
+        this.capacity = minCapacity;
+        this.table = newTable(this.capacity);
+        this.shrinkTable = null;
+        this.shrinkIndex = 0;
+        this.size = 0;
+    }
+
+    /**
+     * 所有的元素
+     * <p>
+     * 遍历时不支持删除
+     *
+     * @return 结果
+     * @since 0.0.6
+     */
     @Override
     public Set<Entry<K, V>> entrySet() {
-        return null;
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * hash 分布的统计信息
+     * <p>
+     * 处于缩容中时，统计 table 和 shrinkTable 两部分。
+     *
+     * @return 统计信息
+     * @since 0.0.6
+     */
+    public HashStat hashStat() {
+        HashStat hashStat = new HashStat();
+        for (HashEntry<K, V> first : this.table) {
+            hashStat.bucket(chainLength(first));
+        }
+        if (shrinkTable != null) {
+            for (HashEntry<K, V> first : this.shrinkTable) {
+                hashStat.bucket(chainLength(first));
+            }
+        }
+        return hashStat;
+    }
+
+    /**
+     * 估算 table 占用的内存
+     * <p>
+     * 包含 table、缩容中的 shrinkTable、树化的桶以及 entry 对象，不包含 key/value 本身。
+     *
+     * @return 字节数
+     * @since 0.0.6
+     */
+    public long memoryBytes() {
+        long bytes = tableBytes(this.table) + tableBytes(this.shrinkTable);
+        return bytes + size * MemoryUtil.objectSize(3L * MemoryUtil.REFERENCE + 4);
+    }
+
+    /**
+     * table 数组以及树化的桶占用的内存
+     *
+     * @param tab table
+     * @return 字节数
+     * @since 0.0.6
+     */
+    private long tableBytes(final HashEntry<K, V>[] tab) {
+        if (tab == null) {
+            return 0;
+        }
+
+        long bytes = MemoryUtil.arraySize(tab.length, MemoryUtil.REFERENCE);
+        for (HashEntry<K, V> first : tab) {
+            if (first instanceof TreeBin) {
+                bytes += MemoryUtil.objectSize(4L * MemoryUtil.REFERENCE + 4)
+                        + ((TreeBin<K, V>) first).bucket.memoryBytes();
+            }
+        }
+        return bytes;
     }
 
 
@@ -349,16 +858,203 @@ public class MyHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
      * @since 0.0.3
      */
     private void printTable() {
-        for (List<Entry<K, V>> list : this.table) {
-            if(CollectionUtil.isEmpty(list)) {
+        printTable(this.table);
+        if (shrinkTable != null) {
+            System.out.println("缩容中的新 table 信息: ");
+            printTable(this.shrinkTable);
+        }
+    }
+
+    /**
+     * 打印 table 信息
+     *
+     * @param tab table
+     * @since 0.0.6
+     */
+    private void printTable(final HashEntry<K, V>[] tab) {
+        for (HashEntry<K, V> first : tab) {
+            if (first == null) {
                 continue;
             }
 
-            for (Entry<K, V> entry : list) {
-                System.out.print(entry + " ");
+            if (first instanceof TreeBin) {
+                for (Entry<K, V> entry : ((TreeBin<K, V>) first).bucket) {
+                    System.out.print(entry + " ");
+                }
+            } else {
+                for (HashEntry<K, V> entry = first; entry != null; entry = entry.next) {
+                    System.out.print(entry + " ");
+                }
             }
             System.out.println();
         }
     }
 
+    /**
+     * 元素
+     * <p>
+     * 缓存 hash 值，并且直接作为链表的节点，不需要额外的桶对象。
+     *
+     * @param <K> key 泛型
+     * @param <V> value 泛型
+     * @since 0.0.6
+     */
+    private static class HashEntry<K, V> implements Entry<K, V> {
+
+        private final int hash;
+
+        private final K key;
+
+        private V value;
+
+        private HashEntry<K, V> next;
+
+        private HashEntry(int hash, K key, V value, HashEntry<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = this.value;
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public String toString() {
+            return "{" + key +
+                    ": " + value +
+                    '}';
+        }
+    }
+
+    /**
+     * 树化的桶在 table 中的占位元素
+     * <p>
+     * 本身不是一个真正的元素，只是持有对应的 {@link TreeBucket}。
+     *
+     * @param <K> key 泛型
+     * @param <V> value 泛型
+     * @since 0.0.6
+     */
+    private static final class TreeBin<K, V> extends HashEntry<K, V> {
+
+        private final TreeBucket<K, V> bucket;
+
+        private TreeBin(TreeBucket<K, V> bucket) {
+            super(0, null, null, null);
+            this.bucket = bucket;
+        }
+    }
+
+    /**
+     * 遍历所有的元素
+     * <p>
+     * 树化的桶直接遍历对应的红黑树，不会复制。
+     * 缩容中时先遍历 table，再遍历 shrinkTable，已经迁移的桶在 table 中为 null，不会重复。
+     *
+     * @since 0.0.6
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+
+        /**
+         * 当前遍历的 table
+         */
+        private HashEntry<K, V>[] current = table;
+
+        /**
+         * 缩容中，之后需要遍历的 shrinkTable
+         */
+        private HashEntry<K, V>[] pending = shrinkTable;
+
+        /**
+         * 下一个桶的下标
+         */
+        private int index;
+
+        /**
+         * 当前链表中的下一个元素
+         */
+        private HashEntry<K, V> nextEntry;
+
+        /**
+         * 当前树中的迭代器
+         */
+        private Iterator<Entry<K, V>> treeIterator;
+
+        private EntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != null
+                    || (treeIterator != null && treeIterator.hasNext());
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Entry<K, V> result;
+            if (nextEntry != null) {
+                result = nextEntry;
+                nextEntry = nextEntry.next;
+            } else {
+                result = treeIterator.next();
+            }
+            if (nextEntry == null && (treeIterator == null || !treeIterator.hasNext())) {
+                advance();
+            }
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * 移动到下一个非空的桶
+         */
+        private void advance() {
+            treeIterator = null;
+            while (true) {
+                if (index == current.length) {
+                    if (pending == null) {
+                        return;
+                    }
+                    current = pending;
+                    pending = null;
+                    index = 0;
+                }
+
+                HashEntry<K, V> first = current[index++];
+                if (first instanceof TreeBin) {
+                    treeIterator = ((TreeBin<K, V>) first).bucket.iterator();
+                    return;
+                }
+                if (first != null) {
+                    nextEntry = first;
+                    return;
+                }
+            }
+        }
+    }
+
 }
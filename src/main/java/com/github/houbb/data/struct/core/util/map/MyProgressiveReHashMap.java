@@ -1,17 +1,32 @@
 package com.github.houbb.data.struct.core.util.map;
 
+import com.github.houbb.data.struct.core.util.map.hash.HashStat;
+import com.github.houbb.data.struct.core.util.map.hash.HashStrategies;
+import com.github.houbb.data.struct.core.util.map.hash.IHashStrategy;
+import com.github.houbb.data.struct.core.util.map.rehash.ReHashDaemon;
+import com.github.houbb.data.struct.core.util.map.rehash.ReHashPolicy;
+import com.github.houbb.data.struct.core.util.map.rehash.ReHashStat;
 import com.github.houbb.data.struct.util.HashUtil;
+import com.github.houbb.data.struct.util.MemoryUtil;
 import com.github.houbb.heaven.support.tuple.impl.Pair;
 import com.github.houbb.heaven.util.lang.ObjectUtil;
 import com.github.houbb.heaven.util.util.CollectionUtil;
 import com.github.houbb.log.integration.core.Log;
 import com.github.houbb.log.integration.core.LogFactory;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 自己实现的渐进式 rehash map
  *
+ * 每次读写操作时迁移的桶个数、时间预算，都可以通过 {@link ReHashPolicy} 指定。
+ * 开启后台迁移时，所有的操作都会在 map 自身的监视器上同步，后台线程在空闲时完成剩余的迁移。
+ *
+ * 删除元素之后，如果比例过低，同样使用渐进式 rehash 进行缩容，不会阻塞单次删除。
+ *
  * @since 0.0.3
  * @param <K> key 泛型
  * @param <V> value 泛型
@@ -26,6 +41,7 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
      * rehash 的下标
      *
      * 如果 rehashIndex != -1，说明正在进行 rehash
+     * 此时 table 中 [0, rehashIndex) 的桶已经迁移完成
      * @since 0.0.3
      */
     private int rehashIndex = -1;
@@ -56,6 +72,15 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
      */
     private final double factor = 1.0;
 
+    /**
+     * 缩容
+     *
+     * 当 size/capacity 小于等于这个比例时，渐进式缩容为一半。
+     * 缩容之后的比例为 0.5，和扩容的阈值之间留有距离，避免反复的扩容、缩容。
+     * @since 0.0.6
+     */
+    private final double reduceFactor = 0.25;
+
     /**
      * 用来存放信息的 table 数组。
      * 数组：数组的下标是一个桶，桶对应的元素 hash 值相同。
@@ -79,6 +104,68 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
      */
     private boolean debugMode = false;
 
+    /**
+     * hash 策略
+     * @since 0.0.6
+     */
+    private final IHashStrategy hashStrategy;
+
+    /**
+     * 最小容量
+     * @since 0.0.6
+     */
+    private static final int MIN_CAPACITY = 2;
+
+    /**
+     * 缩容的下限，即初始化时的容量
+     * @since 0.0.6
+     */
+    private final int minCapacity;
+
+    /**
+     * rehash 策略
+     * @since 0.0.6
+     */
+    private final ReHashPolicy reHashPolicy;
+
+    /**
+     * 是否开启后台迁移
+     *
+     * 开启时所有的操作都需要同步
+     * @since 0.0.6
+     */
+    private final boolean background;
+
+    /**
+     * 后台迁移的任务
+     * @since 0.0.6
+     */
+    private ScheduledFuture<?> backgroundFuture;
+
+    /**
+     * 累计开启 rehash 的次数
+     * @since 0.0.6
+     */
+    private long rehashCount;
+
+    /**
+     * 累计迁移的桶个数
+     * @since 0.0.6
+     */
+    private long totalMigratedBuckets;
+
+    /**
+     * 累计迁移耗时
+     * @since 0.0.6
+     */
+    private long totalMigrateNanos;
+
+    /**
+     * 后台线程累计迁移的桶个数
+     * @since 0.0.6
+     */
+    private long backgroundMigratedBuckets;
+
     public MyProgressiveReHashMap() {
         this(8);
     }
@@ -98,11 +185,37 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
      * @since 0.0.3
      */
     public MyProgressiveReHashMap(int capacity, boolean debugMode) {
-        this.capacity = capacity;
+        this(capacity, debugMode, HashStrategies.defaults());
+    }
+
+    /**
+     * 初始化 hash map
+     * @param capacity 初始化容量，会调整为 2 的幂
+     * @param debugMode 是否开启 debug 模式
+     * @param hashStrategy hash 策略
+     * @since 0.0.6
+     */
+    public MyProgressiveReHashMap(int capacity, boolean debugMode, IHashStrategy hashStrategy) {
+        this(capacity, debugMode, hashStrategy, ReHashPolicy.newInstance());
+    }
+
+    /**
+     * 初始化 hash map
+     * @param capacity 初始化容量，会调整为 2 的幂
+     * @param debugMode 是否开启 debug 模式
+     * @param hashStrategy hash 策略
+     * @param reHashPolicy rehash 策略
+     * @since 0.0.6
+     */
+    public MyProgressiveReHashMap(int capacity, boolean debugMode, IHashStrategy hashStrategy,
+                                  ReHashPolicy reHashPolicy) {
+        this.capacity = HashUtil.tableSizeFor(Math.max(capacity, MIN_CAPACITY));
+        this.minCapacity = this.capacity;
+        this.hashStrategy = hashStrategy;
         // 初始化最大为容量的个数，如果 hash 的非常完美的话。
-        this.table = new ArrayList<>(capacity);
+        this.table = new ArrayList<>(this.capacity);
         // 初始化为空列表
-        for(int i = 0; i < capacity; i++) {
+        for(int i = 0; i < this.capacity; i++) {
             this.table.add(i, new ArrayList<Entry<K, V>>());
         }
 
@@ -110,11 +223,19 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
         this.rehashIndex = -1;
         this.rehashCapacity = -1;
         this.rehashTable = null;
+
+        this.reHashPolicy = reHashPolicy;
+        this.background = reHashPolicy.isBackground();
+        if(background) {
+            BackgroundReHashTask task = new BackgroundReHashTask(this);
+            this.backgroundFuture = ReHashDaemon.schedule(task, reHashPolicy.backgroundIntervalMillis());
+            task.future = this.backgroundFuture;
+        }
     }
 
     /**
      * 查询方法
-     * （1）如果处于渐进式 rehash 状态，额外执行一次 rehashToNew()
+     * （1）如果处于渐进式 rehash 状态，额外执行一次 rehashStep()
      * （2）判断 table 中是否存在元素
      * （3）判断 rehashTable 中是否存在元素
      * @param key key
@@ -122,22 +243,37 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
      */
     @Override
     public V get(Object key) {
+        if(background) {
+            synchronized (this) {
+                return doGet(key);
+            }
+        }
+        return doGet(key);
+    }
+
+    /**
+     * 执行查询
+     * @param key key
+     * @return 结果
+     * @since 0.0.6
+     */
+    private V doGet(Object key) {
         if(isInReHash()) {
             if(debugMode) {
                 log.debug("当前处于渐进式 rehash 状态，额外执行一次操作");
-                rehashToNew();
             }
+            rehashStep();
         }
 
         //1. 判断 table 中是否存在
-        V result = getValue(key, this.table);
+        V result = getValue(key, this.table, this.capacity);
         if(result != null) {
             return result;
         }
 
         //2. 是否处于渐进式 rehash
         if(isInReHash()) {
-            return getValue(key, this.rehashTable);
+            return getValue(key, this.rehashTable, this.rehashCapacity);
         }
 
         return null;
@@ -145,24 +281,27 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
 
     /**
      * 获取值信息
+     *
+     * 只需要遍历 key 对应的桶即可
      * @param key key
      * @param table 标信息
+     * @param tableCapacity table 的容量
      * @return 结果
      * @since 0.0.3
      */
     private V getValue(final Object key,
-                       final List<List<Entry<K, V>>> table) {
+                       final List<List<Entry<K, V>>> table,
+                       final int tableCapacity) {
         if(ObjectUtil.isNull(table)) {
             return null;
         }
 
-        for(List<Entry<K, V>> list : table) {
-            for(Entry<K, V> entry : list) {
-                K entryKey = entry.getKey();
-                if(ObjectUtil.isNull(key, entryKey)
-                        || key.equals(entryKey)) {
-                    return entry.getValue();
-                }
+        int index = HashUtil.indexFor(hashStrategy.hash(key), tableCapacity);
+        for(Entry<K, V> entry : table.get(index)) {
+            K entryKey = entry.getKey();
+            if(ObjectUtil.isNull(key, entryKey)
+                    || key.equals(entryKey)) {
+                return entry.getValue();
             }
         }
 
@@ -197,6 +336,22 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
      */
     @Override
     public V put(K key, V value) {
+        if(background) {
+            synchronized (this) {
+                return doPut(key, value);
+            }
+        }
+        return doPut(key, value);
+    }
+
+    /**
+     * 执行 put
+     * @param key 键
+     * @param value 值
+     * @return 值
+     * @since 0.0.6
+     */
+    private V doPut(K key, V value) {
         boolean isInRehash = isInReHash();
         if(!isInRehash) {
             //1. 是否为更新
@@ -218,7 +373,7 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
             if(debugMode) {
                 log.debug("当前处于渐进式 rehash 阶段，额外执行一次渐进式 rehash 的动作");
             }
-            rehashToNew();
+            rehashStep();
 
             //2.1 是否为 table 更新
             Pair<Boolean, V> pair = updateTableInfo(key, value, this.table, this.capacity);
@@ -233,6 +388,10 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
             }
 
             //2.2 是否为 rehashTable 更新
+            // 上面的渐进式 rehash 可能刚好完成，此时元素已经全部在 table 中
+            if(!isInReHash()) {
+                return this.createNewEntry(key, value);
+            }
             Pair<Boolean, V> pair2 = updateTableInfo(key, value, this.rehashTable, this.rehashCapacity);
             if(pair2.getValueOne()) {
                 V oldVal = pair2.getValueTwo();
@@ -261,7 +420,7 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
     private Pair<Boolean, V> updateTableInfo(K key, V value, final List<List<Entry<K,V>>> table,
                                  final int tableCapacity) {
         // 计算 index 值
-        int hash = HashUtil.hash(key);
+        int hash = hashStrategy.hash(key);
         int index = HashUtil.indexFor(hash, tableCapacity);
 
         // 判断是否为替换
@@ -289,12 +448,11 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
     /**
      * 创建一个新的明细
      *
-     * （1）如果处于渐进式 rehash 中，则设置到 rehashTable 中
-     * （2）如果不是，则判断是否需要扩容
+     * （1）如果不处于渐进式 rehash 中，判断是否需要扩容
+     * （2）如果处于渐进式 rehash 中，则设置到 rehashTable 中
+     * （3）如果不是，则放入 table 中
      *
-     * 2.1 如果扩容，则直接放到 rehashTable 中。
-     * 因为我们每次扩容内存翻倍，一次只处理一个 index 的信息，所以不会直接 rehash 结束，直接放到新的 rehashTable 中即可
-     * 2.2 如果不扩容，则放入 table 中
+     * 扩容时会按照策略迁移一部分桶，如果策略允许一次迁移的桶较多，rehash 可能直接结束，所以需要重新判断。
      *
      * @param key key
      * @param value value
@@ -305,26 +463,15 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
         Entry<K,V> entry = new DefaultMapEntry<>(key, value);
 
         // 重新计算 tableIndex
-        int hash = HashUtil.hash(key);
-
-        //是否处于 rehash 中？
-        if(isInReHash()) {
-            int index = HashUtil.indexFor(hash, this.rehashCapacity);
-            List<Entry<K,V>> list = this.rehashTable.get(index);
-            list.add(entry);
-
-            if(debugMode) {
-                log.debug("目前处于 rehash 中，元素直接插入到 rehashTable 中。");
-                printTable(this.rehashTable);
-            }
-        }
+        int hash = hashStrategy.hash(key);
 
         // 是否需要扩容 && 不处于渐进式 rehash
-        // rehash 一定是扩容 rehashTable
-        // 如果发生了 rehash，元素是直接放到 rehashTable 中的
         if(isNeedExpand()) {
-            rehash();
+            rehash(2*capacity);
+        }
 
+        //是否处于 rehash 中？
+        if(isInReHash()) {
             // 放入到 rehashTable 中
             int index = HashUtil.indexFor(hash, this.rehashCapacity);
             List<Entry<K,V>> list = this.rehashTable.get(index);
@@ -364,12 +511,14 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
      *
      * （1）如果处于 rehash 中，直接返回
      * （2）初始化 rehashTable，并且更新 rehashIndex=0;
-     * （3）获取 table[0]，rehash 到 rehashTable 中
-     * （4）设置 table[0] = new ArrayList();
+     * （3）按照策略迁移一部分桶，其他的进行渐进式更新。
      *
+     * 扩容和缩容的流程完全一致，只是新的容量不同。
+     *
+     * @param newCapacity 新的容量
      * @since 0.0.3
      */
-    private void rehash() {
+    private void rehash(final int newCapacity) {
         if(isInReHash()) {
             if(debugMode) {
                 log.debug("当前处于渐进式 rehash 阶段，不重复进行 rehash!");
@@ -378,47 +527,92 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
         }
 
         // 初始化 rehashTable
-        this.rehashIndex = -1;
-        this.rehashCapacity = 2*capacity;
+        this.rehashIndex = 0;
+        this.rehashCapacity = newCapacity;
         this.rehashTable = new ArrayList<>(this.rehashCapacity);
         for(int i = 0; i < rehashCapacity; i++) {
             rehashTable.add(i, new ArrayList<Entry<K, V>>());
         }
+        this.rehashCount++;
+
+        rehashStep();
+    }
 
-        // 遍历元素第一个元素，其他的进行渐进式更新。
-        rehashToNew();
+    /**
+     * 按照策略执行一次渐进式迁移
+     * @since 0.0.6
+     */
+    private void rehashStep() {
+        long budgetNanos = TimeUnit.MICROSECONDS.toNanos(reHashPolicy.timeBudgetMicros());
+        rehashStep(reHashPolicy.bucketsPerOp(), budgetNanos);
+    }
+
+    /**
+     * 执行渐进式迁移
+     *
+     * （1）最多迁移 buckets 个非空桶，空桶最多访问 buckets*10 个
+     * （2）超过时间预算时停止，但是至少迁移一个桶，保证 rehash 一定会结束
+     *
+     * @param buckets 非空桶的个数
+     * @param budgetNanos 时间预算，小于等于 0 不限制
+     * @return 访问的桶个数
+     * @since 0.0.6
+     */
+    private int rehashStep(final int buckets, final long budgetNanos) {
+        final long startNanos = System.nanoTime();
+        long emptyVisits = buckets * 10L;
+        int remainBuckets = buckets;
+        int visited = 0;
+
+        while (remainBuckets > 0 && isInReHash()) {
+            boolean empty = rehashToNew();
+            visited++;
+
+            if(empty) {
+                if(--emptyVisits <= 0) {
+                    break;
+                }
+            } else {
+                remainBuckets--;
+            }
+
+            if(budgetNanos > 0 && System.nanoTime() - startNanos >= budgetNanos) {
+                break;
+            }
+        }
+
+        this.totalMigratedBuckets += visited;
+        this.totalMigrateNanos += System.nanoTime() - startNanos;
+        return visited;
     }
 
     /**
      * 将信息从旧的 table 迁移到新的 table 中
      *
      * （1）table[rehashIndex] 重新 rehash 到 rehashTable 中
-     * （2）设置 table[rehashIndex] = new ArrayList();
+     * （2）清空 table[rehashIndex]，rehashIndex 后移
      * （3）判断是否完成渐进式 rehash
+     *
+     * @return 迁移的桶是否为空
      */
-    private void rehashToNew() {
-        rehashIndex++;
-
+    private boolean rehashToNew() {
         List<Entry<K, V>> list = table.get(rehashIndex);
+        final boolean empty = list.isEmpty();
         for(Entry<K, V> entry : list) {
-            int hash = HashUtil.hash(entry);
+            int hash = hashStrategy.hash(entry.getKey());
             int index = HashUtil.indexFor(hash, rehashCapacity);
 
-            //  添加元素
-            // 获取列表，避免数组越界
-            List<Entry<K,V>> newList = rehashTable.get(index);
-
             // 添加元素到列表
             // 元素不存在重复，所以不需要考虑更新
-            newList.add(entry);
-            rehashTable.set(index, newList);
+            rehashTable.get(index).add(entry);
         }
         // 清空 index 处的信息
-        table.set(rehashIndex, new ArrayList<Entry<K, V>>());
+        list.clear();
+        rehashIndex++;
 
         // 判断大小是否完成 rehash
         // 验证是否已经完成
-        if(rehashIndex == (table.size()-1)) {
+        if(rehashIndex == table.size()) {
             this.capacity = this.rehashCapacity;
             this.table = this.rehashTable;
 
@@ -432,10 +626,122 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
             }
         } else {
             if(debugMode) {
-                log.debug("渐进式 rehash 处理中, 目前 index：{} 已完成", rehashIndex);
+                log.debug("渐进式 rehash 处理中, 目前 index：{} 已完成", rehashIndex-1);
                 printAllTable();
             }
         }
+        return empty;
+    }
+
+    /**
+     * 在指定的时间内执行迁移
+     *
+     * 类似 redis 的 dictRehashMilliseconds，适合在空闲时主动调用。
+     * @param micros 时间（微秒）
+     * @return 是否依然处于 rehash 中
+     * @since 0.0.6
+     */
+    public boolean rehashMicros(final long micros) {
+        if(background) {
+            synchronized (this) {
+                return doRehashMicros(micros);
+            }
+        }
+        return doRehashMicros(micros);
+    }
+
+    /**
+     * 执行指定时间的迁移
+     * @param micros 时间（微秒）
+     * @return 是否依然处于 rehash 中
+     * @since 0.0.6
+     */
+    private boolean doRehashMicros(final long micros) {
+        if(isInReHash()) {
+            rehashStep(Integer.MAX_VALUE, TimeUnit.MICROSECONDS.toNanos(Math.max(micros, 1)));
+        }
+        return isInReHash();
+    }
+
+    /**
+     * 后台迁移
+     * @since 0.0.6
+     */
+    private synchronized void backgroundReHash() {
+        if(!isInReHash()) {
+            return;
+        }
+
+        long budgetNanos = TimeUnit.MICROSECONDS.toNanos(reHashPolicy.backgroundBudgetMicros());
+        this.backgroundMigratedBuckets += rehashStep(Integer.MAX_VALUE, budgetNanos);
+    }
+
+    /**
+     * 关闭后台迁移
+     *
+     * map 被回收时，后台任务也会自动取消。
+     * @since 0.0.6
+     */
+    public void shutdownBackground() {
+        if(backgroundFuture != null) {
+            backgroundFuture.cancel(false);
+        }
+    }
+
+    /**
+     * rehash 的进度统计
+     * @return 统计信息
+     * @since 0.0.6
+     */
+    public ReHashStat rehashStat() {
+        if(background) {
+            synchronized (this) {
+                return buildReHashStat();
+            }
+        }
+        return buildReHashStat();
+    }
+
+    private ReHashStat buildReHashStat() {
+        return ReHashStat.newInstance()
+                .inReHash(isInReHash())
+                .migratedBuckets(isInReHash() ? rehashIndex : 0)
+                .capacity(capacity)
+                .rehashCapacity(rehashCapacity)
+                .rehashCount(rehashCount)
+                .totalMigratedBuckets(totalMigratedBuckets)
+                .totalMigrateNanos(totalMigrateNanos)
+                .backgroundMigratedBuckets(backgroundMigratedBuckets);
+    }
+
+    /**
+     * 后台迁移任务
+     *
+     * 只持有 map 的弱引用，map 被回收后自动取消。
+     * @since 0.0.6
+     */
+    private static class BackgroundReHashTask implements Runnable {
+
+        private final WeakReference<MyProgressiveReHashMap<?, ?>> mapRef;
+
+        private volatile ScheduledFuture<?> future;
+
+        private BackgroundReHashTask(MyProgressiveReHashMap<?, ?> map) {
+            this.mapRef = new WeakReference<MyProgressiveReHashMap<?, ?>>(map);
+        }
+
+        @Override
+        public void run() {
+            MyProgressiveReHashMap<?, ?> map = mapRef.get();
+            if(map == null) {
+                if(future != null) {
+                    future.cancel(false);
+                }
+                return;
+            }
+
+            map.backgroundReHash();
+        }
     }
 
     /**
@@ -451,6 +757,98 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
         return rate >= factor && !isInReHash();
     }
 
+    /**
+     * 是否需要缩容
+     *
+     * 比例满足，大于初始化的容量，且不处于渐进式 rehash 中
+     * @return 是否
+     * @since 0.0.6
+     */
+    private boolean isNeedReduce() {
+        double rate = size*1.0 / capacity*1.0;
+        return rate <= reduceFactor && capacity > minCapacity && !isInReHash();
+    }
+
+    /**
+     * 删除元素
+     *
+     * （1）如果处于渐进式 rehash 状态，额外执行一次 rehashStep()
+     * （2）依次从 table、rehashTable 中删除
+     * （3）判断是否需要缩容，缩容同样是渐进式的
+     *
+     * @param key key
+     * @return 被删除的值
+     * @since 0.0.6
+     */
+    @Override
+    public V remove(Object key) {
+        if(background) {
+            synchronized (this) {
+                return doRemove(key);
+            }
+        }
+        return doRemove(key);
+    }
+
+    /**
+     * 执行删除
+     * @param key key
+     * @return 被删除的值
+     * @since 0.0.6
+     */
+    private V doRemove(Object key) {
+        if(isInReHash()) {
+            rehashStep();
+        }
+
+        Pair<Boolean, V> pair = removeFromTable(key, this.table, this.capacity);
+        if(!pair.getValueOne() && isInReHash()) {
+            pair = removeFromTable(key, this.rehashTable, this.rehashCapacity);
+        }
+        if(!pair.getValueOne()) {
+            return null;
+        }
+
+        this.size--;
+        if(isNeedReduce()) {
+            if(debugMode) {
+                log.debug("元素比例过低，开始渐进式缩容");
+            }
+            rehash(capacity / 2);
+        }
+        return pair.getValueTwo();
+    }
+
+    /**
+     * 从 table 中删除元素
+     * @param key key
+     * @param table table 信息
+     * @param tableCapacity table 的容量
+     * @return 是否删除，以及被删除的值
+     * @since 0.0.6
+     */
+    private Pair<Boolean, V> removeFromTable(final Object key,
+                                             final List<List<Entry<K, V>>> table,
+                                             final int tableCapacity) {
+        int index = HashUtil.indexFor(hashStrategy.hash(key), tableCapacity);
+        Iterator<Entry<K, V>> iterator = table.get(index).iterator();
+        while (iterator.hasNext()) {
+            Entry<K, V> entry = iterator.next();
+            K entryKey = entry.getKey();
+            if(ObjectUtil.isNull(key, entryKey)
+                    || key.equals(entryKey)) {
+                iterator.remove();
+                return Pair.of(true, entry.getValue());
+            }
+        }
+        return Pair.of(false, null);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
     /**
      * 遍历构建
      *
@@ -463,6 +861,68 @@ public class MyProgressiveReHashMap<K,V> extends AbstractMap<K,V> implements Map
         return null;
     }
 
+    /**
+     * hash 分布的统计信息
+     *
+     * 处于渐进式 rehash 时，统计 table 和 rehashTable 两部分。
+     * @return 统计信息
+     * @since 0.0.6
+     */
+    public HashStat hashStat() {
+        if(background) {
+            synchronized (this) {
+                return buildHashStat();
+            }
+        }
+        return buildHashStat();
+    }
+
+    /**
+     * 估算 table 占用的内存
+     *
+     * 包含 table、rehashTable、每一个桶以及 entry 对象，不包含 key/value 本身。
+     * @return 字节数
+     * @since 0.0.6
+     */
+    public long memoryBytes() {
+        if(background) {
+            synchronized (this) {
+                return tableBytes();
+            }
+        }
+        return tableBytes();
+    }
+
+    private long tableBytes() {
+        long bytes = tableBytes(this.table) + tableBytes(this.rehashTable);
+        return bytes + size * MemoryUtil.objectSize(2L * MemoryUtil.REFERENCE);
+    }
+
+    private long tableBytes(final List<List<Entry<K, V>>> table) {
+        if(ObjectUtil.isNull(table)) {
+            return 0;
+        }
+
+        long bytes = MemoryUtil.arrayListSize(table.size());
+        for(List<Entry<K, V>> list : table) {
+            bytes += MemoryUtil.arrayListSize(list.size());
+        }
+        return bytes;
+    }
+
+    private HashStat buildHashStat() {
+        HashStat hashStat = new HashStat();
+        for(List<Entry<K, V>> list : this.table) {
+            hashStat.bucket(list.size());
+        }
+        if(isInReHash()) {
+            for(List<Entry<K, V>> list : this.rehashTable) {
+                hashStat.bucket(list.size());
+            }
+        }
+        return hashStat;
+    }
+
     /**
      * 打印 table 信息
      * @param table 信息
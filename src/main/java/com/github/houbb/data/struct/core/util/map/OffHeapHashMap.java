@@ -0,0 +1,825 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import com.github.houbb.data.struct.core.util.map.serializer.ISerializer;
+import com.github.houbb.data.struct.util.BufferUtil;
+import com.github.houbb.data.struct.util.HashUtil;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+
+/**
+ * 堆外的 hash map
+ * <p>
+ * 元素很多的时候，每一个 entry、key、value 都是一个堆上的对象，GC 需要扫描的对象非常多，停顿的时间也会很长。
+ * 这里把所有的数据都放在堆外，堆上只保留少量的对象。
+ * <p>
+ * （1）数据区
+ * key/value 序列化之后追加写入到固定大小的 slab 中，slab 可以是 direct buffer，也可以是内存映射的临时文件。
+ * 每一条记录的格式为：[key 长度][value 长度][key][value]。
+ * <p>
+ * （2）索引
+ * 开放寻址的 hash 表，同样放在 direct buffer 中。
+ * 每个槽位 12 个字节：[key 的 hash][记录的地址]，地址 = (slab 下标 + 1) 左移 32 位 | slab 中的偏移量。
+ * 地址为 0 表示空槽位，-1 表示已经删除。使用线性探测，hash 相同时再比较 key 序列化之后的字节。
+ * <p>
+ * （3）更新和删除
+ * value 长度不变时直接覆盖；否则写入新的记录，原来的记录成为垃圾。
+ * 需要新的 slab 时，如果垃圾超过一半，则先进行压缩：把存活的记录复制到新的 slab 中，释放原来的 slab。
+ * <p>
+ * key/value 不能为 null，并且序列化的结果必须是确定的。
+ * 使用完之后需要调用 {@link #close()} 立刻释放堆外内存，关闭之后不能再使用。
+ * 非线程安全。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see ISerializer
+ * @see MyHashMap
+ * @since 0.0.6
+ */
+public class OffHeapHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Closeable {
+
+    /**
+     * 默认的 slab 大小 64M
+     * @since 0.0.6
+     */
+    private static final int DEFAULT_SLAB_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * 索引的负载因子
+     * @since 0.0.6
+     */
+    private static final double FACTOR = 0.75;
+
+    /**
+     * 索引每个槽位的字节数
+     * @since 0.0.6
+     */
+    private static final int SLOT_BYTES = 12;
+
+    /**
+     * 索引的最大容量，保证索引的字节数不超过 int 的范围
+     * @since 0.0.6
+     */
+    private static final int MAX_CAPACITY = 1 << 27;
+
+    /**
+     * 记录头的字节数
+     * @since 0.0.6
+     */
+    private static final int RECORD_HEADER = 8;
+
+    /**
+     * 空槽位
+     * @since 0.0.6
+     */
+    private static final long EMPTY = 0;
+
+    /**
+     * 已删除的槽位
+     * @since 0.0.6
+     */
+    private static final long DELETED = -1;
+
+    /**
+     * key 序列化
+     * @since 0.0.6
+     */
+    private final ISerializer<K> keySerializer;
+
+    /**
+     * value 序列化
+     * @since 0.0.6
+     */
+    private final ISerializer<V> valueSerializer;
+
+    /**
+     * 每一个 slab 的大小
+     * @since 0.0.6
+     */
+    private final int slabSize;
+
+    /**
+     * 内存映射文件的目录，为 null 时使用 direct buffer
+     * @since 0.0.6
+     */
+    private final File mappedDirectory;
+
+    /**
+     * 所有的 slab
+     * @since 0.0.6
+     */
+    private List<ByteBuffer> slabs;
+
+    /**
+     * 内存映射的文件，和 slabs 一一对应
+     * @since 0.0.6
+     */
+    private List<File> slabFiles;
+
+    /**
+     * 最后一个 slab 的写入位置
+     * @since 0.0.6
+     */
+    private int writeOffset;
+
+    /**
+     * 垃圾的字节数
+     * @since 0.0.6
+     */
+    private long garbageBytes;
+
+    /**
+     * 索引
+     * @since 0.0.6
+     */
+    private ByteBuffer index;
+
+    /**
+     * 索引的容量
+     * @since 0.0.6
+     */
+    private int capacity;
+
+    /**
+     * 元素个数
+     * @since 0.0.6
+     */
+    private int size;
+
+    /**
+     * 删除的槽位个数
+     * @since 0.0.6
+     */
+    private int deleted;
+
+    /**
+     * key 序列化使用的缓冲区，避免每次创建
+     * @since 0.0.6
+     */
+    private ByteBuffer keyBuffer;
+
+    /**
+     * 是否已经关闭
+     * @since 0.0.6
+     */
+    private boolean closed;
+
+    /**
+     * 初始化
+     * @param keySerializer key 序列化
+     * @param valueSerializer value 序列化
+     * @since 0.0.6
+     */
+    public OffHeapHashMap(ISerializer<K> keySerializer, ISerializer<V> valueSerializer) {
+        this(keySerializer, valueSerializer, 16, DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * 初始化，数据存放在 direct buffer 中
+     * @param keySerializer key 序列化
+     * @param valueSerializer value 序列化
+     * @param capacity 初始化容量
+     * @param slabSize 每一个 slab 的字节数，单条记录不能超过这个大小
+     * @since 0.0.6
+     */
+    public OffHeapHashMap(ISerializer<K> keySerializer, ISerializer<V> valueSerializer,
+                          int capacity, int slabSize) {
+        this(keySerializer, valueSerializer, capacity, slabSize, null);
+    }
+
+    /**
+     * 初始化
+     * @param keySerializer key 序列化
+     * @param valueSerializer value 序列化
+     * @param capacity 初始化容量
+     * @param slabSize 每一个 slab 的字节数，单条记录不能超过这个大小
+     * @param mappedDirectory 不为 null 时，slab 使用该目录下的临时文件做内存映射，关闭时删除
+     * @since 0.0.6
+     */
+    public OffHeapHashMap(ISerializer<K> keySerializer, ISerializer<V> valueSerializer,
+                          int capacity, int slabSize, File mappedDirectory) {
+        if (slabSize <= RECORD_HEADER) {
+            throw new IllegalArgumentException("slabSize must be greater than " + RECORD_HEADER);
+        }
+
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.slabSize = slabSize;
+        this.mappedDirectory = mappedDirectory;
+        this.keyBuffer = ByteBuffer.allocate(64);
+        init(HashUtil.tableSizeFor(Math.max((int) (capacity / FACTOR) + 1, 2)));
+    }
+
+    /**
+     * 初始化索引和数据区
+     * @param capacity 索引容量
+     * @since 0.0.6
+     */
+    private void init(final int capacity) {
+        this.capacity = capacity;
+        this.index = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+        this.slabs = new ArrayList<>();
+        this.slabFiles = new ArrayList<>();
+        this.writeOffset = slabSize;
+        this.garbageBytes = 0;
+        this.size = 0;
+        this.deleted = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        ensureOpen();
+        int slot = findSlot((K) key);
+        if (slot < 0) {
+            return null;
+        }
+        return readValue(addressAt(slot));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean containsKey(Object key) {
+        ensureOpen();
+        return findSlot((K) key) >= 0;
+    }
+
+    /**
+     * 放入元素
+     * <p>
+     * value 的长度不变时直接覆盖原来的记录，否则追加新的记录。
+     *
+     * @param key key
+     * @param value 值
+     * @return 原来的值
+     * @since 0.0.6
+     */
+    @Override
+    public V put(K key, V value) {
+        ensureOpen();
+        checkNotNull(value);
+
+        int slot = findSlot(key);
+        final int keyLength = keyBuffer.limit();
+        final int valueLength = valueSerializer.size(value);
+        if (slot >= 0) {
+            long address = addressAt(slot);
+            V oldValue = readValue(address);
+            ByteBuffer slab = slab(address);
+            int offset = offset(address);
+            int oldValueLength = slab.getInt(offset + 4);
+            if (oldValueLength == valueLength) {
+                slab.position(offset + RECORD_HEADER + keyLength);
+                writeValue(value, valueLength, slab);
+                return oldValue;
+            }
+
+            // 长度变化，写入新的记录。写入的过程中可能会压缩，所以之后重新读取地址
+            long newAddress = append(keyLength, value, valueLength);
+            garbageBytes += recordLength(addressAt(slot));
+            index.putLong(slot * SLOT_BYTES + 4, newAddress);
+            return oldValue;
+        }
+
+        // 新增
+        int hash = keyHash(keyLength);
+        long address = append(keyLength, value, valueLength);
+        int insertSlot = -slot - 1;
+        if (addressAt(insertSlot) == DELETED) {
+            deleted--;
+        }
+        index.putInt(insertSlot * SLOT_BYTES, hash);
+        index.putLong(insertSlot * SLOT_BYTES + 4, address);
+        size++;
+
+        if (size + deleted > capacity * FACTOR) {
+            // 删除的槽位较多时，容量不变，只清理删除标记
+            int newCapacity = size > capacity * FACTOR / 2 ? capacity << 1 : capacity;
+            resize(newCapacity);
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        ensureOpen();
+        int slot = findSlot((K) key);
+        if (slot < 0) {
+            return null;
+        }
+
+        long address = addressAt(slot);
+        V oldValue = readValue(address);
+        garbageBytes += recordLength(address);
+        index.putLong(slot * SLOT_BYTES + 4, DELETED);
+        size--;
+        deleted++;
+        return oldValue;
+    }
+
+    /**
+     * 清空
+     * <p>
+     * 释放所有的 slab，索引恢复为最小容量
+     *
+     * @since 0.0.6
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        releaseAll();
+        init(2);
+    }
+
+    /**
+     * 所有元素
+     * <p>
+     * 遍历时每一个元素都会反序列化出新的对象，不支持删除
+     *
+     * @return 结果
+     * @since 0.0.6
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        ensureOpen();
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * 堆外占用的字节数
+     * <p>
+     * 索引加上所有 slab 的大小
+     *
+     * @return 字节数
+     * @since 0.0.6
+     */
+    public long offHeapBytes() {
+        return (long) capacity * SLOT_BYTES + (long) slabs.size() * slabSize;
+    }
+
+    /**
+     * 垃圾的字节数
+     * @return 字节数
+     * @since 0.0.6
+     */
+    public long garbageBytes() {
+        return garbageBytes;
+    }
+
+    /**
+     * 关闭，立刻释放所有的堆外内存
+     * <p>
+     * 重复关闭不会有任何影响
+     *
+     * @since 0.0.6
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        releaseAll();
+        slabs = Collections.emptyList();
+        size = 0;
+    }
+
+    /**
+     * 释放索引和所有的 slab
+     * @since 0.0.6
+     */
+    private void releaseAll() {
+        BufferUtil.release(index);
+        index = null;
+        releaseSlabs(slabs, slabFiles);
+    }
+
+    /**
+     * 释放 slab，删除对应的文件
+     * @param slabs slab
+     * @param files 文件
+     * @since 0.0.6
+     */
+    private static void releaseSlabs(final List<ByteBuffer> slabs, final List<File> files) {
+        for (ByteBuffer slab : slabs) {
+            BufferUtil.release(slab);
+        }
+        for (File file : files) {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * 查找 key 对应的槽位
+     * <p>
+     * key 序列化之后的结果保存在 keyBuffer 中，[0, limit) 为 key 的字节。
+     *
+     * @param key key
+     * @return 存在时返回槽位；不存在时返回 -(插入的槽位 + 1)
+     * @since 0.0.6
+     */
+    private int findSlot(final K key) {
+        checkNotNull(key);
+        final int keyLength = serializeKey(key);
+        final int hash = keyHash(keyLength);
+
+        final int mask = capacity - 1;
+        int insertSlot = -1;
+        int slot = HashUtil.indexFor(hash, capacity);
+        while (true) {
+            long address = addressAt(slot);
+            if (address == EMPTY) {
+                return -(insertSlot >= 0 ? insertSlot : slot) - 1;
+            }
+
+            if (address == DELETED) {
+                if (insertSlot < 0) {
+                    insertSlot = slot;
+                }
+            } else if (index.getInt(slot * SLOT_BYTES) == hash
+                    && keyEquals(address, keyLength)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * 序列化 key 到 keyBuffer
+     * @param key key
+     * @return 字节数
+     * @since 0.0.6
+     */
+    private int serializeKey(final K key) {
+        final int keyLength = keySerializer.size(key);
+        if (keyBuffer.capacity() < keyLength) {
+            keyBuffer = ByteBuffer.allocate(Math.max(keyLength, keyBuffer.capacity() << 1));
+        }
+        keyBuffer.clear();
+        keySerializer.write(key, keyBuffer);
+        if (keyBuffer.position() != keyLength) {
+            throw new IllegalStateException("Key serializer wrote " + keyBuffer.position()
+                    + " bytes, expected " + keyLength);
+        }
+        keyBuffer.flip();
+        return keyLength;
+    }
+
+    /**
+     * keyBuffer 中字节的 hash
+     * @param keyLength 字节数
+     * @return hash 值
+     * @since 0.0.6
+     */
+    private int keyHash(final int keyLength) {
+        int h = 1;
+        for (int i = 0; i < keyLength; i++) {
+            h = 31 * h + keyBuffer.get(i);
+        }
+        return HashUtil.mix(h);
+    }
+
+    /**
+     * 记录中的 key 是否和 keyBuffer 中的相同
+     * @param address 记录地址
+     * @param keyLength keyBuffer 中的字节数
+     * @return 是否
+     * @since 0.0.6
+     */
+    private boolean keyEquals(final long address, final int keyLength) {
+        final ByteBuffer slab = slab(address);
+        final int offset = offset(address);
+        if (slab.getInt(offset) != keyLength) {
+            return false;
+        }
+
+        final int start = offset + RECORD_HEADER;
+        int i = 0;
+        for (; i + 8 <= keyLength; i += 8) {
+            if (slab.getLong(start + i) != keyBuffer.getLong(i)) {
+                return false;
+            }
+        }
+        for (; i < keyLength; i++) {
+            if (slab.get(start + i) != keyBuffer.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 追加一条记录，key 使用 keyBuffer 中的字节
+     * @param keyLength key 的字节数
+     * @param value 值
+     * @param valueLength 值的字节数
+     * @return 记录地址
+     * @since 0.0.6
+     */
+    private long append(final int keyLength, final V value, final int valueLength) {
+        final long recordLength = (long) RECORD_HEADER + keyLength + valueLength;
+        if (recordLength > slabSize) {
+            throw new IllegalArgumentException("Record size " + recordLength
+                    + " exceeds slab size " + slabSize);
+        }
+
+        // 空间不足时，垃圾较多则先压缩
+        if (writeOffset + recordLength > slabSize
+                && garbageBytes > (long) slabs.size() * slabSize / 2) {
+            compact();
+        }
+
+        long address = allocate((int) recordLength);
+        ByteBuffer slab = slab(address);
+        slab.position(offset(address));
+        slab.putInt(keyLength);
+        slab.putInt(valueLength);
+        keyBuffer.position(0);
+        slab.put(keyBuffer);
+        writeValue(value, valueLength, slab);
+        return address;
+    }
+
+    /**
+     * 写入 value
+     * @param value 值
+     * @param valueLength 字节数
+     * @param slab slab，已经定位到写入的位置
+     * @since 0.0.6
+     */
+    private void writeValue(final V value, final int valueLength, final ByteBuffer slab) {
+        final int start = slab.position();
+        valueSerializer.write(value, slab);
+        if (slab.position() - start != valueLength) {
+            throw new IllegalStateException("Value serializer wrote " + (slab.position() - start)
+                    + " bytes, expected " + valueLength);
+        }
+    }
+
+    /**
+     * 分配空间
+     * <p>
+     * 当前 slab 剩余的空间不足时，创建新的 slab，剩余的空间计入垃圾
+     *
+     * @param length 字节数
+     * @return 地址
+     * @since 0.0.6
+     */
+    private long allocate(final int length) {
+        if (writeOffset + length > slabSize) {
+            if (!slabs.isEmpty()) {
+                garbageBytes += slabSize - writeOffset;
+            }
+            slabs.add(newSlab());
+            writeOffset = 0;
+        }
+
+        long address = ((long) slabs.size() << 32) | writeOffset;
+        writeOffset += length;
+        return address;
+    }
+
+    /**
+     * 创建 slab
+     * @return slab
+     * @since 0.0.6
+     */
+    private ByteBuffer newSlab() {
+        if (mappedDirectory == null) {
+            return ByteBuffer.allocateDirect(slabSize);
+        }
+
+        try {
+            File file = File.createTempFile("off-heap-", ".slab", mappedDirectory);
+            slabFiles.add(file);
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+            try {
+                // 映射建立之后，关闭文件不影响映射
+                return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, slabSize);
+            } finally {
+                randomAccessFile.close();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to map slab in " + mappedDirectory, e);
+        }
+    }
+
+    /**
+     * 压缩
+     * <p>
+     * 按照索引的顺序，把存活的记录复制到新的 slab 中，之后释放原来所有的 slab。
+     * 复制的过程中新旧 slab 同时存在。
+     *
+     * @since 0.0.6
+     */
+    private void compact() {
+        final List<ByteBuffer> oldSlabs = slabs;
+        final List<File> oldFiles = slabFiles;
+        this.slabs = new ArrayList<>();
+        this.slabFiles = new ArrayList<>();
+        this.writeOffset = slabSize;
+        this.garbageBytes = 0;
+
+        for (int slot = 0; slot < capacity; slot++) {
+            long address = addressAt(slot);
+            if (address == EMPTY || address == DELETED) {
+                continue;
+            }
+
+            ByteBuffer source = oldSlabs.get((int) (address >>> 32) - 1);
+            int offset = offset(address);
+            int length = RECORD_HEADER + source.getInt(offset) + source.getInt(offset + 4);
+
+            long newAddress = allocate(length);
+            ByteBuffer target = slab(newAddress);
+            source.limit(offset + length).position(offset);
+            target.position(offset(newAddress));
+            target.put(source);
+            source.clear();
+
+            index.putLong(slot * SLOT_BYTES + 4, newAddress);
+        }
+
+        releaseSlabs(oldSlabs, oldFiles);
+    }
+
+    /**
+     * 调整索引的容量
+     * <p>
+     * 索引中保存了 hash 值，不需要读取记录
+     *
+     * @param newCapacity 新的容量
+     * @since 0.0.6
+     */
+    private void resize(final int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Index capacity exceeds " + MAX_CAPACITY);
+        }
+
+        final ByteBuffer oldIndex = index;
+        final int oldCapacity = capacity;
+        final ByteBuffer newIndex = ByteBuffer.allocateDirect(newCapacity * SLOT_BYTES);
+        final int mask = newCapacity - 1;
+
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            long address = oldIndex.getLong(slot * SLOT_BYTES + 4);
+            if (address == EMPTY || address == DELETED) {
+                continue;
+            }
+
+            int hash = oldIndex.getInt(slot * SLOT_BYTES);
+            int newSlot = HashUtil.indexFor(hash, newCapacity);
+            while (newIndex.getLong(newSlot * SLOT_BYTES + 4) != EMPTY) {
+                newSlot = (newSlot + 1) & mask;
+            }
+            newIndex.putInt(newSlot * SLOT_BYTES, hash);
+            newIndex.putLong(newSlot * SLOT_BYTES + 4, address);
+        }
+
+        this.index = newIndex;
+        this.capacity = newCapacity;
+        this.deleted = 0;
+        BufferUtil.release(oldIndex);
+    }
+
+    /**
+     * 读取记录的 value
+     * @param address 地址
+     * @return 值
+     * @since 0.0.6
+     */
+    private V readValue(final long address) {
+        ByteBuffer slab = slab(address);
+        int offset = offset(address);
+        int keyLength = slab.getInt(offset);
+        int valueLength = slab.getInt(offset + 4);
+        slab.position(offset + RECORD_HEADER + keyLength);
+        return valueSerializer.read(slab, valueLength);
+    }
+
+    /**
+     * 读取记录的 key
+     * @param address 地址
+     * @return key
+     * @since 0.0.6
+     */
+    private K readKey(final long address) {
+        ByteBuffer slab = slab(address);
+        int offset = offset(address);
+        int keyLength = slab.getInt(offset);
+        slab.position(offset + RECORD_HEADER);
+        return keySerializer.read(slab, keyLength);
+    }
+
+    /**
+     * 记录的总字节数
+     * @param address 地址
+     * @return 字节数
+     * @since 0.0.6
+     */
+    private int recordLength(final long address) {
+        ByteBuffer slab = slab(address);
+        int offset = offset(address);
+        return RECORD_HEADER + slab.getInt(offset) + slab.getInt(offset + 4);
+    }
+
+    private long addressAt(final int slot) {
+        return index.getLong(slot * SLOT_BYTES + 4);
+    }
+
+    private ByteBuffer slab(final long address) {
+        return slabs.get((int) (address >>> 32) - 1);
+    }
+
+    private static int offset(final long address) {
+        return (int) address;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Map is closed");
+        }
+    }
+
+    private static void checkNotNull(final Object object) {
+        if (object == null) {
+            throw new NullPointerException("Key and value must not be null");
+        }
+    }
+
+    /**
+     * 遍历所有的元素
+     * @since 0.0.6
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+
+        /**
+         * 下一个槽位
+         */
+        private int nextSlot;
+
+        private EntryIterator() {
+            advance(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < capacity;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            ensureOpen();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            long address = addressAt(nextSlot);
+            Entry<K, V> entry = new DefaultMapEntry<>(readKey(address), readValue(address));
+            advance(nextSlot + 1);
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void advance(final int from) {
+            nextSlot = from;
+            while (nextSlot < capacity) {
+                long address = addressAt(nextSlot);
+                if (address != EMPTY && address != DELETED) {
+                    return;
+                }
+                nextSlot++;
+            }
+        }
+    }
+
+}
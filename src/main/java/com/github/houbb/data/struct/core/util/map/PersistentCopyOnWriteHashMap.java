@@ -0,0 +1,202 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于 {@link PersistentHashMap} 的 COW HashMap
+ * <p>
+ * 和 {@link CopyOnWriteHashMap} 的用法一致，区别在于内部的 map 是持久化的 hash trie：
+ * 写操作不再拷贝整个 map，只复制一条 O(log32 n) 的路径。
+ * <p>
+ * 读操作不加锁；{@link #snapshot()} 直接返回当前的不可变 map，不需要任何拷贝。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see CopyOnWriteHashMap
+ * @see PersistentHashMap
+ * @since 0.0.6
+ */
+public class PersistentCopyOnWriteHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
+
+    /**
+     * 内部 map
+     * @since 0.0.6
+     */
+    private volatile PersistentHashMap<K, V> internalMap;
+
+    /**
+     * 可重入锁
+     * @since 0.0.6
+     */
+    private final ReentrantLock lock;
+
+    public PersistentCopyOnWriteHashMap() {
+        this.internalMap = PersistentHashMap.empty();
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * 当前的快照
+     * @return 不可变的 map
+     * @since 0.0.6
+     */
+    public PersistentHashMap<K, V> snapshot() {
+        return internalMap;
+    }
+
+    @Override
+    public int size() {
+        return internalMap.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return internalMap.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return internalMap.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        return internalMap.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            PersistentHashMap<K, V> oldMap = internalMap;
+            V val = oldMap.get(key);
+            internalMap = oldMap.plus(key, value);
+            return val;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            PersistentHashMap<K, V> oldMap = internalMap;
+            V val = oldMap.get(key);
+            internalMap = oldMap.minus(key);
+            return val;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            internalMap = internalMap.plusAll(m);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            internalMap = PersistentHashMap.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 批量修改
+     *
+     * 所有的修改完成后一次性发布。
+     * 如果 mutator 抛出异常，则所有的修改都不会生效。
+     * @param mutator 修改的逻辑
+     * @since 0.0.6
+     */
+    public void mutate(IMapMutator<K, V> mutator) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            BatchView view = new BatchView(internalMap);
+            mutator.mutate(view);
+            internalMap = view.current;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前快照的只读视图
+     * @return 结果
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return internalMap.entrySet();
+    }
+
+    /**
+     * 批量修改时的视图
+     *
+     * 每次修改都基于上一次的结果，原来的 map 不受影响
+     * @since 0.0.6
+     */
+    private class BatchView extends AbstractMap<K, V> {
+
+        private PersistentHashMap<K, V> current;
+
+        private BatchView(PersistentHashMap<K, V> current) {
+            this.current = current;
+        }
+
+        @Override
+        public int size() {
+            return current.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return current.containsKey(key);
+        }
+
+        @Override
+        public V get(Object key) {
+            return current.get(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            V val = current.get(key);
+            current = current.plus(key, value);
+            return val;
+        }
+
+        @Override
+        public V remove(Object key) {
+            V val = current.get(key);
+            current = current.minus(key);
+            return val;
+        }
+
+        @Override
+        public void clear() {
+            current = PersistentHashMap.empty();
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return current.entrySet();
+        }
+    }
+
+}
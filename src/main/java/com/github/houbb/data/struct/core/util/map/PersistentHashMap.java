@@ -0,0 +1,591 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import com.github.houbb.data.struct.util.HashUtil;
+import com.github.houbb.heaven.util.lang.ObjectUtil;
+
+import java.util.*;
+
+/**
+ * 持久化的 hash map（Hash Array Mapped Trie）
+ * <p>
+ * （1）不可变：所有的写操作都返回一个新的 map，原来的 map 保持不变，可以直接作为快照使用。
+ * <p>
+ * （2）结构共享：hash 值每 5 位作为一层，每一层是一个最多 32 个孩子的 {@link BitmapNode}，
+ * 孩子数组只保存存在的元素，通过 bitmap 和 bitCount 计算下标。
+ * 写操作只复制从根节点到叶子节点的路径，时间和空间都是 O(log32 n)。
+ * <p>
+ * （3）hash 完全相同的 key 保存在 {@link CollisionNode} 中。
+ * <p>
+ * （4）删除之后只剩一个叶子的分支会被折叠，保证相同的元素集合对应相同的树结构。
+ * <p>
+ * 实现了只读的 {@link Map} 接口，put/remove 等方法会抛出 {@link UnsupportedOperationException}，
+ * 请使用 {@link #plus(Object, Object)} 和 {@link #minus(Object)}。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see PersistentCopyOnWriteHashMap
+ * @since 0.0.6
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
+
+    /**
+     * 每一层使用的 hash 位数
+     * @since 0.0.6
+     */
+    private static final int BITS = 5;
+
+    /**
+     * 每一层的掩码
+     * @since 0.0.6
+     */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * 空的 map
+     * @since 0.0.6
+     */
+    @SuppressWarnings("rawtypes")
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+    /**
+     * 根节点
+     * @since 0.0.6
+     */
+    private final BitmapNode root;
+
+    /**
+     * 元素个数
+     * @since 0.0.6
+     */
+    private final int size;
+
+    private PersistentHashMap(BitmapNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 空的 map
+     * @param <K> key 泛型
+     * @param <V> value 泛型
+     * @return 结果
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * 根据已有的 map 创建
+     * @param map map
+     * @param <K> key 泛型
+     * @param <V> value 泛型
+     * @return 结果
+     * @since 0.0.6
+     */
+    public static <K, V> PersistentHashMap<K, V> of(Map<? extends K, ? extends V> map) {
+        PersistentHashMap<K, V> result = empty();
+        return result.plusAll(map);
+    }
+
+    /**
+     * 放入元素
+     * @param key key
+     * @param value 值
+     * @return 新的 map，没有变化时返回自身
+     * @since 0.0.6
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        final int hash = HashUtil.hash(key);
+        final boolean[] added = new boolean[1];
+        BitmapNode newRoot = root.put(hash, key, value, 0, added);
+        if(newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * 批量放入元素
+     * @param map map
+     * @return 新的 map
+     * @since 0.0.6
+     */
+    public PersistentHashMap<K, V> plusAll(Map<? extends K, ? extends V> map) {
+        PersistentHashMap<K, V> result = this;
+        for(Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            result = result.plus(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * 移除元素
+     * @param key key
+     * @return 新的 map，不存在时返回自身
+     * @since 0.0.6
+     */
+    public PersistentHashMap<K, V> minus(Object key) {
+        final int hash = HashUtil.hash(key);
+        Node newRoot = root.remove(hash, key, 0);
+        if(newRoot == root) {
+            return this;
+        }
+        if(newRoot == null) {
+            return empty();
+        }
+        return new PersistentHashMap<>((BitmapNode) newRoot, size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Leaf leaf = root.find(HashUtil.hash(key), key, 0);
+        return leaf == null ? null : (V) leaf.getValue();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return root.find(HashUtil.hash(key), key, 0) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("PersistentHashMap is immutable, use plus()");
+    }
+
+    @Override
+    public V remove(Object key) {
+        throw new UnsupportedOperationException("PersistentHashMap is immutable, use minus()");
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        throw new UnsupportedOperationException("PersistentHashMap is immutable, use plusAll()");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("PersistentHashMap is immutable, use empty()");
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new TrieIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * 节点
+     * @since 0.0.6
+     */
+    private abstract static class Node {
+
+        /**
+         * 查找
+         * @param hash hash 值
+         * @param key key
+         * @param shift 当前层的位移
+         * @return 叶子，不存在返回 null
+         */
+        abstract Leaf find(int hash, Object key, int shift);
+
+        /**
+         * 删除
+         * @param hash hash 值
+         * @param key key
+         * @param shift 当前层的位移
+         * @return 新的节点，不存在时返回自身，删除后为空时返回 null
+         */
+        abstract Node remove(int hash, Object key, int shift);
+
+    }
+
+    /**
+     * 叶子节点，同时作为 entry 对外暴露
+     * @since 0.0.6
+     */
+    private static final class Leaf extends Node implements Entry<Object, Object> {
+
+        private final int hash;
+
+        private final Object key;
+
+        private final Object value;
+
+        private Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        Leaf find(int hash, Object key, int shift) {
+            return this.hash == hash && ObjectUtil.isEqualsOrNull(this.key, key) ? this : null;
+        }
+
+        @Override
+        Node remove(int hash, Object key, int shift) {
+            return find(hash, key, shift) == null ? this : null;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return ObjectUtil.isEqualsOrNull(key, other.getKey())
+                    && ObjectUtil.isEqualsOrNull(value, other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * hash 冲突的节点
+     *
+     * 所有元素的 hash 完全相同，线性查找
+     * @since 0.0.6
+     */
+    private static final class CollisionNode extends Node {
+
+        private final int hash;
+
+        private final Leaf[] leaves;
+
+        private CollisionNode(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        private int indexOf(Object key) {
+            for(int i = 0; i < leaves.length; i++) {
+                if(ObjectUtil.isEqualsOrNull(leaves[i].key, key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Leaf find(int hash, Object key, int shift) {
+            if(this.hash != hash) {
+                return null;
+            }
+            int index = indexOf(key);
+            return index < 0 ? null : leaves[index];
+        }
+
+        /**
+         * 放入元素，调用方保证 hash 相同
+         */
+        private CollisionNode put(Leaf leaf, boolean[] added) {
+            int index = indexOf(leaf.key);
+            if(index >= 0) {
+                if(leaves[index].value == leaf.value) {
+                    return this;
+                }
+                Leaf[] newLeaves = leaves.clone();
+                newLeaves[index] = leaf;
+                return new CollisionNode(hash, newLeaves);
+            }
+
+            Leaf[] newLeaves = Arrays.copyOf(leaves, leaves.length + 1);
+            newLeaves[leaves.length] = leaf;
+            added[0] = true;
+            return new CollisionNode(hash, newLeaves);
+        }
+
+        @Override
+        Node remove(int hash, Object key, int shift) {
+            if(this.hash != hash) {
+                return this;
+            }
+            int index = indexOf(key);
+            if(index < 0) {
+                return this;
+            }
+            if(leaves.length == 2) {
+                // 只剩一个元素，退化为叶子
+                return leaves[1 - index];
+            }
+
+            Leaf[] newLeaves = new Leaf[leaves.length - 1];
+            System.arraycopy(leaves, 0, newLeaves, 0, index);
+            System.arraycopy(leaves, index + 1, newLeaves, index, newLeaves.length - index);
+            return new CollisionNode(hash, newLeaves);
+        }
+    }
+
+    /**
+     * 分支节点
+     *
+     * bitmap 的第 i 位为 1，表示 hash 在当前层取值为 i 的孩子存在，
+     * 它在 children 中的下标为 bitmap 中低于 i 的 1 的个数。
+     * @since 0.0.6
+     */
+    private static final class BitmapNode extends Node {
+
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Node[0]);
+
+        private final int bitmap;
+
+        private final Node[] children;
+
+        private BitmapNode(int bitmap, Node[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Leaf find(int hash, Object key, int shift) {
+            final int bit = bit(hash, shift);
+            if((bitmap & bit) == 0) {
+                return null;
+            }
+            return children[index(bit)].find(hash, key, shift + BITS);
+        }
+
+        private BitmapNode put(int hash, Object key, Object value, int shift, boolean[] added) {
+            final int bit = bit(hash, shift);
+            final int index = index(bit);
+            if((bitmap & bit) == 0) {
+                // 新增孩子
+                Node[] newChildren = new Node[children.length + 1];
+                System.arraycopy(children, 0, newChildren, 0, index);
+                newChildren[index] = new Leaf(hash, key, value);
+                System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newChildren);
+            }
+
+            final Node child = children[index];
+            final Node newChild = putChild(child, hash, key, value, shift + BITS, added);
+            if(newChild == child) {
+                return this;
+            }
+            Node[] newChildren = children.clone();
+            newChildren[index] = newChild;
+            return new BitmapNode(bitmap, newChildren);
+        }
+
+        private static Node putChild(Node child, int hash, Object key, Object value, int shift, boolean[] added) {
+            if(child instanceof BitmapNode) {
+                return ((BitmapNode) child).put(hash, key, value, shift, added);
+            }
+
+            final Leaf leaf = new Leaf(hash, key, value);
+            if(child instanceof CollisionNode) {
+                CollisionNode collision = (CollisionNode) child;
+                if(collision.hash == hash) {
+                    return collision.put(leaf, added);
+                }
+                added[0] = true;
+                return merge(collision, collision.hash, leaf, shift);
+            }
+
+            Leaf old = (Leaf) child;
+            if(old.hash == hash) {
+                if(ObjectUtil.isEqualsOrNull(old.key, key)) {
+                    return old.value == value ? old : leaf;
+                }
+                added[0] = true;
+                return new CollisionNode(hash, new Leaf[]{old, leaf});
+            }
+            added[0] = true;
+            return merge(old, old.hash, leaf, shift);
+        }
+
+        /**
+         * 合并两个 hash 不同的节点，生成新的分支
+         */
+        private static BitmapNode merge(Node old, int oldHash, Leaf leaf, int shift) {
+            final int oldIndex = (oldHash >>> shift) & MASK;
+            final int newIndex = (leaf.hash >>> shift) & MASK;
+            if(oldIndex == newIndex) {
+                return new BitmapNode(1 << oldIndex, new Node[]{merge(old, oldHash, leaf, shift + BITS)});
+            }
+            Node[] children = oldIndex < newIndex
+                    ? new Node[]{old, leaf} : new Node[]{leaf, old};
+            return new BitmapNode((1 << oldIndex) | (1 << newIndex), children);
+        }
+
+        @Override
+        Node remove(int hash, Object key, int shift) {
+            final int bit = bit(hash, shift);
+            if((bitmap & bit) == 0) {
+                return this;
+            }
+
+            final int index = index(bit);
+            final Node child = children[index];
+            final Node newChild = child.remove(hash, key, shift + BITS);
+            if(newChild == child) {
+                return this;
+            }
+
+            if(newChild == null) {
+                if(children.length == 1) {
+                    return null;
+                }
+                Node[] newChildren = new Node[children.length - 1];
+                System.arraycopy(children, 0, newChildren, 0, index);
+                System.arraycopy(children, index + 1, newChildren, index, newChildren.length - index);
+                BitmapNode node = new BitmapNode(bitmap ^ bit, newChildren);
+                return shift > 0 ? node.collapse() : node;
+            }
+
+            Node[] newChildren = children.clone();
+            newChildren[index] = newChild;
+            BitmapNode node = new BitmapNode(bitmap, newChildren);
+            return shift > 0 ? node.collapse() : node;
+        }
+
+        /**
+         * 只有一个孩子，且孩子不是分支节点时，直接用孩子替换自身
+         * @return 结果
+         */
+        private Node collapse() {
+            if(children.length == 1 && !(children[0] instanceof BitmapNode)) {
+                return children[0];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * 遍历
+     *
+     * 使用栈进行深度优先遍历，树的深度不超过 7 层
+     * @since 0.0.6
+     */
+    private static final class TrieIterator<K, V> implements Iterator<Entry<K, V>> {
+
+        private final Node[][] nodeStack = new Node[8][];
+
+        private final int[] indexStack = new int[8];
+
+        private int depth;
+
+        private Leaf[] leaves;
+
+        private int leafIndex;
+
+        private Leaf next;
+
+        private TrieIterator(BitmapNode root) {
+            nodeStack[0] = root.children;
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            if(leaves != null) {
+                if(leafIndex < leaves.length) {
+                    next = leaves[leafIndex++];
+                    return;
+                }
+                leaves = null;
+            }
+
+            while (depth >= 0) {
+                Node[] nodes = nodeStack[depth];
+                if(indexStack[depth] >= nodes.length) {
+                    depth--;
+                    continue;
+                }
+
+                Node node = nodes[indexStack[depth]++];
+                if(node instanceof Leaf) {
+                    next = (Leaf) node;
+                    return;
+                }
+                if(node instanceof CollisionNode) {
+                    leaves = ((CollisionNode) node).leaves;
+                    leafIndex = 1;
+                    next = leaves[0];
+                    return;
+                }
+
+                depth++;
+                nodeStack[depth] = ((BitmapNode) node).children;
+                indexStack[depth] = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if(next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> result = (Entry<K, V>) (Entry<?, ?>) next;
+            advance();
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
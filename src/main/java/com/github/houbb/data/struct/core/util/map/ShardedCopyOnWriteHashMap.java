@@ -0,0 +1,365 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import com.github.houbb.data.struct.util.HashUtil;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分片的 COW HashMap
+ * <p>
+ * （1）按照 key 的 hash 划分为若干个 {@link Shard}，每个分片是一个独立的 copy-on-write map。
+ * 单次写操作只拷贝 key 所在的分片，拷贝的代价从 O(n) 降低为 O(n/分片数)。
+ * <p>
+ * （2）读操作不加锁，直接读取分片 volatile 发布的 map。
+ * <p>
+ * （3）批量修改 {@link #mutate(IMapMutator)}：锁住所有分片，被修改的分片只拷贝一次，
+ * 修改完成后每个分片只发布一次。
+ * 对于单个分片来说批量修改是原子的；读线程在发布的过程中可能看到部分分片已经更新。
+ * <p>
+ * size() 为各个分片大小之和，并发写入时只是一个近似值。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see CopyOnWriteHashMap
+ * @since 0.0.6
+ */
+public class ShardedCopyOnWriteHashMap<K, V> extends AbstractMap<K, V> implements Map<K, V> {
+
+    /**
+     * 默认的分片个数
+     * @since 0.0.6
+     */
+    private static final int DEFAULT_SHARD_SIZE = 16;
+
+    /**
+     * 分片
+     * @since 0.0.6
+     */
+    private final Shard<K, V>[] shards;
+
+    /**
+     * 分片掩码
+     * @since 0.0.6
+     */
+    private final int shardMask;
+
+    public ShardedCopyOnWriteHashMap() {
+        this(DEFAULT_SHARD_SIZE);
+    }
+
+    /**
+     * 初始化
+     * @param shardSize 分片个数，会调整为 2 的幂
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedCopyOnWriteHashMap(int shardSize) {
+        int size = HashUtil.tableSizeFor(Math.max(shardSize, 1));
+        this.shards = new Shard[size];
+        for(int i = 0; i < size; i++) {
+            this.shards[i] = new Shard<>();
+        }
+        this.shardMask = size - 1;
+    }
+
+    /**
+     * 分片
+     * @since 0.0.6
+     */
+    private static class Shard<K, V> {
+
+        /**
+         * 当前发布的 map
+         */
+        private volatile Map<K, V> map = new HashMap<>();
+
+        /**
+         * 写锁
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for(Shard<K, V> shard : shards) {
+            size += shard.map.size();
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for(Shard<K, V> shard : shards) {
+            if(!shard.map.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return shardFor(key).map.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        return shardFor(key).map.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        final Shard<K, V> shard = shardFor(key);
+        final ReentrantLock lock = shard.lock;
+        lock.lock();
+        try {
+            // 只拷贝当前分片
+            Map<K, V> newMap = new HashMap<>(shard.map);
+            V val = newMap.put(key, value);
+
+            // 设置为新的
+            shard.map = newMap;
+            return val;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        final Shard<K, V> shard = shardFor(key);
+        final ReentrantLock lock = shard.lock;
+        lock.lock();
+        try {
+            if(!shard.map.containsKey(key)) {
+                return null;
+            }
+
+            // 只拷贝当前分片
+            Map<K, V> newMap = new HashMap<>(shard.map);
+            V val = newMap.remove(key);
+
+            // 设置为新的
+            shard.map = newMap;
+            return val;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 批量放入
+     *
+     * 每个分片最多拷贝一次
+     * @param m map
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> m) {
+        mutate(new IMapMutator<K, V>() {
+            @Override
+            public void mutate(Map<K, V> map) {
+                map.putAll(m);
+            }
+        });
+    }
+
+    @Override
+    public void clear() {
+        lockAll();
+        try {
+            for(Shard<K, V> shard : shards) {
+                shard.map = new HashMap<>();
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * 批量修改
+     *
+     * （1）按顺序锁住所有的分片，避免死锁
+     * （2）第一次写入某个分片时才拷贝，读操作读取暂存的拷贝或者当前发布的 map
+     * （3）执行完成之后，发布被修改的分片
+     *
+     * 如果 mutator 抛出异常，则所有的修改都不会生效。
+     * @param mutator 修改的逻辑
+     * @since 0.0.6
+     */
+    public void mutate(IMapMutator<K, V> mutator) {
+        lockAll();
+        try {
+            BatchView view = new BatchView();
+            mutator.mutate(view);
+
+            // 发布
+            for(int i = 0; i < shards.length; i++) {
+                Map<K, V> staged = view.staged[i];
+                if(staged != null) {
+                    shards[i].map = staged;
+                }
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * 快照
+     *
+     * 依次读取各个分片，返回的集合不支持修改
+     * @return 结果
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Map<K, V> snapshot = new HashMap<>();
+        for(Shard<K, V> shard : shards) {
+            snapshot.putAll(shard.map);
+        }
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    /**
+     * 获取 key 对应的分片
+     * @param key key
+     * @return 分片
+     * @since 0.0.6
+     */
+    private Shard<K, V> shardFor(final Object key) {
+        return shards[shardIndex(key)];
+    }
+
+    /**
+     * 获取 key 对应的分片下标
+     * @param key key
+     * @return 下标
+     * @since 0.0.6
+     */
+    private int shardIndex(final Object key) {
+        return HashUtil.indexFor(HashUtil.hash(key), shards.length);
+    }
+
+    /**
+     * 锁住所有的分片
+     * @since 0.0.6
+     */
+    private void lockAll() {
+        for(Shard<K, V> shard : shards) {
+            shard.lock.lock();
+        }
+    }
+
+    /**
+     * 释放所有的分片
+     * @since 0.0.6
+     */
+    private void unlockAll() {
+        for(int i = shards.length - 1; i >= 0; i--) {
+            shards[i].lock.unlock();
+        }
+    }
+
+    /**
+     * 批量修改时的视图
+     *
+     * 只在持有所有分片锁的时候使用
+     * @since 0.0.6
+     */
+    private class BatchView extends AbstractMap<K, V> {
+
+        /**
+         * 暂存的拷贝，null 表示该分片没有被修改
+         */
+        private final Map<K, V>[] staged;
+
+        @SuppressWarnings("unchecked")
+        private BatchView() {
+            this.staged = new Map[shards.length];
+        }
+
+        /**
+         * 读取分片
+         * @param index 下标
+         * @return 结果
+         */
+        private Map<K, V> read(int index) {
+            Map<K, V> map = staged[index];
+            if(map != null) {
+                return map;
+            }
+            return shards[index].map;
+        }
+
+        /**
+         * 写入分片，第一次写入时拷贝
+         * @param index 下标
+         * @return 结果
+         */
+        private Map<K, V> write(int index) {
+            Map<K, V> map = staged[index];
+            if(map == null) {
+                map = new HashMap<>(shards[index].map);
+                staged[index] = map;
+            }
+            return map;
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for(int i = 0; i < staged.length; i++) {
+                size += read(i).size();
+            }
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return read(shardIndex(key)).containsKey(key);
+        }
+
+        @Override
+        public V get(Object key) {
+            return read(shardIndex(key)).get(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            return write(shardIndex(key)).put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            int index = shardIndex(key);
+            if(!read(index).containsKey(key)) {
+                return null;
+            }
+            return write(index).remove(key);
+        }
+
+        @Override
+        public void clear() {
+            for(int i = 0; i < staged.length; i++) {
+                staged[i] = new HashMap<>();
+            }
+        }
+
+        /**
+         * 快照，不支持修改
+         * @return 结果
+         */
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            Map<K, V> snapshot = new HashMap<>();
+            for(int i = 0; i < staged.length; i++) {
+                snapshot.putAll(read(i));
+            }
+            return Collections.unmodifiableMap(snapshot).entrySet();
+        }
+    }
+
+}
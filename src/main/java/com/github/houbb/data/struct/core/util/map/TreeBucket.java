@@ -0,0 +1,276 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import com.github.houbb.data.struct.core.util.list.IPredicate;
+import com.github.houbb.data.struct.core.util.tree.RedBlackTree;
+import com.github.houbb.data.struct.util.MemoryUtil;
+import com.github.houbb.heaven.util.lang.ObjectUtil;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+/**
+ * 树化的桶
+ * <p>
+ * 当一个桶中的元素过多时，链表的遍历会退化为 O(n)，此时转换为红黑树。
+ * <p>
+ * 树中元素的顺序：
+ * （1）hash 值
+ * （2）key 的类名
+ * （3）key 为相同类型的 Comparable 时，使用 compareTo()
+ * （4）key 的 identityHashCode
+ * （5）插入的顺序
+ * <p>
+ * 查找时只比较前三项，沿着树向下查找，前三项相同时再使用 equals() 判断。
+ * 所以对于 Comparable 的 key，查找为 O(logn)；其他 key 为 O(logn + hash 相同的元素个数)。
+ * 查找使用桶中复用的 {@link Probe}，不会创建任何对象。
+ * <p>
+ * 对外表现为一个只读的集合，遍历的地方不需要区分是链表还是树。
+ * 遍历直接在红黑树上进行，不会复制元素；不支持按照下标访问。
+ *
+ * @param <K> key 泛型
+ * @param <V> value 泛型
+ * @author binbin.hou
+ * @see MyHashMap
+ * @since 0.0.6
+ */
+class TreeBucket<K, V> extends AbstractCollection<Entry<K, V>> {
+
+    /**
+     * 红黑树
+     * @since 0.0.6
+     */
+    private final RedBlackTree<TreeEntry<K, V>> tree;
+
+    /**
+     * 查找时复用的条件
+     * @since 0.0.6
+     */
+    private final Probe<K, V> probe;
+
+    /**
+     * 插入的序号，保证树中没有相等的两个元素
+     * @since 0.0.6
+     */
+    private long seq;
+
+    TreeBucket() {
+        this.tree = new RedBlackTree<>();
+        this.probe = new Probe<>();
+    }
+
+    /**
+     * 查找元素
+     * @param key key
+     * @param hash hash 值
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    Entry<K, V> find(final Object key, final int hash) {
+        TreeEntry<K, V> treeEntry = findTreeEntry(key, hash);
+        return treeEntry == null ? null : treeEntry.entry;
+    }
+
+    /**
+     * 删除元素
+     * @param key key
+     * @param hash hash 值
+     * @return 被删除的元素，不存在返回 null
+     * @since 0.0.6
+     */
+    Entry<K, V> removeKey(final Object key, final int hash) {
+        TreeEntry<K, V> treeEntry = findTreeEntry(key, hash);
+        if (treeEntry == null) {
+            return null;
+        }
+
+        tree.remove(treeEntry);
+        return treeEntry.entry;
+    }
+
+    /**
+     * 估算占用的内存
+     *
+     * 桶本身、红黑树，以及每一个元素对应的树节点和 TreeEntry。
+     * @return 字节数
+     * @since 0.0.6
+     */
+    long memoryBytes() {
+        final long treeNode = MemoryUtil.objectSize(4L * MemoryUtil.REFERENCE + 1);
+        final long treeEntry = MemoryUtil.objectSize(2L * MemoryUtil.REFERENCE + 4 + 8);
+        return MemoryUtil.objectSize(3L * MemoryUtil.REFERENCE + 8)
+                + MemoryUtil.objectSize(MemoryUtil.REFERENCE + 4)
+                + size() * (treeNode + treeEntry);
+    }
+
+    /**
+     * 放入元素
+     * @param entry 元素
+     * @param hash 元素中保存的 hash 值，不需要重新计算
+     * @since 0.0.6
+     */
+    void add(final Entry<K, V> entry, final int hash) {
+        tree.add(new TreeEntry<>(hash, entry, seq++));
+    }
+
+    private TreeEntry<K, V> findTreeEntry(final Object key, final int hash) {
+        probe.hash = hash;
+        probe.key = key;
+        try {
+            return tree.find(probe, probe);
+        } finally {
+            probe.key = null;
+        }
+    }
+
+    @Override
+    public int size() {
+        return tree.getSize();
+    }
+
+    /**
+     * 遍历
+     *
+     * 直接遍历红黑树，遍历的过程中不能修改，不支持删除
+     * @return 迭代器
+     * @since 0.0.6
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        final Iterator<TreeEntry<K, V>> iterator = tree.iterator();
+        return new Iterator<Entry<K, V>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                return iterator.next().entry;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * 比较 key 的类名
+     * @param key key
+     * @param other 另一个 key
+     * @return 结果
+     * @since 0.0.6
+     */
+    private static int compareClassName(Object key, Object other) {
+        String name = key == null ? "" : key.getClass().getName();
+        String otherName = other == null ? "" : other.getClass().getName();
+        return name.compareTo(otherName);
+    }
+
+    /**
+     * 同一个类型的 Comparable，使用 compareTo() 比较
+     * @param key key
+     * @param other 另一个 key
+     * @return 结果，无法比较时返回 0
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    private static int compareComparable(Object key, Object other) {
+        if (key == null || other == null
+                || key.getClass() != other.getClass()
+                || !(key instanceof Comparable)) {
+            return 0;
+        }
+
+        try {
+            return ((Comparable<Object>) key).compareTo(other);
+        } catch (ClassCastException e) {
+            // 实现的 Comparable 泛型不是自身，无法比较
+            return 0;
+        }
+    }
+
+    /**
+     * 树中的元素
+     * @since 0.0.6
+     */
+    private static final class TreeEntry<K, V> implements Comparable<TreeEntry<K, V>> {
+
+        private final int hash;
+
+        private final Entry<K, V> entry;
+
+        private final long seq;
+
+        private TreeEntry(int hash, Entry<K, V> entry, long seq) {
+            this.hash = hash;
+            this.entry = entry;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(TreeEntry<K, V> o) {
+            if (hash != o.hash) {
+                return hash < o.hash ? -1 : 1;
+            }
+
+            final K key = entry.getKey();
+            final K otherKey = o.entry.getKey();
+            int cmp = compareClassName(key, otherKey);
+            if (cmp != 0) {
+                return cmp;
+            }
+            cmp = compareComparable(key, otherKey);
+            if (cmp != 0) {
+                return cmp;
+            }
+
+            // 加入 identityHashCode 和序号，保证不同的元素一定不相等
+            int identity = System.identityHashCode(key);
+            int otherIdentity = System.identityHashCode(otherKey);
+            if (identity != otherIdentity) {
+                return identity < otherIdentity ? -1 : 1;
+            }
+            if (seq != o.seq) {
+                return seq < o.seq ? -1 : 1;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * 查找时使用的条件
+     *
+     * 只比较 hash、类名和 compareTo()，相等时再使用 equals() 判断。
+     * 每个桶只有一个，查找时修改字段后复用。
+     * @since 0.0.6
+     */
+    private static final class Probe<K, V> implements Comparable<TreeEntry<K, V>>, IPredicate<TreeEntry<K, V>> {
+
+        private int hash;
+
+        private Object key;
+
+        @Override
+        public int compareTo(TreeEntry<K, V> o) {
+            if (hash != o.hash) {
+                return hash < o.hash ? -1 : 1;
+            }
+
+            final K otherKey = o.entry.getKey();
+            int cmp = compareClassName(key, otherKey);
+            if (cmp != 0) {
+                return cmp;
+            }
+            return compareComparable(key, otherKey);
+        }
+
+        @Override
+        public boolean test(TreeEntry<K, V> element) {
+            return ObjectUtil.isEqualsOrNull(key, element.entry.getKey());
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.github.houbb.data.struct.core.util.map.hash;
+
+/**
+ * hash 表的统计信息
+ *
+ * 通过 {@link #bucket(int)} 逐个桶累加，用于观察 hash 的分布情况。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class HashStat {
+
+    /**
+     * 桶的个数
+     * @since 0.0.6
+     */
+    private int capacity;
+
+    /**
+     * 元素个数
+     * @since 0.0.6
+     */
+    private int size;
+
+    /**
+     * 有元素的桶个数
+     * @since 0.0.6
+     */
+    private int usedBuckets;
+
+    /**
+     * 最长的桶
+     * @since 0.0.6
+     */
+    private int maxBucketSize;
+
+    /**
+     * 累加一个桶的信息
+     * @param bucketSize 桶中元素的个数
+     * @return this
+     * @since 0.0.6
+     */
+    public HashStat bucket(final int bucketSize) {
+        capacity++;
+        size += bucketSize;
+        if(bucketSize > 0) {
+            usedBuckets++;
+        }
+        if(bucketSize > maxBucketSize) {
+            maxBucketSize = bucketSize;
+        }
+        return this;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int usedBuckets() {
+        return usedBuckets;
+    }
+
+    public int maxBucketSize() {
+        return maxBucketSize;
+    }
+
+    /**
+     * 冲突的元素个数
+     *
+     * 即没有独占一个桶的元素个数
+     * @return 个数
+     * @since 0.0.6
+     */
+    public int collisions() {
+        return size - usedBuckets;
+    }
+
+    /**
+     * 冲突率
+     * @return 冲突的元素占比
+     * @since 0.0.6
+     */
+    public double collisionRate() {
+        if(size == 0) {
+            return 0;
+        }
+        return collisions() * 1.0 / size;
+    }
+
+    /**
+     * 负载
+     * @return 元素个数/桶个数
+     * @since 0.0.6
+     */
+    public double loadFactor() {
+        if(capacity == 0) {
+            return 0;
+        }
+        return size * 1.0 / capacity;
+    }
+
+    @Override
+    public String toString() {
+        return "HashStat{" +
+                "capacity=" + capacity +
+                ", size=" + size +
+                ", usedBuckets=" + usedBuckets +
+                ", maxBucketSize=" + maxBucketSize +
+                ", collisionRate=" + collisionRate() +
+                '}';
+    }
+
+}
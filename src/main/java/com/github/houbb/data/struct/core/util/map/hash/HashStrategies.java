@@ -0,0 +1,70 @@
+package com.github.houbb.data.struct.core.util.map.hash;
+
+import com.github.houbb.data.struct.core.util.map.hash.impl.IdentityHashStrategy;
+import com.github.houbb.data.struct.core.util.map.hash.impl.Murmur3HashStrategy;
+import com.github.houbb.data.struct.core.util.map.hash.impl.XxHashStrategy;
+
+/**
+ * hash 策略工具类
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class HashStrategies {
+
+    private HashStrategies(){}
+
+    /**
+     * murmur3
+     * @since 0.0.6
+     */
+    private static final IHashStrategy MURMUR3 = new Murmur3HashStrategy();
+
+    /**
+     * xxHash
+     * @since 0.0.6
+     */
+    private static final IHashStrategy XX_HASH = new XxHashStrategy();
+
+    /**
+     * 不扰动
+     * @since 0.0.6
+     */
+    private static final IHashStrategy IDENTITY = new IdentityHashStrategy();
+
+    /**
+     * 默认策略
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IHashStrategy defaults() {
+        return murmur3();
+    }
+
+    /**
+     * murmur3 扰动
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IHashStrategy murmur3() {
+        return MURMUR3;
+    }
+
+    /**
+     * xxHash 扰动
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IHashStrategy xxHash() {
+        return XX_HASH;
+    }
+
+    /**
+     * 直接使用 hashCode()
+     * @return 策略
+     * @since 0.0.6
+     */
+    public static IHashStrategy identity() {
+        return IDENTITY;
+    }
+
+}
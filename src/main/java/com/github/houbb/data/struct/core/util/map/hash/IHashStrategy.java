@@ -0,0 +1,23 @@
+package com.github.houbb.data.struct.core.util.map.hash;
+
+/**
+ * hash 策略接口
+ *
+ * 用于计算 key 的 hash 值，不同的 map 实例可以指定不同的策略。
+ * 返回的结果会直接通过掩码计算下标，所以低位需要足够分散。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public interface IHashStrategy {
+
+    /**
+     * 计算 hash 值
+     *
+     * null 的 hash 固定为 0
+     * @param key key
+     * @return hash 值
+     * @since 0.0.6
+     */
+    int hash(Object key);
+
+}
@@ -0,0 +1,22 @@
+package com.github.houbb.data.struct.core.util.map.hash.impl;
+
+import com.github.houbb.data.struct.core.util.map.hash.IHashStrategy;
+
+/**
+ * 不做任何扰动，直接使用 hashCode()
+ *
+ * 适合 hashCode() 本身已经足够分散的场景，或者用于对比测试。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class IdentityHashStrategy implements IHashStrategy {
+
+    @Override
+    public int hash(Object key) {
+        if(key == null) {
+            return 0;
+        }
+        return key.hashCode();
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.github.houbb.data.struct.core.util.map.hash.impl;
+
+import com.github.houbb.data.struct.core.util.map.hash.IHashStrategy;
+import com.github.houbb.data.struct.util.HashUtil;
+
+/**
+ * murmur3 fmix32 扰动
+ *
+ * 默认的策略，每一位都会影响结果的低位。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class Murmur3HashStrategy implements IHashStrategy {
+
+    @Override
+    public int hash(Object key) {
+        if(key == null) {
+            return 0;
+        }
+        return HashUtil.mix(key.hashCode());
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.github.houbb.data.struct.core.util.map.hash.impl;
+
+import com.github.houbb.data.struct.core.util.map.hash.IHashStrategy;
+import com.github.houbb.data.struct.util.HashUtil;
+
+/**
+ * xxHash32 的 avalanche 扰动
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class XxHashStrategy implements IHashStrategy {
+
+    @Override
+    public int hash(Object key) {
+        if(key == null) {
+            return 0;
+        }
+        return HashUtil.xxMix(key.hashCode());
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * hash 策略
+ * @since 0.0.6
+ */
+package com.github.houbb.data.struct.core.util.map.hash;
@@ -0,0 +1,46 @@
+package com.github.houbb.data.struct.core.util.map.rehash;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 后台 rehash 线程
+ *
+ * 所有的 map 共用一个守护线程，不会阻止 jvm 退出。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class ReHashDaemon {
+
+    private ReHashDaemon(){}
+
+    /**
+     * 延迟初始化，只有用到时才会创建线程
+     * @since 0.0.6
+     */
+    private static class Holder {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "data-struct-rehash-daemon");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * 定时执行任务
+     * @param task 任务
+     * @param intervalMillis 间隔
+     * @return 结果
+     * @since 0.0.6
+     */
+    public static ScheduledFuture<?> schedule(final Runnable task, final long intervalMillis) {
+        return Holder.EXECUTOR.scheduleWithFixedDelay(task, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+}
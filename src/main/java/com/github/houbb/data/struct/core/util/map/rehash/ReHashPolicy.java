@@ -0,0 +1,104 @@
+package com.github.houbb.data.struct.core.util.map.rehash;
+
+/**
+ * 渐进式 rehash 策略
+ * <p>
+ * （1）每次操作迁移的桶个数
+ * （2）每次操作迁移的时间预算，超过之后本次不再迁移
+ * （3）后台线程，在没有读写的时候完成剩下的迁移
+ * <p>
+ * 和 redis 一样，空桶不计入迁移个数，但是最多访问 10 倍的空桶，避免单次操作耗时过长。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class ReHashPolicy {
+
+    /**
+     * 每次操作迁移的桶个数
+     * @since 0.0.6
+     */
+    private int bucketsPerOp = 1;
+
+    /**
+     * 每次操作迁移的时间预算（微秒）
+     *
+     * 小于等于 0 时不限制
+     * @since 0.0.6
+     */
+    private long timeBudgetMicros = 0;
+
+    /**
+     * 后台迁移的间隔（毫秒）
+     *
+     * 小于等于 0 时不开启后台迁移
+     * @since 0.0.6
+     */
+    private long backgroundIntervalMillis = 0;
+
+    /**
+     * 后台每次迁移的时间预算（微秒）
+     * @since 0.0.6
+     */
+    private long backgroundBudgetMicros = 1000;
+
+    /**
+     * 新建对象实例
+     * @return 实例
+     * @since 0.0.6
+     */
+    public static ReHashPolicy newInstance() {
+        return new ReHashPolicy();
+    }
+
+    public int bucketsPerOp() {
+        return bucketsPerOp;
+    }
+
+    public ReHashPolicy bucketsPerOp(int bucketsPerOp) {
+        if(bucketsPerOp <= 0) {
+            throw new IllegalArgumentException("bucketsPerOp must be positive");
+        }
+        this.bucketsPerOp = bucketsPerOp;
+        return this;
+    }
+
+    public long timeBudgetMicros() {
+        return timeBudgetMicros;
+    }
+
+    public ReHashPolicy timeBudgetMicros(long timeBudgetMicros) {
+        this.timeBudgetMicros = timeBudgetMicros;
+        return this;
+    }
+
+    public long backgroundIntervalMillis() {
+        return backgroundIntervalMillis;
+    }
+
+    public ReHashPolicy backgroundIntervalMillis(long backgroundIntervalMillis) {
+        this.backgroundIntervalMillis = backgroundIntervalMillis;
+        return this;
+    }
+
+    public long backgroundBudgetMicros() {
+        return backgroundBudgetMicros;
+    }
+
+    public ReHashPolicy backgroundBudgetMicros(long backgroundBudgetMicros) {
+        if(backgroundBudgetMicros <= 0) {
+            throw new IllegalArgumentException("backgroundBudgetMicros must be positive");
+        }
+        this.backgroundBudgetMicros = backgroundBudgetMicros;
+        return this;
+    }
+
+    /**
+     * 是否开启后台迁移
+     * @return 是否
+     * @since 0.0.6
+     */
+    public boolean isBackground() {
+        return backgroundIntervalMillis > 0;
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.github.houbb.data.struct.core.util.map.rehash;
+
+/**
+ * 渐进式 rehash 的进度统计
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class ReHashStat {
+
+    /**
+     * 是否处于 rehash 中
+     * @since 0.0.6
+     */
+    private boolean inReHash;
+
+    /**
+     * 当前 rehash 已经迁移的桶个数
+     * @since 0.0.6
+     */
+    private int migratedBuckets;
+
+    /**
+     * 旧 table 的容量
+     * @since 0.0.6
+     */
+    private int capacity;
+
+    /**
+     * 新 table 的容量，不处于 rehash 时为 -1
+     * @since 0.0.6
+     */
+    private int rehashCapacity;
+
+    /**
+     * 累计开启 rehash 的次数
+     * @since 0.0.6
+     */
+    private long rehashCount;
+
+    /**
+     * 累计迁移的桶个数
+     * @since 0.0.6
+     */
+    private long totalMigratedBuckets;
+
+    /**
+     * 累计迁移耗时（纳秒）
+     * @since 0.0.6
+     */
+    private long totalMigrateNanos;
+
+    /**
+     * 后台线程累计迁移的桶个数
+     * @since 0.0.6
+     */
+    private long backgroundMigratedBuckets;
+
+    public static ReHashStat newInstance() {
+        return new ReHashStat();
+    }
+
+    public boolean inReHash() {
+        return inReHash;
+    }
+
+    public ReHashStat inReHash(boolean inReHash) {
+        this.inReHash = inReHash;
+        return this;
+    }
+
+    public int migratedBuckets() {
+        return migratedBuckets;
+    }
+
+    public ReHashStat migratedBuckets(int migratedBuckets) {
+        this.migratedBuckets = migratedBuckets;
+        return this;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public ReHashStat capacity(int capacity) {
+        this.capacity = capacity;
+        return this;
+    }
+
+    public int rehashCapacity() {
+        return rehashCapacity;
+    }
+
+    public ReHashStat rehashCapacity(int rehashCapacity) {
+        this.rehashCapacity = rehashCapacity;
+        return this;
+    }
+
+    public long rehashCount() {
+        return rehashCount;
+    }
+
+    public ReHashStat rehashCount(long rehashCount) {
+        this.rehashCount = rehashCount;
+        return this;
+    }
+
+    public long totalMigratedBuckets() {
+        return totalMigratedBuckets;
+    }
+
+    public ReHashStat totalMigratedBuckets(long totalMigratedBuckets) {
+        this.totalMigratedBuckets = totalMigratedBuckets;
+        return this;
+    }
+
+    public long totalMigrateNanos() {
+        return totalMigrateNanos;
+    }
+
+    public ReHashStat totalMigrateNanos(long totalMigrateNanos) {
+        this.totalMigrateNanos = totalMigrateNanos;
+        return this;
+    }
+
+    public long backgroundMigratedBuckets() {
+        return backgroundMigratedBuckets;
+    }
+
+    public ReHashStat backgroundMigratedBuckets(long backgroundMigratedBuckets) {
+        this.backgroundMigratedBuckets = backgroundMigratedBuckets;
+        return this;
+    }
+
+    /**
+     * 当前 rehash 的进度
+     * @return 0-1 之间，不处于 rehash 时为 1
+     * @since 0.0.6
+     */
+    public double progress() {
+        if(!inReHash || capacity <= 0) {
+            return 1.0;
+        }
+        return migratedBuckets * 1.0 / capacity;
+    }
+
+    @Override
+    public String toString() {
+        return "ReHashStat{" +
+                "inReHash=" + inReHash +
+                ", migratedBuckets=" + migratedBuckets +
+                ", capacity=" + capacity +
+                ", rehashCapacity=" + rehashCapacity +
+                ", rehashCount=" + rehashCount +
+                ", totalMigratedBuckets=" + totalMigratedBuckets +
+                ", totalMigrateNanos=" + totalMigrateNanos +
+                ", backgroundMigratedBuckets=" + backgroundMigratedBuckets +
+                '}';
+    }
+
+}
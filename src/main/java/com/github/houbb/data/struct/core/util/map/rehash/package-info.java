@@ -0,0 +1,5 @@
+/**
+ * 渐进式 rehash 的策略和统计
+ * @since 0.0.6
+ */
+package com.github.houbb.data.struct.core.util.map.rehash;
@@ -0,0 +1,45 @@
+package com.github.houbb.data.struct.core.util.map.serializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 序列化接口
+ *
+ * 用于把 key/value 存放在堆外的 {@link ByteBuffer} 中。
+ * 同一个对象多次序列化的结果必须完全相同，堆外的 map 直接比较 key 序列化之后的字节。
+ * @param <T> 泛型
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public interface ISerializer<T> {
+
+    /**
+     * 序列化之后的字节数
+     * @param value 对象
+     * @return 字节数
+     * @since 0.0.6
+     */
+    int size(T value);
+
+    /**
+     * 写入对象
+     *
+     * 从 buffer 当前的 position 开始写入，写入 {@link #size(Object)} 个字节
+     * @param value 对象
+     * @param buffer 目标
+     * @since 0.0.6
+     */
+    void write(T value, ByteBuffer buffer);
+
+    /**
+     * 读取对象
+     *
+     * 从 buffer 当前的 position 开始读取
+     * @param buffer 来源
+     * @param length 字节数
+     * @return 对象
+     * @since 0.0.6
+     */
+    T read(ByteBuffer buffer, int length);
+
+}
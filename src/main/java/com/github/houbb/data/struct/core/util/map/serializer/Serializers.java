@@ -0,0 +1,77 @@
+package com.github.houbb.data.struct.core.util.map.serializer;
+
+import com.github.houbb.data.struct.core.util.map.serializer.impl.ByteArraySerializer;
+import com.github.houbb.data.struct.core.util.map.serializer.impl.IntegerSerializer;
+import com.github.houbb.data.struct.core.util.map.serializer.impl.LongSerializer;
+import com.github.houbb.data.struct.core.util.map.serializer.impl.StringSerializer;
+
+/**
+ * 序列化工具类
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class Serializers {
+
+    private Serializers(){}
+
+    /**
+     * int
+     * @since 0.0.6
+     */
+    private static final ISerializer<Integer> INTEGER = new IntegerSerializer();
+
+    /**
+     * long
+     * @since 0.0.6
+     */
+    private static final ISerializer<Long> LONG = new LongSerializer();
+
+    /**
+     * 字符串
+     * @since 0.0.6
+     */
+    private static final ISerializer<String> STRING = new StringSerializer();
+
+    /**
+     * 字节数组
+     * @since 0.0.6
+     */
+    private static final ISerializer<byte[]> BYTE_ARRAY = new ByteArraySerializer();
+
+    /**
+     * int
+     * @return 序列化
+     * @since 0.0.6
+     */
+    public static ISerializer<Integer> integer() {
+        return INTEGER;
+    }
+
+    /**
+     * long
+     * @return 序列化
+     * @since 0.0.6
+     */
+    public static ISerializer<Long> longs() {
+        return LONG;
+    }
+
+    /**
+     * 字符串
+     * @return 序列化
+     * @since 0.0.6
+     */
+    public static ISerializer<String> string() {
+        return STRING;
+    }
+
+    /**
+     * 字节数组
+     * @return 序列化
+     * @since 0.0.6
+     */
+    public static ISerializer<byte[]> byteArray() {
+        return BYTE_ARRAY;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.github.houbb.data.struct.core.util.map.serializer.impl;
+
+import com.github.houbb.data.struct.core.util.map.serializer.ISerializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 字节数组，原样写入
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class ByteArraySerializer implements ISerializer<byte[]> {
+
+    @Override
+    public int size(byte[] value) {
+        return value.length;
+    }
+
+    @Override
+    public void write(byte[] value, ByteBuffer buffer) {
+        buffer.put(value);
+    }
+
+    @Override
+    public byte[] read(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.github.houbb.data.struct.core.util.map.serializer.impl;
+
+import com.github.houbb.data.struct.core.util.map.serializer.ISerializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * int 序列化，固定 4 个字节
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class IntegerSerializer implements ISerializer<Integer> {
+
+    @Override
+    public int size(Integer value) {
+        return 4;
+    }
+
+    @Override
+    public void write(Integer value, ByteBuffer buffer) {
+        buffer.putInt(value);
+    }
+
+    @Override
+    public Integer read(ByteBuffer buffer, int length) {
+        return buffer.getInt();
+    }
+
+}
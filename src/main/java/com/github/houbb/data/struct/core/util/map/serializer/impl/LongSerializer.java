@@ -0,0 +1,29 @@
+package com.github.houbb.data.struct.core.util.map.serializer.impl;
+
+import com.github.houbb.data.struct.core.util.map.serializer.ISerializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * long 序列化，固定 8 个字节
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class LongSerializer implements ISerializer<Long> {
+
+    @Override
+    public int size(Long value) {
+        return 8;
+    }
+
+    @Override
+    public void write(Long value, ByteBuffer buffer) {
+        buffer.putLong(value);
+    }
+
+    @Override
+    public Long read(ByteBuffer buffer, int length) {
+        return buffer.getLong();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.github.houbb.data.struct.core.util.map.serializer.impl;
+
+import com.github.houbb.data.struct.core.util.map.serializer.ISerializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 字符串序列化
+ *
+ * 直接按照 char 写入，每个字符 2 个字节。
+ * 不需要编码，也不需要创建中间的 byte 数组。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class StringSerializer implements ISerializer<String> {
+
+    @Override
+    public int size(String value) {
+        return value.length() << 1;
+    }
+
+    @Override
+    public void write(String value, ByteBuffer buffer) {
+        for (int i = 0; i < value.length(); i++) {
+            buffer.putChar(value.charAt(i));
+        }
+    }
+
+    @Override
+    public String read(ByteBuffer buffer, int length) {
+        char[] chars = new char[length >> 1];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = buffer.getChar();
+        }
+        return new String(chars);
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * 序列化实现
+ * @since 0.0.6
+ */
+package com.github.houbb.data.struct.core.util.map.serializer.impl;
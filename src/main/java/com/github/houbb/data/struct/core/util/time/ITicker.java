@@ -0,0 +1,20 @@
+package com.github.houbb.data.struct.core.util.time;
+
+/**
+ * 时间源
+ *
+ * 测试时可以替换为手动推进的实现。
+ * @author binbin.hou
+ * @see Tickers
+ * @since 0.0.6
+ */
+public interface ITicker {
+
+    /**
+     * 当前时间
+     * @return 纳秒，只用于计算时间差
+     * @since 0.0.6
+     */
+    long read();
+
+}
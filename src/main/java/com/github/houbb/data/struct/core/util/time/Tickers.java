@@ -0,0 +1,32 @@
+package com.github.houbb.data.struct.core.util.time;
+
+/**
+ * 时间源工具类
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class Tickers {
+
+    private Tickers(){}
+
+    /**
+     * 系统时间源
+     * @since 0.0.6
+     */
+    private static final ITicker SYSTEM = new ITicker() {
+        @Override
+        public long read() {
+            return System.nanoTime();
+        }
+    };
+
+    /**
+     * 基于 {@link System#nanoTime()} 的时间源
+     * @return 时间源
+     * @since 0.0.6
+     */
+    public static ITicker system() {
+        return SYSTEM;
+    }
+
+}
@@ -0,0 +1,7 @@
+/**
+ * 时间源
+ *
+ * cache、map 等包都会用到，单独放在这里，避免包之间的循环依赖。
+ * @since 0.0.6
+ */
+package com.github.houbb.data.struct.core.util.time;
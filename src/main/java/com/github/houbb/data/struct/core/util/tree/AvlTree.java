@@ -157,8 +157,6 @@ public class AvlTree<V extends Comparable<? super V>> implements ISortTree<V> {
      * @since 0.0.5
      */
     private Node<V> rightRotate(Node<V> y) {
-        System.out.println("右旋执行前：");
-        print();
 
         Node<V> x = y.left;
         Node<V> t3 = x.right;
@@ -173,8 +171,6 @@ public class AvlTree<V extends Comparable<? super V>> implements ISortTree<V> {
         if(y == root) {
             this.root = x;
         }
-        System.out.println("右旋执行后：");
-        print();
         return x;
     }
 
@@ -184,8 +180,6 @@ public class AvlTree<V extends Comparable<? super V>> implements ISortTree<V> {
      * @since 0.0.5
      */
     private Node<V> leftRotate(Node<V> y) {
-        System.out.println("左旋执行前：");
-        print();
 
         Node<V> x = y.right;
         Node<V> t3 = x.left;
@@ -200,10 +194,6 @@ public class AvlTree<V extends Comparable<? super V>> implements ISortTree<V> {
         if(y == root) {
             this.root = x;
         }
-
-        System.out.println("左旋执行后：");
-        print();
-
         return x;
     }
 
@@ -366,15 +356,15 @@ public class AvlTree<V extends Comparable<? super V>> implements ISortTree<V> {
         }
         //LR
         if (balanceFactor > 1 && getBalanceFactor(retNode.left) < 0) {
-            node.left = leftRotate(retNode.left);
+            retNode.left = leftRotate(retNode.left);
             return rightRotate(retNode);
         }
         //RL
         if (balanceFactor < -1 && getBalanceFactor(retNode.right) > 0) {
-            node.right = rightRotate(retNode.right);
+            retNode.right = rightRotate(retNode.right);
             return leftRotate(retNode);
         }
-        return node;
+        return retNode;
     }
 
     @Override
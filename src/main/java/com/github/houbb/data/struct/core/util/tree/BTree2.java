@@ -415,12 +415,26 @@ public class BTree2<E extends Comparable<? super E>> implements ISortTree<E> {
 
     @Override
     public boolean contains(E data) {
+        Node<E> x = root;
+        while (x != null) {
+            int i = 0;
+            while (i < x.n && data.compareTo(x.keys.get(i)) > 0) {
+                i++;
+            }
+            if (i < x.n && data.compareTo(x.keys.get(i)) == 0) {
+                return true;
+            }
+            if (x.isLeaf) {
+                return false;
+            }
+            x = x.children.get(i);
+        }
         return false;
     }
 
     @Override
     public void add(E data) {
-
+        insert(data);
     }
 
 //    @Override
@@ -1,10 +1,14 @@
 package com.github.houbb.data.struct.core.util.tree;
 
+import com.github.houbb.data.struct.core.util.list.IPredicate;
 import com.github.houbb.data.struct.core.util.tree.component.TreeNode;
 import com.github.houbb.log.integration.core.Log;
 import com.github.houbb.log.integration.core.LogFactory;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * 红黑树
@@ -12,7 +16,7 @@ import java.util.List;
  * @author binbin.hou
  * @since 0.0.5
  */
-public class RedBlackTree<T extends Comparable<? super T>> implements ISortTree<T> {
+public class RedBlackTree<T extends Comparable<? super T>> implements ISortTree<T>, Iterable<T> {
 
     private static final Log log = LogFactory.getLog(RedBlackTree.class);
 
@@ -49,13 +53,14 @@ public class RedBlackTree<T extends Comparable<? super T>> implements ISortTree<
 
     @Override
     public boolean contains(T data) {
-        return false;
+        return search(root, data) != null;
     }
 
     @Override
     public void add(T data) {
         Node<T> node = new Node<T>(null, null, null, data, BLACK);
         this.add(node);
+        this.size++;
     }
 
     /**
@@ -174,6 +179,7 @@ public class RedBlackTree<T extends Comparable<? super T>> implements ISortTree<
         }
 
         remove(node);
+        this.size--;
         return true;
     }
 
@@ -373,14 +379,99 @@ public class RedBlackTree<T extends Comparable<? super T>> implements ISortTree<
             return x;
     }
 
+    /**
+     * 查询区间内的元素
+     *
+     * 返回满足 from &lt;= data &lt;= to 的所有元素，按照从小到大的顺序。
+     * 边界可以是和元素类型不同的对象，只要能和元素进行比较即可，
+     * 这样可以只按照元素的部分属性进行查找。
+     *
+     * @param from 下界
+     * @param to 上界
+     * @return 结果
+     * @since 0.0.6
+     */
+    public List<T> range(Comparable<? super T> from, Comparable<? super T> to) {
+        List<T> list = new ArrayList<>();
+        range(root, from, to, list);
+        return list;
+    }
+
+    /**
+     * 中序遍历，跳过区间之外的子树
+     * @param x 节点
+     * @param from 下界
+     * @param to 上界
+     * @param list 结果
+     * @since 0.0.6
+     */
+    private void range(Node<T> x, Comparable<? super T> from, Comparable<? super T> to, List<T> list) {
+        if (x == null)
+            return;
+
+        int cmpFrom = from.compareTo(x.data);
+        int cmpTo = to.compareTo(x.data);
+        if (cmpFrom < 0)
+            range(x.left, from, to, list);
+        if (cmpFrom <= 0 && cmpTo >= 0)
+            list.add(x.data);
+        if (cmpTo > 0)
+            range(x.right, from, to, list);
+    }
+
+    /**
+     * 查找元素
+     *
+     * probe 和元素比较，小于 0 时查找左子树，大于 0 时查找右子树；
+     * 等于 0 时使用 matcher 判断，不满足时左右子树都需要查找，因为和 probe 相等的元素可能分布在两侧。
+     * 查找的过程中不会创建任何对象。
+     *
+     * @param probe 查找条件，可以只比较元素的部分属性
+     * @param matcher 是否为要查找的元素
+     * @return 结果，不存在返回 null
+     * @since 0.0.6
+     */
+    public T find(Comparable<? super T> probe, IPredicate<? super T> matcher) {
+        return find(root, probe, matcher);
+    }
+
+    /**
+     * 查找元素，相等时才递归
+     * @param x 节点
+     * @param probe 查找条件
+     * @param matcher 是否为要查找的元素
+     * @return 结果
+     * @since 0.0.6
+     */
+    private T find(Node<T> x, Comparable<? super T> probe, IPredicate<? super T> matcher) {
+        while (x != null) {
+            int cmp = probe.compareTo(x.data);
+            if (cmp < 0) {
+                x = x.left;
+            } else if (cmp > 0) {
+                x = x.right;
+            } else {
+                if (matcher.test(x.data)) {
+                    return x.data;
+                }
+                T result = find(x.left, probe, matcher);
+                if (result != null) {
+                    return result;
+                }
+                x = x.right;
+            }
+        }
+        return null;
+    }
+
     @Override
     public int getSize() {
-        return 0;
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return false;
+        return size == 0;
     }
 
     @Override
@@ -400,7 +491,38 @@ public class RedBlackTree<T extends Comparable<? super T>> implements ISortTree<
 
     @Override
     public List<T> inOrder() {
-        return null;
+        List<T> list = new ArrayList<>(size);
+        inOrder(root, list);
+        return list;
+    }
+
+    /**
+     * 按照从小到大的顺序遍历
+     *
+     * 通过父节点找到后继，直接在树上遍历，不需要复制元素。
+     * 遍历整棵树为 O(n)，遍历的过程中不能修改树。
+     *
+     * @return 迭代器
+     * @since 0.0.6
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new InOrderIterator();
+    }
+
+    /**
+     * 中序遍历
+     * @param x 节点
+     * @param list 结果
+     * @since 0.0.6
+     */
+    private void inOrder(Node<T> x, List<T> list) {
+        if (x == null)
+            return;
+
+        inOrder(x.left, list);
+        list.add(x.data);
+        inOrder(x.right, list);
     }
 
     @Override
@@ -504,6 +626,78 @@ public class RedBlackTree<T extends Comparable<? super T>> implements ISortTree<
         }
     }
 
+    /**
+     * 中序遍历的迭代器
+     * @since 0.0.6
+     */
+    private class InOrderIterator implements Iterator<T> {
+
+        /**
+         * 下一个节点
+         */
+        private Node<T> next;
+
+        private InOrderIterator() {
+            this.next = minimum(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+
+            Node<T> node = next;
+            next = successor(node);
+            return node.data;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * 子树中最小的节点
+     * @param x 子树的根
+     * @return 结果，空树返回 null
+     * @since 0.0.6
+     */
+    private static <T> Node<T> minimum(Node<T> x) {
+        if (x == null)
+            return null;
+
+        while (x.left != null)
+            x = x.left;
+        return x;
+    }
+
+    /**
+     * 中序遍历的后继节点
+     *
+     * 有右子树时为右子树中最小的节点；否则向上找到第一个从左子树上来的祖先。
+     * @param x 节点
+     * @return 结果，没有时返回 null
+     * @since 0.0.6
+     */
+    private static <T> Node<T> successor(Node<T> x) {
+        if (x.right != null)
+            return minimum(x.right);
+
+        Node<T> parent = x.parent;
+        while (parent != null && x == parent.right) {
+            x = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
     /**
      * 对红黑树的节点(x)进行左旋转
      * @param x 节点
@@ -0,0 +1,56 @@
+package com.github.houbb.data.struct.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * ByteBuffer 工具类
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class BufferUtil {
+
+    private BufferUtil(){}
+
+    /**
+     * 立刻释放堆外内存
+     *
+     * direct/mapped buffer 默认要等到 GC 回收 buffer 对象时才会释放内存。
+     * （1）jdk9 及以上使用 Unsafe.invokeCleaner()
+     * （2）jdk8 及以下调用 buffer 的 cleaner().clean()
+     * 都不可用时什么都不做，内存由 GC 回收。
+     *
+     * 释放之后 buffer 不能再被访问。
+     * @param buffer buffer
+     * @since 0.0.6
+     */
+    public static void release(final ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return;
+        }
+
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            invokeCleaner.invoke(field.get(null), buffer);
+            return;
+        } catch (Exception e) {
+            // jdk8 及以下没有 invokeCleaner
+        }
+
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (Exception e) {
+            // 交给 GC 回收
+        }
+    }
+
+}
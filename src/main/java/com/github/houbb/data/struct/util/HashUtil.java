@@ -22,18 +22,88 @@ public final class HashUtil {
         if(object == null) {
             return 0;
         }
-        //TODO: 添加 hash 处理
-        return object.hashCode();
+        return mix(object.hashCode());
     }
 
     /**
      * Returns index for hash code h.
+     *
+     * length 必须为 2 的幂，直接使用掩码计算，负数的 hash 也可以正确处理。
      * @param h hash 值
      * @param length 整体长度
      * @return hash 結果
      */
     public static int indexFor(int h, int length) {
-        return h % length;
+        return h & (length - 1);
+    }
+
+    /**
+     * 对 int 值进行扰动
+     *
+     * 使用 murmur3 的 fmix32 结尾函数，保证每一位都会影响到低位。
+     * 主要用于原始类型 key 的开放寻址表，避免连续的 key 聚集在一起。
+     * @param h 原始值
+     * @return 扰动后的结果
+     * @since 0.0.6
+     */
+    public static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * 对 int 值进行扰动
+     *
+     * 使用 xxHash32 的 avalanche 结尾函数。
+     * @param h 原始值
+     * @return 扰动后的结果
+     * @since 0.0.6
+     */
+    public static int xxMix(int h) {
+        h ^= h >>> 15;
+        h *= 0x85ebca77;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae3d;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * 对 long 值进行扰动
+     *
+     * 使用 murmur3 的 fmix64 结尾函数，然后折叠为 int。
+     * @param h 原始值
+     * @return 扰动后的结果
+     * @since 0.0.6
+     */
+    public static int mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * 大于等于 cap 的最小的 2 的幂
+     * @param cap 容量
+     * @return 结果
+     * @since 0.0.6
+     */
+    public static int tableSizeFor(int cap) {
+        if(cap <= 1) {
+            return 1;
+        }
+        final int max = 1 << 30;
+        if(cap >= max) {
+            return max;
+        }
+        return Integer.highestOneBit(cap - 1) << 1;
     }
 
 }
@@ -0,0 +1,91 @@
+package com.github.houbb.data.struct.util;
+
+/**
+ * 内存占用估算工具类
+ *
+ * 按照 64 位 jvm 开启指针压缩的情况估算，对象按 8 字节对齐。
+ * 只用于观察数据结构本身的开销，不包含 key/value 对象。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public final class MemoryUtil {
+
+    private MemoryUtil(){}
+
+    /**
+     * 对象头
+     * @since 0.0.6
+     */
+    public static final int OBJECT_HEADER = 12;
+
+    /**
+     * 数组头（对象头+长度）
+     * @since 0.0.6
+     */
+    public static final int ARRAY_HEADER = 16;
+
+    /**
+     * 引用大小
+     * @since 0.0.6
+     */
+    public static final int REFERENCE = 4;
+
+    /**
+     * ArrayList 对象本身：对象头+modCount+size+elementData
+     * @since 0.0.6
+     */
+    public static final int ARRAY_LIST = 24;
+
+    /**
+     * ArrayList 第一次添加元素时的默认容量
+     * @since 0.0.6
+     */
+    private static final int ARRAY_LIST_DEFAULT_CAPACITY = 10;
+
+    /**
+     * 按照 8 字节对齐
+     * @param size 大小
+     * @return 结果
+     * @since 0.0.6
+     */
+    public static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * 对象大小
+     * @param fieldBytes 所有字段占用的字节
+     * @return 结果
+     * @since 0.0.6
+     */
+    public static long objectSize(long fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    /**
+     * 数组大小
+     * @param length 长度
+     * @param elementBytes 每个元素的大小
+     * @return 结果
+     * @since 0.0.6
+     */
+    public static long arraySize(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    /**
+     * 估算 ArrayList 的大小
+     *
+     * 无法直接获取内部数组的长度，按照 max(size, 10) 估算。
+     * @param size 元素个数
+     * @return 结果
+     * @since 0.0.6
+     */
+    public static long arrayListSize(int size) {
+        if(size <= 0) {
+            return ARRAY_LIST;
+        }
+        return ARRAY_LIST + arraySize(Math.max(size, ARRAY_LIST_DEFAULT_CAPACITY), REFERENCE);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.github.houbb.data.struct.core.concurrent;
+
+import com.github.houbb.data.struct.core.util.list.ConcurrentSkipList;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ConcurrentSkipList 和 ConcurrentSkipListMap 的简单对比
+ *
+ * 多个线程随机执行 put/get/remove，统计耗时。
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class ConcurrentSkipListBenchmarkDemo {
+
+    private static final int THREADS = 4;
+
+    private static final int OPS = 500000;
+
+    private static final int KEY_RANGE = 100000;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int round = 0; round < 3; round++) {
+            final ConcurrentSkipList<Integer, Integer> list = new ConcurrentSkipList<>();
+            long listCost = run(new Op() {
+                @Override
+                public void apply(int type, Integer key) {
+                    if (type == 0) {
+                        list.put(key, key);
+                    } else if (type == 1) {
+                        list.remove(key);
+                    } else {
+                        list.get(key);
+                    }
+                }
+            });
+
+            final ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<>();
+            long mapCost = run(new Op() {
+                @Override
+                public void apply(int type, Integer key) {
+                    if (type == 0) {
+                        map.put(key, key);
+                    } else if (type == 1) {
+                        map.remove(key);
+                    } else {
+                        map.get(key);
+                    }
+                }
+            });
+
+            System.out.println("ConcurrentSkipList: " + listCost + "ms, ConcurrentSkipListMap: " + mapCost + "ms");
+        }
+    }
+
+    private interface Op {
+        void apply(int type, Integer key);
+    }
+
+    private static long run(final Op op) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(THREADS);
+        long start = System.currentTimeMillis();
+        for (int t = 0; t < THREADS; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < OPS; i++) {
+                        // 20% put, 10% remove, 70% get
+                        int percent = random.nextInt(10);
+                        int type = percent < 2 ? 0 : (percent < 3 ? 1 : 2);
+                        op.apply(type, random.nextInt(KEY_RANGE));
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        return System.currentTimeMillis() - start;
+    }
+
+}
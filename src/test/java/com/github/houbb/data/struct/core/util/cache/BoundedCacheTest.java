@@ -0,0 +1,151 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class BoundedCacheTest {
+
+    @Test
+    public void lruTest() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(3);
+        cache.put(1, "1");
+        cache.put(2, "2");
+        cache.put(3, "3");
+        // 1 最近被访问，淘汰 2
+        Assert.assertEquals("1", cache.get(1));
+        cache.put(4, "4");
+
+        Assert.assertEquals(3, cache.size());
+        Assert.assertFalse(cache.containsKey(2));
+        Assert.assertTrue(cache.containsKey(1));
+
+        CacheStats stats = cache.stats();
+        Assert.assertEquals(1, stats.hitCount());
+        Assert.assertEquals(0, stats.missCount());
+        Assert.assertEquals(1, stats.evictionCount());
+
+        Assert.assertNull(cache.get(2));
+        Assert.assertEquals(0.5, cache.stats().hitRate(), 0.0001);
+    }
+
+    @Test
+    public void lfuTest() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(3, EvictionPolicies.<Integer, Integer>lfu());
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        cache.get(1);
+        cache.get(1);
+        cache.get(3);
+        // 2 的访问次数最少
+        cache.put(4, 4);
+        Assert.assertFalse(cache.containsKey(2));
+
+        // 4 和 3 相比，4 的次数更少
+        cache.put(5, 5);
+        Assert.assertFalse(cache.containsKey(4));
+        Assert.assertTrue(cache.containsKey(1));
+        Assert.assertTrue(cache.containsKey(3));
+
+        Assert.assertEquals(3, (int) cache.remove(3));
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void weightTest() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, new IWeigher<String, String>() {
+            @Override
+            public int weigh(String key, String value) {
+                return value.length();
+            }
+        }, EvictionPolicies.<String, String>lru());
+
+        cache.put("a", "12345");
+        cache.put("b", "1234");
+        Assert.assertEquals(9, cache.weightedSize());
+
+        // 更新导致超出上限，淘汰 a
+        cache.put("b", "123456");
+        Assert.assertEquals(6, cache.weightedSize());
+        Assert.assertNull(cache.get("a"));
+
+        // 单个元素超出上限，直接被淘汰
+        cache.put("c", "12345678901");
+        Assert.assertFalse(cache.containsKey("c"));
+        Assert.assertEquals(6, cache.weightedSize());
+        Assert.assertEquals(2, cache.stats().evictionCount());
+        Assert.assertEquals(16, cache.stats().evictionWeight());
+    }
+
+    /**
+     * 一次性的扫描不会冲掉热点数据
+     */
+    @Test
+    public void wTinyLfuScanResistantTest() {
+        final int maximum = 100;
+        BoundedCache<Integer, Integer> tinyLfu = new BoundedCache<>(maximum, EvictionPolicies.<Integer, Integer>wTinyLfu());
+        BoundedCache<Integer, Integer> lru = new BoundedCache<>(maximum);
+
+        Random random = new Random(1);
+        for (int round = 0; round < 20; round++) {
+            // 热点
+            for (int i = 0; i < 500; i++) {
+                access(tinyLfu, random.nextInt(50));
+                access(lru, random.nextInt(50));
+            }
+            // 扫描
+            for (int i = 0; i < 200; i++) {
+                int key = 10000 + round * 1000 + i;
+                access(tinyLfu, key);
+                access(lru, key);
+            }
+        }
+
+        Assert.assertTrue(tinyLfu.size() <= maximum);
+        Assert.assertTrue(tinyLfu.stats().hitRate() > lru.stats().hitRate());
+        for (int i = 0; i < 50; i++) {
+            Assert.assertTrue(tinyLfu.containsKey(i));
+        }
+    }
+
+    @Test
+    public void policyConsistencyTest() {
+        for (int p = 0; p < 3; p++) {
+            IEvictionPolicy<Integer, Integer> policy = p == 0 ? EvictionPolicies.<Integer, Integer>lru()
+                    : p == 1 ? EvictionPolicies.<Integer, Integer>lfu() : EvictionPolicies.<Integer, Integer>wTinyLfu();
+            BoundedCache<Integer, Integer> cache = new BoundedCache<>(64, policy);
+            Random random = new Random(p);
+            for (int i = 0; i < 20000; i++) {
+                int key = random.nextInt(256);
+                int op = random.nextInt(10);
+                if (op < 5) {
+                    access(cache, key);
+                } else if (op < 9) {
+                    cache.put(key, i);
+                } else {
+                    cache.remove(key);
+                }
+                Assert.assertTrue(cache.size() <= 64);
+                Assert.assertEquals(cache.size(), cache.weightedSize());
+            }
+
+            cache.clear();
+            Assert.assertEquals(0, cache.size());
+            cache.put(1, 1);
+            Assert.assertEquals(1, (int) cache.get(1));
+        }
+    }
+
+    private static void access(BoundedCache<Integer, Integer> cache, int key) {
+        if (cache.get(key) == null) {
+            cache.put(key, key);
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+import com.github.houbb.data.struct.core.util.time.ITicker;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class ConcurrentBoundedCacheTest {
+
+    /**
+     * 手动推进的时间源
+     */
+    private static class FakeTicker implements ITicker {
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advance(long duration, TimeUnit unit) {
+            nanos.addAndGet(unit.toNanos(duration));
+        }
+    }
+
+    @Test
+    public void lruTest() {
+        ConcurrentBoundedCache<Integer, String> cache = new ConcurrentBoundedCache<>(3);
+        cache.put(1, "1");
+        cache.put(2, "2");
+        cache.put(3, "3");
+        Assert.assertEquals("1", cache.get(1));
+        cache.put(4, "4");
+        cache.cleanUp();
+
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(3, cache.weightedSize());
+        Assert.assertFalse(cache.containsKey(2));
+        Assert.assertTrue(cache.containsKey(1));
+        Assert.assertEquals(1, cache.stats().evictionCount());
+
+        Assert.assertEquals("4", cache.put(4, "5"));
+        Assert.assertEquals("5", cache.remove(4));
+        Assert.assertNull(cache.get(4));
+        cache.cleanUp();
+        Assert.assertEquals(2, cache.weightedSize());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    public void expireAfterWriteTest() {
+        FakeTicker ticker = new FakeTicker();
+        ConcurrentBoundedCache<String, String> cache = new ConcurrentBoundedCache<>(CacheConfig.<String, String>newInstance()
+                .maximumSize(10)
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .ticker(ticker));
+
+        cache.put("a", "1");
+        ticker.advance(30, TimeUnit.SECONDS);
+        cache.put("b", "2");
+        Assert.assertEquals("1", cache.get("a"));
+
+        ticker.advance(30, TimeUnit.SECONDS);
+        Assert.assertNull(cache.get("a"));
+        Assert.assertFalse(cache.containsKey("a"));
+        Assert.assertEquals("2", cache.get("b"));
+
+        // 重新写入会重置时间
+        cache.put("b", "3");
+        ticker.advance(59, TimeUnit.SECONDS);
+        Assert.assertEquals("3", cache.get("b"));
+
+        cache.cleanUp();
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(1, cache.weightedSize());
+        Assert.assertEquals(1, cache.stats().evictionCount());
+        Assert.assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    public void refreshAfterWriteTest() {
+        FakeTicker ticker = new FakeTicker();
+        final AtomicInteger loads = new AtomicInteger();
+        final AtomicInteger executions = new AtomicInteger();
+        ConcurrentBoundedCache<String, Integer> cache = new ConcurrentBoundedCache<>(CacheConfig.<String, Integer>newInstance()
+                .maximumSize(10)
+                .refreshAfterWrite(1, TimeUnit.MINUTES)
+                .loader(new ICacheLoader<String, Integer>() {
+                    @Override
+                    public Integer load(String key) {
+                        return loads.incrementAndGet() * 100;
+                    }
+                })
+                .executor(new Executor() {
+                    @Override
+                    public void execute(Runnable command) {
+                        executions.incrementAndGet();
+                        command.run();
+                    }
+                })
+                .ticker(ticker));
+
+        cache.put("a", 1);
+        Assert.assertEquals(1, (int) cache.get("a"));
+        Assert.assertEquals(0, executions.get());
+
+        // 到期之后返回旧值，同时刷新
+        ticker.advance(2, TimeUnit.MINUTES);
+        Assert.assertEquals(1, (int) cache.get("a"));
+        Assert.assertEquals(100, (int) cache.get("a"));
+        Assert.assertEquals(1, executions.get());
+        Assert.assertEquals(1, loads.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refreshWithoutLoaderTest() {
+        new ConcurrentBoundedCache<>(CacheConfig.<String, String>newInstance()
+                .refreshAfterWrite(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        final int maximum = 128;
+        final ConcurrentBoundedCache<Integer, Integer> cache = new ConcurrentBoundedCache<>(CacheConfig.<Integer, Integer>newInstance()
+                .maximumSize(maximum)
+                .policy(EvictionPolicies.<Integer, Integer>wTinyLfu()));
+        final int threads = 8;
+        final int ops = 20000;
+        final AtomicLong gets = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(threads);
+        final AtomicInteger errors = new AtomicInteger();
+
+        for (int t = 0; t < threads; t++) {
+            final int seed = t;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Random random = new Random(seed);
+                        for (int i = 0; i < ops; i++) {
+                            int key = random.nextInt(512);
+                            int op = random.nextInt(10);
+                            if (op < 6) {
+                                Integer value = cache.get(key);
+                                gets.incrementAndGet();
+                                if (value != null && value != key) {
+                                    errors.incrementAndGet();
+                                }
+                            } else if (op < 9) {
+                                cache.put(key, key);
+                            } else {
+                                cache.remove(key);
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            }).start();
+        }
+        latch.await();
+        cache.cleanUp();
+
+        Assert.assertEquals(0, errors.get());
+        Assert.assertTrue(cache.size() <= maximum);
+        Assert.assertEquals(cache.size(), cache.weightedSize());
+        Assert.assertEquals(gets.get(), cache.stats().requestCount());
+        for (int key = 0; key < 512; key++) {
+            Integer value = cache.get(key);
+            Assert.assertTrue(value == null || value == key);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.github.houbb.data.struct.core.util.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class CountMinSketchTest {
+
+    @Test
+    public void frequencyTest() {
+        CountMinSketch sketch = new CountMinSketch(1024);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("hot");
+        }
+        sketch.increment("cold");
+
+        Assert.assertTrue(sketch.frequency("hot") >= 10);
+        Assert.assertTrue(sketch.frequency("cold") >= 1);
+        Assert.assertTrue(sketch.frequency("hot") > sketch.frequency("cold"));
+
+        // 计数器最大为 15
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("hot");
+        }
+        Assert.assertEquals(15, sketch.frequency("hot"));
+    }
+
+    @Test
+    public void resetTest() {
+        CountMinSketch sketch = new CountMinSketch(16);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment("key");
+        }
+        int before = sketch.frequency("key");
+
+        // 达到 10 倍宽度之后减半
+        for (int i = 0; i < 160; i++) {
+            sketch.increment(i);
+        }
+        Assert.assertTrue(sketch.frequency("key") < before);
+    }
+
+    /**
+     * 一个 byte 中的两个计数器互不影响，减半时 15 变为 7
+     */
+    @Test
+    public void packedCounterTest() {
+        CountMinSketch sketch = new CountMinSketch(16);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("a");
+        }
+        Assert.assertEquals(15, sketch.frequency("a"));
+
+        int key = 0;
+        while (sketch.frequency("a") == 15) {
+            sketch.increment(key++);
+        }
+        Assert.assertEquals(7, sketch.frequency("a"));
+        for (int i = 0; i < key; i++) {
+            Assert.assertTrue(sketch.frequency(i) <= 7);
+        }
+    }
+
+}
@@ -1,7 +1,10 @@
 package com.github.houbb.data.struct.core.util.list;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -32,6 +35,36 @@ public class CircularLinkedListTest {
         Lists.print(list);
     }
 
+    @Test
+    public void iteratorTest() {
+        List<Integer> list = new CircularLinkedList<>();
+        for (int i = 0; i < 5; i++) {
+            list.add(i);
+        }
+
+        Iterator<Integer> iterator = list.iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            count++;
+        }
+        Assert.assertEquals(5, count);
+        Assert.assertTrue(list.isEmpty());
 
+        list.add(1);
+        list.add(2);
+        Assert.assertEquals(2, (int) list.get(1));
+
+        iterator = list.iterator();
+        iterator.next();
+        list.add(3);
+        try {
+            iterator.next();
+            Assert.fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
 
 }
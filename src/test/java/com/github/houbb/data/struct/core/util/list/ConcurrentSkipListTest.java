@@ -0,0 +1,158 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class ConcurrentSkipListTest {
+
+    @Test
+    public void basicTest() {
+        ConcurrentSkipList<String, Integer> list = new ConcurrentSkipList<>();
+        Assert.assertNull(list.put("b", 2));
+        Assert.assertNull(list.put("d", 4));
+        Assert.assertNull(list.put("a", 1));
+        Assert.assertEquals(2, (int) list.put("b", 20));
+        Assert.assertEquals(20, (int) list.putIfAbsent("b", 200));
+        Assert.assertEquals(3, list.size());
+
+        Assert.assertEquals(20, (int) list.get("b"));
+        Assert.assertNull(list.get("c"));
+        Assert.assertEquals("b", list.floorKey("c"));
+        Assert.assertEquals("d", list.ceilingKey("c"));
+        Assert.assertEquals("d", list.floorKey("z"));
+        Assert.assertNull(list.ceilingKey("z"));
+        Assert.assertNull(list.floorKey("0"));
+
+        Assert.assertEquals(20, (int) list.remove("b"));
+        Assert.assertNull(list.remove("b"));
+        Assert.assertFalse(list.containsKey("b"));
+        Assert.assertEquals(2, list.size());
+    }
+
+    @Test
+    public void rangeTest() {
+        ConcurrentSkipList<Integer, Integer> list = new ConcurrentSkipList<>(Collections.<Integer>reverseOrder());
+        for (int i = 0; i < 10; i++) {
+            list.put(i, i);
+        }
+
+        // 逆序的比较器：9, 8, ..., 0
+        Assert.assertEquals(Arrays.asList(7, 6, 5), keys(list.ascendingIterator(7, true, 4, false)));
+        Assert.assertEquals(Arrays.asList(4, 5, 6), keys(list.descendingIterator(4, true, 7, false)));
+        Assert.assertEquals(10, keys(list.iterator()).size());
+        Assert.assertEquals(Arrays.asList(0, 1, 2), keys(list.descendingIterator(null, true, 2, true)));
+
+        Iterator<Map.Entry<Integer, Integer>> iterator = list.ascendingIterator(null, true, 5, true);
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        Assert.assertEquals(Arrays.asList(4, 3, 2, 1, 0), keys(list.iterator()));
+    }
+
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        final ConcurrentSkipList<Integer, Integer> list = new ConcurrentSkipList<>();
+        final int threads = 4;
+        final int count = 5000;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < count; i++) {
+                        list.put(i * threads + offset, i);
+                    }
+                    // 删除一半
+                    for (int i = 0; i < count; i += 2) {
+                        list.remove(i * threads + offset);
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+
+        Assert.assertEquals(threads * count / 2, list.size());
+        List<Integer> keys = keys(list.iterator());
+        Assert.assertEquals(threads * count / 2, keys.size());
+        for (int i = 1; i < keys.size(); i++) {
+            Assert.assertTrue(keys.get(i - 1) < keys.get(i));
+        }
+    }
+
+    private static <K, V> List<K> keys(Iterator<Map.Entry<K, V>> iterator) {
+        List<K> keys = new ArrayList<>();
+        while (iterator.hasNext()) {
+            keys.add(iterator.next().getKey());
+        }
+        return keys;
+    }
+
+    /**
+     * 同一个 key 上并发的 put/remove，每一个放入的值都只会被替换或者删除一次，不会丢失
+     */
+    @Test
+    public void noLostUpdateTest() throws InterruptedException {
+        final ConcurrentSkipList<Integer, Integer> list = new ConcurrentSkipList<>();
+        final int threads = 4;
+        final int perThread = 20000;
+        final Set<Integer> seen = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+        final List<Integer> duplicates = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * perThread;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = offset; i < offset + perThread; i++) {
+                            Integer old = (i & 3) == 0 ? list.remove(1) : list.put(1, i);
+                            if ((i & 3) == 0) {
+                                // remove 之后重新放入，保证值的个数守恒
+                                Integer again = list.put(1, i);
+                                if (again != null && !seen.add(again)) {
+                                    duplicates.add(again);
+                                }
+                            }
+                            if (old != null && !seen.add(old)) {
+                                duplicates.add(old);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+
+        Assert.assertTrue(duplicates.isEmpty());
+        Assert.assertEquals(1, list.size());
+        // 最后的值没有被返回过，其余的值都被返回了恰好一次
+        Assert.assertFalse(seen.contains(list.get(1)));
+        Assert.assertEquals(threads * perThread - 1, seen.size());
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class CopyOnWriteListTest {
+
+    @Test
+    public void basicTest() {
+        CopyOnWriteList<Integer> list = new CopyOnWriteList<>(Arrays.asList(1, 2, 3));
+        list.add(0, 0);
+        list.add(4);
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4), list);
+
+        Assert.assertEquals(2, (int) list.set(2, 20));
+        Assert.assertEquals(0, (int) list.remove(0));
+        Assert.assertTrue(list.remove(Integer.valueOf(20)));
+        Assert.assertEquals(Arrays.asList(1, 3, 4), list);
+
+        Assert.assertTrue(list.addAll(1, Arrays.asList(5, 6)));
+        Assert.assertTrue(list.removeAll(Arrays.asList(5, 6)));
+        Assert.assertTrue(list.removeWhere(new IPredicate<Integer>() {
+            @Override
+            public boolean test(Integer element) {
+                return element > 3;
+            }
+        }));
+        Assert.assertEquals(Arrays.asList(1, 3), list);
+
+        list.subList(0, 1).clear();
+        Assert.assertEquals(Arrays.asList(3), list);
+        list.clear();
+        Assert.assertTrue(list.isEmpty());
+    }
+
+    /**
+     * 迭代器是快照，修改不影响正在进行的遍历
+     */
+    @Test
+    public void snapshotIteratorTest() {
+        CopyOnWriteList<Integer> list = new CopyOnWriteList<>(Arrays.asList(1, 2, 3));
+        Iterator<Integer> iterator = list.iterator();
+        list.add(4);
+        list.remove(0);
+
+        int sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.next();
+        }
+        Assert.assertEquals(6, sum);
+        Assert.assertEquals(Arrays.asList(2, 3, 4), list);
+
+        try {
+            list.iterator().remove();
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        final List<Integer> list = new CopyOnWriteList<>();
+        final int threads = 4;
+        final int perThread = 500;
+        final AtomicInteger errors = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(threads * 2);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads * 2);
+
+        for (int t = 0; t < threads; t++) {
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < perThread; i++) {
+                            list.add(i);
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            });
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < perThread; i++) {
+                            int count = 0;
+                            for (Integer value : list) {
+                                if (value == null) {
+                                    errors.incrementAndGet();
+                                }
+                                count++;
+                            }
+                            if (count > threads * perThread) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+        latch.await(60, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        Assert.assertEquals(0, errors.get());
+        Assert.assertEquals(threads * perThread, list.size());
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class DoubleArrayListTest {
+
+    @Test
+    public void basicTest() {
+        DoubleArrayList list = DoubleArrayList.of(2.5, Double.NaN, -1.0);
+        list.add(0, 0.0);
+        Assert.assertEquals(4, list.size());
+
+        // 和 Double.equals 一致
+        Assert.assertTrue(list.contains(Double.NaN));
+        Assert.assertFalse(list.contains(-0.0));
+
+        list.sort();
+        Assert.assertEquals(-1.0, list.get(0), 0.0);
+        Assert.assertTrue(Double.isNaN(list.get(3)));
+        Assert.assertEquals(2, list.binarySearch(2.5));
+
+        Assert.assertEquals(DoubleArrayList.of(-1.0, 0.0, 2.5, Double.NaN), list);
+        Assert.assertEquals(DoubleArrayList.of(-1.0, 0.0, 2.5, Double.NaN).hashCode(), list.hashCode());
+        Assert.assertEquals(2.5, list.asBuffer().get(2), 0.0);
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ListIterator;
+import java.util.Iterator;
+import java.util.ConcurrentModificationException;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class DoubleLinkedListTest {
+
+    @Test
+    public void indexTest() {
+        DoubleLinkedList<Integer> list = new DoubleLinkedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 5000; i++) {
+            int op = random.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, i);
+                expected.add(index, i);
+            } else if (op < 8) {
+                int index = random.nextInt(expected.size());
+                Assert.assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                Assert.assertEquals(expected.set(index, -i), list.set(index, -i));
+            }
+            Assert.assertEquals(expected.size(), list.size());
+        }
+
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void removeObjectTest() {
+        DoubleLinkedList<String> list = new DoubleLinkedList<>();
+        list.add("a");
+        Assert.assertTrue(list.remove("a"));
+        Assert.assertTrue(list.isEmpty());
+
+        list.add("a");
+        list.add("b");
+        list.add("c");
+        Assert.assertTrue(list.remove("b"));
+        Assert.assertEquals("c", list.get(1));
+        Assert.assertTrue(list.remove("c"));
+        Assert.assertEquals(0, list.lastIndexOf("a"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rangeCheckTest() {
+        new DoubleLinkedList<String>().get(0);
+    }
+
+    @Test
+    public void iteratorTest() {
+        DoubleLinkedList<Integer> list = new DoubleLinkedList<>();
+        for (int i = 0; i < 6; i++) {
+            list.add(i);
+        }
+
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(Arrays.asList(1, 3, 5), Arrays.asList(list.toArray()));
+
+        ListIterator<Integer> listIterator = list.listIterator(list.size());
+        Assert.assertEquals(5, (int) listIterator.previous());
+        listIterator.remove();
+        listIterator.add(4);
+        Assert.assertEquals(4, (int) listIterator.previous());
+        Assert.assertEquals(3, (int) listIterator.previous());
+        listIterator.set(30);
+        Assert.assertEquals(Arrays.asList(1, 30, 4), Arrays.asList(list.toArray(new Integer[0])));
+
+        iterator = list.iterator();
+        iterator.next();
+        list.remove(0);
+        try {
+            iterator.next();
+            Assert.fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import com.github.houbb.data.struct.core.util.list.growth.IGrowthPolicy;
+import com.github.houbb.data.struct.util.MemoryUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.IntBuffer;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class IntArrayListTest {
+
+    @Test
+    public void addRemoveTest() {
+        IntArrayList list = new IntArrayList(2);
+        list.add(1);
+        list.add(3);
+        list.add(1, 2);
+        list.add(0, 0);
+        Assert.assertEquals("[0, 1, 2, 3]", list.toString());
+        Assert.assertEquals(4, list.size());
+
+        Assert.assertEquals(2, list.set(2, 20));
+        Assert.assertEquals(20, list.get(2));
+        Assert.assertEquals(0, list.removeAt(0));
+        Assert.assertTrue(list.removeValue(3));
+        Assert.assertFalse(list.removeValue(3));
+        Assert.assertArrayEquals(new int[]{1, 20}, list.toArray());
+        Assert.assertEquals(IntArrayList.of(1, 20), list);
+        Assert.assertEquals(IntArrayList.of(1, 20).hashCode(), list.hashCode());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rangeCheckTest() {
+        IntArrayList list = new IntArrayList();
+        list.add(1);
+        list.get(1);
+    }
+
+    @Test
+    public void bulkAddTest() {
+        final int[] calls = {0};
+        IntArrayList list = new IntArrayList(4, new IGrowthPolicy() {
+            @Override
+            public int grow(int capacity, int minCapacity) {
+                calls[0]++;
+                return minCapacity;
+            }
+        });
+
+        int[] values = new int[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        list.addAll(values, 10, 900);
+        Assert.assertEquals(900, list.size());
+        Assert.assertEquals(10, list.get(0));
+        Assert.assertEquals(909, list.get(899));
+        // 批量添加只扩容一次
+        Assert.assertEquals(1, calls[0]);
+        Assert.assertEquals(900, list.capacity());
+
+        list.addAll(IntArrayList.of(-1, -2));
+        Assert.assertEquals(902, list.size());
+        Assert.assertEquals(-2, list.get(901));
+    }
+
+    @Test
+    public void sortAndSearchTest() {
+        IntArrayList list = IntArrayList.of(5, 3, 9, 1, 7);
+        list.sort();
+        Assert.assertEquals("[1, 3, 5, 7, 9]", list.toString());
+        Assert.assertEquals(2, list.binarySearch(5));
+        Assert.assertEquals(-3, list.binarySearch(4));
+        Assert.assertEquals(-6, list.binarySearch(10));
+    }
+
+    @Test
+    public void bufferViewTest() {
+        IntArrayList list = new IntArrayList(16);
+        list.addAll(new int[]{1, 2, 3});
+
+        IntBuffer buffer = list.asBuffer();
+        Assert.assertEquals(3, buffer.remaining());
+        Assert.assertEquals(2, buffer.get(1));
+
+        // 共享底层数组
+        buffer.put(1, 20);
+        Assert.assertEquals(20, list.get(1));
+        list.set(0, 10);
+        Assert.assertEquals(10, buffer.get(0));
+    }
+
+    @Test
+    public void capacityTest() {
+        IntArrayList list = new IntArrayList(0);
+        list.ensureCapacity(100);
+        Assert.assertTrue(list.capacity() >= 100);
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        list.trimToSize();
+        Assert.assertEquals(10, list.capacity());
+
+        list.clear();
+        Assert.assertTrue(list.isEmpty());
+        list.trimToSize();
+        Assert.assertEquals(0, list.capacity());
+        list.add(1);
+        Assert.assertEquals(1, list.get(0));
+    }
+
+    @Test
+    public void memoryTest() {
+        final int size = 100000;
+        IntArrayList list = new IntArrayList(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+
+        // 装箱的列表：引用数组+每个 Integer 对象
+        long boxed = MemoryUtil.arraySize(size, MemoryUtil.REFERENCE) + size * MemoryUtil.objectSize(4);
+        Assert.assertTrue(boxed > 4 * list.memoryBytes());
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.LongBuffer;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class LongArrayListTest {
+
+    @Test
+    public void basicTest() {
+        LongArrayList list = LongArrayList.of(3L << 40, 1L, 2L << 40);
+        list.add(Long.MIN_VALUE);
+        Assert.assertEquals(4, list.size());
+        Assert.assertEquals(1, list.indexOf(1L));
+
+        list.sort();
+        Assert.assertEquals(Long.MIN_VALUE, list.get(0));
+        Assert.assertEquals(3, list.binarySearch(3L << 40));
+
+        LongBuffer buffer = list.asBuffer();
+        Assert.assertEquals(4, buffer.remaining());
+        Assert.assertEquals(1L, buffer.get(1));
+
+        Assert.assertEquals(Long.MIN_VALUE, list.removeAt(0));
+        Assert.assertArrayEquals(new long[]{1L, 2L << 40, 3L << 40}, list.toArray());
+        Assert.assertEquals(LongArrayList.of(1L, 2L << 40, 3L << 40), list);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class LongSkipListTest {
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(11);
+        TreeMap<Long, Integer> expect = new TreeMap<>();
+        LongSkipList<Integer> list = new LongSkipList<>(4);
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(3000) - 1000L;
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expect.remove(key), list.remove(key));
+            } else {
+                Assert.assertEquals(expect.put(key, i), list.put(key, i));
+            }
+        }
+
+        Assert.assertEquals(expect.size(), list.size());
+        for (long key = -1100; key < 2100; key++) {
+            Assert.assertEquals(expect.get(key), list.get(key));
+            Map.Entry<Long, Integer> floor = expect.floorEntry(key);
+            Assert.assertEquals(floor == null ? null : floor.getValue(), list.floor(key));
+            Map.Entry<Long, Integer> ceiling = expect.ceilingEntry(key);
+            Assert.assertEquals(ceiling == null ? null : ceiling.getValue(), list.ceiling(key));
+        }
+
+        long[] keys = list.keys(0, 100);
+        Assert.assertEquals(expect.subMap(0L, true, 100L, true).size(), keys.length);
+        for (int i = 1; i < keys.length; i++) {
+            Assert.assertTrue(keys[i - 1] < keys[i]);
+        }
+    }
+
+    @Test
+    public void reuseTest() {
+        LongSkipList<String> list = new LongSkipList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.put(i, "v" + i);
+        }
+        long bytes = list.memoryBytes();
+
+        // 删除再插入，复用空闲的节点
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 1000; i++) {
+                list.remove(i);
+            }
+            Assert.assertTrue(list.isEmpty());
+            for (int i = 0; i < 1000; i++) {
+                list.put(i, "v" + i);
+            }
+        }
+        Assert.assertEquals(1000, list.size());
+        Assert.assertEquals("v999", list.get(999));
+        Assert.assertTrue(list.memoryBytes() < bytes * 2);
+    }
+
+}
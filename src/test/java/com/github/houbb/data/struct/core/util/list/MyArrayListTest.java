@@ -0,0 +1,242 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import com.github.houbb.data.struct.core.util.list.growth.GrowthPolicies;
+import com.github.houbb.data.struct.core.util.list.growth.IGrowthPolicy;
+import com.github.houbb.data.struct.core.util.list.growth.ShrinkPolicies;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ListIterator;
+import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class MyArrayListTest {
+
+    @Test
+    public void insertTest() {
+        MyArrayList<Integer> list = new MyArrayList<>(2);
+        list.add(1);
+        list.add(4);
+        list.add(1, 3);
+        list.addAll(1, Arrays.asList(2, 2));
+        list.add(0, 0);
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 2, 3, 4), Arrays.asList(list.toArray()));
+
+        Assert.assertEquals(4, (int) list.remove(5));
+        Assert.assertEquals(0, (int) list.remove(0));
+        Assert.assertEquals(Arrays.asList(1, 2, 2, 3), Arrays.asList(list.toArray()));
+    }
+
+    @Test
+    public void growthPolicyTest() {
+        Assert.assertEquals(20, GrowthPolicies.doubling().grow(8, 10));
+        Assert.assertEquals(15, GrowthPolicies.oneAndHalf().grow(10, 11));
+        Assert.assertEquals(20, GrowthPolicies.oneAndHalf().grow(10, 20));
+        Assert.assertEquals(1034, GrowthPolicies.fixedChunk(1024).grow(10, 11));
+
+        IGrowthPolicy capped = GrowthPolicies.capped(GrowthPolicies.doubling(), 1000);
+        Assert.assertEquals(20, capped.grow(8, 10));
+        Assert.assertEquals(11000, capped.grow(10000, 10001));
+        Assert.assertEquals(20000, capped.grow(10000, 20000));
+
+        // 不会溢出
+        Assert.assertEquals(GrowthPolicies.MAX_ARRAY_SIZE, GrowthPolicies.doubling().grow(Integer.MAX_VALUE / 2, Integer.MAX_VALUE / 2 + 1));
+    }
+
+    @Test
+    public void shrinkTest() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            list.add(i);
+        }
+        int peak = list.capacity();
+        Assert.assertTrue(peak >= 100000);
+
+        // 删除到 1/4 以下时缩容
+        while (list.size() > 1000) {
+            list.remove(list.size() - 1);
+        }
+        Assert.assertTrue(list.capacity() < peak / 4);
+        Assert.assertTrue(list.capacity() >= list.size());
+        Assert.assertEquals(999, (int) list.get(999));
+
+        list.clear();
+        Assert.assertEquals(8, list.capacity());
+        Assert.assertTrue(list.isEmpty());
+        list.add(1);
+        Assert.assertEquals(1, (int) list.get(0));
+    }
+
+    /**
+     * 在缩容的边界附近反复增删，不会每次都复制数组
+     */
+    @Test
+    public void hysteresisTest() {
+        MyArrayList<Integer> list = new MyArrayList<>(16, GrowthPolicies.doubling(), ShrinkPolicies.hysteresis());
+        for (int i = 0; i < 64; i++) {
+            list.add(i);
+        }
+        while (list.size() > 32) {
+            list.remove(list.size() - 1);
+        }
+        int capacity = list.capacity();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+            list.remove(list.size() - 1);
+            Assert.assertEquals(capacity, list.capacity());
+        }
+    }
+
+    @Test
+    public void capacityTest() {
+        MyArrayList<String> list = new MyArrayList<>(0, GrowthPolicies.oneAndHalf(), ShrinkPolicies.none());
+        list.ensureCapacity(100);
+        Assert.assertEquals(100, list.capacity());
+        list.add("a");
+        long before = list.memoryBytes();
+        list.trimToSize();
+        Assert.assertEquals(1, list.capacity());
+        Assert.assertTrue(list.memoryBytes() < before);
+
+        list.add("b");
+        list.add("c");
+        Assert.assertEquals(3, list.size());
+        list.remove(2);
+        list.remove(1);
+        Assert.assertEquals(3, list.capacity());
+    }
+
+    @Test
+    public void subListTest() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        List<Integer> sub = list.subList(2, 5);
+        Assert.assertEquals(Arrays.asList(2, 3, 4), sub);
+
+        // 视图的修改作用在原列表上
+        sub.set(0, 20);
+        sub.add(100);
+        Assert.assertEquals(Arrays.asList(20, 3, 4, 100), sub);
+        Assert.assertEquals(11, list.size());
+        Assert.assertEquals(100, (int) list.get(5));
+
+        sub.subList(1, 3).clear();
+        Assert.assertEquals(Arrays.asList(20, 100), sub);
+        Assert.assertEquals(Arrays.asList(0, 1, 20, 100, 5, 6, 7, 8, 9), Arrays.asList(list.toArray()));
+
+        sub.clear();
+        Assert.assertTrue(sub.isEmpty());
+        Assert.assertEquals(Arrays.asList(0, 1, 5, 6, 7, 8, 9), Arrays.asList(list.toArray()));
+
+        // 原列表的结构修改之后，视图失效
+        list.add(10);
+        try {
+            sub.size();
+            Assert.fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+
+        Assert.assertTrue(list.subList(3, 3).isEmpty());
+        try {
+            list.subList(3, 100);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void batchRemoveTest() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i % 10);
+        }
+        int capacity = list.capacity();
+
+        Assert.assertFalse(list.removeAll(Arrays.asList(10, 11)));
+        Assert.assertTrue(list.removeAll(Arrays.asList(1, 3, 5, 7, 9)));
+        Assert.assertEquals(50, list.size());
+        Assert.assertEquals(capacity, list.capacity());
+
+        // 超过阈值的集合转换为 hash 查找
+        List<Integer> keep = new ArrayList<>();
+        for (int i = 0; i < 100; i += 4) {
+            keep.add(i);
+        }
+        Assert.assertTrue(list.retainAll(keep));
+        Assert.assertEquals(30, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Assert.assertEquals(0, list.get(i) % 4);
+        }
+
+        Assert.assertTrue(list.removeWhere(new IPredicate<Integer>() {
+            @Override
+            public boolean test(Integer element) {
+                return element == 0;
+            }
+        }));
+        Assert.assertEquals(20, list.size());
+        Assert.assertFalse(list.removeWhere(new IPredicate<Integer>() {
+            @Override
+            public boolean test(Integer element) {
+                return element == 0;
+            }
+        }));
+
+        Assert.assertTrue(list.retainAll(new ArrayList<Integer>()));
+        Assert.assertTrue(list.isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rangeCheckTest() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.add(1);
+        list.get(1);
+    }
+
+    @Test
+    public void failFastTest() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        // 迭代器自身的修改是允许的
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(Arrays.asList(1, 3, 5, 7, 9), Arrays.asList(list.toArray()));
+
+        ListIterator<Integer> listIterator = list.listIterator(5);
+        Assert.assertEquals(9, (int) listIterator.previous());
+        listIterator.set(90);
+        listIterator.add(80);
+        Assert.assertEquals(Arrays.asList(1, 3, 5, 7, 80, 90), Arrays.asList(list.toArray()));
+
+        // 其他途径的修改会快速失败
+        iterator = list.iterator();
+        iterator.next();
+        list.add(100);
+        try {
+            iterator.next();
+            Assert.fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+}
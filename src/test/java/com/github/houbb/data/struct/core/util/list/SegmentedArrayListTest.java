@@ -0,0 +1,99 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class SegmentedArrayListTest {
+
+    @Test
+    public void appendTest() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>(100);
+        Assert.assertEquals(128, list.chunkSize());
+        for (int i = 0; i < 10000; i++) {
+            list.add(i);
+        }
+        Assert.assertEquals(10000, list.size());
+        Assert.assertEquals(79 * 128, list.capacity());
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(i, (int) list.get(i));
+        }
+
+        int expected = 0;
+        for (Integer value : list) {
+            Assert.assertEquals(expected++, (int) value);
+        }
+    }
+
+    /**
+     * 和 ArrayList 的随机操作结果比较，覆盖跨块的插入和删除
+     */
+    @Test
+    public void compareWithArrayListTest() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>(8);
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 20000; i++) {
+            int op = random.nextInt(10);
+            if (op < 4 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, i);
+                expected.add(index, i);
+            } else if (op < 6) {
+                list.add(i);
+                expected.add(i);
+            } else if (op < 9) {
+                int index = random.nextInt(expected.size());
+                Assert.assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                Assert.assertEquals(expected.set(index, -i), list.set(index, -i));
+            }
+            Assert.assertEquals(expected.size(), list.size());
+        }
+        Assert.assertEquals(expected, list);
+        Assert.assertEquals(expected.hashCode(), list.hashCode());
+        Assert.assertEquals(expected.subList(3, 10), list.subList(3, 10));
+    }
+
+    @Test
+    public void releaseChunkTest() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>(16);
+        for (int i = 0; i < 160; i++) {
+            list.add(i);
+        }
+        while (list.size() > 20) {
+            list.remove(list.size() - 1);
+        }
+        // 2 个使用中的块 + 1 个空块
+        Assert.assertEquals(48, list.capacity());
+
+        list.clear();
+        Assert.assertTrue(list.isEmpty());
+        Assert.assertEquals(0, list.capacity());
+        list.add(1);
+        Assert.assertEquals(1, (int) list.get(0));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void failFastTest() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>();
+        list.add(1);
+        list.add(2);
+        Iterator<Integer> iterator = list.iterator();
+        iterator.next();
+        list.add(3);
+        iterator.next();
+    }
+
+}
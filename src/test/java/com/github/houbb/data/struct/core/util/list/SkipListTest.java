@@ -0,0 +1,103 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class SkipListTest {
+
+    @Test
+    public void rankTest() {
+        SkipList<String> list = new SkipList<>();
+        list.insert(30, "c");
+        list.insert(10, "a");
+        list.insert(20, "b");
+        list.insert(40, "d");
+        list.insert(20, "bb");
+
+        Assert.assertEquals(4, list.size());
+        Assert.assertEquals(2, list.rank(20));
+        Assert.assertEquals(0, list.rank(25));
+        Assert.assertEquals("bb", list.getByRank(2));
+        Assert.assertNull(list.getByRank(5));
+        Assert.assertEquals(Arrays.asList("bb", "c", "d"), list.rangeByRank(2, 10));
+
+        Assert.assertEquals(2, list.removeRangeByRank(2, 3));
+        Assert.assertEquals(Arrays.asList("a", "d"), list.rangeByRank(1, 2));
+        Assert.assertEquals(2, list.rank(40));
+        Assert.assertNull(list.search(20));
+    }
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(3);
+        TreeSet<Integer> expect = new TreeSet<>();
+        SkipList<Integer> list = new SkipList<>();
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(4) == 0) {
+                expect.remove(key);
+                list.delete(key);
+            } else {
+                expect.add(key);
+                list.insert(key, key);
+            }
+        }
+
+        List<Integer> keys = new ArrayList<>(expect);
+        Assert.assertEquals(keys.size(), list.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Assert.assertEquals(i + 1, list.rank(keys.get(i)));
+            Assert.assertEquals(keys.get(i), list.getByRank(i + 1));
+        }
+
+        Assert.assertEquals(100, list.removeRangeByRank(101, 200));
+        keys.subList(100, 200).clear();
+        Assert.assertEquals(keys, list.rangeByRank(1, list.size()));
+        for (int i = 0; i < keys.size(); i++) {
+            Assert.assertEquals(i + 1, list.rank(keys.get(i)));
+        }
+    }
+
+    @Test
+    public void bulkLoadTest() {
+        TreeMap<Integer, String> sorted = new TreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            sorted.put(i * 3, "v" + i);
+        }
+
+        SkipList<String> list = SkipList.bulkLoad(sorted.entrySet().iterator());
+        Assert.assertEquals(1000, list.size());
+        Assert.assertEquals("v500", list.search(1500));
+        Assert.assertNull(list.search(1501));
+        Assert.assertEquals(501, list.rank(1500));
+        Assert.assertEquals("v999", list.getByRank(1000));
+
+        // 构建之后可以正常插入和删除
+        list.insert(1501, "new");
+        Assert.assertEquals(502, list.rank(1501));
+        list.delete(0);
+        Assert.assertEquals(501, list.rank(1501));
+        Assert.assertEquals("v1", list.getByRank(1));
+
+        SkipList<String> other = SkipList.bulkLoad(new int[]{1, 2, 3}, Arrays.asList("a", "b", "c"));
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), other.rangeByRank(1, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bulkLoadUnsortedTest() {
+        SkipList.bulkLoad(new int[]{1, 3, 2}, Arrays.asList("a", "b", "c"));
+    }
+
+}
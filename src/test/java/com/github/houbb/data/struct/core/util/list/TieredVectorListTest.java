@@ -0,0 +1,84 @@
+package com.github.houbb.data.struct.core.util.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class TieredVectorListTest {
+
+    @Test
+    public void basicTest() {
+        TieredVectorList<String> list = new TieredVectorList<>();
+        list.add("b");
+        list.add(0, "a");
+        list.add("d");
+        list.add(2, "c");
+        Assert.assertEquals("[a, b, c, d]", list.toString());
+
+        Assert.assertEquals("c", list.remove(2));
+        Assert.assertEquals("a", list.set(0, "A"));
+        Assert.assertEquals("[A, b, d]", list.toString());
+        Assert.assertEquals(1, list.indexOf("b"));
+    }
+
+    /**
+     * 和 ArrayList 的随机操作结果比较，覆盖块的进位、借位和重建
+     */
+    @Test
+    public void compareWithArrayListTest() {
+        TieredVectorList<Integer> list = new TieredVectorList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(5);
+
+        // 先增长到需要扩大块的规模，再缩小
+        for (int phase = 0; phase < 2; phase++) {
+            for (int i = 0; i < 30000; i++) {
+                int op = random.nextInt(10);
+                boolean grow = phase == 0 ? op < 7 : op < 3;
+                if (grow || expected.isEmpty()) {
+                    int index = random.nextInt(expected.size() + 1);
+                    list.add(index, i);
+                    expected.add(index, i);
+                } else {
+                    int index = random.nextInt(expected.size());
+                    Assert.assertEquals(expected.remove(index), list.remove(index));
+                }
+                Assert.assertEquals(expected.size(), list.size());
+            }
+            Assert.assertEquals(expected, list);
+        }
+
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void blockSizeTest() {
+        TieredVectorList<Integer> list = new TieredVectorList<>();
+        Assert.assertEquals(16, list.blockSize());
+        for (int i = 0; i < 100000; i++) {
+            list.add(i);
+        }
+        // 块大小保持在 sqrt(n) 附近
+        Assert.assertTrue(list.blockSize() >= 128 && list.blockSize() <= 512);
+
+        while (list.size() > 10) {
+            list.remove(list.size() / 2);
+        }
+        Assert.assertEquals(16, list.blockSize());
+
+        list.clear();
+        Assert.assertTrue(list.isEmpty());
+        list.add(1);
+        Assert.assertEquals(1, (int) list.get(0));
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class ConcurrentProgressiveReHashMapTest {
+
+    @Test
+    public void putTest() {
+        Map<String, String> map = new ConcurrentProgressiveReHashMap<>(2, 2);
+        Assert.assertNull(map.put("1", "1"));
+        Assert.assertEquals("1", map.put("1", "2"));
+        Assert.assertEquals("2", map.get("1"));
+        Assert.assertEquals("2", map.remove("1"));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void conditionalRemoveTest() {
+        ConcurrentProgressiveReHashMap<String, String> map = new ConcurrentProgressiveReHashMap<>(2, 2);
+        map.put("1", "1");
+        Assert.assertFalse(map.remove("1", "2"));
+        Assert.assertFalse(map.remove("2", "1"));
+        Assert.assertEquals("1", map.get("1"));
+        Assert.assertTrue(map.remove("1", "1"));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void rehashTest() {
+        ConcurrentProgressiveReHashMap<Integer, Integer> map = new ConcurrentProgressiveReHashMap<>(2, 2);
+        for(int i = 0; i < 10000; i++) {
+            map.put(i, i);
+        }
+        for(int i = 0; i < 10000; i += 2) {
+            Assert.assertEquals(i, (int) map.remove(i));
+        }
+
+        Assert.assertEquals(5000, map.size());
+        Assert.assertEquals(5000, map.entrySet().size());
+        Assert.assertEquals(5000, map.hashStat().size());
+        for(int i = 0; i < 10000; i++) {
+            Assert.assertEquals(i % 2 == 0 ? null : i, map.get(i));
+        }
+    }
+
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        final ConcurrentProgressiveReHashMap<Integer, Integer> map = new ConcurrentProgressiveReHashMap<>(2, 4);
+        final int threads = 8;
+        final int perThread = 20000;
+        final AtomicInteger missing = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        for(int t = 0; t < threads; t++) {
+            final int offset = t * perThread;
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for(int i = offset; i < offset + perThread; i++) {
+                            map.put(i, i);
+                            if(map.get(i) == null) {
+                                missing.incrementAndGet();
+                            }
+                        }
+                        for(int i = offset; i < offset + perThread; i += 2) {
+                            map.remove(i);
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+        latch.await(60, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        Assert.assertEquals(0, missing.get());
+        Assert.assertEquals(threads * perThread / 2, map.size());
+        for(int i = 1; i < threads * perThread; i += 2) {
+            Assert.assertEquals(i, (int) map.get(i));
+        }
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import com.github.houbb.data.struct.core.util.time.ITicker;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class ExpiringHashMapTest {
+
+    /**
+     * 手动推进的时间源
+     */
+    private static class FakeTicker implements ITicker {
+        private long nanos = 123456789L;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long duration, TimeUnit unit) {
+            nanos += unit.toNanos(duration);
+        }
+    }
+
+    /**
+     * 记录过期的元素
+     */
+    private static class RecordListener implements IExpirationListener<String, String> {
+        private final List<String> keys = new ArrayList<>();
+
+        @Override
+        public void onExpired(String key, String value) {
+            keys.add(key);
+        }
+    }
+
+    @Test
+    public void lazyExpireTest() {
+        FakeTicker ticker = new FakeTicker();
+        RecordListener listener = new RecordListener();
+        ExpiringHashMap<String, String> map = new ExpiringHashMap<>(10, TimeUnit.SECONDS, listener, ticker);
+
+        map.put("a", "1");
+        map.put("b", "2", 1, TimeUnit.MINUTES);
+        Assert.assertEquals("1", map.get("a"));
+        Assert.assertEquals(10, map.ttl("a", TimeUnit.SECONDS));
+
+        ticker.advance(10, TimeUnit.SECONDS);
+        Assert.assertNull(map.get("a"));
+        Assert.assertEquals(Collections.singletonList("a"), listener.keys);
+        Assert.assertEquals(-1, map.ttl("a", TimeUnit.SECONDS));
+        Assert.assertTrue(map.containsKey("b"));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void renewTest() {
+        FakeTicker ticker = new FakeTicker();
+        RecordListener listener = new RecordListener();
+        ExpiringHashMap<String, String> map = new ExpiringHashMap<>(10, TimeUnit.SECONDS, listener, ticker);
+
+        map.put("a", "1");
+        map.put("b", "1");
+        ticker.advance(8, TimeUnit.SECONDS);
+        Assert.assertEquals("1", map.put("a", "2"));
+        Assert.assertTrue(map.expire("b", 1, TimeUnit.MINUTES));
+        Assert.assertFalse(map.expire("c", 1, TimeUnit.MINUTES));
+
+        ticker.advance(8, TimeUnit.SECONDS);
+        Assert.assertEquals(0, map.purge());
+        Assert.assertEquals("2", map.get("a"));
+
+        ticker.advance(2, TimeUnit.SECONDS);
+        Assert.assertEquals(1, map.purge());
+        Assert.assertEquals(Collections.singletonList("a"), listener.keys);
+
+        // 主动删除不会通知
+        Assert.assertEquals("1", map.remove("b"));
+        ticker.advance(1, TimeUnit.HOURS);
+        Assert.assertEquals(0, map.purge());
+        Assert.assertEquals(1, listener.keys.size());
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void incrementalPurgeTest() {
+        FakeTicker ticker = new FakeTicker();
+        RecordListener listener = new RecordListener();
+        ExpiringHashMap<String, String> map = new ExpiringHashMap<>(1, TimeUnit.SECONDS, listener, ticker);
+        for (int i = 0; i < 100; i++) {
+            map.put("k" + i, "v");
+        }
+
+        ticker.advance(2, TimeUnit.SECONDS);
+        map.put("new", "v");
+        Assert.assertEquals(16, listener.keys.size());
+
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(100, listener.keys.size());
+    }
+
+    /**
+     * 同一个 tick 内过期的元素，所有读取的结果一致
+     */
+    @Test
+    public void sameTickExpireTest() {
+        FakeTicker ticker = new FakeTicker();
+        RecordListener listener = new RecordListener();
+        ExpiringHashMap<String, String> map = new ExpiringHashMap<>(1, TimeUnit.SECONDS, listener, ticker);
+        map.put("a", "1", 300, TimeUnit.MICROSECONDS);
+        map.put("b", "2", 700, TimeUnit.MICROSECONDS);
+
+        // 还在第一个 tick 内，a 已经过期，b 没有
+        ticker.advance(500, TimeUnit.MICROSECONDS);
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(Collections.singletonList("a"), listener.keys);
+        Assert.assertEquals(Collections.singletonMap("b", "2"), new HashMap<>(map));
+        Assert.assertEquals("2", map.get("b"));
+
+        ticker.advance(200, TimeUnit.MICROSECONDS);
+        Assert.assertFalse(map.entrySet().iterator().hasNext());
+        Assert.assertEquals(Arrays.asList("a", "b"), listener.keys);
+        Assert.assertEquals(0, map.size());
+        Assert.assertNull(map.get("b"));
+    }
+
+    /**
+     * 和暴力扫描的结果比较，覆盖多层时间轮的降级
+     */
+    @Test
+    public void compareWithScanTest() {
+        FakeTicker ticker = new FakeTicker();
+        RecordListener listener = new RecordListener();
+        ExpiringHashMap<String, String> map = new ExpiringHashMap<>(1, TimeUnit.SECONDS, listener, ticker);
+        Map<String, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        long[] ttls = {1, 50, 3000, 200000, 20000000L, 5000000000L};
+
+        long now = 0;
+        for (int round = 0; round < 3000; round++) {
+            String key = "k" + random.nextInt(500);
+            long ttl = 1 + (long) (random.nextDouble() * ttls[random.nextInt(ttls.length)]);
+            map.put(key, "v", ttl, TimeUnit.MILLISECONDS);
+            expected.put(key, now + ttl);
+
+            long step = random.nextInt(10) == 0 ? random.nextInt(100000000) : random.nextInt(100);
+            ticker.advance(step, TimeUnit.MILLISECONDS);
+            now += step;
+
+            map.purge();
+            Iterator<Map.Entry<String, Long>> iterator = expected.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getValue() <= now) {
+                    iterator.remove();
+                }
+            }
+            Assert.assertEquals(expected.keySet(), map.keySet());
+        }
+    }
+
+    @Test
+    public void liveViewTest() {
+        FakeTicker ticker = new FakeTicker();
+        ExpiringHashMap<String, String> map = new ExpiringHashMap<>(10, TimeUnit.SECONDS, new RecordListener(), ticker);
+        map.put("a", "1");
+        map.put("b", "2");
+        map.put("c", "3");
+        map.put("d", "4");
+
+        Assert.assertTrue(map.keySet().contains("a"));
+        Assert.assertTrue(map.keySet().remove("a"));
+        Assert.assertFalse(map.keySet().remove("a"));
+        Assert.assertFalse(map.containsKey("a"));
+
+        Assert.assertFalse(map.entrySet().remove(new AbstractMap.SimpleEntry<>("b", "x")));
+        Assert.assertTrue(map.entrySet().remove(new AbstractMap.SimpleEntry<>("b", "2")));
+        Assert.assertFalse(map.containsKey("b"));
+
+        Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> entry = iterator.next();
+            if ("c".equals(entry.getKey())) {
+                iterator.remove();
+            } else {
+                entry.setValue("44");
+            }
+        }
+        Assert.assertFalse(map.containsKey("c"));
+        Assert.assertEquals("44", map.get("d"));
+        Assert.assertEquals(1, map.size());
+
+        Iterator<String> keyIterator = map.keySet().iterator();
+        keyIterator.next();
+        keyIterator.remove();
+        Assert.assertTrue(map.isEmpty());
+
+        // 过期元素不在视图中
+        map.put("e", "5");
+        ticker.advance(10, TimeUnit.SECONDS);
+        Assert.assertFalse(map.keySet().contains("e"));
+        Assert.assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void iteratorRemoveReplacedTest() {
+        FakeTicker ticker = new FakeTicker();
+        ExpiringHashMap<String, String> map = new ExpiringHashMap<>(10, TimeUnit.SECONDS, new RecordListener(), ticker);
+        map.put("a", "1");
+
+        Iterator<String> iterator = map.keySet().iterator();
+        iterator.next();
+        map.remove("a");
+        map.put("a", "2");
+        // 迭代器返回的元素已经被替换，不能删除新放入的值
+        iterator.remove();
+        Assert.assertEquals("2", map.get("a"));
+    }
+
+}
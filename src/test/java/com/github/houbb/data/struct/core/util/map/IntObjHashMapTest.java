@@ -0,0 +1,58 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class IntObjHashMapTest {
+
+    @Test
+    public void putTest() {
+        IntObjHashMap<String> map = new IntObjHashMap<>(2);
+        Assert.assertNull(map.put(1, "1"));
+        Assert.assertEquals("1", map.put(1, "2"));
+        Assert.assertEquals("2", map.get(1));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void freeKeyTest() {
+        IntObjHashMap<String> map = new IntObjHashMap<>();
+        Assert.assertFalse(map.containsKey(0));
+        map.put(0, "zero");
+        Assert.assertEquals("zero", map.get(0));
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals("zero", map.remove(0));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void randomTest() {
+        IntObjHashMap<Integer> map = new IntObjHashMap<>(2);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for(int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            if(random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        Assert.assertEquals(expected.size(), map.size());
+        for(Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        Assert.assertEquals(expected.size(), map.keys().length);
+    }
+
+}
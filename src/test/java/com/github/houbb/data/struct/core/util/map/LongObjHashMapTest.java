@@ -0,0 +1,58 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class LongObjHashMapTest {
+
+    @Test
+    public void putTest() {
+        LongObjHashMap<String> map = new LongObjHashMap<>(2);
+        Assert.assertNull(map.put(1L, "1"));
+        Assert.assertEquals("1", map.put(1L, "2"));
+        Assert.assertEquals("2", map.get(1L));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void freeKeyTest() {
+        LongObjHashMap<String> map = new LongObjHashMap<>();
+        Assert.assertFalse(map.containsKey(0L));
+        map.put(0L, "zero");
+        Assert.assertEquals("zero", map.get(0L));
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals("zero", map.remove(0L));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void randomTest() {
+        LongObjHashMap<Integer> map = new LongObjHashMap<>(2);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for(int i = 0; i < 20000; i++) {
+            long key = (random.nextInt(2000) - 1000) * 0x100000000L;
+            if(random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        Assert.assertEquals(expected.size(), map.size());
+        for(Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        Assert.assertEquals(expected.size(), map.keys().length);
+    }
+
+}
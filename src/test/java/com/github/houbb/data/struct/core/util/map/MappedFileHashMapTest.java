@@ -0,0 +1,258 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import com.github.houbb.data.struct.core.util.map.serializer.Serializers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class MappedFileHashMapTest {
+
+    @Test
+    public void reopenTest() throws Exception {
+        File file = newFile();
+        MappedFileHashMap<Integer, String> map = MappedFileHashMap.open(file,
+                Serializers.integer(), Serializers.string(), 4, 1024);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "v" + i);
+        }
+        map.put(1, "one");
+        map.remove(2);
+        map.close();
+
+        map = MappedFileHashMap.open(file, Serializers.integer(), Serializers.string());
+        Assert.assertEquals(999, map.size());
+        Assert.assertEquals("one", map.get(1));
+        Assert.assertNull(map.get(2));
+        Assert.assertEquals("v999", map.get(999));
+        map.close();
+
+        Assert.assertTrue(file.delete());
+    }
+
+    /**
+     * 和 HashMap 对比，segment 很小，保证会多次重建
+     */
+    @Test
+    public void compareWithHashMapTest() throws Exception {
+        File file = newFile();
+        MappedFileHashMap<Long, String> map = MappedFileHashMap.open(file,
+                Serializers.longs(), Serializers.string(), 4, 256);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            long key = random.nextInt(300);
+            int op = random.nextInt(10);
+            if (op < 6) {
+                String value = "v" + random.nextInt(1000);
+                Assert.assertEquals(expected.put(key, value), map.put(key, value));
+            } else if (op < 8) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.get(key), map.get(key));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        Assert.assertEquals(expected, new HashMap<>(map));
+        map.close();
+
+        map = MappedFileHashMap.open(file, Serializers.longs(), Serializers.string());
+        Assert.assertEquals(expected, new HashMap<>(map));
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        map.close();
+
+        Assert.assertTrue(file.delete());
+        Assert.assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    /**
+     * 没有 close() 时，sync() 之前的数据不会丢失
+     */
+    @Test
+    public void recoverTest() throws Exception {
+        File file = newFile();
+        MappedFileHashMap<Integer, Integer> map = MappedFileHashMap.open(file,
+                Serializers.integer(), Serializers.integer(), 1000, 4096);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.sync();
+        for (int i = 100; i < 200; i++) {
+            map.put(i, i);
+        }
+
+        // 模拟崩溃，不调用 close()
+        MappedFileHashMap<Integer, Integer> reopened = MappedFileHashMap.open(file,
+                Serializers.integer(), Serializers.integer());
+        Assert.assertEquals(100, reopened.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i, (int) reopened.get(i));
+        }
+        Assert.assertNull(reopened.get(150));
+        reopened.put(150, 150);
+        Assert.assertEquals(150, (int) reopened.get(150));
+        reopened.close();
+    }
+
+    /**
+     * sync() 之后覆盖、删除，索引的修改已经写回，但是没有再次 sync()，恢复为 sync() 时的值
+     */
+    @Test
+    public void recoverOverwriteTest() throws Exception {
+        File file = newFile();
+        MappedFileHashMap<Integer, Integer> map = MappedFileHashMap.open(file,
+                Serializers.integer(), Serializers.integer(), 1000, 4096);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.sync();
+        for (int i = 0; i < 50; i++) {
+            map.put(i, -i);
+        }
+        for (int i = 50; i < 100; i++) {
+            map.remove(i);
+        }
+        // 删除之后复用同一个槽位
+        map.put(200, 200);
+
+        // 模拟崩溃，不调用 close()
+        MappedFileHashMap<Integer, Integer> reopened = MappedFileHashMap.open(file,
+                Serializers.integer(), Serializers.integer());
+        Assert.assertEquals(100, reopened.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i, (int) reopened.get(i));
+        }
+        Assert.assertNull(reopened.get(200));
+
+        // 再次 sync() 之后的修改会保留
+        reopened.put(1, -1);
+        reopened.remove(2);
+        reopened.sync();
+        reopened.put(1, 1);
+        reopened.put(2, 2);
+        reopened = MappedFileHashMap.open(file, Serializers.integer(), Serializers.integer());
+        Assert.assertEquals(99, reopened.size());
+        Assert.assertEquals(-1, (int) reopened.get(1));
+        Assert.assertNull(reopened.get(2));
+        reopened.close();
+    }
+
+    /**
+     * 写入 header 之后、更新 sync 时的地址之前崩溃，恢复到这一份 header 的状态
+     * <p>
+     * 这一次 sync 之前的删除不能回退到更早的值
+     */
+    @Test
+    public void crashAfterHeaderTest() throws Exception {
+        Method writeHeader = MappedFileHashMap.class.getDeclaredMethod("writeHeader", boolean.class);
+        writeHeader.setAccessible(true);
+
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            File file = newFile();
+            MappedFileHashMap<Integer, Integer> map = MappedFileHashMap.open(file,
+                    Serializers.integer(), Serializers.integer(), 1000, 4096);
+            Map<Integer, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 200; i++) {
+                map.put(i, i);
+                expected.put(i, i);
+            }
+            map.sync();
+
+            for (int i = 0; i < 300; i++) {
+                int key = random.nextInt(300);
+                if (random.nextBoolean()) {
+                    map.remove(key);
+                    expected.remove(key);
+                } else {
+                    map.put(key, -i);
+                    expected.put(key, -i);
+                }
+            }
+            // 模拟 sync() 只完成了写入 header
+            writeHeader.invoke(map, false);
+
+            MappedFileHashMap<Integer, Integer> reopened = MappedFileHashMap.open(file,
+                    Serializers.integer(), Serializers.integer());
+            Assert.assertEquals(expected, new HashMap<>(reopened));
+            reopened.close();
+            Assert.assertTrue(file.delete());
+        }
+    }
+
+    /**
+     * 最新的 header 损坏时，使用另一份 header，即上一次 sync() 的结果
+     */
+    @Test
+    public void tornHeaderTest() throws Exception {
+        File file = newFile();
+        MappedFileHashMap<Integer, Integer> map = MappedFileHashMap.open(file,
+                Serializers.integer(), Serializers.integer());
+        map.put(1, 1);
+        map.sync();
+        map.put(2, 2);
+        map.close();
+
+        // 两份 header 中序号较大的一份
+        int latest = latestHeader(file);
+        corrupt(file, latest + 16);
+        map = MappedFileHashMap.open(file, Serializers.integer(), Serializers.integer());
+        Assert.assertEquals(1, (int) map.get(1));
+        Assert.assertNull(map.get(2));
+        map.close();
+        Assert.assertTrue(file.delete());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void corruptedHeaderTest() throws Exception {
+        File file = newFile();
+        MappedFileHashMap<Integer, Integer> map = MappedFileHashMap.open(file,
+                Serializers.integer(), Serializers.integer());
+        map.close();
+
+        corrupt(file, 16);
+        corrupt(file, 64 + 16);
+        try {
+            MappedFileHashMap.open(file, Serializers.integer(), Serializers.integer());
+        } finally {
+            Assert.assertTrue(file.delete());
+        }
+    }
+
+    private static File newFile() throws Exception {
+        File file = File.createTempFile("mapped-map-", ".dat");
+        Assert.assertTrue(file.delete());
+        file.deleteOnExit();
+        return file;
+    }
+
+    private static int latestHeader(File file) throws Exception {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            randomAccessFile.seek(40);
+            long seqA = randomAccessFile.readLong();
+            randomAccessFile.seek(64 + 40);
+            long seqB = randomAccessFile.readLong();
+            return seqA > seqB ? 0 : 64;
+        }
+    }
+
+    private static void corrupt(File file, long position) throws Exception {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.seek(position);
+            int value = randomAccessFile.readInt();
+            randomAccessFile.seek(position);
+            randomAccessFile.writeInt(~value);
+        }
+    }
+
+}
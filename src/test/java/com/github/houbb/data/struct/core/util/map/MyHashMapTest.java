@@ -1,7 +1,16 @@
 package com.github.houbb.data.struct.core.util.map;
 
+import com.github.houbb.data.struct.core.util.map.hash.HashStat;
+import com.github.houbb.data.struct.core.util.map.hash.HashStrategies;
+import org.junit.Assert;
 import org.junit.Test;
 
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
 /**
  * @author binbin.hou
  * @since 0.0.3
@@ -35,4 +44,265 @@ public class MyHashMapTest {
         map.remove("1");
     }
 
+    @Test
+    public void hashStatTest() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(3, false, HashStrategies.xxHash());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        HashStat hashStat = map.hashStat();
+        Assert.assertEquals(1000, hashStat.size());
+        Assert.assertEquals(1024, hashStat.capacity());
+        Assert.assertTrue(hashStat.collisionRate() < 0.5);
+    }
+
+    @Test
+    public void reduceTest() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(4);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        Assert.assertEquals(1024, map.hashStat().capacity());
+        long expandBytes = map.memoryBytes();
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, (int) map.remove(i));
+        }
+        Assert.assertNull(map.remove(1));
+        Assert.assertEquals(0, map.size());
+        Assert.assertEquals(4, map.hashStat().capacity());
+        Assert.assertTrue(map.memoryBytes() < expandBytes);
+    }
+
+    /**
+     * 缩容是渐进式的，缩容的过程中所有操作的结果都正确
+     */
+    @Test
+    public void progressiveReduceTest() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 1024; i++) {
+            map.put(i, i);
+            expected.put(i, i);
+        }
+        Assert.assertEquals(1024, map.hashStat().capacity());
+
+        // 比例降低到 0.25，开始缩容，只迁移了一部分桶
+        for (int i = 0; i < 768; i++) {
+            map.remove(i);
+            expected.remove(i);
+        }
+        Assert.assertEquals(1024 + 512, map.hashStat().capacity());
+        Assert.assertEquals(256, map.hashStat().size());
+        Assert.assertEquals(expected, new HashMap<>(map));
+        for (int i = 0; i < 1024; i++) {
+            Assert.assertEquals(expected.get(i), map.get(i));
+        }
+
+        // 缩容中新增、替换、删除
+        Assert.assertNull(map.put(-1, -1));
+        Assert.assertEquals(800, (int) map.put(800, -800));
+        Assert.assertEquals(801, (int) map.remove(801));
+        expected.put(-1, -1);
+        expected.put(800, -800);
+        expected.remove(801);
+        Assert.assertEquals(expected, new HashMap<>(map));
+
+        // 继续新增、删除，缩容完成
+        for (int i = 0; i < 100; i++) {
+            map.put(-2, i);
+            Assert.assertEquals(i, (int) map.remove(-2));
+        }
+        Assert.assertEquals(512, map.hashStat().capacity());
+        Assert.assertEquals(expected, new HashMap<>(map));
+    }
+
+    /**
+     * 和 HashMap 比较，覆盖缩容中树化的桶
+     */
+    @Test
+    public void compareWithHashMapTest() {
+        MyHashMap<Object, Integer> map = new MyHashMap<>(4);
+        Map<Object, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int round = 0; round < 20000; round++) {
+            int id = random.nextInt(600);
+            Object key = id % 10 == 0 ? new PlainKey(id) : Integer.valueOf(id);
+            // 前半段以新增为主，后半段以删除为主
+            boolean insert = random.nextInt(10) < (round < 10000 ? 7 : 3);
+            if (insert) {
+                Assert.assertEquals(expected.put(key, round), map.put(key, round));
+            } else {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+            if (round % 1000 == 0) {
+                Assert.assertEquals(expected, new HashMap<>(map));
+            }
+        }
+        Assert.assertEquals(expected, new HashMap<>(map));
+    }
+
+    @Test
+    public void treeifyTest() {
+        MyHashMap<Object, Integer> map = new MyHashMap<>(64);
+        for (int i = 0; i < 20; i++) {
+            map.put(new ComparableKey(i), i);
+            map.put(new PlainKey(i), -i);
+        }
+        Assert.assertEquals(40, map.size());
+        Assert.assertEquals(40, map.hashStat().maxBucketSize());
+
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(i, (int) map.get(new ComparableKey(i)));
+            Assert.assertEquals(-i, (int) map.get(new PlainKey(i)));
+        }
+        Assert.assertNull(map.get(new PlainKey(20)));
+        Assert.assertFalse(map.containsKey(new ComparableKey(20)));
+
+        // 替换
+        map.put(new PlainKey(3), 100);
+        Assert.assertEquals(100, (int) map.get(new PlainKey(3)));
+        Assert.assertEquals(40, map.size());
+
+        // 删除到退化为链表
+        for (int i = 0; i < 18; i++) {
+            Assert.assertNotNull(map.remove(new ComparableKey(i)));
+            Assert.assertNotNull(map.remove(new PlainKey(i)));
+        }
+        Assert.assertEquals(4, map.size());
+        Assert.assertEquals(19, (int) map.get(new ComparableKey(19)));
+        Assert.assertEquals(-18, (int) map.get(new PlainKey(18)));
+    }
+
+    @Test
+    public void replaceTest() {
+        MyHashMap<String, String> map = new MyHashMap<>(2);
+        Assert.assertNull(map.put("1", "1"));
+        Assert.assertEquals("1", map.put("1", "2"));
+        Assert.assertEquals("2", map.replace("1", "3"));
+        Assert.assertNull(map.replace("2", "2"));
+        Assert.assertFalse(map.containsKey("2"));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void entrySetTest() {
+        MyHashMap<Object, Integer> map = new MyHashMap<>(4);
+        Map<Object, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+            expected.put(i, i);
+        }
+        // 树化的桶
+        for (int i = 0; i < 10; i++) {
+            map.put(new PlainKey(i), -i);
+            expected.put(new PlainKey(i), -i);
+        }
+
+        Assert.assertEquals(expected, new HashMap<>(map));
+        Assert.assertEquals(expected, map);
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(1));
+        Assert.assertEquals(4, map.hashStat().capacity());
+    }
+
+    /**
+     * get/put 替换/replace 不创建对象
+     */
+    @Test
+    public void allocationFreeTest() {
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        final int size = 1000;
+        Integer[] keys = new Integer[size];
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+            map.put(keys[i], keys[i]);
+        }
+
+        // hash 全部冲突，桶已经转换为红黑树
+        final Integer value = 1;
+        Object[] treeKeys = new Object[64];
+        MyHashMap<Object, Integer> treeMap = new MyHashMap<>(16);
+        for (int i = 0; i < treeKeys.length; i++) {
+            treeKeys[i] = i % 2 == 0 ? new ComparableKey(i) : new PlainKey(i);
+            treeMap.put(treeKeys[i], value);
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int round = 0; round < 100; round++) {
+            for (Integer key : keys) {
+                map.get(key);
+                map.put(key, key);
+                map.replace(key, key);
+            }
+            for (Object key : treeKeys) {
+                treeMap.get(key);
+                treeMap.put(key, value);
+                treeMap.replace(key, value);
+            }
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        // 只允许测量本身的少量开销
+        Assert.assertTrue("allocated: " + allocated, allocated < 1024);
+    }
+
+    /**
+     * hash 冲突，且可比较的 key
+     */
+    private static class ComparableKey implements Comparable<ComparableKey> {
+        private final int id;
+
+        private ComparableKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(ComparableKey o) {
+            return Integer.compare(id, o.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ComparableKey && ((ComparableKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    /**
+     * hash 冲突，且不可比较的 key
+     */
+    private static class PlainKey {
+        private final int id;
+
+        private PlainKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PlainKey && ((PlainKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
 }
@@ -1,9 +1,14 @@
 package com.github.houbb.data.struct.core.util.map;
 
+import com.github.houbb.data.struct.core.util.map.hash.HashStrategies;
+import com.github.houbb.data.struct.core.util.map.rehash.ReHashPolicy;
+import com.github.houbb.data.struct.core.util.map.rehash.ReHashStat;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 /**
  * @author binbin.hou
@@ -30,4 +35,124 @@ public class MyProgressiveHashMapTest {
         Assert.assertEquals("3", map.get("3"));
     }
 
+    @Test
+    public void randomPutTest() {
+        MyProgressiveReHashMap<Integer, Integer> map = new MyProgressiveReHashMap<>(2, false, HashStrategies.identity());
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for(int i = 0; i < 5000; i++) {
+            int key = random.nextInt(3000) - 1500;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+
+        for(Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        Assert.assertEquals(expected.size(), map.hashStat().size());
+    }
+
+    /**
+     * 只有读操作时，rehash 也要能够完成
+     */
+    @Test
+    public void getFinishReHashTest() {
+        MyProgressiveReHashMap<Integer, Integer> map = new MyProgressiveReHashMap<>(64);
+        for(int i = 0; i <= 64; i++) {
+            map.put(i, i);
+        }
+        Assert.assertTrue(map.rehashStat().inReHash());
+
+        for(int i = 0; i <= 64 && map.rehashStat().inReHash(); i++) {
+            map.get(i);
+        }
+        ReHashStat reHashStat = map.rehashStat();
+        Assert.assertFalse(reHashStat.inReHash());
+        Assert.assertEquals(128, reHashStat.capacity());
+        Assert.assertEquals(1, reHashStat.rehashCount());
+    }
+
+    @Test
+    public void bucketsPerOpTest() {
+        ReHashPolicy policy = ReHashPolicy.newInstance().bucketsPerOp(4);
+        MyProgressiveReHashMap<Integer, Integer> map = new MyProgressiveReHashMap<>(64, false,
+                HashStrategies.defaults(), policy);
+        for(int i = 0; i <= 64; i++) {
+            map.put(i, i);
+        }
+
+        ReHashStat reHashStat = map.rehashStat();
+        Assert.assertTrue(reHashStat.inReHash());
+        Assert.assertTrue(reHashStat.migratedBuckets() >= 4);
+
+        Assert.assertFalse(map.rehashMicros(100000));
+        Assert.assertEquals(1.0, map.rehashStat().progress(), 0);
+        for(int i = 0; i <= 64; i++) {
+            Assert.assertEquals(i, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void backgroundTest() throws InterruptedException {
+        ReHashPolicy policy = ReHashPolicy.newInstance().backgroundIntervalMillis(1);
+        MyProgressiveReHashMap<Integer, Integer> map = new MyProgressiveReHashMap<>(1024, false,
+                HashStrategies.defaults(), policy);
+        for(int i = 0; i <= 1024; i++) {
+            map.put(i, i);
+        }
+
+        for(int i = 0; i < 500 && map.rehashStat().inReHash(); i++) {
+            Thread.sleep(10);
+        }
+        map.shutdownBackground();
+
+        ReHashStat reHashStat = map.rehashStat();
+        Assert.assertFalse(reHashStat.inReHash());
+        Assert.assertTrue(reHashStat.backgroundMigratedBuckets() > 0);
+        Assert.assertEquals(1023, (int) map.get(1023));
+    }
+
+    @Test
+    public void reduceTest() {
+        MyProgressiveReHashMap<Integer, Integer> map = new MyProgressiveReHashMap<>(4);
+        for(int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        map.rehashMicros(100000);
+        Assert.assertEquals(1024, map.rehashStat().capacity());
+        long expandBytes = map.memoryBytes();
+
+        for(int i = 0; i < 990; i++) {
+            Assert.assertEquals(i, (int) map.remove(i));
+            Assert.assertNull(map.get(i));
+        }
+        map.rehashMicros(100000);
+        Assert.assertEquals(10, map.size());
+        Assert.assertTrue(map.rehashStat().capacity() <= 64);
+        Assert.assertTrue(map.memoryBytes() < expandBytes);
+        for(int i = 990; i < 1000; i++) {
+            Assert.assertEquals(i, (int) map.get(i));
+        }
+    }
+
+    /**
+     * 在阈值附近反复的新增、删除，不应该反复的 rehash
+     */
+    @Test
+    public void hysteresisTest() {
+        MyProgressiveReHashMap<Integer, Integer> map = new MyProgressiveReHashMap<>(4);
+        for(int i = 0; i <= 64; i++) {
+            map.put(i, i);
+        }
+        map.rehashMicros(100000);
+        long rehashCount = map.rehashStat().rehashCount();
+
+        for(int i = 0; i < 100; i++) {
+            map.remove(64);
+            map.put(64, 64);
+        }
+        Assert.assertEquals(rehashCount, map.rehashStat().rehashCount());
+    }
+
 }
@@ -0,0 +1,132 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import com.github.houbb.data.struct.core.util.map.serializer.Serializers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class OffHeapHashMapTest {
+
+    @Test
+    public void putGetRemoveTest() {
+        OffHeapHashMap<String, Integer> map = new OffHeapHashMap<>(Serializers.string(), Serializers.integer());
+        try {
+            Assert.assertNull(map.put("1", 1));
+            Assert.assertEquals(1, (int) map.put("1", 2));
+            Assert.assertNull(map.put("", 0));
+            Assert.assertEquals(2, (int) map.get("1"));
+            Assert.assertEquals(0, (int) map.get(""));
+            Assert.assertTrue(map.containsKey("1"));
+            Assert.assertNull(map.get("2"));
+            Assert.assertEquals(2, map.size());
+
+            Assert.assertEquals(2, (int) map.remove("1"));
+            Assert.assertNull(map.remove("1"));
+            Assert.assertEquals(1, map.size());
+        } finally {
+            map.close();
+        }
+    }
+
+    /**
+     * 和 HashMap 对比，slab 很小，保证会多次压缩
+     */
+    @Test
+    public void compareWithHashMapTest() {
+        OffHeapHashMap<Long, String> map = new OffHeapHashMap<>(Serializers.longs(), Serializers.string(),
+                4, 256);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(1);
+        try {
+            for (int i = 0; i < 20000; i++) {
+                long key = random.nextInt(500);
+                int op = random.nextInt(10);
+                if (op < 6) {
+                    String value = randomValue(random);
+                    Assert.assertEquals(expected.put(key, value), map.put(key, value));
+                } else if (op < 8) {
+                    Assert.assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    Assert.assertEquals(expected.get(key), map.get(key));
+                }
+                Assert.assertEquals(expected.size(), map.size());
+            }
+
+            Assert.assertEquals(expected, new HashMap<>(map));
+            Assert.assertTrue(map.garbageBytes() < map.offHeapBytes());
+        } finally {
+            map.close();
+        }
+    }
+
+    @Test
+    public void mappedTest() throws Exception {
+        File directory = new File(System.getProperty("java.io.tmpdir"), "off-heap-test-" + System.nanoTime());
+        Assert.assertTrue(directory.mkdirs());
+
+        OffHeapHashMap<Integer, String> map = new OffHeapHashMap<>(Serializers.integer(), Serializers.string(),
+                16, 1024, directory);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "v" + i);
+        }
+        Assert.assertEquals("v999", map.get(999));
+        Assert.assertTrue(directory.list().length > 0);
+
+        map.close();
+        Assert.assertEquals(0, directory.list().length);
+        Assert.assertTrue(directory.delete());
+    }
+
+    @Test
+    public void clearTest() {
+        OffHeapHashMap<Integer, Integer> map = new OffHeapHashMap<>(Serializers.integer(), Serializers.integer());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(1));
+
+        map.put(1, 1);
+        Assert.assertEquals(1, (int) map.get(1));
+        map.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closedTest() {
+        OffHeapHashMap<Integer, Integer> map = new OffHeapHashMap<>(Serializers.integer(), Serializers.integer());
+        map.put(1, 1);
+        map.close();
+        map.close();
+        map.get(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void recordTooLargeTest() {
+        OffHeapHashMap<Integer, byte[]> map = new OffHeapHashMap<>(Serializers.integer(), Serializers.byteArray(),
+                16, 64);
+        try {
+            map.put(1, new byte[64]);
+        } finally {
+            map.close();
+        }
+    }
+
+    private static String randomValue(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class PersistentHashMapTest {
+
+    @Test
+    public void snapshotTest() {
+        PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+        PersistentHashMap<String, Integer> one = empty.plus("1", 1);
+        PersistentHashMap<String, Integer> two = one.plus("2", 2);
+
+        Assert.assertEquals(0, empty.size());
+        Assert.assertEquals(1, one.size());
+        Assert.assertEquals(2, two.size());
+        Assert.assertNull(one.get("2"));
+        Assert.assertEquals(2, (int) two.get("2"));
+
+        Assert.assertSame(two, two.plus("2", two.get("2")));
+        Assert.assertSame(two, two.minus("3"));
+        Assert.assertEquals(one, two.minus("2"));
+        Assert.assertTrue(two.minus("1").minus("2").isEmpty());
+
+        Assert.assertEquals(1, (int) two.plus(null, 3).minus("2").plus("2", 2).get("1"));
+        Assert.assertEquals(3, (int) two.plus(null, 3).get(null));
+    }
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(7);
+        Map<Integer, Integer> expect = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                expect.remove(key);
+                map = map.minus(key);
+            } else {
+                expect.put(key, i);
+                map = map.plus(key, i);
+            }
+        }
+
+        Assert.assertEquals(expect.size(), map.size());
+        Assert.assertEquals(expect, map);
+        Assert.assertEquals(expect.hashCode(), map.hashCode());
+        Assert.assertEquals(expect.size(), map.entrySet().size());
+    }
+
+    @Test
+    public void collisionTest() {
+        PersistentHashMap<Object, Integer> map = PersistentHashMap.empty();
+        // "Aa" 和 "BB" 的 hashCode 相同
+        map = map.plus("Aa", 1).plus("BB", 2).plus("C", 3);
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals(1, (int) map.get("Aa"));
+        Assert.assertEquals(2, (int) map.get("BB"));
+
+        map = map.minus("Aa");
+        Assert.assertEquals(2, map.size());
+        Assert.assertNull(map.get("Aa"));
+        Assert.assertEquals(2, (int) map.get("BB"));
+        Assert.assertEquals(2, map.entrySet().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutableTest() {
+        PersistentHashMap.<String, String>empty().put("1", "1");
+    }
+
+    @Test
+    public void copyOnWriteTest() {
+        PersistentCopyOnWriteHashMap<Integer, Integer> map = new PersistentCopyOnWriteHashMap<>();
+        map.put(1, 1);
+        PersistentHashMap<Integer, Integer> snapshot = map.snapshot();
+
+        map.mutate(new IMapMutator<Integer, Integer>() {
+            @Override
+            public void mutate(Map<Integer, Integer> batch) {
+                for (int i = 0; i < 1000; i++) {
+                    batch.put(i, -i);
+                }
+            }
+        });
+        Assert.assertEquals(1000, map.size());
+        Assert.assertEquals(-1, (int) map.get(1));
+        Assert.assertEquals(1, (int) snapshot.get(1));
+        Assert.assertEquals(-1, (int) map.remove(1));
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(1, snapshot.size());
+    }
+
+}
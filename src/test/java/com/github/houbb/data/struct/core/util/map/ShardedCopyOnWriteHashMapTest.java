@@ -0,0 +1,104 @@
+package com.github.houbb.data.struct.core.util.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class ShardedCopyOnWriteHashMapTest {
+
+    @Test
+    public void putRemoveTest() {
+        ShardedCopyOnWriteHashMap<String, Integer> map = new ShardedCopyOnWriteHashMap<>(4);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertNull(map.put("key" + i, i));
+        }
+        Assert.assertEquals(100, map.size());
+        Assert.assertEquals(10, (int) map.put("key10", 100));
+        Assert.assertEquals(100, (int) map.get("key10"));
+
+        Assert.assertEquals(100, (int) map.remove("key10"));
+        Assert.assertNull(map.remove("key10"));
+        Assert.assertFalse(map.containsKey("key10"));
+        Assert.assertEquals(99, map.entrySet().size());
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void mutateTest() {
+        final ShardedCopyOnWriteHashMap<Integer, Integer> map = new ShardedCopyOnWriteHashMap<>();
+        map.put(-1, -1);
+        map.mutate(new IMapMutator<Integer, Integer>() {
+            @Override
+            public void mutate(Map<Integer, Integer> batch) {
+                for (int i = 0; i < 10000; i++) {
+                    batch.put(i, i);
+                }
+                batch.remove(-1);
+                // 批量修改的过程中，外部还看不到
+                Assert.assertEquals(10000, batch.size());
+                Assert.assertEquals(1, map.size());
+            }
+        });
+        Assert.assertEquals(10000, map.size());
+        Assert.assertEquals(9999, (int) map.get(9999));
+        Assert.assertNull(map.get(-1));
+    }
+
+    @Test
+    public void mutateFailTest() {
+        ShardedCopyOnWriteHashMap<Integer, Integer> map = new ShardedCopyOnWriteHashMap<>();
+        try {
+            map.mutate(new IMapMutator<Integer, Integer>() {
+                @Override
+                public void mutate(Map<Integer, Integer> batch) {
+                    batch.put(1, 1);
+                    throw new IllegalStateException();
+                }
+            });
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(map.isEmpty());
+        }
+    }
+
+    @Test
+    public void copyOnWriteMutateTest() {
+        CopyOnWriteHashMap<Integer, Integer> map = new CopyOnWriteHashMap<>();
+        Map<Integer, Integer> other = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            other.put(i, i);
+        }
+        map.putAll(other);
+
+        map.mutate(new IMapMutator<Integer, Integer>() {
+            @Override
+            public void mutate(Map<Integer, Integer> batch) {
+                for (int i = 0; i < 50; i++) {
+                    batch.remove(i);
+                }
+            }
+        });
+        Assert.assertEquals(50, map.size());
+
+        Map<Integer, Integer> before = new HashMap<>(map);
+        map.clear();
+        Assert.assertEquals(50, before.size());
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void copyOnWriteViewTest() {
+        CopyOnWriteHashMap<Integer, Integer> map = new CopyOnWriteHashMap<>();
+        map.put(1, 1);
+        map.keySet().clear();
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.github.houbb.data.struct.core.util.map.hash;
+
+import com.github.houbb.data.struct.util.HashUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.6
+ */
+public class HashStrategiesTest {
+
+    @Test
+    public void nullTest() {
+        Assert.assertEquals(0, HashStrategies.murmur3().hash(null));
+        Assert.assertEquals(0, HashStrategies.xxHash().hash(null));
+        Assert.assertEquals(0, HashStrategies.identity().hash(null));
+    }
+
+    @Test
+    public void identityTest() {
+        Assert.assertEquals("abc".hashCode(), HashStrategies.identity().hash("abc"));
+    }
+
+    @Test
+    public void indexForTest() {
+        Assert.assertEquals(7, HashUtil.indexFor(-1, 8));
+        Assert.assertEquals(3, HashUtil.indexFor(11, 8));
+        Assert.assertEquals(8, HashUtil.tableSizeFor(5));
+        Assert.assertEquals(8, HashUtil.tableSizeFor(8));
+    }
+
+    /**
+     * 连续的 key，高位不同低位相同时，扰动之后依然要分散
+     */
+    @Test
+    public void spreadTest() {
+        final int length = 64;
+        HashStat identity = new HashStat();
+        HashStat murmur3 = new HashStat();
+        int[] identityBuckets = new int[length];
+        int[] murmur3Buckets = new int[length];
+        for(int i = 0; i < 256; i++) {
+            Integer key = i << 16;
+            identityBuckets[HashUtil.indexFor(HashStrategies.identity().hash(key), length)]++;
+            murmur3Buckets[HashUtil.indexFor(HashStrategies.murmur3().hash(key), length)]++;
+        }
+        for(int i = 0; i < length; i++) {
+            identity.bucket(identityBuckets[i]);
+            murmur3.bucket(murmur3Buckets[i]);
+        }
+
+        Assert.assertEquals(256, identity.maxBucketSize());
+        Assert.assertTrue(murmur3.maxBucketSize() < 16);
+        Assert.assertTrue(murmur3.collisionRate() < identity.collisionRate());
+    }
+
+}
@@ -1,7 +1,14 @@
 package com.github.houbb.data.struct.core.util.tree;
 
+import com.github.houbb.data.struct.core.util.list.IPredicate;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 /**
  * 红黑树测试
  *
@@ -29,4 +36,71 @@ public class RedBlackTreeTest {
         tree.print();
     }
 
+    @Test
+    public void rangeTest() {
+        RedBlackTree<Integer> tree = new RedBlackTree<>();
+        for (int i = 0; i < a.length; i++) {
+            tree.add(a[i]);
+        }
+        Assert.assertEquals(9, tree.getSize());
+        Assert.assertTrue(tree.contains(50));
+        Assert.assertFalse(tree.contains(55));
+
+        Assert.assertEquals(Arrays.asList(30, 40, 50), tree.range(25, 55));
+        Assert.assertEquals(Arrays.asList(10, 20, 30, 40, 50, 60, 70, 80, 90), tree.inOrder());
+
+        tree.remove(40);
+        Assert.assertEquals(8, tree.getSize());
+        Assert.assertEquals(Arrays.asList(30, 50), tree.range(25, 55));
+    }
+
+    @Test
+    public void findTest() {
+        RedBlackTree<Integer> tree = new RedBlackTree<>();
+        for (int i = 0; i < a.length; i++) {
+            tree.add(a[i]);
+        }
+
+        // 只比较 value / 30，60、70、80 都和 probe 相等
+        Comparable<Integer> probe = new Comparable<Integer>() {
+            @Override
+            public int compareTo(Integer o) {
+                return Integer.compare(2, o / 30);
+            }
+        };
+        Assert.assertEquals(80, (int) tree.find(probe, equalsTo(80)));
+        Assert.assertEquals(60, (int) tree.find(probe, equalsTo(60)));
+        Assert.assertNull(tree.find(probe, equalsTo(90)));
+        Assert.assertNull(tree.find(probe, equalsTo(65)));
+    }
+
+    @Test
+    public void iteratorTest() {
+        RedBlackTree<Integer> tree = new RedBlackTree<>();
+        Assert.assertFalse(tree.iterator().hasNext());
+
+        Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            tree.add(random.nextInt(500));
+        }
+        for (int i = 0; i < 500; i++) {
+            tree.remove(random.nextInt(500));
+        }
+
+        List<Integer> list = new ArrayList<>();
+        for (Integer value : tree) {
+            list.add(value);
+        }
+        Assert.assertEquals(tree.inOrder(), list);
+    }
+
+    private static IPredicate<Integer> equalsTo(final int value) {
+        return new IPredicate<Integer>() {
+            @Override
+            public boolean test(Integer element) {
+                return element == value;
+            }
+        };
+    }
+
 }